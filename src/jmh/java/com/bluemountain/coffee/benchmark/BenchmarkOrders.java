@@ -0,0 +1,77 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.service.MenuProductCatalog;
+
+import java.util.List;
+
+/**
+ * Test data shared by the benchmarks.
+ *
+ * Orders are built from a small fixed menu so every benchmark works on the
+ * same shape of data as the application: two to three items per order, and a
+ * handful of delivery addresses so that batching has something to group.
+ */
+final class BenchmarkOrders {
+
+    static final MenuProductCatalog CATALOG = new MenuProductCatalog(List.of(
+            "1:浓缩咖啡:3.50", "2:美式咖啡:4.00", "3:卡布奇诺:4.50", "4:拿铁:4.00", "5:摩卡:5.00"));
+
+    static final List<OrderItem> ITEMS = List.of(
+            OrderItem.of(CATALOG.findByName("拿铁").orElseThrow(), 2),
+            OrderItem.of(CATALOG.findByName("卡布奇诺").orElseThrow(), 1),
+            OrderItem.of(CATALOG.findByName("摩卡").orElseThrow(), 1)
+    );
+
+    static final DineInPricingStrategy DINE_IN_PRICING = new DineInPricingStrategy();
+    static final DeliveryPricingStrategy DELIVERY_PRICING = new DeliveryPricingStrategy();
+
+    private BenchmarkOrders() {
+    }
+
+    /**
+     * Get one of a fixed set of delivery addresses
+     *
+     * @param index any non-negative number
+     * @param addressCount how many distinct addresses to cycle through
+     * @return the address
+     */
+    static Address address(int index, int addressCount) {
+        return Address.of((index % addressCount) + " Main Street", "Shanghai", "200000", "China");
+    }
+
+    /**
+     * Create a settled order and move it forward to the given status
+     *
+     * @param index used to pick the order type and address
+     * @param status the target status (CREATED to COMPLETED)
+     * @return the order
+     */
+    static Order order(int index, OrderStatus status) {
+        boolean delivery = index % 2 == 0;
+        Order order = delivery
+                ? Order.create("Customer " + index, OrderType.DELIVERY, ITEMS, address(index, 50))
+                : Order.create("Customer " + index, OrderType.DINE_IN, ITEMS, null);
+        if (status == OrderStatus.CREATED) {
+            return order;
+        }
+
+        order.settle(delivery ? DELIVERY_PRICING : DINE_IN_PRICING);
+        if (status.ordinal() >= OrderStatus.PREPARING.ordinal()) {
+            order.startPreparing();
+        }
+        if (status.ordinal() >= OrderStatus.READY.ordinal()) {
+            order.markAsReady();
+        }
+        if (status.ordinal() >= OrderStatus.COMPLETED.ordinal()) {
+            order.complete();
+        }
+        return order;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark pricing a batch of orders one by one against the bulk pricing
+ * pass over primitive arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkPricingBenchmark {
+
+    @Param({"10000"})
+    private int orderCount;
+
+    private final DeliveryPricingStrategy strategy = new DeliveryPricingStrategy();
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void createOrders() {
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BenchmarkOrders.order(2 * i, OrderStatus.CREATED));
+        }
+    }
+
+    @Benchmark
+    public Money[] calculateEachOrder() {
+        Money[] totals = new Money[orders.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = strategy.calculate(orders.get(i));
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Money[] calculateAllOrders() {
+        return strategy.calculateAll(orders);
+    }
+}
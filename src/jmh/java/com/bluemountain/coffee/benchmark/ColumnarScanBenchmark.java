@@ -0,0 +1,122 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.application.OrderAssembler;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.infrastructure.export.ColumnarOrderExporter;
+import com.bluemountain.coffee.infrastructure.export.ColumnarReader;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark scanning a day of completed orders from the columnar export
+ * against the same orders dumped as JSON from the API.
+ *
+ * Both compute the revenue per order type. The JSON scan parses every
+ * OrderDTO, as analysts scraping the API do; the columnar scan decodes only
+ * the order_type and total_cents columns. The file sizes are printed during
+ * setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnarScanBenchmark {
+
+    @Param({"100000"})
+    private int orderCount;
+
+    private Path directory;
+    private Path jsonDump;
+    private Path columnarFile;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void export() throws IOException {
+        directory = Files.createTempDirectory("columnar-benchmark");
+        InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BenchmarkOrders.order(i, OrderStatus.COMPLETED));
+        }
+        orderRepository.saveAll(orders);
+
+        ColumnarOrderExporter exporter = new ColumnarOrderExporter(orderRepository, new InMemoryDeliveryRepository(),
+                directory, 8192, Clock.systemDefaultZone());
+        columnarFile = exporter.export(LocalDate.now()).partition().resolve("orders.ccol");
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        OrderAssembler assembler = new OrderAssembler(BenchmarkOrders.CATALOG);
+        jsonDump = directory.resolve("orders.json");
+        objectMapper.writeValue(jsonDump.toFile(), orders.stream().map(assembler::toDTO).toList());
+
+        System.out.printf("%nJSON dump: %,d bytes, columnar orders + items: %,d bytes%n",
+                Files.size(jsonDump),
+                Files.size(columnarFile) + Files.size(columnarFile.resolveSibling("order_items.ccol")));
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public BigDecimal[] jsonScanRevenueByType() throws IOException {
+        BigDecimal[] revenue = {BigDecimal.ZERO, BigDecimal.ZERO};
+        for (OrderDTO order : objectMapper.readValue(jsonDump.toFile(), OrderDTO[].class)) {
+            int type = "DELIVERY".equals(order.getOrderType()) ? 1 : 0;
+            revenue[type] = revenue[type].add(order.getTotalPrice());
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public long[] columnarScanRevenueByType() throws IOException {
+        long[] revenueCents = new long[2];
+        try (ColumnarReader reader = new ColumnarReader(columnarFile, Set.of("order_type", "total_cents"))) {
+            while (reader.nextRowGroup()) {
+                String[] types = reader.strings("order_type");
+                long[] totals = reader.longs("total_cents");
+                for (int row = 0; row < reader.getRowCount(); row++) {
+                    revenueCents["DELIVERY".equals(types[row]) ? 1 : 0] += totals[row];
+                }
+            }
+        }
+        return revenueCents;
+    }
+}
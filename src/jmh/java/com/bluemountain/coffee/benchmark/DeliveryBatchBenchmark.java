@@ -0,0 +1,73 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.service.DeliveryBatchServiceImpl;
+import com.bluemountain.coffee.infrastructure.service.NearestNeighborRouteOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for DeliveryBatchServiceImpl.autoBatchOrders.
+ *
+ * autoBatchOrders consumes the READY delivery orders it batches, so every
+ * invocation gets fresh repositories. The orders themselves are built once in
+ * the trial setup; only the (cheap) repository fill is repeated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeliveryBatchBenchmark {
+
+    @Param({"100", "1000"})
+    private int readyOrderCount;
+
+    private final List<Order> readyOrders = new ArrayList<>();
+    private DeliveryBatchServiceImpl deliveryBatchService;
+
+    @Setup(Level.Trial)
+    public void createOrders() {
+        for (int i = 0; readyOrders.size() < readyOrderCount; i++) {
+            Order order = BenchmarkOrders.order(i, OrderStatus.READY);
+            if (order.getType() == OrderType.DELIVERY) {
+                readyOrders.add(order);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillRepositories() {
+        InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+        orderRepository.saveAll(readyOrders);
+        deliveryBatchService = new DeliveryBatchServiceImpl(
+                orderRepository, new InMemoryDeliveryRepository(), event -> { },
+                new NearestNeighborRouteOptimizer(Duration.ofMillis(2)), 31.2304, 121.4737);
+    }
+
+    @Benchmark
+    public List<Delivery> autoBatchOrders() {
+        return deliveryBatchService.autoBatchOrders();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.infrastructure.persistence.EventSourcedOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for loading orders from EventSourcedOrderRepository.
+ *
+ * The store holds 10,000 orders, all moved to the same status, so every
+ * stream has the same number of events: CREATED has 1, PREPARING 3 and
+ * COMPLETED 5, the longest lifecycle Order.replay() accepts. findById loads
+ * random orders either with a snapshot cache large enough for all of them
+ * (every load after the first is a hit) or with no cache at all (every load
+ * replays the stream). findByStatus loads every stream, as the dashboard
+ * queries do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSourcedRepositoryBenchmark {
+
+    private static final int ORDER_COUNT = 10_000;
+
+    @Param({"CREATED", "PREPARING", "COMPLETED"})
+    private OrderStatus status;
+
+    @Param({"hit", "miss"})
+    private String snapshots;
+
+    private EventSourcedOrderRepository orderRepository;
+    private OrderId[] ids;
+
+    @Setup
+    public void setUp() {
+        orderRepository = new EventSourcedOrderRepository(snapshots.equals("hit") ? ORDER_COUNT : 0);
+        ids = new OrderId[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = BenchmarkOrders.order(i, status);
+            orderRepository.save(order);
+            ids[i] = order.getId();
+        }
+    }
+
+    /**
+     * Per-thread source of random IDs
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Order findById(Cursor cursor) {
+        return orderRepository.findById(ids[cursor.random.nextInt(ORDER_COUNT)]).orElseThrow();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Order> findByStatus() {
+        return orderRepository.findByStatus(status);
+    }
+}
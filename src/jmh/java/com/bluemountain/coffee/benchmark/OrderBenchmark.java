@@ -0,0 +1,62 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.application.OrderAssembler;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the order aggregate: creation, pricing and DTO assembly.
+ *
+ * Order.create + settle is measured once per PricingStrategy implementation,
+ * since the strategy is the only part that differs between order types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    private final OrderAssembler orderAssembler = new OrderAssembler(BenchmarkOrders.CATALOG);
+    private Order completedDeliveryOrder;
+
+    @Setup
+    public void setUp() {
+        completedDeliveryOrder = BenchmarkOrders.order(0, OrderStatus.COMPLETED);
+    }
+
+    @Benchmark
+    public Order createAndSettleDineIn() {
+        Order order = Order.create("Alice", OrderType.DINE_IN, BenchmarkOrders.ITEMS, null);
+        order.settle(BenchmarkOrders.DINE_IN_PRICING);
+        return order;
+    }
+
+    @Benchmark
+    public Order createAndSettleDelivery() {
+        Order order = Order.create("Bob", OrderType.DELIVERY, BenchmarkOrders.ITEMS,
+                BenchmarkOrders.address(0, 1));
+        order.settle(BenchmarkOrders.DELIVERY_PRICING);
+        return order;
+    }
+
+    @Benchmark
+    public OrderDTO toDTO() {
+        return orderAssembler.toDTO(completedDeliveryOrder);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.persistence.OffHeapOrderRepository;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measure the retained heap of a large number of orders.
+ *
+ * Not a JMH benchmark: it creates the orders, keeps them reachable, forces
+ * a few garbage collections and prints the growth of the used heap divided
+ * by the order count. Run with a fixed heap so the collector settles, e.g.
+ * java -Xms4g -Xmx4g -cp target/test-classes:target/classes:... \
+ *     com.bluemountain.coffee.benchmark.OrderFootprint 1000000 off-heap
+ *
+ * The second argument selects where the orders are kept: a plain array
+ * (default), InMemoryOrderRepository (in-memory) or OffHeapOrderRepository
+ * (off-heap). The direct memory in use and the average pause of a full
+ * collection with the orders live are printed as well.
+ */
+public final class OrderFootprint {
+
+    private static final int FULL_COLLECTIONS = 5;
+
+    private OrderFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String store = args.length > 1 ? args[1] : "array";
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeap(memory);
+        long directBefore = usedDirect();
+        Object retained;
+        switch (store) {
+            case "array":
+                Order[] orders = new Order[orderCount];
+                for (int i = 0; i < orderCount; i++) {
+                    orders[i] = order(i);
+                }
+                retained = orders;
+                break;
+            case "in-memory":
+                retained = fill(new InMemoryOrderRepository(), orderCount);
+                break;
+            case "off-heap":
+                retained = fill(new OffHeapOrderRepository(64 << 20), orderCount);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+        long after = usedHeap(memory);
+        long direct = usedDirect() - directBefore;
+        double pauseMillis = fullCollectionMillis();
+
+        System.out.printf("%s: %,d orders with %d items each: %,d bytes of heap, %,d bytes per order%n",
+                store, orderCount, BenchmarkOrders.ITEMS.size(), after - before, (after - before) / orderCount);
+        System.out.printf("%s: %,d bytes of direct memory, %,d bytes per order%n",
+                store, direct, direct / orderCount);
+        System.out.printf("%s: full collection with the orders live: %.1f ms on average%n",
+                store, pauseMillis);
+        Reference.reachabilityFence(retained);
+    }
+
+    /**
+     * Create an order with fresh items, as OrderAssembler creates them
+     */
+    private static Order order(int i) {
+        List<OrderItem> items = new ArrayList<>(BenchmarkOrders.ITEMS.size());
+        for (OrderItem item : BenchmarkOrders.ITEMS) {
+            items.add(OrderItem.of(BenchmarkOrders.CATALOG.findById(item.getProductId()).orElseThrow(),
+                    item.getQuantity()));
+        }
+        return i % 2 == 0
+                ? Order.create("Customer " + (i % 1000), OrderType.DELIVERY, items, BenchmarkOrders.address(i, 50))
+                : Order.create("Customer " + (i % 1000), OrderType.DINE_IN, items, null);
+    }
+
+    private static OrderRepository fill(OrderRepository repository, int orderCount) {
+        List<Order> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < orderCount; i++) {
+            batch.add(order(i));
+            if (batch.size() == 10_000 || i == orderCount - 1) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        return repository;
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static double fullCollectionMillis() {
+        long before = collectionMillis();
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+        return (double) (collectionMillis() - before) / FULL_COLLECTIONS;
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
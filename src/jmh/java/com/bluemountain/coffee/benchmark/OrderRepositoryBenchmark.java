@@ -0,0 +1,69 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.persistence.OffHeapOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for OrderRepository.findByStatus at growing store sizes.
+ *
+ * The store is filled with orders spread evenly over CREATED, SETTLED,
+ * PREPARING, READY and COMPLETED, and the query looks for READY orders, which
+ * is what the dashboard and the delivery batching poll for. The off-heap
+ * store filters on record headers but decodes every matching order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderRepositoryBenchmark {
+
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.CREATED, OrderStatus.SETTLED, OrderStatus.PREPARING,
+            OrderStatus.READY, OrderStatus.COMPLETED
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int orderCount;
+
+    @Param({"in-memory", "off-heap"})
+    private String store;
+
+    private OrderRepository orderRepository;
+
+    @Setup
+    public void setUp() {
+        orderRepository = store.equals("off-heap")
+                ? new OffHeapOrderRepository(64 << 20)
+                : new InMemoryOrderRepository();
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BenchmarkOrders.order(i, STATUSES[i % STATUSES.length]));
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @Benchmark
+    public List<Order> findByStatus() {
+        return orderRepository.findByStatus(OrderStatus.READY);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.PricingRule;
+import com.bluemountain.coffee.domain.strategy.PricingPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark pricing one order with a compiled plan of a growing number of
+ * rules. The time should stay flat as ruleCount grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingPlanBenchmark {
+
+    @Param({"2", "16", "128"})
+    private int ruleCount;
+
+    private PricingPlan plan;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void compilePlan() {
+        String[] kinds = {"fee:service-%1$d:0.10", "discount:promo-%1$d:0.05", "happy-hour:%2$02d00-%2$02d30:1",
+                "bundle:product-%1$d:2:1.00"};
+        List<PricingRule> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            String kind = kinds[i % kinds.length];
+            rules.add(PricingRule.parse(String.format(kind, i, i % 24)));
+        }
+        plan = PricingPlan.compile(rules, GeoPoint.of(31.2304, 121.4737));
+        order = BenchmarkOrders.order(0, OrderStatus.CREATED);
+    }
+
+    @Benchmark
+    public Money price() {
+        return plan.price(order);
+    }
+}
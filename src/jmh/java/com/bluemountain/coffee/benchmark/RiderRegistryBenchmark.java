@@ -0,0 +1,78 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
+import com.bluemountain.coffee.infrastructure.service.GridRiderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for GridRiderRegistry, the index behind the rider dispatcher.
+ *
+ * Riders are spread uniformly over a 20 km square around the shop. Claimed
+ * riders are handed back in the same invocation, so the registry keeps its
+ * size; a location update moves one random rider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiderRegistryBenchmark {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+    private static final double SPAN_DEGREES = 0.1;
+
+    @Param({"1000", "10000"})
+    private int riderCount;
+
+    @Param({"1", "50"})
+    private int claimCount;
+
+    private GridRiderRegistry registry;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void registerRiders() {
+        registry = new GridRiderRegistry(500, 10_000, SHOP.getLatitude());
+        random = new SplittableRandom(42);
+        for (int i = 0; i < riderCount; i++) {
+            registry.register(RiderInfo.of("rider-" + i, "Rider " + i, "555-" + i, "BICYCLE"), randomPoint());
+        }
+    }
+
+    @Benchmark
+    public List<RiderPosition> claimNearestAndRelease() {
+        List<RiderPosition> claimed = registry.claimNearest(SHOP, claimCount);
+        for (RiderPosition position : claimed) {
+            registry.markAvailable(position.rider().getRiderId());
+        }
+        return claimed;
+    }
+
+    @Benchmark
+    public RiderPosition updateLocation() {
+        return registry.updateLocation("rider-" + random.nextInt(riderCount), randomPoint());
+    }
+
+    private GeoPoint randomPoint() {
+        return GeoPoint.of(SHOP.getLatitude() + (random.nextDouble() - 0.5) * SPAN_DEGREES,
+                SHOP.getLongitude() + (random.nextDouble() - 0.5) * SPAN_DEGREES);
+    }
+}
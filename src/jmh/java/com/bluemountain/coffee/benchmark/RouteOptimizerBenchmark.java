@@ -0,0 +1,62 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.infrastructure.service.NearestNeighborRouteOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for NearestNeighborRouteOptimizer as the number of stops grows.
+ *
+ * Stops are spread uniformly over a 5 km square around the shop. The time
+ * budget is generous, so 2-opt runs until no reversal helps and the score
+ * is the full solve time; a delivery has at most five stops today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteOptimizerBenchmark {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+    private static final double SPAN_DEGREES = 0.05;
+
+    @Param({"5", "10", "20", "50", "100"})
+    private int stopCount;
+
+    private final NearestNeighborRouteOptimizer optimizer = new NearestNeighborRouteOptimizer(Duration.ofSeconds(1));
+    private List<GeoPoint> stops;
+
+    @Setup(Level.Trial)
+    public void createStops() {
+        SplittableRandom random = new SplittableRandom(42);
+        stops = new ArrayList<>(stopCount);
+        for (int i = 0; i < stopCount; i++) {
+            stops.add(GeoPoint.of(SHOP.getLatitude() + (random.nextDouble() - 0.5) * SPAN_DEGREES,
+                    SHOP.getLongitude() + (random.nextDouble() - 0.5) * SPAN_DEGREES));
+        }
+    }
+
+    @Benchmark
+    public int[] sequence() {
+        return optimizer.sequence(SHOP, stops);
+    }
+}
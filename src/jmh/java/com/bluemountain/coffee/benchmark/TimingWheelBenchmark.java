@@ -0,0 +1,78 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.infrastructure.timer.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for HierarchicalTimingWheel against ScheduledThreadPoolExecutor.
+ *
+ * Both hold pendingCount timers due within the next hour, as the delivery
+ * deadlines are. One invocation schedules a timer at a random deadline and
+ * cancels it again, so the number of pending timers stays fixed. The
+ * executor keeps its timers in a binary heap and removes cancelled ones
+ * (setRemoveOnCancelPolicy), which costs O(log n) per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"1000", "100000", "1000000"})
+    private int pendingCount;
+
+    private HierarchicalTimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void schedulePending() {
+        random = new SplittableRandom(42);
+        wheel = new HierarchicalTimingWheel(100, 512, 0);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < pendingCount; i++) {
+            long delay = 60_000 + random.nextLong(HOUR_MILLIS);
+            wheel.schedule(delay, NOOP);
+            executor.schedule(NOOP, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean timingWheelScheduleAndCancel() {
+        return wheel.schedule(60_000 + random.nextLong(HOUR_MILLIS), NOOP).cancel();
+    }
+
+    @Benchmark
+    public boolean executorScheduleAndCancel() {
+        ScheduledFuture<?> future = executor.schedule(NOOP, 60_000 + random.nextLong(HOUR_MILLIS), TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
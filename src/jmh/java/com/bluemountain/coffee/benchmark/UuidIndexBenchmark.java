@@ -0,0 +1,100 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.infrastructure.persistence.UuidIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the order index: UuidIndex against the ConcurrentHashMap
+ * keyed by OrderId that it replaces.
+ *
+ * Both maps hold the same one million order IDs. Every thread reads or
+ * overwrites random IDs from that set, so the maps keep their size. The
+ * benchmarks run at 8, 16, 32 and 64 threads, one nested class per count,
+ * e.g. -Djmh.include=UuidIndexBenchmark.Threads32
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public abstract class UuidIndexBenchmark {
+
+    private static final int SIZE = 1_000_000;
+
+    @Param({"uuid-index", "concurrent-hash-map"})
+    private String map;
+
+    private boolean useUuidIndex;
+    private OrderId[] ids;
+    private UuidIndex<OrderId> uuidIndex;
+    private ConcurrentHashMap<OrderId, OrderId> concurrentHashMap;
+
+    @Setup
+    public void fill() {
+        useUuidIndex = map.equals("uuid-index");
+        ids = new OrderId[SIZE];
+        uuidIndex = new UuidIndex<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = OrderId.generate();
+            if (useUuidIndex) {
+                uuidIndex.put(ids[i].getValue(), ids[i]);
+            } else {
+                concurrentHashMap.put(ids[i], ids[i]);
+            }
+        }
+    }
+
+    /**
+     * Per-thread source of random IDs
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public OrderId get(Cursor cursor) {
+        OrderId id = ids[cursor.random.nextInt(SIZE)];
+        return useUuidIndex ? uuidIndex.get(id.getValue()) : concurrentHashMap.get(id);
+    }
+
+    @Benchmark
+    public OrderId put(Cursor cursor) {
+        OrderId id = ids[cursor.random.nextInt(SIZE)];
+        return useUuidIndex ? uuidIndex.put(id.getValue(), id) : concurrentHashMap.put(id, id);
+    }
+
+    @Threads(8)
+    public static class Threads8 extends UuidIndexBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends UuidIndexBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends UuidIndexBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends UuidIndexBenchmark {
+    }
+}
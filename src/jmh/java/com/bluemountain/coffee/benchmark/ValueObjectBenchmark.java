@@ -0,0 +1,54 @@
+package com.bluemountain.coffee.benchmark;
+
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the value objects used on every request.
+ *
+ * Inputs are held in non-final fields so the JIT cannot constant-fold them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private Money price = Money.of(4.50);
+    private Money fee = Money.of(2.00);
+    private double quantity = 3;
+    private String orderIdString = "3f1c7a52-9d4e-4b7a-8c61-2f0e5b9d1a47";
+
+    @Benchmark
+    public Money moneyOf() {
+        return Money.of(quantity);
+    }
+
+    @Benchmark
+    public Money moneyAdd() {
+        return price.add(fee);
+    }
+
+    @Benchmark
+    public Money moneyMultiply() {
+        return price.multiply(quantity);
+    }
+
+    @Benchmark
+    public OrderId orderIdOf() {
+        return OrderId.of(orderIdString);
+    }
+}
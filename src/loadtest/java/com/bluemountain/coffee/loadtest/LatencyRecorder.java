@@ -0,0 +1,93 @@
+package com.bluemountain.coffee.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint.
+ *
+ * Latencies are recorded in microseconds. Callers pass the time the request
+ * was meant to start, not the time it was actually sent, so that a stalled
+ * generator or server shows up in the percentiles instead of hiding them
+ * (coordinated omission).
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    /**
+     * Record a successful call
+     *
+     * @param endpoint the endpoint name, e.g. "POST /api/orders/{id}/ready"
+     * @param intendedStartNanos System.nanoTime() at which the call should have started
+     */
+    void success(String endpoint, long intendedStartNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        endpoint(endpoint).latency.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Record a failed call (error status or exception)
+     *
+     * @param endpoint the endpoint name
+     */
+    void failure(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    /**
+     * Print a percentile table, in milliseconds, for all endpoints
+     *
+     * @param out the stream to print to
+     */
+    void printSummary(PrintStream out) {
+        out.printf("%-45s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "p50", "p90", "p99", "p99.9", "Max");
+        endpoints.forEach((name, endpoint) -> {
+            Histogram histogram = endpoint.latency;
+            out.printf("%-45s %8d %7d", name, histogram.getTotalCount(), endpoint.errors.sum());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+        });
+    }
+
+    /**
+     * Write the full HdrHistogram percentile distribution (.hgrm) of every endpoint
+     *
+     * @param directory the directory to write to
+     * @throws IOException if a file cannot be written
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_")
+                    .replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, n -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
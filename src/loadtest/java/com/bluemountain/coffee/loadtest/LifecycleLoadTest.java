@@ -0,0 +1,380 @@
+package com.bluemountain.coffee.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load generator that drives the full order lifecycle against a running application.
+ *
+ * Every order goes through:
+ * 1. POST /api/platform/orders              (order arrives from a delivery platform),
+ *    or POST /api/platform/orders/batch once --intake-batch-size orders have arrived
+ * 2. POST /api/platform/orders/{id}/ready   (after the configured preparation time)
+ * 3. Delivery orders only, once auto-batched by POST /api/deliveries/auto-batch:
+ *    assign-rider, pickup, in-transit, deliver and complete on /api/deliveries/{id}
+ * 4. POST /api/platform/orders/{id}/complete
+ *
+ * Open-loop scheduling: orders arrive on a fixed timetable derived from the
+ * configured rates, whether or not earlier requests have returned. Latency is
+ * measured from the time a request was due, so a slow server is charged for
+ * the requests that queue up behind it (no coordinated omission). Follow-up
+ * steps of a lifecycle are due when the previous step returns. In batch
+ * intake the arrivals are held until a batch is full, and the batch request
+ * is charged from the arrival of its first order; the lifecycle latency of
+ * every order still starts at its own arrival, so runs with and without
+ * batching can be compared directly.
+ *
+ * Usage: start the application, then
+ * mvn -Ploadtest verify -DskipTests -Dloadtest.args="--phases 20:30,80:120,20:30"
+ */
+public final class LifecycleLoadTest {
+
+    private static final String CREATE = "POST /api/platform/orders";
+    private static final String CREATE_BATCH = "POST /api/platform/orders/batch";
+    private static final String READY = "POST /api/platform/orders/{id}/ready";
+    private static final String COMPLETE_ORDER = "POST /api/platform/orders/{id}/complete";
+    private static final String AUTO_BATCH = "POST /api/deliveries/auto-batch";
+    private static final String ASSIGN_RIDER = "POST /api/deliveries/{id}/assign-rider";
+    private static final String PICKUP = "POST /api/deliveries/{id}/pickup";
+    private static final String IN_TRANSIT = "POST /api/deliveries/{id}/in-transit";
+    private static final String DELIVER = "POST /api/deliveries/{id}/deliver";
+    private static final String COMPLETE_DELIVERY = "POST /api/deliveries/{id}/complete";
+    private static final String LIFECYCLE = "order lifecycle (end to end)";
+
+    /**
+     * Same menu as the frontend (frontend/src/utils/constants.ts)
+     */
+    private static final Map<String, Double> MENU = Map.of(
+            "浓缩咖啡", 3.50, "美式咖啡", 4.00, "卡布奇诺", 4.50, "拿铁", 4.00,
+            "摩卡", 5.00, "玛奇朵", 4.50, "平白咖啡", 4.50, "爱尔兰咖啡", 6.00);
+    private static final List<String> PRODUCTS = List.copyOf(MENU.keySet());
+    private static final int ADDRESS_COUNT = 20;
+    private static final int RIDER_COUNT = 30;
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    /**
+     * Intended arrival time of every order whose lifecycle is still open
+     */
+    private final Map<String, Long> arrivals = new ConcurrentHashMap<>();
+    private final AtomicInteger openOrders = new AtomicInteger();
+    private final LongAdder createdOrders = new LongAdder();
+    private final LongAdder completedOrders = new LongAdder();
+    private final LongAdder failedOrders = new LongAdder();
+
+    /**
+     * Orders waiting for the next intake batch: intended arrival times and commands
+     */
+    private final List<Long> intakeArrivals = new ArrayList<>();
+    private final List<Map<String, Object>> intakeCommands = new ArrayList<>();
+    private final List<Boolean> intakeDeliveries = new ArrayList<>();
+
+    private final AtomicBoolean batching = new AtomicBoolean();
+    private final AtomicLong batchDueSince = new AtomicLong(Long.MIN_VALUE);
+
+    private LifecycleLoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        new LifecycleLoadTest(config).run();
+    }
+
+    private void run() throws IOException {
+        System.out.printf("Driving %s with phases %s, %s%n", config.baseUrl, config.phases,
+                config.intakeBatchSize == 1 ? "one order per request"
+                        : "intake batches of " + config.intakeBatchSize + " orders");
+
+        long batchIntervalNanos = config.batchInterval.toNanos();
+        long batchStart = System.nanoTime() + batchIntervalNanos;
+        AtomicLong batchTicks = new AtomicLong();
+        scheduler.scheduleAtFixedRate(
+                () -> autoBatch(batchStart + batchTicks.getAndIncrement() * batchIntervalNanos),
+                batchIntervalNanos, batchIntervalNanos, TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        long due = start;
+        for (LoadTestConfig.Phase phase : config.phases) {
+            long phaseEnd = due + phase.duration().toNanos();
+            double intervalNanos = TimeUnit.SECONDS.toNanos(1) / phase.ratePerSecond();
+            for (long arrival = 0; due + (long) (arrival * intervalNanos) < phaseEnd; arrival++) {
+                long intendedStart = due + (long) (arrival * intervalNanos);
+                parkUntil(intendedStart);
+                arrive(intendedStart);
+            }
+            due = phaseEnd;
+        }
+        if (!intakeArrivals.isEmpty()) {
+            createOrders();
+        }
+        long intakeNanos = System.nanoTime() - start;
+
+        long drainDeadline = System.nanoTime() + config.drainTimeout.toNanos();
+        while (openOrders.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        scheduler.shutdownNow();
+
+        System.out.printf("%nOrders: %d created, %d completed, %d failed, %d still open%n",
+                createdOrders.sum(), completedOrders.sum(), failedOrders.sum(), openOrders.get());
+        System.out.printf("Intake: %.1f orders/s over %.1f s%n%n",
+                createdOrders.sum() * 1e9 / intakeNanos, intakeNanos / 1e9);
+        System.out.println("Latency in milliseconds, measured from the intended start time:");
+        recorder.printSummary(System.out);
+        recorder.writeDistributions(config.reportDir);
+        System.out.printf("%nPercentile distributions written to %s%n", config.reportDir.toAbsolutePath());
+    }
+
+    /**
+     * Send an arriving order, or hold it for the next intake batch
+     *
+     * @param intendedStart the intended arrival time of the order
+     */
+    private void arrive(long intendedStart) {
+        boolean delivery = ThreadLocalRandom.current().nextDouble() < config.deliveryRatio;
+        openOrders.incrementAndGet();
+        if (config.intakeBatchSize == 1) {
+            createOrder(orderCommand(delivery), delivery, intendedStart);
+            return;
+        }
+        intakeArrivals.add(intendedStart);
+        intakeCommands.add(orderCommand(delivery));
+        intakeDeliveries.add(delivery);
+        if (intakeArrivals.size() == config.intakeBatchSize) {
+            createOrders();
+        }
+    }
+
+    private void createOrder(Map<String, Object> command, boolean delivery, long intendedStart) {
+        post(CREATE, "/api/platform/orders", command, intendedStart,
+                "Idempotency-Key", UUID.randomUUID().toString())
+                .thenAccept(order -> created(order, delivery, intendedStart))
+                .exceptionally(e -> abandon(null));
+    }
+
+    /**
+     * Send the held orders in one batch request
+     */
+    private void createOrders() {
+        List<Long> batchArrivals = List.copyOf(intakeArrivals);
+        List<Boolean> batchDeliveries = List.copyOf(intakeDeliveries);
+        post(CREATE_BATCH, "/api/platform/orders/batch", List.copyOf(intakeCommands), batchArrivals.get(0))
+                .thenAccept(results -> results.forEach(result -> {
+                    int index = result.get("index").asInt();
+                    if (result.get("success").asBoolean()) {
+                        created(result.get("order"), batchDeliveries.get(index), batchArrivals.get(index));
+                    } else {
+                        abandon(null);
+                    }
+                }))
+                .exceptionally(e -> {
+                    batchArrivals.forEach(arrival -> abandon(null));
+                    return null;
+                });
+        intakeArrivals.clear();
+        intakeCommands.clear();
+        intakeDeliveries.clear();
+    }
+
+    private void created(JsonNode order, boolean delivery, long intendedStart) {
+        createdOrders.increment();
+        String orderId = order.get("id").asText();
+        arrivals.put(orderId, intendedStart);
+        long readyDue = System.nanoTime() + config.prepTime.toNanos();
+        scheduler.schedule(() -> markReady(orderId, delivery, readyDue),
+                config.prepTime.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void markReady(String orderId, boolean delivery, long intendedStart) {
+        post(READY, "/api/platform/orders/" + orderId + "/ready", null, intendedStart)
+                .thenAccept(order -> {
+                    // Delivery orders wait for the next auto-batch
+                    if (!delivery) {
+                        completeOrder(orderId);
+                    }
+                })
+                .exceptionally(e -> abandon(orderId));
+    }
+
+    /**
+     * Called on every batch tick. A tick that finds the previous call still
+     * running is not skipped silently: the next call is charged from the
+     * earliest tick it was due.
+     *
+     * @param tickTime the intended time of this tick
+     */
+    private void autoBatch(long tickTime) {
+        batchDueSince.compareAndSet(Long.MIN_VALUE, tickTime);
+        if (!batching.compareAndSet(false, true)) {
+            return;
+        }
+        long intendedStart = batchDueSince.getAndSet(Long.MIN_VALUE);
+        post(AUTO_BATCH, "/api/deliveries/auto-batch", null, intendedStart)
+                .whenComplete((deliveries, error) -> {
+                    batching.set(false);
+                    if (deliveries != null) {
+                        deliveries.forEach(this::runDelivery);
+                    }
+                });
+    }
+
+    private void runDelivery(JsonNode delivery) {
+        String path = "/api/deliveries/" + delivery.get("deliveryId").asText();
+        List<String> orderIds = new ArrayList<>();
+        delivery.get("items").forEach(item -> orderIds.add(item.get("orderId").asText()));
+
+        post(ASSIGN_RIDER, path + "/assign-rider", riderInfo(), System.nanoTime())
+                .thenCompose(d -> post(PICKUP, path + "/pickup", null, System.nanoTime()))
+                .thenCompose(d -> post(IN_TRANSIT, path + "/in-transit", null, System.nanoTime()))
+                .thenCompose(d -> post(DELIVER, path + "/deliver", null, System.nanoTime()))
+                .thenCompose(d -> post(COMPLETE_DELIVERY, path + "/complete", null, System.nanoTime()))
+                .thenAccept(d -> orderIds.forEach(this::completeOrder))
+                .exceptionally(e -> {
+                    orderIds.forEach(this::abandon);
+                    return null;
+                });
+    }
+
+    private void completeOrder(String orderId) {
+        post(COMPLETE_ORDER, "/api/platform/orders/" + orderId + "/complete", null, System.nanoTime())
+                .thenAccept(order -> {
+                    Long arrival = arrivals.remove(orderId);
+                    if (arrival != null) {
+                        recorder.success(LIFECYCLE, arrival);
+                        completedOrders.increment();
+                        openOrders.decrementAndGet();
+                    }
+                })
+                .exceptionally(e -> abandon(orderId));
+    }
+
+    /**
+     * Count an order as failed, once: a request that timed out on our side
+     * may still have succeeded, so an abandoned order can be batched and
+     * completed later, or abandoned again with its delivery
+     *
+     * @param orderId the order ID, or null if the order was never created
+     * @return null
+     */
+    private Void abandon(String orderId) {
+        if (orderId == null || arrivals.remove(orderId) != null) {
+            failedOrders.increment();
+            openOrders.decrementAndGet();
+        }
+        return null;
+    }
+
+    /**
+     * Send a POST request and record its latency
+     *
+     * @param endpoint the endpoint name used in the report
+     * @param path the request path
+     * @param body the request body (serialized to JSON), or null for none
+     * @param intendedStart System.nanoTime() at which the request was due
+     * @param headers additional header name/value pairs
+     * @return the parsed response body; fails on an error status
+     */
+    private CompletableFuture<JsonNode> post(String endpoint, String path, Object body,
+                                             long intendedStart, String... headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(config.baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(toJson(body)));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() / 100 == 2) {
+                        recorder.success(endpoint, intendedStart);
+                        return readJson(response.body());
+                    }
+                    recorder.failure(endpoint);
+                    throw new CompletionException(error != null ? error
+                            : new IllegalStateException(endpoint + " returned " + response.statusCode()));
+                });
+    }
+
+    private Map<String, Object> orderCommand(boolean delivery) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = random.nextInt(1, 4); i > 0; i--) {
+            String product = PRODUCTS.get(random.nextInt(PRODUCTS.size()));
+            items.add(Map.of("productName", product, "quantity", random.nextInt(1, 3),
+                    "unitPrice", MENU.get(product)));
+        }
+
+        String customerName = "Load Test " + random.nextInt(10_000);
+        if (!delivery) {
+            return Map.of("customerName", customerName, "orderType", "DINE_IN", "items", items);
+        }
+        return Map.of("customerName", customerName, "orderType", "DELIVERY", "items", items,
+                "street", random.nextInt(ADDRESS_COUNT) + " Nanjing Road", "city", "Shanghai",
+                "postalCode", "200000", "country", "China");
+    }
+
+    private Map<String, Object> riderInfo() {
+        int rider = ThreadLocalRandom.current().nextInt(RIDER_COUNT);
+        return Map.of("riderId", "RIDER-" + rider, "riderName", "Rider " + rider,
+                "phoneNumber", "1380000" + String.format("%04d", rider), "vehicleType", "SCOOTER");
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize request body", e);
+        }
+    }
+
+    private JsonNode readJson(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse response body", e);
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
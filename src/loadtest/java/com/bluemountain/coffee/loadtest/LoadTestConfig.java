@@ -0,0 +1,91 @@
+package com.bluemountain.coffee.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of a load test run, parsed from command line arguments.
+ *
+ * Options (all optional):
+ * --base-url http://localhost:8080   application to drive
+ * --phases 50:60                     comma-separated rate:seconds arrival phases,
+ *                                    e.g. 20:30,80:120,20:30 for a lunch rush
+ * --delivery-ratio 0.7               share of orders that are delivery orders
+ * --intake-batch-size 1              orders per intake request; above 1 they are sent
+ *                                    to /api/platform/orders/batch once that many arrived
+ * --prep-time-ms 2000                delay between order creation and /ready
+ * --batch-interval-ms 1000           how often auto-batch is called
+ * --drain-seconds 60                 how long to wait for open lifecycles at the end
+ * --report-dir target/loadtest       where the .hgrm percentile files are written
+ */
+final class LoadTestConfig {
+
+    String baseUrl = "http://localhost:8080";
+    List<Phase> phases = List.of(new Phase(50, Duration.ofSeconds(60)));
+    double deliveryRatio = 0.7;
+    int intakeBatchSize = 1;
+    Duration prepTime = Duration.ofMillis(2000);
+    Duration batchInterval = Duration.ofMillis(1000);
+    Duration drainTimeout = Duration.ofSeconds(60);
+    Path reportDir = Path.of("target", "loadtest");
+
+    /**
+     * Parse command line arguments
+     *
+     * @param args the arguments
+     * @return the configuration
+     */
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--base-url" -> config.baseUrl = value.endsWith("/")
+                        ? value.substring(0, value.length() - 1) : value;
+                case "--phases" -> config.phases = parsePhases(value);
+                case "--delivery-ratio" -> config.deliveryRatio = Double.parseDouble(value);
+                case "--intake-batch-size" -> config.intakeBatchSize = Integer.parseInt(value);
+                case "--prep-time-ms" -> config.prepTime = Duration.ofMillis(Long.parseLong(value));
+                case "--batch-interval-ms" -> config.batchInterval = Duration.ofMillis(Long.parseLong(value));
+                case "--drain-seconds" -> config.drainTimeout = Duration.ofSeconds(Long.parseLong(value));
+                case "--report-dir" -> config.reportDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        if (config.deliveryRatio < 0 || config.deliveryRatio > 1) {
+            throw new IllegalArgumentException("Delivery ratio must be between 0 and 1");
+        }
+        if (config.intakeBatchSize < 1) {
+            throw new IllegalArgumentException("Intake batch size must be at least 1");
+        }
+        return config;
+    }
+
+    private static List<Phase> parsePhases(String value) {
+        List<Phase> phases = new ArrayList<>();
+        for (String phase : value.split(",")) {
+            String[] parts = phase.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Phase must be rate:seconds, got: " + phase);
+            }
+            double rate = Double.parseDouble(parts[0]);
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Arrival rate must be positive, got: " + phase);
+            }
+            phases.add(new Phase(rate, Duration.ofSeconds(Long.parseLong(parts[1]))));
+        }
+        return List.copyOf(phases);
+    }
+
+    /**
+     * Constant arrival rate (orders per second) held for a duration
+     */
+    record Phase(double ratePerSecond, Duration duration) {
+    }
+}
@@ -2,6 +2,7 @@ package com.bluemountain.coffee;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class for the Coffee Shop Demo.
@@ -10,11 +11,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Domain-Driven Design (DDD) principles
  * - Design patterns (Strategy, Factory, State, Builder, Repository)
  * - Object-Oriented Programming principles
- * - Spring Boot features (DI, REST API, Event handling)
+ * - Spring Boot features (DI, REST API, Event handling, Scheduling)
  * 
  * @author Blue Mountain Coffee Shop Team
  */
 @SpringBootApplication
+@EnableScheduling
 public class CoffeeShopApplication {
 
     public static void main(String[] args) {
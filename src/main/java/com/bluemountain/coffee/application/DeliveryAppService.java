@@ -3,20 +3,35 @@ package com.bluemountain.coffee.application;
 import com.bluemountain.coffee.domain.model.aggregate.Delivery;
 import com.bluemountain.coffee.domain.model.aggregate.Order;
 import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
 import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryLatencyReport;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
 import com.bluemountain.coffee.domain.repository.DeliveryRepository;
 import com.bluemountain.coffee.domain.repository.OrderRepository;
 import com.bluemountain.coffee.domain.service.DeliveryBatchService;
+import com.bluemountain.coffee.domain.service.DeliveryLatencyTracker;
+import com.bluemountain.coffee.domain.service.DeliveryTimeoutScheduler;
+import com.bluemountain.coffee.domain.service.RiderRegistry;
+import com.bluemountain.coffee.infrastructure.cache.SerializedDtoCache;
+import com.bluemountain.coffee.infrastructure.metrics.OrderLifecycleMetrics;
 import com.bluemountain.coffee.interfaces.dto.DeliveryDTO;
 import com.bluemountain.coffee.interfaces.dto.DeliveryItemDTO;
 import com.bluemountain.coffee.interfaces.dto.RiderInfoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -28,20 +43,50 @@ import java.util.stream.Collectors;
  * Design Patterns:
  * - Service Pattern: Provides application-level operations
  * - DTO Pattern: Uses DTOs for data transfer
+ * 
+ * The rider dispatcher thread and HTTP requests change the same Delivery
+ * aggregates, and Delivery checks its status before changing it without
+ * synchronization. Every status change therefore reads, changes and saves
+ * the delivery under a lock striped by delivery ID.
  */
+@Observed(name = "coffee.application")
 @Service
 public class DeliveryAppService {
     
     private final DeliveryRepository deliveryRepository;
     private final OrderRepository orderRepository;
     private final DeliveryBatchService deliveryBatchService;
+    private final SerializedDtoCache deliveryJsonCache;
+    private final OrderLifecycleMetrics lifecycleMetrics;
+    private final RiderRegistry riderRegistry;
+    private final GeoPoint shopLocation;
+    private final DeliveryTimeoutScheduler deliveryTimeouts;
+    private final DeliveryLatencyTracker latencyTracker;
+    private final Object[] deliveryLocks = new Object[64];
     
     public DeliveryAppService(DeliveryRepository deliveryRepository,
                               OrderRepository orderRepository,
-                              DeliveryBatchService deliveryBatchService) {
+                              DeliveryBatchService deliveryBatchService,
+                              ObjectMapper objectMapper,
+                              @Value("${coffee.cache.delivery-json.max-entries:2000}") int jsonCacheSize,
+                              OrderLifecycleMetrics lifecycleMetrics,
+                              RiderRegistry riderRegistry,
+                              @Value("${coffee.shop.latitude:31.2304}") double shopLatitude,
+                              @Value("${coffee.shop.longitude:121.4737}") double shopLongitude,
+                              DeliveryTimeoutScheduler deliveryTimeouts,
+                              DeliveryLatencyTracker latencyTracker) {
         this.deliveryRepository = deliveryRepository;
         this.orderRepository = orderRepository;
         this.deliveryBatchService = deliveryBatchService;
+        this.deliveryJsonCache = new SerializedDtoCache(objectMapper, jsonCacheSize);
+        this.lifecycleMetrics = lifecycleMetrics;
+        this.riderRegistry = riderRegistry;
+        this.shopLocation = GeoPoint.of(shopLatitude, shopLongitude);
+        this.deliveryTimeouts = deliveryTimeouts;
+        this.latencyTracker = latencyTracker;
+        for (int i = 0; i < deliveryLocks.length; i++) {
+            deliveryLocks[i] = new Object();
+        }
     }
     
     /**
@@ -62,6 +107,8 @@ public class DeliveryAppService {
         }
         
         Delivery delivery = deliveryBatchService.createDeliveryBatch(orders);
+        lifecycleMetrics.recordDeliveryTransition(delivery);
+        deliveryTimeouts.track(delivery);
         return toDTO(delivery);
     }
     
@@ -72,11 +119,33 @@ public class DeliveryAppService {
      */
     public List<DeliveryDTO> autoBatchOrders() {
         List<Delivery> deliveries = deliveryBatchService.autoBatchOrders();
+        for (Delivery delivery : deliveries) {
+            lifecycleMetrics.recordDeliveryTransition(delivery);
+            deliveryTimeouts.track(delivery);
+        }
         return deliveries.stream()
             .map(this::toDTO)
             .collect(Collectors.toList());
     }
     
+    /**
+     * Batch the waiting orders once an order's batching window has closed
+     * 
+     * Use Case: Nobody called auto-batch within the window, so the order
+     * would otherwise wait for a delivery indefinitely
+     * 
+     * @param orderId the order whose window closed
+     * @return the created delivery DTOs, empty if the order was batched or is no longer READY
+     */
+    public List<DeliveryDTO> closeBatchWindow(OrderId orderId) {
+        Optional<Order> order = orderRepository.findById(orderId);
+        if (order.isEmpty() || order.get().getStatus() != OrderStatus.READY
+                || deliveryRepository.findByOrderId(orderId).isPresent()) {
+            return List.of();
+        }
+        return autoBatchOrders();
+    }
+    
     /**
      * Assign a rider to a delivery
      * 
@@ -85,9 +154,6 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO assignRider(String deliveryId, RiderInfoDTO riderInfoDTO) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
         RiderInfo riderInfo = new RiderInfo(
             riderInfoDTO.getRiderId(),
             riderInfoDTO.getRiderName(),
@@ -95,10 +161,56 @@ public class DeliveryAppService {
             riderInfoDTO.getVehicleType()
         );
         
-        delivery.assignRider(riderInfo);
-        deliveryRepository.save(delivery);
+        return update(deliveryId, delivery -> {
+            delivery.assignRider(riderInfo);
+            riderRegistry.markBusy(riderInfo.getRiderId());
+        });
+    }
+    
+    /**
+     * Assign the nearest available riders to deliveries waiting for one
+     * 
+     * Use Case: The dispatcher runs this every few hundred milliseconds
+     * 
+     * Every delivery is picked up at the shop, so a rider's cost for any
+     * delivery is their distance to the shop. With costs that only depend on
+     * the rider, handing the nearest rider to the oldest delivery, the next
+     * nearest to the next oldest and so on is a minimum-cost assignment that
+     * also minimises the waiting of the oldest deliveries.
+     * 
+     * @param maxDeliveries the most deliveries to assign in one call
+     * @return the assigned delivery DTOs
+     */
+    public List<DeliveryDTO> dispatchRiders(int maxDeliveries) {
+        List<Delivery> waiting = deliveryRepository.findByStatus(DeliveryStatus.CREATED).stream()
+            .sorted(Comparator.comparing(Delivery::getCreatedAt))
+            .limit(maxDeliveries)
+            .collect(Collectors.toList());
+        if (waiting.isEmpty()) {
+            return List.of();
+        }
         
-        return toDTO(delivery);
+        List<RiderPosition> riders = riderRegistry.claimNearest(shopLocation, waiting.size());
+        List<DeliveryDTO> assigned = new ArrayList<>(riders.size());
+        for (int i = 0; i < riders.size(); i++) {
+            DeliveryId deliveryId = waiting.get(i).getDeliveryId();
+            RiderInfo rider = riders.get(i).rider();
+            synchronized (lockFor(deliveryId)) {
+                // Read again under the lock: it may have been assigned or cancelled by hand
+                Optional<Delivery> delivery = deliveryRepository.findById(deliveryId)
+                    .filter(found -> found.getStatus() == DeliveryStatus.CREATED);
+                if (delivery.isEmpty()) {
+                    riderRegistry.markAvailable(rider.getRiderId());
+                    continue;
+                }
+                delivery.get().assignRider(rider);
+                deliveryRepository.save(delivery.get());
+                afterSave(delivery.get());
+                assigned.add(toDTO(delivery.get()));
+            }
+        }
+        
+        return assigned;
     }
     
     /**
@@ -108,13 +220,7 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO markAsPickedUp(String deliveryId) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
-        delivery.markAsPickedUp();
-        deliveryRepository.save(delivery);
-        
-        return toDTO(delivery);
+        return update(deliveryId, Delivery::markAsPickedUp);
     }
     
     /**
@@ -124,13 +230,7 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO markAsInTransit(String deliveryId) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
-        delivery.markAsInTransit();
-        deliveryRepository.save(delivery);
-        
-        return toDTO(delivery);
+        return update(deliveryId, Delivery::markAsInTransit);
     }
     
     /**
@@ -140,13 +240,7 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO markAsDelivered(String deliveryId) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
-        delivery.markAsDelivered();
-        deliveryRepository.save(delivery);
-        
-        return toDTO(delivery);
+        return update(deliveryId, Delivery::markAsDelivered);
     }
     
     /**
@@ -156,13 +250,7 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO completeDelivery(String deliveryId) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
-        delivery.complete();
-        deliveryRepository.save(delivery);
-        
-        return toDTO(delivery);
+        return update(deliveryId, Delivery::complete);
     }
     
     /**
@@ -172,13 +260,7 @@ public class DeliveryAppService {
      * @return the updated delivery DTO
      */
     public DeliveryDTO cancelDelivery(String deliveryId) {
-        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
-            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
-        
-        delivery.cancel();
-        deliveryRepository.save(delivery);
-        
-        return toDTO(delivery);
+        return update(deliveryId, Delivery::cancel);
     }
     
     /**
@@ -194,6 +276,23 @@ public class DeliveryAppService {
         return toDTO(delivery);
     }
     
+    /**
+     * Find delivery by ID as serialized JSON
+     * 
+     * Every transition changes the delivery status, so the status is used as
+     * the version of the cached bytes.
+     * 
+     * @param deliveryId the delivery ID
+     * @return the delivery DTO serialized as JSON
+     */
+    public byte[] findByIdJson(String deliveryId) {
+        Delivery delivery = deliveryRepository.findById(DeliveryId.of(deliveryId))
+            .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
+        
+        return deliveryJsonCache.get(delivery.getDeliveryId().getValue(), delivery.getStatus(),
+            () -> toDTO(delivery));
+    }
+    
     /**
      * Find deliveries by status
      * 
@@ -257,6 +356,19 @@ public class DeliveryAppService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Get the latency percentiles of deliveries picked up or delivered in a
+     * time window
+     * 
+     * @param from the start of the window
+     * @param to the end of the window
+     * @param groupBy all, rider or zone
+     * @return the latency report
+     */
+    public DeliveryLatencyReport getDeliveryLatency(LocalDateTime from, LocalDateTime to, String groupBy) {
+        return latencyTracker.report(from, to, groupBy);
+    }
+    
     /**
      * Find all deliveries
      * 
@@ -269,6 +381,53 @@ public class DeliveryAppService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Drop the cached JSON of a saved delivery, record its new status, move
+     * its SLA on and free its rider once the delivery no longer needs them
+     * 
+     * @param delivery the saved delivery
+     */
+    /**
+     * Read a delivery, change it and save it under its lock
+     * 
+     * @param deliveryId the delivery ID
+     * @param change the status change
+     * @return the updated delivery DTO
+     */
+    private DeliveryDTO update(String deliveryId, Consumer<Delivery> change) {
+        DeliveryId id = DeliveryId.of(deliveryId);
+        synchronized (lockFor(id)) {
+            Delivery delivery = deliveryRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Delivery not found: " + deliveryId));
+            
+            change.accept(delivery);
+            deliveryRepository.save(delivery);
+            afterSave(delivery);
+            
+            return toDTO(delivery);
+        }
+    }
+    
+    /**
+     * Get the lock that serializes status changes of a delivery
+     * 
+     * @param deliveryId the delivery ID
+     * @return the lock
+     */
+    private Object lockFor(DeliveryId deliveryId) {
+        return deliveryLocks[Math.floorMod(deliveryId.hashCode(), deliveryLocks.length)];
+    }
+    
+    private void afterSave(Delivery delivery) {
+        deliveryJsonCache.invalidate(delivery.getDeliveryId().getValue());
+        lifecycleMetrics.recordDeliveryTransition(delivery);
+        deliveryTimeouts.track(delivery);
+        if (delivery.getRiderInfo() != null
+                && (delivery.getStatus() == DeliveryStatus.DELIVERED || delivery.getStatus() == DeliveryStatus.CANCELLED)) {
+            riderRegistry.markAvailable(delivery.getRiderInfo().getRiderId());
+        }
+    }
+    
     /**
      * Convert Delivery aggregate to DTO
      * 
@@ -276,8 +435,10 @@ public class DeliveryAppService {
      * @return the delivery DTO
      */
     private DeliveryDTO toDTO(Delivery delivery) {
+        List<OrderId> stops = delivery.getStopSequence();
         List<DeliveryItemDTO> items = delivery.getItems().stream()
-            .map(this::toDeliveryItemDTO)
+            .sorted(Comparator.comparingInt(item -> stops.indexOf(item.getOrderId())))
+            .map(item -> toDeliveryItemDTO(item, stops.indexOf(item.getOrderId()) + 1))
             .collect(Collectors.toList());
         
         RiderInfoDTO riderInfoDTO = null;
@@ -290,7 +451,7 @@ public class DeliveryAppService {
             );
         }
         
-        return new DeliveryDTO(
+        DeliveryDTO dto = new DeliveryDTO(
             delivery.getDeliveryId().getValue(),
             items,
             riderInfoDTO,
@@ -300,16 +461,22 @@ public class DeliveryAppService {
             delivery.getCreatedAt(),
             delivery.getUpdatedAt()
         );
+        if (delivery.getRoute() != null) {
+            dto.setRouteDistanceMeters(delivery.getRoute().distanceMeters());
+        }
+        return dto;
     }
     
     /**
      * Convert DeliveryItem entity to DTO
      * 
      * @param item the delivery item entity
+     * @param stopNumber the item's position on the route
      * @return the delivery item DTO
      */
-    private DeliveryItemDTO toDeliveryItemDTO(com.bluemountain.coffee.domain.model.aggregate.DeliveryItem item) {
-        return new DeliveryItemDTO(
+    private DeliveryItemDTO toDeliveryItemDTO(com.bluemountain.coffee.domain.model.aggregate.DeliveryItem item,
+                                              int stopNumber) {
+        DeliveryItemDTO dto = new DeliveryItemDTO(
             item.getOrderId().getValue().toString(),
             item.getOrder().getCustomerName(),
             item.getOrder().getAddress() != null ? item.getOrder().getAddress().toString() : null,
@@ -321,5 +488,7 @@ public class DeliveryAppService {
                 .sum(),
             item.getItemStatus()
         );
+        dto.setStopNumber(stopNumber);
+        return dto;
     }
 }
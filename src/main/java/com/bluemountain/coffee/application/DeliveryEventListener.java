@@ -1,15 +1,23 @@
 package com.bluemountain.coffee.application;
 
+import com.bluemountain.coffee.domain.event.BatchWindowExpiredEvent;
 import com.bluemountain.coffee.domain.event.DeliveryAssignedEvent;
 import com.bluemountain.coffee.domain.event.DeliveryCompletedEvent;
 import com.bluemountain.coffee.domain.event.DeliveryCreatedEvent;
 import com.bluemountain.coffee.domain.event.DeliveryDeliveredEvent;
 import com.bluemountain.coffee.domain.event.DeliveryPickedUpEvent;
+import com.bluemountain.coffee.domain.event.DeliverySlaBreachedEvent;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.service.DeliveryLatencyTracker;
+import com.bluemountain.coffee.interfaces.dto.DeliveryDTO;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Event Listener for Delivery domain events.
  * 
@@ -20,11 +28,20 @@ import org.springframework.stereotype.Component;
  * - Observer Pattern: Listens to domain events
  * - Event-Driven Architecture: Decouples event producers from consumers
  */
+@Observed(name = "coffee.listener")
 @Component
 public class DeliveryEventListener {
     
     private static final Logger logger = LoggerFactory.getLogger(DeliveryEventListener.class);
     
+    private final DeliveryAppService deliveryAppService;
+    private final DeliveryLatencyTracker latencyTracker;
+    
+    public DeliveryEventListener(DeliveryAppService deliveryAppService, DeliveryLatencyTracker latencyTracker) {
+        this.deliveryAppService = deliveryAppService;
+        this.latencyTracker = latencyTracker;
+    }
+    
     /**
      * Handle DeliveryCreatedEvent
      * 
@@ -61,6 +78,7 @@ public class DeliveryEventListener {
     public void onDeliveryPickedUp(DeliveryPickedUpEvent event) {
         logger.info("Delivery picked up: {}", event.getDeliveryId());
         logger.info("Pickup time: {}", event.getPickedUpAt());
+        latencyTracker.record(event);
     }
     
     /**
@@ -72,6 +90,7 @@ public class DeliveryEventListener {
     public void onDeliveryDelivered(DeliveryDeliveredEvent event) {
         logger.info("Delivery delivered: {}", event.getDeliveryId());
         logger.info("Delivery time: {}", event.getDeliveredAt());
+        latencyTracker.record(event);
     }
     
     /**
@@ -84,4 +103,30 @@ public class DeliveryEventListener {
         logger.info("Delivery completed: {}", event.getDeliveryId());
         logger.info("Completion time: {}", event.getCompletedAt());
     }
+    
+    /**
+     * Handle BatchWindowExpiredEvent
+     * 
+     * @param event the batch window expired event
+     */
+    @EventListener
+    public void onBatchWindowExpired(BatchWindowExpiredEvent event) {
+        List<DeliveryDTO> deliveries = deliveryAppService.closeBatchWindow(event.getOrderId());
+        if (!deliveries.isEmpty()) {
+            logger.info("Batch window of order {} closed, created {} deliveries",
+                event.getOrderId(), deliveries.size());
+        }
+    }
+    
+    /**
+     * Handle DeliverySlaBreachedEvent
+     * 
+     * @param event the delivery SLA breached event
+     */
+    @EventListener
+    public void onDeliverySlaBreached(DeliverySlaBreachedEvent event) {
+        logger.warn("Delivery {} missed its {} SLA of {}, rider: {}",
+            event.getDeliveryId(), event.getStatus() == DeliveryStatus.ASSIGNED ? "pickup" : "delivery", event.getSla(),
+            event.getRiderInfo() != null ? event.getRiderInfo().getRiderId() : null);
+    }
 }
@@ -1,20 +1,49 @@
 package com.bluemountain.coffee.application;
 
+import com.bluemountain.coffee.domain.event.OrderCancelledEvent;
+import com.bluemountain.coffee.domain.event.OrderSettledEvent;
+import com.bluemountain.coffee.domain.event.OrderStatusChangedEvent;
+import com.bluemountain.coffee.domain.exception.DomainException;
 import com.bluemountain.coffee.domain.model.aggregate.Order;
 import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.KitchenSnapshot;
+import com.bluemountain.coffee.domain.model.valobj.Money;
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import com.bluemountain.coffee.domain.repository.OrderRepository;
+import com.bluemountain.coffee.domain.service.DeliveryTimeoutScheduler;
+import com.bluemountain.coffee.domain.service.KitchenScheduler;
 import com.bluemountain.coffee.domain.service.PricingStrategy;
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyCache;
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyKeyReusedException;
+import com.bluemountain.coffee.infrastructure.cache.SerializedDtoCache;
+import com.bluemountain.coffee.infrastructure.jfr.OrderPlacementPhaseEvent;
+import com.bluemountain.coffee.infrastructure.metrics.OrderLifecycleMetrics;
 import com.bluemountain.coffee.infrastructure.service.PaymentService;
+import com.bluemountain.coffee.infrastructure.service.PreparationTimeBacktest;
 import com.bluemountain.coffee.interfaces.dto.CreateOrderCommand;
 import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import com.bluemountain.coffee.interfaces.dto.PlatformOrderResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +66,7 @@ import java.util.stream.Collectors;
  * - Transaction Management: Ensures data consistency
  * - Event Publishing: Publishes domain events
  */
+@Observed(name = "coffee.application")
 @Service
 public class OrderAppService {
     
@@ -45,8 +75,17 @@ public class OrderAppService {
     private final OrderRepository orderRepository;
     private final PricingStrategyFactory pricingStrategyFactory;
     private final OrderAssembler orderAssembler;
+    private final OrderReadModel orderReadModel;
     private final PaymentService paymentService;
     private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
+    private final SerializedDtoCache orderJsonCache;
+    private final OrderLifecycleMetrics lifecycleMetrics;
+    private final KitchenScheduler kitchenScheduler;
+    private final PreparationTimeBacktest preparationTimeBacktest;
+    private final DeliveryTimeoutScheduler deliveryTimeouts;
     
     /**
      * Constructor with dependency injection
@@ -54,19 +93,46 @@ public class OrderAppService {
      * @param orderRepository the order repository
      * @param pricingStrategyFactory the pricing strategy factory
      * @param orderAssembler the order assembler
+     * @param orderReadModel the read model serving order queries
      * @param paymentService the payment service
      * @param eventPublisher the event publisher
+     * @param validator the bean validator used for bulk commands
+     * @param idempotencyCache the cache deduplicating retried platform orders
+     * @param objectMapper the object mapper used to pre-serialize order DTOs and idempotent commands
+     * @param jsonCacheSize the maximum number of pre-serialized orders to keep
+     * @param lifecycleMetrics the metrics recording status changes and stage durations
+     * @param kitchenScheduler the scheduler assigning preparing orders to barista stations
+     * @param preparationTimeBacktest the back-test of the preparation time estimator
+     * @param deliveryTimeouts the scheduler of the batch windows of delivery orders
      */
     public OrderAppService(OrderRepository orderRepository,
                            PricingStrategyFactory pricingStrategyFactory,
                            OrderAssembler orderAssembler,
+                           OrderReadModel orderReadModel,
                            PaymentService paymentService,
-                           ApplicationEventPublisher eventPublisher) {
+                           ApplicationEventPublisher eventPublisher,
+                           Validator validator,
+                           IdempotencyCache idempotencyCache,
+                           ObjectMapper objectMapper,
+                           @Value("${coffee.cache.order-json.max-entries:10000}") int jsonCacheSize,
+                           OrderLifecycleMetrics lifecycleMetrics,
+                           KitchenScheduler kitchenScheduler,
+                           PreparationTimeBacktest preparationTimeBacktest,
+                           DeliveryTimeoutScheduler deliveryTimeouts) {
         this.orderRepository = orderRepository;
         this.pricingStrategyFactory = pricingStrategyFactory;
         this.orderAssembler = orderAssembler;
+        this.orderReadModel = orderReadModel;
         this.paymentService = paymentService;
         this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.idempotencyCache = idempotencyCache;
+        this.objectMapper = objectMapper;
+        this.orderJsonCache = new SerializedDtoCache(objectMapper, jsonCacheSize);
+        this.lifecycleMetrics = lifecycleMetrics;
+        this.kitchenScheduler = kitchenScheduler;
+        this.preparationTimeBacktest = preparationTimeBacktest;
+        this.deliveryTimeouts = deliveryTimeouts;
     }
     
     /**
@@ -74,6 +140,9 @@ public class OrderAppService {
      * 
      * Use Case: Customer places an order for coffee
      * 
+     * Each phase (assemble, settle, pay, save, toDTO) is recorded as an
+     * OrderPlacementPhaseEvent when Flight Recorder is running.
+     * 
      * @param command the create order command
      * @return the created order DTO
      */
@@ -82,29 +151,158 @@ public class OrderAppService {
         logger.info("Placing order for customer: {}", command.getCustomerName());
         
         // Convert command to domain object
+        OrderPlacementPhaseEvent phase = OrderPlacementPhaseEvent.start("assemble");
         Order order = orderAssembler.toDomain(command);
+        phase.finish(order);
         
         // Get the appropriate pricing strategy
+        phase = OrderPlacementPhaseEvent.start("settle");
         PricingStrategy pricingStrategy = pricingStrategyFactory.getStrategy(order.getType());
         
         // Settle the order (calculate price and process payment)
         order.settle(pricingStrategy);
+        phase.finish(order);
         
         // Process payment
+        phase = OrderPlacementPhaseEvent.start("pay");
         boolean paymentSuccess = paymentService.processPayment(order.getId(), order.getTotalPrice());
+        phase.finish(order);
         if (!paymentSuccess) {
             throw new RuntimeException("Payment processing failed");
         }
         
         // Start preparing the order
+        phase = OrderPlacementPhaseEvent.start("save");
         order.startPreparing();
         
         // Save the order
         order = orderRepository.save(order);
+        afterSave(order, order.getStatusHistory().size());
+        eventPublisher.publishEvent(new OrderSettledEvent(this, order.getId(), order.getType(),
+                order.getCustomerName(), order.getItems(), order.getTotalPrice()));
+        phase.finish(order);
         
         logger.info("Order placed successfully with ID: {}", order.getId());
         
-        return orderAssembler.toDTO(order);
+        phase = OrderPlacementPhaseEvent.start("toDTO");
+        OrderDTO dto = orderAssembler.toDTO(order);
+        phase.finish(order);
+        
+        return dto;
+    }
+    
+    /**
+     * Place a new order at most once per idempotency key
+     * 
+     * Use Case: A delivery platform retries an order after a timeout
+     * 
+     * A retry with the same key returns the OrderDTO of the original request,
+     * without creating another order or charging the customer again. The key
+     * is bound to the command it was first sent with, compared as JSON.
+     * 
+     * @param command the create order command
+     * @param idempotencyKey the platform-supplied idempotency key
+     * @return the created (or previously created) order DTO
+     * @throws IdempotencyKeyReusedException if the key was first sent with a different command
+     */
+    public OrderDTO placeOrder(CreateOrderCommand command, String idempotencyKey) {
+        byte[] request;
+        try {
+            request = objectMapper.writeValueAsBytes(command);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize the order command", e);
+        }
+        return idempotencyCache.execute(idempotencyKey, request, () -> placeOrder(command));
+    }
+    
+    /**
+     * Place a batch of orders
+     * 
+     * Use Case: A delivery platform pushes many orders at once
+     * 
+     * Every command is validated and settled on its own, then all charges go
+     * to the payment service in one call and the accepted orders are persisted
+     * with a single saveAll. A rejected command, including a null entry, does
+     * not affect the others.
+     * 
+     * @param commands the create order commands
+     * @return one result per command, in request order
+     */
+    @Transactional
+    public List<PlatformOrderResult> placeOrders(List<CreateOrderCommand> commands) {
+        logger.info("Placing batch of {} orders", commands.size());
+        
+        PlatformOrderResult[] results = new PlatformOrderResult[commands.size()];
+        List<Order> settledOrders = new ArrayList<>(commands.size());
+        List<Integer> settledIndexes = new ArrayList<>(commands.size());
+        
+        // Validate and convert each command
+        for (int i = 0; i < commands.size(); i++) {
+            CreateOrderCommand command = commands.get(i);
+            if (command == null) {
+                results[i] = PlatformOrderResult.failure(i, "Order is required");
+                continue;
+            }
+            Set<ConstraintViolation<CreateOrderCommand>> violations = validator.validate(command);
+            if (!violations.isEmpty()) {
+                results[i] = PlatformOrderResult.failure(i, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            
+            try {
+                Order order = orderAssembler.toDomain(command);
+                settledOrders.add(order);
+                settledIndexes.add(i);
+            } catch (IllegalArgumentException | DomainException e) {
+                results[i] = PlatformOrderResult.failure(i, e.getMessage());
+            }
+        }
+        
+        // Settle the converted orders in one pricing pass per order type
+        Map<OrderType, List<Order>> ordersByType = new EnumMap<>(OrderType.class);
+        for (Order order : settledOrders) {
+            ordersByType.computeIfAbsent(order.getType(), type -> new ArrayList<>()).add(order);
+        }
+        ordersByType.forEach((type, orders) -> Order.settleAll(orders, pricingStrategyFactory.getStrategy(type)));
+        
+        // Charge all settled orders in one payment call
+        Map<OrderId, Money> charges = new LinkedHashMap<>();
+        for (Order order : settledOrders) {
+            charges.put(order.getId(), order.getTotalPrice());
+        }
+        Map<OrderId, Boolean> payments = charges.isEmpty() ? Map.of() : paymentService.processPayments(charges);
+        
+        List<Order> acceptedOrders = new ArrayList<>(settledOrders.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(settledOrders.size());
+        for (int k = 0; k < settledOrders.size(); k++) {
+            Order order = settledOrders.get(k);
+            if (Boolean.TRUE.equals(payments.get(order.getId()))) {
+                order.startPreparing();
+                acceptedOrders.add(order);
+                acceptedIndexes.add(settledIndexes.get(k));
+            } else {
+                results[settledIndexes.get(k)] = PlatformOrderResult.failure(settledIndexes.get(k),
+                        "Payment processing failed");
+            }
+        }
+        
+        // Persist the accepted orders in one call
+        orderRepository.saveAll(acceptedOrders);
+        for (int k = 0; k < acceptedOrders.size(); k++) {
+            Order order = acceptedOrders.get(k);
+            afterSave(order, order.getStatusHistory().size());
+            eventPublisher.publishEvent(new OrderSettledEvent(this, order.getId(), order.getType(),
+                    order.getCustomerName(), order.getItems(), order.getTotalPrice()));
+            results[acceptedIndexes.get(k)] = PlatformOrderResult.success(acceptedIndexes.get(k),
+                    orderAssembler.toDTO(order));
+        }
+        
+        logger.info("Batch placed: {} of {} orders accepted", acceptedOrders.size(), commands.size());
+        
+        return Arrays.asList(results);
     }
     
     /**
@@ -124,17 +322,39 @@ public class OrderAppService {
         return orderAssembler.toDTO(order);
     }
     
+    /**
+     * Get an order by ID as serialized JSON
+     * 
+     * The bytes are cached per order version (length of the status history),
+     * so repeated lookups of a hot order skip both the DTO conversion and
+     * JSON serialization.
+     * 
+     * @param orderId the order ID
+     * @return the order DTO serialized as JSON
+     * @throws IllegalArgumentException if order not found
+     */
+    public byte[] getOrderJson(String orderId) {
+        logger.debug("Getting order JSON with ID: {}", orderId);
+        
+        OrderId id = OrderId.of(orderId);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+        return orderJsonCache.get(id.toString(), order.getStatusHistory().size(),
+                () -> orderAssembler.toDTO(order));
+    }
+    
     /**
      * Get all orders
      * 
+     * Served from the read model, which holds ready-made DTOs
+     * 
      * @return list of all order DTOs
      */
     public List<OrderDTO> getAllOrders() {
         logger.debug("Getting all orders");
         
-        return orderRepository.findAll().stream()
-                .map(orderAssembler::toDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.findAll();
     }
     
     /**
@@ -148,9 +368,7 @@ public class OrderAppService {
         
         OrderStatus orderStatus = orderAssembler.toOrderStatus(status);
         
-        return orderRepository.findByStatus(orderStatus).stream()
-                .map(orderAssembler::toDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.findByStatus(orderStatus);
     }
     
     /**
@@ -175,6 +393,7 @@ public class OrderAppService {
         
         // Save the updated order
         order = orderRepository.save(order);
+        afterSave(order, 1);
         
         logger.info("Order {} status updated to: {}", orderId, newStatus);
         
@@ -200,6 +419,7 @@ public class OrderAppService {
         
         // Save the updated order
         order = orderRepository.save(order);
+        afterSave(order, 1);
         
         logger.info("Coffee marked as ready for order: {}", orderId);
         
@@ -225,6 +445,7 @@ public class OrderAppService {
         
         // Save the updated order
         order = orderRepository.save(order);
+        afterSave(order, 1);
         
         logger.info("Order completed: {}", orderId);
         
@@ -248,16 +469,70 @@ public class OrderAppService {
         // Cancel the order
         order.cancel();
         
+        // Save the updated order before refunding, so that an order the
+        // repository rejects is not refunded
+        order = orderRepository.save(order);
+        
         // Process refund if payment was made
         if (order.getTotalPrice() != null) {
             paymentService.refundPayment(order.getId(), order.getTotalPrice());
         }
         
-        // Save the updated order
-        order = orderRepository.save(order);
+        afterSave(order, 1);
+        eventPublisher.publishEvent(new OrderCancelledEvent(this, order.getId(), order.getType(), order.getTotalPrice()));
         
         logger.info("Order cancelled: {}", orderId);
         
         return orderAssembler.toDTO(order);
     }
+    
+    /**
+     * Get the barista stations and the orders waiting for them
+     * 
+     * @return a snapshot of the kitchen
+     */
+    public KitchenSnapshot getKitchen() {
+        return kitchenScheduler.snapshot();
+    }
+    
+    /**
+     * Get an order's place in the kitchen and when it is expected to be ready
+     * 
+     * @param orderId the order ID
+     * @return the order's kitchen ticket, or empty if it is not being prepared
+     */
+    public Optional<KitchenSnapshot.Ticket> getKitchenTicket(String orderId) {
+        return kitchenScheduler.find(OrderId.of(orderId));
+    }
+    
+    /**
+     * Back-test the preparation time estimator over all stored orders
+     * 
+     * @return the estimation error of the learned model and the menu baseline
+     */
+    public PreparationTimeBacktest.Report backtestPreparationTimes() {
+        logger.info("Back-testing preparation time estimates");
+        
+        return preparationTimeBacktest.run(orderRepository.findAll());
+    }
+    
+    /**
+     * Drop the cached JSON of a saved order, record its new status changes,
+     * keep the kitchen queue and the batch window in step with its status
+     * and publish an OrderStatusChangedEvent
+     * 
+     * @param order the saved order
+     * @param newChanges how many status changes this use case added
+     */
+    private void afterSave(Order order, int newChanges) {
+        orderJsonCache.invalidate(order.getId().toString());
+        lifecycleMetrics.recordOrderTransitions(order, newChanges);
+        if (order.getStatus() == OrderStatus.PREPARING) {
+            kitchenScheduler.enqueue(order);
+        } else {
+            kitchenScheduler.release(order);
+        }
+        deliveryTimeouts.track(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(this, order.getId(), order.getStatus()));
+    }
 }
@@ -5,7 +5,9 @@ import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
 import com.bluemountain.coffee.domain.model.enums.OrderStatus;
 import com.bluemountain.coffee.domain.model.enums.OrderType;
 import com.bluemountain.coffee.domain.model.valobj.Address;
-import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import com.bluemountain.coffee.domain.service.ProductCatalog;
 import com.bluemountain.coffee.interfaces.dto.CreateOrderCommand;
 import com.bluemountain.coffee.interfaces.dto.OrderDTO;
 import com.bluemountain.coffee.interfaces.dto.OrderItemDTO;
@@ -36,30 +38,47 @@ import java.util.stream.Collectors;
 @Component
 public class OrderAssembler {
     
+    private final ProductCatalog productCatalog;
+    
+    /**
+     * Constructor with dependency injection
+     * 
+     * @param productCatalog the catalog products are resolved against
+     */
+    public OrderAssembler(ProductCatalog productCatalog) {
+        this.productCatalog = productCatalog;
+    }
+    
     /**
      * Convert CreateOrderCommand to Order domain object
      * 
+     * Items are resolved to catalog products, by product ID if given and by
+     * name otherwise, and priced at the catalog price. Prices sent by the
+     * client are ignored.
+     * 
      * @param command the create order command
      * @return the Order domain object
+     * @throws IllegalArgumentException if an item is not on the menu
      */
     public Order toDomain(CreateOrderCommand command) {
         OrderType orderType = OrderType.valueOf(command.getOrderType());
         
         List<OrderItem> items = command.getItems().stream()
-                .map(itemDTO -> OrderItem.of(
-                        itemDTO.getProductName(),
-                        itemDTO.getQuantity(),
-                        Money.of(itemDTO.getUnitPrice())
-                ))
+                .map(itemDTO -> OrderItem.of(toProduct(itemDTO), itemDTO.getQuantity()))
                 .collect(Collectors.toList());
         
         Address address = null;
         if (orderType == OrderType.DELIVERY) {
+            GeoPoint location = null;
+            if (command.getLatitude() != null && command.getLongitude() != null) {
+                location = GeoPoint.of(command.getLatitude(), command.getLongitude());
+            }
             address = Address.of(
                     command.getStreet(),
                     command.getCity(),
                     command.getPostalCode(),
-                    command.getCountry()
+                    command.getCountry(),
+                    location
             );
         }
         
@@ -71,6 +90,22 @@ public class OrderAssembler {
         );
     }
     
+    /**
+     * Resolve an ordered item to its catalog product
+     * 
+     * @param itemDTO the ordered item
+     * @return the product
+     * @throws IllegalArgumentException if the product is not on the menu
+     */
+    private Product toProduct(OrderItemDTO itemDTO) {
+        if (itemDTO.getProductId() != null) {
+            return productCatalog.findById(itemDTO.getProductId())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown product ID: " + itemDTO.getProductId()));
+        }
+        return productCatalog.findByName(itemDTO.getProductName())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown product: " + itemDTO.getProductName()));
+    }
+    
     /**
      * Convert Order domain object to OrderDTO
      * 
@@ -93,15 +128,25 @@ public class OrderAssembler {
         dto.setItems(itemDTOs);
         
         if (order.getAddress() != null) {
+            Address address = order.getAddress();
             OrderDTO.AddressDTO addressDTO = new OrderDTO.AddressDTO(
-                    order.getAddress().getStreet(),
-                    order.getAddress().getCity(),
-                    order.getAddress().getPostalCode(),
-                    order.getAddress().getCountry()
+                    address.getStreet(),
+                    address.getCity(),
+                    address.getPostalCode(),
+                    address.getCountry(),
+                    address.hasLocation() ? address.getLocation().getLatitude() : null,
+                    address.hasLocation() ? address.getLocation().getLongitude() : null
             );
             dto.setAddress(addressDTO);
         }
         
+        dto.setStatusHistory(order.getStatusHistory().stream()
+                .map(change -> new OrderDTO.StatusChangeDTO(
+                        change.getStatus().name(),
+                        change.getOccurredAt()
+                ))
+                .collect(Collectors.toList()));
+        
         return dto;
     }
     
@@ -113,6 +158,7 @@ public class OrderAssembler {
      */
     private OrderItemDTO toItemDTO(OrderItem item) {
         return new OrderItemDTO(
+                item.getProductId() == OrderItem.NO_PRODUCT_ID ? null : item.getProductId(),
                 item.getProductName(),
                 item.getQuantity(),
                 item.getUnitPrice().getAmount(),
@@ -6,6 +6,7 @@ import com.bluemountain.coffee.domain.model.enums.OrderType;
 import com.bluemountain.coffee.domain.repository.OrderRepository;
 import com.bluemountain.coffee.domain.service.DeliveryBatchService;
 import com.bluemountain.coffee.infrastructure.service.NotificationService;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
@@ -30,6 +31,7 @@ import org.springframework.stereotype.Component;
  * - Allows multiple handlers for the same event
  * - Enables asynchronous processing
  */
+@Observed(name = "coffee.listener")
 @Component
 public class OrderEventListener {
     
@@ -0,0 +1,177 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderStatusChangedEvent;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Denormalized read model for order queries (the "Q" in CQRS).
+ *
+ * Design Pattern: CQRS (Command Query Responsibility Segregation)
+ * Commands go through OrderAppService and the Order aggregates. Each saved
+ * change publishes an OrderStatusChangedEvent, and this projection converts
+ * the order to an OrderDTO once and indexes it by ID and by status. The
+ * dashboard queries are then answered from the prepared DTOs, without loading
+ * aggregates or converting them on every request.
+ *
+ * The projection runs in the publishing thread, so a client that has just
+ * placed an order sees it in the next list query.
+ *
+ * With the off-heap order store (coffee.order.store=off-heap) only orders in
+ * progress are projected, so the heap does not grow with every order ever
+ * placed. An order then leaves the read model when it is COMPLETED or
+ * CANCELLED, and queries for those statuses read through the repository and
+ * convert on every request; findAll does this in one scan. With the other
+ * stores every order stays in the projection and no query touches the
+ * repository.
+ *
+ * OOP Principles demonstrated:
+ * - Encapsulation: Hides the indexing of projected DTOs
+ * - Single Responsibility: Only maintains the query-side view of orders
+ */
+@Component
+public class OrderReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadModel.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderAssembler orderAssembler;
+
+    /**
+     * Statuses that are served from the repository when finished orders are
+     * not kept
+     */
+    private static final Set<OrderStatus> FINISHED = EnumSet.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+
+    /**
+     * Whether finished orders stay in the projection
+     */
+    private final boolean keepFinished;
+
+    /**
+     * Projected DTOs by order ID
+     */
+    private final ConcurrentHashMap<String, OrderDTO> ordersById = new ConcurrentHashMap<>();
+
+    /**
+     * Projected DTOs grouped by status, keyed by order ID
+     */
+    private final Map<OrderStatus, Map<String, OrderDTO>> ordersByStatus = new EnumMap<>(OrderStatus.class);
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param orderRepository the order repository
+     * @param orderAssembler the order assembler
+     * @param orderStore the configured order store
+     */
+    @Autowired
+    public OrderReadModel(OrderRepository orderRepository, OrderAssembler orderAssembler,
+                          @Value("${coffee.order.store:in-memory}") String orderStore) {
+        this(orderRepository, orderAssembler, !"off-heap".equals(orderStore));
+    }
+
+    /**
+     * Constructor with an explicit projection policy (useful for testing)
+     *
+     * @param orderRepository the order repository
+     * @param orderAssembler the order assembler
+     * @param keepFinished whether finished orders stay in the projection
+     */
+    public OrderReadModel(OrderRepository orderRepository, OrderAssembler orderAssembler, boolean keepFinished) {
+        this.orderRepository = orderRepository;
+        this.orderAssembler = orderAssembler;
+        this.keepFinished = keepFinished;
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Re-project an order whenever it changes
+     *
+     * @param event order status changed event
+     */
+    @Observed(name = "coffee.listener")
+    @EventListener
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        logger.debug("Projecting order {} with status {}", event.getOrderId(), event.getStatus());
+
+        orderRepository.findById(event.getOrderId())
+                .map(orderAssembler::toDTO)
+                .ifPresent(this::project);
+    }
+
+    /**
+     * Get all orders from the projection, adding the finished ones from one
+     * scan of the repository if they are not kept
+     *
+     * @return list of order DTOs
+     */
+    public List<OrderDTO> findAll() {
+        List<OrderDTO> orders = new ArrayList<>(ordersById.values());
+        if (!keepFinished) {
+            for (Order order : orderRepository.findAll()) {
+                if (FINISHED.contains(order.getStatus())) {
+                    orders.add(orderAssembler.toDTO(order));
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Get orders by status from the projection, or from the repository for
+     * finished statuses if finished orders are not kept
+     *
+     * @param status the order status
+     * @return list of order DTOs with the given status
+     */
+    public List<OrderDTO> findByStatus(OrderStatus status) {
+        if (!keepFinished && FINISHED.contains(status)) {
+            return orderRepository.findByStatus(status).stream()
+                    .map(orderAssembler::toDTO)
+                    .collect(Collectors.toList());
+        }
+        return new ArrayList<>(ordersByStatus.get(status).values());
+    }
+
+    /**
+     * Store a projected DTO and move it to the index of its current status,
+     * or drop it once the order is finished if finished orders are not kept.
+     * compute() serializes concurrent projections of the same order.
+     *
+     * @param dto the projected order DTO
+     */
+    private void project(OrderDTO dto) {
+        OrderStatus status = OrderStatus.valueOf(dto.getStatus());
+        ordersById.compute(dto.getId(), (id, previous) -> {
+            if (previous != null) {
+                ordersByStatus.get(OrderStatus.valueOf(previous.getStatus())).remove(id);
+            }
+            if (!keepFinished && FINISHED.contains(status)) {
+                return null;
+            }
+            ordersByStatus.get(status).put(id, dto);
+            return dto;
+        });
+    }
+}
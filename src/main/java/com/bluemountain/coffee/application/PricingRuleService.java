@@ -0,0 +1,92 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.PricingRule;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.PricingPlan;
+import com.bluemountain.coffee.domain.strategy.RuleBasedPricingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the pricing rules of each order type and swaps them at runtime.
+ *
+ * Rules are read from coffee.pricing.rules.dine-in and
+ * coffee.pricing.rules.delivery at startup, compiled into a PricingPlan per
+ * order type and installed into that type's strategy. Replacing the rules
+ * compiles the new plan first, so invalid rules leave the old plan in use.
+ */
+@Component
+public class PricingRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingRuleService.class);
+
+    private final Map<OrderType, RuleBasedPricingStrategy> strategies;
+    private final GeoPoint shopLocation;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param dineInStrategy the dine-in pricing strategy
+     * @param deliveryStrategy the delivery pricing strategy
+     * @param dineInRules the configured dine-in rules
+     * @param deliveryRules the configured delivery rules
+     * @param shopLatitude latitude of the shop, where distance fees are measured from
+     * @param shopLongitude longitude of the shop
+     */
+    public PricingRuleService(DineInPricingStrategy dineInStrategy,
+                              DeliveryPricingStrategy deliveryStrategy,
+                              @Value("${coffee.pricing.rules.dine-in:}") List<String> dineInRules,
+                              @Value("${coffee.pricing.rules.delivery:fee:packaging:2.00,fee:delivery:5.00}") List<String> deliveryRules,
+                              @Value("${coffee.shop.latitude:31.2304}") double shopLatitude,
+                              @Value("${coffee.shop.longitude:121.4737}") double shopLongitude) {
+        this.strategies = Map.of(
+            OrderType.DINE_IN, dineInStrategy,
+            OrderType.DELIVERY, deliveryStrategy
+        );
+        this.shopLocation = GeoPoint.of(shopLatitude, shopLongitude);
+        replaceRules(OrderType.DINE_IN, dineInRules);
+        replaceRules(OrderType.DELIVERY, deliveryRules);
+    }
+
+    /**
+     * Get the rules an order type is priced by
+     *
+     * @param type the order type
+     * @return the rules in their text form
+     */
+    public List<String> getRules(OrderType type) {
+        return strategies.get(type).getPlan().getRules().stream()
+                .map(PricingRule::toString)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Compile new rules for an order type and install them
+     *
+     * Orders being priced while the rules are replaced use either the old or
+     * the new rules.
+     *
+     * @param type the order type
+     * @param rules the rules in their text form; blank entries are ignored
+     * @return the installed rules in their text form
+     * @throws IllegalArgumentException if a rule is invalid or rules conflict
+     */
+    public List<String> replaceRules(OrderType type, List<String> rules) {
+        List<PricingRule> parsed = rules.stream()
+                .filter(rule -> !rule.isBlank())
+                .map(PricingRule::parse)
+                .collect(Collectors.toList());
+        strategies.get(type).install(PricingPlan.compile(parsed, shopLocation));
+        logger.info("Pricing rules for {}: {}", type, parsed);
+        return getRules(type);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
+import com.bluemountain.coffee.domain.service.RiderRegistry;
+import com.bluemountain.coffee.interfaces.dto.RiderDTO;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Application Service for riders.
+ *
+ * DDD Concept: Application Service coordinates use cases and orchestrates
+ * domain objects to fulfill business requirements.
+ *
+ * Riders report in with their location and go off shift through this
+ * service; the dispatcher offers deliveries to the AVAILABLE ones.
+ */
+@Observed(name = "coffee.application")
+@Service
+public class RiderAppService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RiderAppService.class);
+
+    private final RiderRegistry riderRegistry;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param riderRegistry the rider registry
+     */
+    public RiderAppService(RiderRegistry riderRegistry) {
+        this.riderRegistry = riderRegistry;
+    }
+
+    /**
+     * Register a rider as available at their current location
+     *
+     * @param riderDTO the rider's details and location
+     * @return the registered rider
+     */
+    public RiderDTO register(RiderDTO riderDTO) {
+        logger.info("Registering rider: {}", riderDTO.getRiderId());
+
+        RiderInfo rider = new RiderInfo(
+            riderDTO.getRiderId(),
+            riderDTO.getRiderName(),
+            riderDTO.getPhoneNumber(),
+            riderDTO.getVehicleType()
+        );
+        GeoPoint location = GeoPoint.of(riderDTO.getLatitude(), riderDTO.getLongitude());
+
+        return toDTO(riderRegistry.register(rider, location));
+    }
+
+    /**
+     * Record a rider's new location
+     *
+     * @param riderId the rider ID
+     * @param latitude the latitude in degrees
+     * @param longitude the longitude in degrees
+     * @return the updated rider
+     */
+    public RiderDTO updateLocation(String riderId, double latitude, double longitude) {
+        return toDTO(riderRegistry.updateLocation(riderId, GeoPoint.of(latitude, longitude)));
+    }
+
+    /**
+     * Take a rider off shift
+     *
+     * @param riderId the rider ID
+     * @return the updated rider
+     */
+    public RiderDTO goOffline(String riderId) {
+        logger.info("Rider going offline: {}", riderId);
+
+        riderRegistry.markOffline(riderId);
+        return toDTO(riderRegistry.find(riderId)
+            .orElseThrow(() -> new IllegalArgumentException("Rider not found: " + riderId)));
+    }
+
+    /**
+     * Get a rider
+     *
+     * @param riderId the rider ID
+     * @return the rider
+     */
+    public RiderDTO findById(String riderId) {
+        return toDTO(riderRegistry.find(riderId)
+            .orElseThrow(() -> new IllegalArgumentException("Rider not found: " + riderId)));
+    }
+
+    /**
+     * Get all registered riders
+     *
+     * @return the riders
+     */
+    public List<RiderDTO> findAll() {
+        return riderRegistry.findAll().stream()
+            .map(this::toDTO)
+            .collect(Collectors.toList());
+    }
+
+    private RiderDTO toDTO(RiderPosition position) {
+        RiderInfo rider = position.rider();
+        return new RiderDTO(
+            rider.getRiderId(),
+            rider.getRiderName(),
+            rider.getPhoneNumber(),
+            rider.getVehicleType(),
+            position.location().getLatitude(),
+            position.location().getLongitude(),
+            position.status().name(),
+            position.updatedAt()
+        );
+    }
+}
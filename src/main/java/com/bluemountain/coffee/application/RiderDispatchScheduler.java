@@ -0,0 +1,82 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.service.RiderRegistry;
+import com.bluemountain.coffee.interfaces.dto.DeliveryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the rider dispatcher continuously in micro-batches.
+ *
+ * Every coffee.dispatch.interval the oldest CREATED deliveries, at most
+ * coffee.dispatch.batch-size of them, are matched with the nearest
+ * available riders. The batch size bounds the work (and so the latency)
+ * of one run; a backlog is worked off over consecutive runs. Deliveries
+ * that find no rider stay CREATED and are retried on the next run.
+ *
+ * Meters:
+ * - coffee.dispatch.batch: duration of one dispatcher run
+ * - coffee.dispatch.assignments: deliveries assigned to a rider by the dispatcher
+ * - coffee.dispatch.riders.available: riders waiting for a delivery
+ *
+ * Disable with coffee.dispatch.enabled=false to assign riders only by hand.
+ */
+@Component
+@ConditionalOnProperty(name = "coffee.dispatch.enabled", havingValue = "true", matchIfMissing = true)
+public class RiderDispatchScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RiderDispatchScheduler.class);
+
+    private final DeliveryAppService deliveryAppService;
+    private final int batchSize;
+    private final Timer batchTimer;
+    private final Counter assignments;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param deliveryAppService the delivery application service
+     * @param riderRegistry the rider registry
+     * @param meterRegistry the meter registry
+     * @param batchSize the most deliveries assigned in one run
+     */
+    public RiderDispatchScheduler(DeliveryAppService deliveryAppService,
+                                  RiderRegistry riderRegistry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${coffee.dispatch.batch-size:500}") int batchSize) {
+        this.deliveryAppService = deliveryAppService;
+        this.batchSize = batchSize;
+        this.batchTimer = Timer.builder("coffee.dispatch.batch")
+                .description("Duration of one rider dispatcher run")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.assignments = Counter.builder("coffee.dispatch.assignments")
+                .description("Deliveries assigned to a rider by the dispatcher")
+                .register(meterRegistry);
+        Gauge.builder("coffee.dispatch.riders.available", riderRegistry, RiderRegistry::availableCount)
+                .description("Riders waiting for a delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Assign riders to the oldest waiting deliveries
+     */
+    @Scheduled(fixedDelayString = "${coffee.dispatch.interval:PT0.5S}")
+    public void dispatch() {
+        List<DeliveryDTO> assigned = batchTimer.record(() -> deliveryAppService.dispatchRiders(batchSize));
+        if (!assigned.isEmpty()) {
+            assignments.increment(assigned.size());
+            logger.debug("Dispatcher assigned {} deliveries", assigned.size());
+        }
+    }
+}
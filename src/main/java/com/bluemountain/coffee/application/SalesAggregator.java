@@ -0,0 +1,175 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderCancelledEvent;
+import com.bluemountain.coffee.domain.event.OrderSettledEvent;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.SalesReport;
+import com.bluemountain.coffee.infrastructure.metrics.BucketRing;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming sales aggregates per order type (a read-side projection).
+ *
+ * Every OrderSettledEvent and OrderCancelledEvent is added to three bucket
+ * rings per order type: 60 one-second buckets, 60 one-minute buckets and 24
+ * one-hour buckets. The counters are LongAdders, so recording never locks
+ * and scales with the number of threads placing orders.
+ *
+ * A report sums at most 144 buckets per order type, whatever the number of
+ * orders, and never reads the order store. Tumbling windows run from the
+ * start of the current minute, hour or day in the shop's time zone; sliding
+ * windows cover the last 60 buckets of a second, the last 60 of a minute
+ * or the last 24 of an hour, so they move in steps of one bucket.
+ *
+ * Sales are counted when they are recorded: a cancellation counts in the
+ * window it happens in, whenever the order was settled. Aggregates start
+ * empty when the application starts.
+ */
+@Component
+public class SalesAggregator {
+
+    private static final int ORDERS = 0;
+    private static final int REVENUE_CENTS = 1;
+    private static final int CANCELLATIONS = 2;
+    private static final int REFUND_CENTS = 3;
+    private static final int FIELDS = 4;
+
+    private static final String[] WINDOW_NAMES = {"minute", "hour", "day"};
+    private static final long[] WINDOW_MILLIS = {60_000L, 3_600_000L, 86_400_000L};
+    private static final long[] BUCKET_MILLIS = {1_000L, 60_000L, 3_600_000L};
+
+    private final Clock clock;
+    private final Map<OrderType, BucketRing[]> rings = new EnumMap<>(OrderType.class);
+
+    /**
+     * Constructor with dependency injection
+     */
+    @Autowired
+    public SalesAggregator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param clock the clock, whose zone decides where days start
+     */
+    public SalesAggregator(Clock clock) {
+        this.clock = clock;
+        for (OrderType type : OrderType.values()) {
+            BucketRing[] windows = new BucketRing[WINDOW_NAMES.length];
+            for (int window = 0; window < windows.length; window++) {
+                windows[window] = new BucketRing(BUCKET_MILLIS[window],
+                        (int) (WINDOW_MILLIS[window] / BUCKET_MILLIS[window]), FIELDS);
+            }
+            rings.put(type, windows);
+        }
+    }
+
+    /**
+     * Count a settled order
+     *
+     * @param event order settled event
+     */
+    @Observed(name = "coffee.listener")
+    @EventListener
+    public void onOrderSettled(OrderSettledEvent event) {
+        long now = localMillis();
+        long cents = cents(event.getTotalPrice());
+        for (BucketRing ring : rings.get(event.getOrderType())) {
+            ring.add(now, ORDERS, 1);
+            ring.add(now, REVENUE_CENTS, cents);
+        }
+    }
+
+    /**
+     * Count a cancelled order and its refund
+     *
+     * @param event order cancelled event
+     */
+    @Observed(name = "coffee.listener")
+    @EventListener
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        long now = localMillis();
+        long cents = event.getRefund() != null ? cents(event.getRefund()) : 0;
+        for (BucketRing ring : rings.get(event.getOrderType())) {
+            ring.add(now, CANCELLATIONS, 1);
+            ring.add(now, REFUND_CENTS, cents);
+        }
+    }
+
+    /**
+     * Report the sales of the tumbling and sliding minute, hour and day
+     *
+     * @return the sales report
+     */
+    public SalesReport report() {
+        long now = localMillis();
+        List<SalesReport.Window> windows = new ArrayList<>(WINDOW_NAMES.length * 2);
+        for (int window = 0; window < WINDOW_NAMES.length; window++) {
+            long tumblingFrom = Math.floorDiv(now, WINDOW_MILLIS[window]) * WINDOW_MILLIS[window];
+            long slidingFrom = (Math.floorDiv(now, BUCKET_MILLIS[window]) + 1) * BUCKET_MILLIS[window]
+                    - WINDOW_MILLIS[window];
+            windows.add(window(window, "tumbling", tumblingFrom, now));
+            windows.add(window(window, "sliding", slidingFrom, now));
+        }
+        return new SalesReport(windows, toLocalDateTime(now));
+    }
+
+    private SalesReport.Window window(int window, String kind, long from, long to) {
+        Map<String, SalesReport.Figures> byOrderType = new LinkedHashMap<>();
+        long[] total = new long[FIELDS];
+        for (Map.Entry<OrderType, BucketRing[]> entry : rings.entrySet()) {
+            long[] sums = entry.getValue()[window].sum(from, to);
+            byOrderType.put(entry.getKey().name(), figures(sums));
+            for (int field = 0; field < FIELDS; field++) {
+                total[field] += sums[field];
+            }
+        }
+        return new SalesReport.Window(WINDOW_NAMES[window], kind, toLocalDateTime(from), toLocalDateTime(to),
+                byOrderType, figures(total));
+    }
+
+    private static SalesReport.Figures figures(long[] sums) {
+        BigDecimal revenue = BigDecimal.valueOf(sums[REVENUE_CENTS], 2);
+        BigDecimal refunds = BigDecimal.valueOf(sums[REFUND_CENTS], 2);
+        BigDecimal averageTicket = sums[ORDERS] == 0
+                ? BigDecimal.valueOf(0, 2)
+                : revenue.divide(BigDecimal.valueOf(sums[ORDERS]), 2, RoundingMode.HALF_UP);
+        return new SalesReport.Figures(sums[ORDERS], sums[CANCELLATIONS], revenue, refunds,
+                revenue.subtract(refunds), averageTicket);
+    }
+
+    /**
+     * The current time in milliseconds of the shop's local time line, so
+     * that days start at local midnight
+     */
+    private long localMillis() {
+        Instant now = clock.instant();
+        return now.toEpochMilli() + clock.getZone().getRules().getOffset(now).getTotalSeconds() * 1000L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long localMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(localMillis), ZoneOffset.UTC);
+    }
+
+    private static long cents(Money money) {
+        return money.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,229 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderSettledEvent;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.valobj.DistinctCustomers;
+import com.bluemountain.coffee.domain.model.valobj.TopProducts;
+import com.bluemountain.coffee.infrastructure.metrics.HyperLogLog;
+import com.bluemountain.coffee.infrastructure.metrics.SpaceSaving;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Best selling products and distinct customers of settled orders, kept in
+ * sketches of bounded size (a read-side projection).
+ *
+ * Each settled order adds its items to a Space-Saving sketch and its
+ * customer name to a HyperLogLog sketch. Sketches are kept per time bucket:
+ * twelve 5-minute buckets for the last hour and 24 hourly buckets for the
+ * current day, so memory stays the same however many orders and products
+ * there are (a few hundred KB with the default settings). Queries merge the
+ * buckets of the window, so the hour window slides in 5-minute steps.
+ *
+ * Cancelled orders are not taken out: the sketches describe demand, and
+ * neither sketch supports removal. Sketches start empty when the
+ * application starts.
+ */
+@Component
+public class SalesSketches {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final Clock clock;
+    private final int capacity;
+    private final int precision;
+    private final SketchRing lastHour;
+    private final SketchRing today;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param capacity counters per product sketch
+     * @param precision register bits of the customer sketches
+     */
+    @Autowired
+    public SalesSketches(@Value("${coffee.analytics.top-products.capacity:64}") int capacity,
+                         @Value("${coffee.analytics.distinct-customers.precision:12}") int precision) {
+        this(capacity, precision, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param capacity counters per product sketch
+     * @param precision register bits of the customer sketches
+     * @param clock the clock, whose zone decides where days start
+     */
+    public SalesSketches(int capacity, int precision, Clock clock) {
+        this.clock = clock;
+        this.capacity = capacity;
+        this.precision = precision;
+        this.lastHour = new SketchRing(HOUR_MILLIS / 12, 12);
+        this.today = new SketchRing(HOUR_MILLIS, 24);
+        // Fail at startup rather than on the first order
+        new Sketches(0, capacity, precision);
+    }
+
+    /**
+     * Count the products and customer of a settled order
+     *
+     * @param event order settled event
+     */
+    @Observed(name = "coffee.listener")
+    @EventListener
+    public void onOrderSettled(OrderSettledEvent event) {
+        long now = localMillis();
+        String customer = event.getCustomerName().trim().toLowerCase(Locale.ROOT);
+        for (SketchRing ring : new SketchRing[] {lastHour, today}) {
+            Sketches sketches = ring.bucket(now);
+            for (OrderItem item : event.getItems()) {
+                sketches.products.offer(item.getProductName(), item.getQuantity());
+            }
+            sketches.customers.offer(customer);
+        }
+    }
+
+    /**
+     * Get the best selling products
+     *
+     * @param window hour or day
+     * @param limit the most products to list
+     * @return the best sellers of the window
+     */
+    public TopProducts topProducts(String window, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        long now = localMillis();
+        long from = from(window, now);
+        List<Sketches> buckets = ring(window).between(from, now);
+        List<SpaceSaving> sketches = new ArrayList<>(buckets.size());
+        long quantity = 0;
+        long maxError = 0;
+        for (Sketches bucket : buckets) {
+            sketches.add(bucket.products);
+            quantity += bucket.products.total();
+            maxError += bucket.products.unseenBound();
+        }
+        List<TopProducts.Product> products = SpaceSaving.merge(sketches).stream()
+                .limit(limit)
+                .map(estimate -> new TopProducts.Product(estimate.item(), estimate.count(), estimate.guaranteedCount()))
+                .toList();
+        return new TopProducts(window, toLocalDateTime(from), toLocalDateTime(now), quantity, maxError, products);
+    }
+
+    /**
+     * Estimate how many different customers ordered
+     *
+     * @param window hour or day
+     * @return the distinct customers of the window
+     */
+    public DistinctCustomers distinctCustomers(String window) {
+        long now = localMillis();
+        long from = from(window, now);
+        HyperLogLog union = new HyperLogLog(precision);
+        for (Sketches bucket : ring(window).between(from, now)) {
+            union.merge(bucket.customers);
+        }
+        return new DistinctCustomers(window, toLocalDateTime(from), toLocalDateTime(now), union.estimate(),
+                union.relativeStandardError());
+    }
+
+    private SketchRing ring(String window) {
+        return "hour".equals(window) ? lastHour : today;
+    }
+
+    /**
+     * The start of a window: the oldest 5-minute bucket of the last hour, or
+     * local midnight
+     */
+    private long from(String window, long now) {
+        if ("hour".equals(window)) {
+            return (Math.floorDiv(now, lastHour.bucketMillis) + 1) * lastHour.bucketMillis - HOUR_MILLIS;
+        }
+        if ("day".equals(window)) {
+            return Math.floorDiv(now, DAY_MILLIS) * DAY_MILLIS;
+        }
+        throw new IllegalArgumentException("Unknown window: " + window + ", expected hour or day");
+    }
+
+    /**
+     * The current time in milliseconds of the shop's local time line, so
+     * that days start at local midnight
+     */
+    private long localMillis() {
+        Instant now = clock.instant();
+        return now.toEpochMilli() + clock.getZone().getRules().getOffset(now).getTotalSeconds() * 1000L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long localMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(localMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Ring of time buckets of sketches; a bucket that has fallen out of the
+     * ring is replaced by an empty one with a compare-and-set
+     */
+    private final class SketchRing {
+        private final long bucketMillis;
+        private final AtomicReferenceArray<Sketches> buckets;
+
+        SketchRing(long bucketMillis, int size) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = new AtomicReferenceArray<>(size);
+        }
+
+        Sketches bucket(long timeMillis) {
+            long index = Math.floorDiv(timeMillis, bucketMillis);
+            int slot = (int) Math.floorMod(index, (long) buckets.length());
+            Sketches bucket = buckets.get(slot);
+            while (bucket == null || bucket.index < index) {
+                Sketches fresh = new Sketches(index, capacity, precision);
+                if (buckets.compareAndSet(slot, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = buckets.get(slot);
+                }
+            }
+            return bucket;
+        }
+
+        List<Sketches> between(long fromMillis, long toMillis) {
+            long first = Math.floorDiv(fromMillis, bucketMillis);
+            long last = Math.floorDiv(toMillis, bucketMillis);
+            List<Sketches> between = new ArrayList<>(buckets.length());
+            for (int slot = 0; slot < buckets.length(); slot++) {
+                Sketches bucket = buckets.get(slot);
+                if (bucket != null && bucket.index >= first && bucket.index <= last) {
+                    between.add(bucket);
+                }
+            }
+            return between;
+        }
+    }
+
+    private static final class Sketches {
+        private final long index;
+        private final SpaceSaving products;
+        private final HyperLogLog customers;
+
+        Sketches(long index, int capacity, int precision) {
+            this.index = index;
+            this.products = new SpaceSaving(capacity);
+            this.customers = new HyperLogLog(precision);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.bluemountain.coffee.domain.event;
+
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when a READY delivery order has waited out its
+ * batching window without being put into a delivery.
+ */
+public class BatchWindowExpiredEvent extends ApplicationEvent {
+    private final OrderId orderId;
+    private final LocalDateTime expiredAt;
+
+    public BatchWindowExpiredEvent(Object source, OrderId orderId) {
+        super(source);
+        this.orderId = orderId;
+        this.expiredAt = LocalDateTime.now();
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchWindowExpiredEvent{" +
+                "orderId=" + orderId +
+                ", expiredAt=" + expiredAt +
+                '}';
+    }
+}
@@ -1,8 +1,10 @@
 package com.bluemountain.coffee.domain.event;
 
 import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -10,26 +12,62 @@ import java.time.LocalDateTime;
  */
 public class DeliveryDeliveredEvent extends ApplicationEvent {
     private final DeliveryId deliveryId;
+    private final RiderInfo riderInfo;
+    private final String zone;
+    private final LocalDateTime pickedUpAt;
     private final LocalDateTime deliveredAt;
 
-    public DeliveryDeliveredEvent(Object source, DeliveryId deliveryId) {
+    public DeliveryDeliveredEvent(Object source, DeliveryId deliveryId, RiderInfo riderInfo, String zone,
+                                  LocalDateTime pickedUpAt, LocalDateTime deliveredAt) {
         super(source);
         this.deliveryId = deliveryId;
-        this.deliveredAt = LocalDateTime.now();
+        this.riderInfo = riderInfo;
+        this.zone = zone;
+        this.pickedUpAt = pickedUpAt;
+        this.deliveredAt = deliveredAt;
     }
 
     public DeliveryId getDeliveryId() {
         return deliveryId;
     }
 
+    public RiderInfo getRiderInfo() {
+        return riderInfo;
+    }
+
+    /**
+     * Get the delivery zone, the postal code of the first stop
+     *
+     * @return the zone, or null if unknown
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    public LocalDateTime getPickedUpAt() {
+        return pickedUpAt;
+    }
+
     public LocalDateTime getDeliveredAt() {
         return deliveredAt;
     }
 
+    /**
+     * Get how long the rider took from pickup to delivery
+     *
+     * @return the time from pickup to delivery
+     */
+    public Duration getPickupToDelivered() {
+        return Duration.between(pickedUpAt, deliveredAt);
+    }
+
     @Override
     public String toString() {
         return "DeliveryDeliveredEvent{" +
                 "deliveryId=" + deliveryId +
+                ", riderInfo=" + riderInfo +
+                ", zone='" + zone + '\'' +
+                ", pickedUpAt=" + pickedUpAt +
                 ", deliveredAt=" + deliveredAt +
                 '}';
     }
@@ -1,8 +1,10 @@
 package com.bluemountain.coffee.domain.event;
 
 import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -10,26 +12,62 @@ import java.time.LocalDateTime;
  */
 public class DeliveryPickedUpEvent extends ApplicationEvent {
     private final DeliveryId deliveryId;
+    private final RiderInfo riderInfo;
+    private final String zone;
+    private final LocalDateTime createdAt;
     private final LocalDateTime pickedUpAt;
 
-    public DeliveryPickedUpEvent(Object source, DeliveryId deliveryId) {
+    public DeliveryPickedUpEvent(Object source, DeliveryId deliveryId, RiderInfo riderInfo, String zone,
+                                 LocalDateTime createdAt, LocalDateTime pickedUpAt) {
         super(source);
         this.deliveryId = deliveryId;
-        this.pickedUpAt = LocalDateTime.now();
+        this.riderInfo = riderInfo;
+        this.zone = zone;
+        this.createdAt = createdAt;
+        this.pickedUpAt = pickedUpAt;
     }
 
     public DeliveryId getDeliveryId() {
         return deliveryId;
     }
 
+    public RiderInfo getRiderInfo() {
+        return riderInfo;
+    }
+
+    /**
+     * Get the delivery zone, the postal code of the first stop
+     *
+     * @return the zone, or null if unknown
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
     public LocalDateTime getPickedUpAt() {
         return pickedUpAt;
     }
 
+    /**
+     * Get how long the delivery waited from creation to pickup
+     *
+     * @return the wait for pickup
+     */
+    public Duration getWaitForPickup() {
+        return Duration.between(createdAt, pickedUpAt);
+    }
+
     @Override
     public String toString() {
         return "DeliveryPickedUpEvent{" +
                 "deliveryId=" + deliveryId +
+                ", riderInfo=" + riderInfo +
+                ", zone='" + zone + '\'' +
+                ", createdAt=" + createdAt +
                 ", pickedUpAt=" + pickedUpAt +
                 '}';
     }
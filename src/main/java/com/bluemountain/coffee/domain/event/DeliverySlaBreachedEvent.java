@@ -0,0 +1,66 @@
+package com.bluemountain.coffee.domain.event;
+
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when a delivery stays in one status longer than
+ * its SLA allows: ASSIGNED but not picked up, or picked up but not delivered.
+ */
+public class DeliverySlaBreachedEvent extends ApplicationEvent {
+    private final DeliveryId deliveryId;
+    private final RiderInfo riderInfo;
+    private final DeliveryStatus status;
+    private final Duration sla;
+    private final LocalDateTime breachedAt;
+
+    public DeliverySlaBreachedEvent(Object source, DeliveryId deliveryId, RiderInfo riderInfo,
+                                    DeliveryStatus status, Duration sla) {
+        super(source);
+        this.deliveryId = deliveryId;
+        this.riderInfo = riderInfo;
+        this.status = status;
+        this.sla = sla;
+        this.breachedAt = LocalDateTime.now();
+    }
+
+    public DeliveryId getDeliveryId() {
+        return deliveryId;
+    }
+
+    public RiderInfo getRiderInfo() {
+        return riderInfo;
+    }
+
+    /**
+     * Get the status the SLA started in: ASSIGNED for the pickup SLA,
+     * PICKED_UP for the delivery SLA
+     */
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public Duration getSla() {
+        return sla;
+    }
+
+    public LocalDateTime getBreachedAt() {
+        return breachedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DeliverySlaBreachedEvent{" +
+                "deliveryId=" + deliveryId +
+                ", riderInfo=" + riderInfo +
+                ", status=" + status +
+                ", sla=" + sla +
+                ", breachedAt=" + breachedAt +
+                '}';
+    }
+}
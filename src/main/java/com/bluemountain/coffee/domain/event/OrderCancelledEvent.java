@@ -0,0 +1,60 @@
+package com.bluemountain.coffee.domain.event;
+
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published when an order has been cancelled and saved.
+ */
+public class OrderCancelledEvent extends ApplicationEvent {
+    private final OrderId orderId;
+    private final OrderType orderType;
+    private final Money refund;
+    private final LocalDateTime cancelledAt;
+
+    /**
+     * Constructor
+     *
+     * @param source the object that published the event
+     * @param orderId the ID of the order
+     * @param orderType the type of the order
+     * @param refund the amount refunded, or null if the order was never settled
+     */
+    public OrderCancelledEvent(Object source, OrderId orderId, OrderType orderType, Money refund) {
+        super(source);
+        this.orderId = orderId;
+        this.orderType = orderType;
+        this.refund = refund;
+        this.cancelledAt = LocalDateTime.now();
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public OrderType getOrderType() {
+        return orderType;
+    }
+
+    public Money getRefund() {
+        return refund;
+    }
+
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderCancelledEvent{" +
+                "orderId=" + orderId +
+                ", orderType=" + orderType +
+                ", refund=" + refund +
+                ", cancelledAt=" + cancelledAt +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.bluemountain.coffee.domain.event;
+
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Domain event published when an order has been priced, paid for and saved.
+ */
+public class OrderSettledEvent extends ApplicationEvent {
+    private final OrderId orderId;
+    private final OrderType orderType;
+    private final String customerName;
+    private final List<OrderItem> items;
+    private final Money totalPrice;
+    private final LocalDateTime settledAt;
+
+    public OrderSettledEvent(Object source, OrderId orderId, OrderType orderType, String customerName,
+                             List<OrderItem> items, Money totalPrice) {
+        super(source);
+        this.orderId = orderId;
+        this.orderType = orderType;
+        this.customerName = customerName;
+        this.items = List.copyOf(items);
+        this.totalPrice = totalPrice;
+        this.settledAt = LocalDateTime.now();
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public OrderType getOrderType() {
+        return orderType;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public Money getTotalPrice() {
+        return totalPrice;
+    }
+
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderSettledEvent{" +
+                "orderId=" + orderId +
+                ", orderType=" + orderType +
+                ", customerName='" + customerName + '\'' +
+                ", items=" + items.size() +
+                ", totalPrice=" + totalPrice +
+                ", settledAt=" + settledAt +
+                '}';
+    }
+}
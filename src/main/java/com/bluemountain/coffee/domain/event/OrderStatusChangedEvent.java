@@ -0,0 +1,53 @@
+package com.bluemountain.coffee.domain.event;
+
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Domain event published whenever a changed order has been saved.
+ *
+ * DDD Concept: Domain events represent something that happened in the domain.
+ * Read-side projections (such as the order dashboard read model) listen to
+ * this event to stay in sync with the Order aggregates.
+ *
+ * OOP Principles demonstrated:
+ * - Inheritance: Extends Spring's ApplicationEvent
+ * - Encapsulation: Contains all relevant event data
+ * - Event-driven architecture: Decouples components
+ */
+public class OrderStatusChangedEvent extends ApplicationEvent {
+    private final OrderId orderId;
+    private final OrderStatus status;
+
+    /**
+     * Constructor
+     *
+     * @param source the object that published the event
+     * @param orderId the ID of the order
+     * @param status the status of the order after the change
+     */
+    public OrderStatusChangedEvent(Object source, OrderId orderId, OrderStatus status) {
+        super(source);
+        this.orderId = orderId;
+        this.status = status;
+    }
+
+    /**
+     * Get the order ID
+     *
+     * @return orderId
+     */
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Get the status of the order after the change
+     *
+     * @return status
+     */
+    public OrderStatus getStatus() {
+        return status;
+    }
+}
@@ -3,7 +3,9 @@ package com.bluemountain.coffee.domain.model.aggregate;
 import com.bluemountain.coffee.domain.event.*;
 import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
 import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.Address;
 import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryRoute;
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
 import org.springframework.context.ApplicationEventPublisher;
@@ -11,6 +13,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -40,6 +43,7 @@ public class Delivery {
     private final DeliveryId deliveryId;
     private final List<DeliveryItem> items;
     private RiderInfo riderInfo;
+    private DeliveryRoute route;
     private DeliveryStatus status;
     private LocalDateTime pickupTime;
     private LocalDateTime deliveryTime;
@@ -165,6 +169,30 @@ public class Delivery {
         }
     }
     
+    /**
+     * Set the order in which the rider visits the stops
+     * 
+     * @param route the route, which must visit every order of this delivery exactly once
+     */
+    public void planRoute(DeliveryRoute route) {
+        Objects.requireNonNull(route, "Route cannot be null");
+        
+        if (isTerminal()) {
+            throw new IllegalStateException(
+                "Cannot plan route. Current status: " + status
+            );
+        }
+        if (route.stops().size() != items.size()
+                || !new HashSet<>(route.stops()).equals(new HashSet<>(getOrderIds()))) {
+            throw new IllegalArgumentException(
+                "Route must visit every order of delivery " + deliveryId + " exactly once"
+            );
+        }
+        
+        this.route = route;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     /**
      * Mark as picked up by rider
      */
@@ -189,7 +217,11 @@ public class Delivery {
         if (eventPublisher != null) {
             eventPublisher.publishEvent(new DeliveryPickedUpEvent(
                 this,
-                this.deliveryId
+                this.deliveryId,
+                this.riderInfo,
+                getZone(),
+                this.createdAt,
+                this.pickupTime
             ));
         }
     }
@@ -233,7 +265,11 @@ public class Delivery {
         if (eventPublisher != null) {
             eventPublisher.publishEvent(new DeliveryDeliveredEvent(
                 this,
-                this.deliveryId
+                this.deliveryId,
+                this.riderInfo,
+                getZone(),
+                this.pickupTime,
+                this.deliveryTime
             ));
         }
     }
@@ -290,6 +326,15 @@ public class Delivery {
         return riderInfo;
     }
     
+    /**
+     * Get the planned route
+     * 
+     * @return the route, or null if none was planned
+     */
+    public DeliveryRoute getRoute() {
+        return route;
+    }
+    
     public DeliveryStatus getStatus() {
         return status;
     }
@@ -319,6 +364,30 @@ public class Delivery {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Get the order IDs in the order the rider visits them: the planned
+     * route, or the batching order if no route was planned
+     */
+    public List<OrderId> getStopSequence() {
+        return route != null ? route.stops() : getOrderIds();
+    }
+    
+    /**
+     * Get the delivery zone: the postal code of the first stop
+     * 
+     * @return the postal code, or null if the first order has no address
+     */
+    public String getZone() {
+        OrderId first = getStopSequence().get(0);
+        return items.stream()
+            .filter(item -> item.getOrderId().equals(first))
+            .map(item -> item.getOrder().getAddress())
+            .filter(Objects::nonNull)
+            .map(Address::getPostalCode)
+            .findFirst()
+            .orElse(null);
+    }
+    
     /**
      * Get the list of order IDs in this delivery
      */
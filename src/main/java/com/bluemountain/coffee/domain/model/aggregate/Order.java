@@ -8,14 +8,17 @@ import com.bluemountain.coffee.domain.model.enums.OrderType;
 import com.bluemountain.coffee.domain.model.valobj.Address;
 import com.bluemountain.coffee.domain.model.valobj.Money;
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
 import com.bluemountain.coffee.domain.service.PricingStrategy;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Aggregate Root representing an order in the coffee shop.
@@ -39,18 +42,21 @@ import java.util.Objects;
  * - Strategy Pattern: PricingStrategy for calculating prices
  * - Factory Pattern: create() factory method
  * - Domain Events: Publishes events for important state changes
+ * - Event Sourcing: Every status transition is appended to the status history,
+ *   and replay() rebuilds an order by folding that history
  */
 public class Order {
     
     private final OrderId id;
     private final String customerName;
     private final OrderType type;
-    private final List<OrderItem> items;
+    private final OrderItems items;
     private final Address address;
     private final LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private OrderStatus status;
     private Money totalPrice;
+    private final List<OrderStatusChange> statusHistory = new ArrayList<>();
     private final ApplicationEventPublisher eventPublisher;
     
     /**
@@ -69,11 +75,12 @@ public class Order {
         this.id = Objects.requireNonNull(id, "Order ID cannot be null");
         this.customerName = Objects.requireNonNull(customerName, "Customer name cannot be null");
         this.type = Objects.requireNonNull(type, "Order type cannot be null");
-        this.items = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(items, "Items cannot be null")));
+        this.items = OrderItems.of(Objects.requireNonNull(items, "Items cannot be null"));
         this.address = address;
         this.createdAt = Objects.requireNonNull(createdAt, "Created at cannot be null");
         this.updatedAt = createdAt;
         this.status = OrderStatus.CREATED;
+        this.statusHistory.add(OrderStatusChange.of(OrderStatus.CREATED, createdAt));
         this.eventPublisher = eventPublisher;
         
         // Validate that delivery orders have an address
@@ -159,6 +166,43 @@ public class Order {
         return order;
     }
     
+    /**
+     * Rebuild an order from its creation data and recorded status history.
+     * 
+     * DDD Concept: Event Sourcing
+     * The history is folded in order, validating every transition against
+     * OrderStatus.canTransitionTo(). No domain events are published, since
+     * replaying a history does not change anything in the domain.
+     * 
+     * @param id the order ID
+     * @param customerName the customer name
+     * @param type the order type
+     * @param items the list of order items
+     * @param address the delivery address (null for dine-in)
+     * @param history the recorded status history, starting with CREATED
+     * @param totalPrice the settled total price (null if never settled)
+     * @return the rebuilt Order instance
+     */
+    public static Order replay(OrderId id, String customerName, OrderType type, List<OrderItem> items,
+                               Address address, List<OrderStatusChange> history, Money totalPrice) {
+        Objects.requireNonNull(history, "History cannot be null");
+        if (history.isEmpty() || history.get(0).getStatus() != OrderStatus.CREATED) {
+            throw new IllegalArgumentException("Order history must start with CREATED");
+        }
+        
+        Order order = new Order(id, customerName, type, items, address,
+                history.get(0).getOccurredAt(), null);
+        for (OrderStatusChange change : history.subList(1, history.size())) {
+            if (!order.status.canTransitionTo(change.getStatus())) {
+                throw new InvalidOrderStateException(order.status.name(), change.getStatus().name());
+            }
+            order.apply(change);
+        }
+        order.totalPrice = totalPrice;
+        
+        return order;
+    }
+    
     /**
      * Settle the order (process payment)
      * 
@@ -177,8 +221,32 @@ public class Order {
         
         // Calculate total price using strategy pattern
         this.totalPrice = pricingStrategy.calculate(this);
-        this.status = OrderStatus.SETTLED;
-        this.updatedAt = LocalDateTime.now();
+        recordTransition(OrderStatus.SETTLED);
+    }
+    
+    /**
+     * Settle many orders priced by the same strategy in one pass
+     * 
+     * All orders are checked before any is settled, so either all of them
+     * are settled or none is.
+     * 
+     * @param orders the orders to settle, all in CREATED status
+     * @param pricingStrategy the pricing strategy to use
+     */
+    public static void settleAll(List<Order> orders, PricingStrategy pricingStrategy) {
+        Objects.requireNonNull(pricingStrategy, "Pricing strategy cannot be null");
+        for (Order order : orders) {
+            if (order.status != OrderStatus.CREATED) {
+                throw new InvalidOrderStateException(order.status.name(), OrderStatus.SETTLED.name());
+            }
+        }
+        
+        Money[] totals = pricingStrategy.calculateAll(orders);
+        for (int i = 0; i < totals.length; i++) {
+            Order order = orders.get(i);
+            order.totalPrice = totals[i];
+            order.recordTransition(OrderStatus.SETTLED);
+        }
     }
     
     /**
@@ -190,8 +258,7 @@ public class Order {
             throw new InvalidOrderStateException(status.name(), OrderStatus.PREPARING.name());
         }
         
-        this.status = OrderStatus.PREPARING;
-        this.updatedAt = LocalDateTime.now();
+        recordTransition(OrderStatus.PREPARING);
     }
     
     /**
@@ -205,8 +272,7 @@ public class Order {
             throw new InvalidOrderStateException(status.name(), OrderStatus.READY.name());
         }
         
-        this.status = OrderStatus.READY;
-        this.updatedAt = LocalDateTime.now();
+        recordTransition(OrderStatus.READY);
         
         // Publish domain event
         if (eventPublisher != null) {
@@ -228,8 +294,7 @@ public class Order {
             throw new InvalidOrderStateException(status.name(), OrderStatus.COMPLETED.name());
         }
         
-        this.status = OrderStatus.COMPLETED;
-        this.updatedAt = LocalDateTime.now();
+        recordTransition(OrderStatus.COMPLETED);
     }
     
     /**
@@ -240,9 +305,12 @@ public class Order {
         if (status == OrderStatus.COMPLETED) {
             throw new InvalidOrderStateException("Cannot cancel a completed order");
         }
+        // A second cancellation would refund the order again
+        if (status == OrderStatus.CANCELLED) {
+            throw new InvalidOrderStateException("Order is already cancelled");
+        }
         
-        this.status = OrderStatus.CANCELLED;
-        this.updatedAt = LocalDateTime.now();
+        recordTransition(OrderStatus.CANCELLED);
     }
     
     /**
@@ -276,6 +344,44 @@ public class Order {
         }
     }
     
+    /**
+     * Move to a new status and append the change to the status history
+     * 
+     * @param newStatus the new status
+     */
+    private void recordTransition(OrderStatus newStatus) {
+        apply(OrderStatusChange.of(newStatus, LocalDateTime.now()));
+    }
+    
+    /**
+     * Apply a status change to the aggregate state
+     * 
+     * @param change the status change
+     */
+    private void apply(OrderStatusChange change) {
+        this.status = change.getStatus();
+        this.updatedAt = change.getOccurredAt();
+        this.statusHistory.add(change);
+    }
+    
+    /**
+     * Get how long the order stayed in the given status.
+     * 
+     * @param stage the status to measure
+     * @return the time between entering the status and leaving it, or empty
+     *         if the order never entered it or is still in it
+     */
+    public Optional<Duration> getStageDuration(OrderStatus stage) {
+        for (int i = 0; i < statusHistory.size() - 1; i++) {
+            if (statusHistory.get(i).getStatus() == stage) {
+                return Optional.of(Duration.between(
+                        statusHistory.get(i).getOccurredAt(),
+                        statusHistory.get(i + 1).getOccurredAt()));
+            }
+        }
+        return Optional.empty();
+    }
+    
     // Getters
     
     public OrderId getId() {
@@ -290,7 +396,12 @@ public class Order {
         return type;
     }
     
-    public List<OrderItem> getItems() {
+    /**
+     * Get the items, packed into primitive arrays
+     * 
+     * @return the unmodifiable items
+     */
+    public OrderItems getItems() {
         return items;
     }
     
@@ -314,6 +425,10 @@ public class Order {
         return totalPrice;
     }
     
+    public List<OrderStatusChange> getStatusHistory() {
+        return Collections.unmodifiableList(statusHistory);
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,7 @@
 package com.bluemountain.coffee.domain.model.aggregate;
 
 import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.Product;
 import java.util.Objects;
 
 /**
@@ -12,8 +13,19 @@ import java.util.Objects;
  * OOP Principles demonstrated:
  * - Encapsulation: Internal state protected
  * - Immutability: Once created, cannot be modified (create new instance for changes)
+ * 
+ * Items created from a catalog Product share the product's name instance;
+ * their product ID is the product's. Items created from a name and price
+ * have product ID 0. Orders keep their items packed (see OrderItems) and
+ * build OrderItem instances only when they are read.
  */
 public final class OrderItem {
+    /**
+     * Product ID of items not created from a catalog product
+     */
+    public static final int NO_PRODUCT_ID = 0;
+    
+    private final int productId;
     private final String productName;
     private final int quantity;
     private final Money unitPrice;
@@ -22,11 +34,12 @@ public final class OrderItem {
     /**
      * Private constructor to enforce use of factory method
      * 
+     * @param productId the catalog product ID, or NO_PRODUCT_ID
      * @param productName the name of the product
      * @param quantity the quantity ordered
      * @param unitPrice the price per unit
      */
-    private OrderItem(String productName, int quantity, Money unitPrice) {
+    private OrderItem(int productId, String productName, int quantity, Money unitPrice) {
         if (productName == null || productName.trim().isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be null or empty");
         }
@@ -37,6 +50,7 @@ public final class OrderItem {
             throw new IllegalArgumentException("Unit price cannot be null");
         }
         
+        this.productId = productId;
         this.productName = productName.trim();
         this.quantity = quantity;
         this.unitPrice = unitPrice;
@@ -52,7 +66,42 @@ public final class OrderItem {
      * @return new OrderItem instance
      */
     public static OrderItem of(String productName, int quantity, Money unitPrice) {
-        return new OrderItem(productName, quantity, unitPrice);
+        return new OrderItem(NO_PRODUCT_ID, productName, quantity, unitPrice);
+    }
+    
+    /**
+     * Factory method to create an OrderItem of a catalog product at the
+     * product's price
+     * 
+     * @param product the product
+     * @param quantity the quantity ordered
+     * @return new OrderItem instance
+     */
+    public static OrderItem of(Product product, int quantity) {
+        Objects.requireNonNull(product, "Product cannot be null");
+        return new OrderItem(product.getId(), product.getName(), quantity, product.getPrice());
+    }
+    
+    /**
+     * Rebuild an OrderItem from a packed order line
+     * 
+     * @param productId the catalog product ID, or NO_PRODUCT_ID
+     * @param productName the name of the product
+     * @param quantity the quantity ordered
+     * @param unitPrice the price per unit
+     * @return new OrderItem instance
+     */
+    static OrderItem restore(int productId, String productName, int quantity, Money unitPrice) {
+        return new OrderItem(productId, productName, quantity, unitPrice);
+    }
+    
+    /**
+     * Get the catalog product ID
+     * 
+     * @return productId, or NO_PRODUCT_ID if the item was not created from a product
+     */
+    public int getProductId() {
+        return productId;
     }
     
     /**
@@ -96,20 +145,22 @@ public final class OrderItem {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         OrderItem orderItem = (OrderItem) o;
-        return quantity == orderItem.quantity &&
+        return productId == orderItem.productId &&
+               quantity == orderItem.quantity &&
                Objects.equals(productName, orderItem.productName) &&
                Objects.equals(unitPrice, orderItem.unitPrice);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(productName, quantity, unitPrice);
+        return Objects.hash(productId, productName, quantity, unitPrice);
     }
     
     @Override
     public String toString() {
         return "OrderItem{" +
-                "productName='" + productName + '\'' +
+                "productId=" + productId +
+                ", productName='" + productName + '\'' +
                 ", quantity=" + quantity +
                 ", unitPrice=" + unitPrice +
                 ", totalPrice=" + totalPrice +
@@ -0,0 +1,123 @@
+package com.bluemountain.coffee.domain.model.aggregate;
+
+import com.bluemountain.coffee.domain.model.valobj.Money;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The items of an order, packed into parallel primitive arrays.
+ *
+ * Each line is a product ID, a product name, a quantity and a unit price in
+ * cents, stored at the same index of four arrays. Names are references to
+ * the catalog's shared strings, so a line costs about 20 bytes instead of
+ * an OrderItem with two Money and two BigDecimal objects.
+ *
+ * The class is an unmodifiable List of OrderItem: get() builds the item on
+ * demand. Code on hot paths reads the lines through the indexed accessors
+ * instead, which allocate nothing.
+ */
+public final class OrderItems extends AbstractList<OrderItem> implements RandomAccess {
+
+    private final int[] productIds;
+    private final String[] productNames;
+    private final int[] quantities;
+    private final long[] unitCents;
+
+    private OrderItems(int[] productIds, String[] productNames, int[] quantities, long[] unitCents) {
+        this.productIds = productIds;
+        this.productNames = productNames;
+        this.quantities = quantities;
+        this.unitCents = unitCents;
+    }
+
+    /**
+     * Pack a list of items
+     *
+     * @param items the items
+     * @return the packed items, or the same instance if already packed
+     */
+    static OrderItems of(List<OrderItem> items) {
+        if (items instanceof OrderItems) {
+            return (OrderItems) items;
+        }
+        int size = items.size();
+        int[] productIds = new int[size];
+        String[] productNames = new String[size];
+        int[] quantities = new int[size];
+        long[] unitCents = new long[size];
+        for (int i = 0; i < size; i++) {
+            OrderItem item = items.get(i);
+            productIds[i] = item.getProductId();
+            productNames[i] = item.getProductName();
+            quantities[i] = item.getQuantity();
+            unitCents[i] = item.getUnitPrice().toCents();
+        }
+        return new OrderItems(productIds, productNames, quantities, unitCents);
+    }
+
+    @Override
+    public OrderItem get(int index) {
+        return OrderItem.restore(productIds[index], productNames[index], quantities[index],
+                Money.ofCents(unitCents[index]));
+    }
+
+    @Override
+    public int size() {
+        return quantities.length;
+    }
+
+    /**
+     * Get the catalog product ID of a line
+     *
+     * @param index the line
+     * @return the product ID, or OrderItem.NO_PRODUCT_ID
+     */
+    public int productId(int index) {
+        return productIds[index];
+    }
+
+    /**
+     * Get the product name of a line
+     *
+     * @param index the line
+     * @return the product name
+     */
+    public String productName(int index) {
+        return productNames[index];
+    }
+
+    /**
+     * Get the quantity of a line
+     *
+     * @param index the line
+     * @return the quantity
+     */
+    public int quantity(int index) {
+        return quantities[index];
+    }
+
+    /**
+     * Get the unit price of a line
+     *
+     * @param index the line
+     * @return the unit price in cents
+     */
+    public long unitCents(int index) {
+        return unitCents[index];
+    }
+
+    /**
+     * Get the sum of quantity times unit price over all lines
+     *
+     * @return the item total in cents
+     */
+    public long totalCents() {
+        long total = 0;
+        for (int i = 0; i < unitCents.length; i++) {
+            total += unitCents[i] * quantities[i];
+        }
+        return total;
+    }
+}
@@ -41,5 +41,28 @@ public enum OrderStatus {
     /**
      * Order has been cancelled
      */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Check if a transition from current status to target status is valid.
+     * Mirrors the guards in the Order aggregate, so that a recorded history
+     * can be validated when it is replayed.
+     */
+    public boolean canTransitionTo(OrderStatus targetStatus) {
+        if (targetStatus == CANCELLED) {
+            return this != COMPLETED && this != CANCELLED;
+        }
+        switch (this) {
+            case CREATED:
+                return targetStatus == SETTLED;
+            case SETTLED:
+                return targetStatus == PREPARING;
+            case PREPARING:
+                return targetStatus == READY;
+            case READY:
+                return targetStatus == COMPLETED;
+            default:
+                return false; // Terminal state
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.bluemountain.coffee.domain.model.enums;
+
+/**
+ * Enumeration representing the kinds of pricing rules.
+ *
+ * OOP Principle: Encapsulation - related constants grouped together
+ */
+public enum PricingRuleType {
+    /**
+     * Fixed amount added to every order, such as packaging or delivery
+     */
+    FEE,
+
+    /**
+     * Percentage taken off the items of every order
+     */
+    DISCOUNT,
+
+    /**
+     * Delivery fee growing with the distance from the shop
+     */
+    DISTANCE_FEE,
+
+    /**
+     * Percentage taken off the items of orders placed in a daily time window
+     */
+    HAPPY_HOUR,
+
+    /**
+     * Fixed price for every full set of a quantity of one product
+     */
+    BUNDLE
+}
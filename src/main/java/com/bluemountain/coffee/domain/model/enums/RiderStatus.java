@@ -0,0 +1,23 @@
+package com.bluemountain.coffee.domain.model.enums;
+
+/**
+ * Enumeration representing the availability of a rider.
+ *
+ * OOP Principle: Encapsulation - related constants grouped together
+ */
+public enum RiderStatus {
+    /**
+     * Rider is on shift and waiting for a delivery
+     */
+    AVAILABLE,
+
+    /**
+     * Rider has been given a delivery and is not offered new ones
+     */
+    BUSY,
+
+    /**
+     * Rider is off shift
+     */
+    OFFLINE
+}
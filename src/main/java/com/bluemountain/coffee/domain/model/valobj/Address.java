@@ -19,6 +19,7 @@ public final class Address {
     private final String city;
     private final String postalCode;
     private final String country;
+    private final GeoPoint location;
     
     /**
      * Private constructor to enforce use of Builder pattern
@@ -27,8 +28,9 @@ public final class Address {
      * @param city the city name
      * @param postalCode the postal/zip code
      * @param country the country name
+     * @param location the geocoded location, or null if unknown
      */
-    private Address(String street, String city, String postalCode, String country) {
+    private Address(String street, String city, String postalCode, String country, GeoPoint location) {
         if (street == null || street.trim().isEmpty()) {
             throw new IllegalArgumentException("Street cannot be null or empty");
         }
@@ -46,6 +48,7 @@ public final class Address {
         this.city = city.trim();
         this.postalCode = postalCode.trim();
         this.country = country.trim();
+        this.location = location;
     }
     
     /**
@@ -58,7 +61,21 @@ public final class Address {
      * @return new Address instance
      */
     public static Address of(String street, String city, String postalCode, String country) {
-        return new Address(street, city, postalCode, country);
+        return new Address(street, city, postalCode, country, null);
+    }
+    
+    /**
+     * Static factory method to create a geocoded Address
+     * 
+     * @param street the street address
+     * @param city the city name
+     * @param postalCode the postal/zip code
+     * @param country the country name
+     * @param location the geocoded location, or null if unknown
+     * @return new Address instance
+     */
+    public static Address of(String street, String city, String postalCode, String country, GeoPoint location) {
+        return new Address(street, city, postalCode, country, location);
     }
     
     /**
@@ -97,6 +114,24 @@ public final class Address {
         return country;
     }
     
+    /**
+     * Get the geocoded location
+     * 
+     * @return location, or null if the address was not geocoded
+     */
+    public GeoPoint getLocation() {
+        return location;
+    }
+    
+    /**
+     * Check if the address carries a geocoded location
+     * 
+     * @return true if the location is known
+     */
+    public boolean hasLocation() {
+        return location != null;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -105,12 +140,13 @@ public final class Address {
         return Objects.equals(street, address.street) &&
                Objects.equals(city, address.city) &&
                Objects.equals(postalCode, address.postalCode) &&
-               Objects.equals(country, address.country);
+               Objects.equals(country, address.country) &&
+               Objects.equals(location, address.location);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(street, city, postalCode, country);
+        return Objects.hash(street, city, postalCode, country, location);
     }
     
     @Override
@@ -120,6 +156,7 @@ public final class Address {
                 ", city='" + city + '\'' +
                 ", postalCode='" + postalCode + '\'' +
                 ", country='" + country + '\'' +
+                (location != null ? ", location=" + location : "") +
                 '}';
     }
 }
@@ -1,12 +1,15 @@
 package com.bluemountain.coffee.domain.model.valobj;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Value Object representing a unique identifier for a delivery.
  * This is an immutable value object.
  */
 public class DeliveryId {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     private final String value;
 
     public DeliveryId(String value) {
@@ -41,9 +44,10 @@ public class DeliveryId {
     /**
      * Factory method to generate a new unique delivery ID.
      * In production, this would use a proper ID generation strategy.
+     * The sequence keeps IDs generated in the same millisecond apart.
      */
     public static DeliveryId generate() {
-        return new DeliveryId("DLV-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000));
+        return new DeliveryId("DLV-" + System.currentTimeMillis() + "-" + SEQUENCE.incrementAndGet());
     }
 
     /**
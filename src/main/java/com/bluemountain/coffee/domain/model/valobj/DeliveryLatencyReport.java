@@ -0,0 +1,45 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Value Object holding delivery latency percentiles over a time window.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * @param from the start of the window, rounded down to a whole bucket
+ * @param to the end of the window, rounded up to a whole bucket
+ * @param groupBy all, rider or zone
+ * @param groups the latencies of each rider ID or zone, or of "all"
+ */
+public record DeliveryLatencyReport(LocalDateTime from, LocalDateTime to, String groupBy,
+                                    Map<String, Latency> groups) {
+
+    public DeliveryLatencyReport {
+        groups = Map.copyOf(groups);
+    }
+
+    /**
+     * Latencies of the two delivery stages
+     *
+     * @param waitForPickup from creation to pickup, by pickup time
+     * @param pickupToDelivered from pickup to delivery, by delivery time
+     */
+    public record Latency(Percentiles waitForPickup, Percentiles pickupToDelivered) {
+    }
+
+    /**
+     * Percentiles of one stage, in seconds, accurate to 1 %
+     *
+     * @param count the number of deliveries
+     * @param p50Seconds the median
+     * @param p95Seconds the 95th percentile
+     * @param p99Seconds the 99th percentile
+     * @param maxSeconds the longest
+     */
+    public record Percentiles(long count, double p50Seconds, double p95Seconds, double p99Seconds,
+                              double maxSeconds) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Value Object describing the order in which a rider visits the stops of a delivery.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * The route starts at the shop and ends at the last stop. Stops whose
+ * address has no location cannot be placed on the map; they come last, in
+ * the order they were batched, and are not part of the distance.
+ *
+ * @param stops the orders in visiting order
+ * @param distanceMeters the length of the route between located stops
+ */
+public record DeliveryRoute(List<OrderId> stops, double distanceMeters) {
+
+    public DeliveryRoute {
+        stops = List.copyOf(Objects.requireNonNull(stops, "Stops cannot be null"));
+        if (stops.isEmpty()) {
+            throw new IllegalArgumentException("Route must have at least one stop");
+        }
+        if (distanceMeters < 0 || Double.isNaN(distanceMeters)) {
+            throw new IllegalArgumentException("Distance must be non-negative");
+        }
+    }
+
+    /**
+     * Get the 1-based position of an order on the route
+     *
+     * @param orderId the order ID
+     * @return the stop number, or 0 if the order is not on the route
+     */
+    public int stopNumber(OrderId orderId) {
+        return stops.indexOf(orderId) + 1;
+    }
+}
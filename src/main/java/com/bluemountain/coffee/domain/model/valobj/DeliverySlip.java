@@ -4,6 +4,7 @@ import com.bluemountain.coffee.domain.model.aggregate.Delivery;
 import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -11,6 +12,7 @@ import java.util.stream.Collectors;
 /**
  * Value Object representing a delivery slip for printing.
  * This is an immutable value object derived from Delivery aggregate.
+ * Items are listed in the order the rider visits them.
  * 
  * DDD Concept: Value Objects are immutable objects that are defined
  * by their attributes rather than identity. Two DeliverySlip objects with
@@ -28,6 +30,7 @@ public class DeliverySlip {
     private final LocalDateTime createdAt;
     private final LocalDateTime pickupTime;
     private final LocalDateTime deliveryTime;
+    private final Double routeDistanceMeters;
 
     private DeliverySlip(Builder builder) {
         this.deliveryId = Objects.requireNonNull(builder.deliveryId, "Delivery ID cannot be null");
@@ -37,6 +40,7 @@ public class DeliverySlip {
         this.createdAt = Objects.requireNonNull(builder.createdAt, "Created at cannot be null");
         this.pickupTime = builder.pickupTime;
         this.deliveryTime = builder.deliveryTime;
+        this.routeDistanceMeters = builder.routeDistanceMeters;
     }
 
     public DeliveryId getDeliveryId() {
@@ -67,6 +71,13 @@ public class DeliverySlip {
         return deliveryTime;
     }
 
+    /**
+     * Get the length of the planned route, or null if no route was planned
+     */
+    public Double getRouteDistanceMeters() {
+        return routeDistanceMeters;
+    }
+
     /**
      * Get the total number of orders in this delivery
      */
@@ -89,8 +100,10 @@ public class DeliverySlip {
     public static DeliverySlip fromDelivery(Delivery delivery) {
         Objects.requireNonNull(delivery, "Delivery cannot be null");
 
+        List<OrderId> stops = delivery.getStopSequence();
         List<DeliverySlipItem> items = delivery.getItems().stream()
-            .map(item -> DeliverySlipItem.fromDeliveryItem(item))
+            .map(item -> DeliverySlipItem.fromDeliveryItem(item, stops.indexOf(item.getOrderId()) + 1))
+            .sorted(Comparator.comparingInt(DeliverySlipItem::getStopNumber))
             .collect(Collectors.toList());
 
         return new Builder()
@@ -101,6 +114,7 @@ public class DeliverySlip {
             .createdAt(delivery.getCreatedAt())
             .pickupTime(delivery.getPickupTime())
             .deliveryTime(delivery.getDeliveryTime())
+            .routeDistanceMeters(delivery.getRoute() != null ? delivery.getRoute().distanceMeters() : null)
             .build();
     }
 
@@ -115,12 +129,14 @@ public class DeliverySlip {
                 status == that.status &&
                 Objects.equals(createdAt, that.createdAt) &&
                 Objects.equals(pickupTime, that.pickupTime) &&
-                Objects.equals(deliveryTime, that.deliveryTime);
+                Objects.equals(deliveryTime, that.deliveryTime) &&
+                Objects.equals(routeDistanceMeters, that.routeDistanceMeters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(deliveryId, items, riderInfo, status, createdAt, pickupTime, deliveryTime);
+        return Objects.hash(deliveryId, items, riderInfo, status, createdAt, pickupTime, deliveryTime,
+                routeDistanceMeters);
     }
 
     @Override
@@ -133,6 +149,7 @@ public class DeliverySlip {
                 ", createdAt=" + createdAt +
                 ", pickupTime=" + pickupTime +
                 ", deliveryTime=" + deliveryTime +
+                ", routeDistanceMeters=" + routeDistanceMeters +
                 '}';
     }
 
@@ -147,6 +164,7 @@ public class DeliverySlip {
         private LocalDateTime createdAt;
         private LocalDateTime pickupTime;
         private LocalDateTime deliveryTime;
+        private Double routeDistanceMeters;
 
         public Builder deliveryId(DeliveryId deliveryId) {
             this.deliveryId = deliveryId;
@@ -183,6 +201,11 @@ public class DeliverySlip {
             return this;
         }
 
+        public Builder routeDistanceMeters(Double routeDistanceMeters) {
+            this.routeDistanceMeters = routeDistanceMeters;
+            return this;
+        }
+
         public DeliverySlip build() {
             return new DeliverySlip(this);
         }
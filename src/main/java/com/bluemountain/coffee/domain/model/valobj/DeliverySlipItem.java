@@ -23,15 +23,18 @@ public class DeliverySlipItem {
     private final List<String> productNames;
     private final int itemCount;
     private final DeliveryItemStatus itemStatus;
+    private final int stopNumber;
 
     private DeliverySlipItem(OrderId orderId, String customerName, Address deliveryAddress,
-                             List<String> productNames, int itemCount, DeliveryItemStatus itemStatus) {
+                             List<String> productNames, int itemCount, DeliveryItemStatus itemStatus,
+                             int stopNumber) {
         this.orderId = Objects.requireNonNull(orderId, "Order ID cannot be null");
         this.customerName = Objects.requireNonNull(customerName, "Customer name cannot be null");
         this.deliveryAddress = deliveryAddress;
         this.productNames = List.copyOf(Objects.requireNonNull(productNames, "Product names cannot be null"));
         this.itemCount = itemCount;
         this.itemStatus = Objects.requireNonNull(itemStatus, "Item status cannot be null");
+        this.stopNumber = stopNumber;
     }
 
     public OrderId getOrderId() {
@@ -58,10 +61,24 @@ public class DeliverySlipItem {
         return itemStatus;
     }
 
+    /**
+     * Get the 1-based position of this order on the rider's route, or 0 if unknown
+     */
+    public int getStopNumber() {
+        return stopNumber;
+    }
+
     /**
      * Create a DeliverySlipItem from a DeliveryItem
      */
     public static DeliverySlipItem fromDeliveryItem(DeliveryItem deliveryItem) {
+        return fromDeliveryItem(deliveryItem, 0);
+    }
+
+    /**
+     * Create a DeliverySlipItem from a DeliveryItem at a position on the route
+     */
+    public static DeliverySlipItem fromDeliveryItem(DeliveryItem deliveryItem, int stopNumber) {
         Objects.requireNonNull(deliveryItem, "DeliveryItem cannot be null");
 
         Order order = deliveryItem.getOrder();
@@ -81,7 +98,8 @@ public class DeliverySlipItem {
             order.getAddress(),
             productNames,
             itemCount,
-            deliveryItem.getItemStatus()
+            deliveryItem.getItemStatus(),
+            stopNumber
         );
     }
 
@@ -105,6 +123,7 @@ public class DeliverySlipItem {
                 ", customerName='" + customerName + '\'' +
                 ", itemCount=" + itemCount +
                 ", itemStatus=" + itemStatus +
+                ", stopNumber=" + stopNumber +
                 '}';
     }
 }
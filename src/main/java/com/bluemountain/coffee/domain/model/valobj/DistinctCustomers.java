@@ -0,0 +1,21 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.time.LocalDateTime;
+
+/**
+ * Value Object estimating how many different customers ordered in a time
+ * window.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * @param window hour (the last 60 minutes) or day (since midnight)
+ * @param from the start of the window
+ * @param to the end of the window
+ * @param customers estimated number of distinct customer names
+ * @param relativeStandardError standard error of the estimate relative to it;
+ *        about two thirds of estimates are within it, 95 % within twice it
+ */
+public record DistinctCustomers(String window, LocalDateTime from, LocalDateTime to, long customers,
+                                double relativeStandardError) {
+}
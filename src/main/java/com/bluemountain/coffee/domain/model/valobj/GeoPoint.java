@@ -0,0 +1,104 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.util.Objects;
+
+/**
+ * Value Object representing a position on the map (WGS 84 degrees).
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * OOP Principles demonstrated:
+ * - Encapsulation: Distance calculation lives with the coordinates
+ * - Immutability: Once created, cannot be modified
+ */
+public final class GeoPoint {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Private constructor to enforce use of factory method
+     *
+     * @param latitude the latitude in degrees, -90 to 90
+     * @param longitude the longitude in degrees, -180 to 180
+     */
+    private GeoPoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Static factory method to create a GeoPoint
+     *
+     * @param latitude the latitude in degrees
+     * @param longitude the longitude in degrees
+     * @return new GeoPoint instance
+     */
+    public static GeoPoint of(double latitude, double longitude) {
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Get the latitude
+     *
+     * @return latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Get the longitude
+     *
+     * @return longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Great-circle distance to another point (haversine formula)
+     *
+     * @param other the other point
+     * @return the distance in meters
+     */
+    public double distanceTo(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeoPoint geoPoint = (GeoPoint) o;
+        return Double.compare(latitude, geoPoint.latitude) == 0 &&
+               Double.compare(longitude, geoPoint.longitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude);
+    }
+
+    @Override
+    public String toString() {
+        return "GeoPoint{" +
+                "latitude=" + latitude +
+                ", longitude=" + longitude +
+                '}';
+    }
+}
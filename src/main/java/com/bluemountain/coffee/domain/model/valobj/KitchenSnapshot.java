@@ -0,0 +1,57 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Value Object describing the kitchen at one point in time.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * @param stations the barista stations
+ * @param queuedOrders the orders waiting for a station, most urgent first
+ * @param takenAt when the snapshot was taken
+ */
+public record KitchenSnapshot(List<Station> stations, List<Ticket> queuedOrders, LocalDateTime takenAt) {
+
+    public KitchenSnapshot {
+        stations = List.copyOf(stations);
+        queuedOrders = List.copyOf(queuedOrders);
+    }
+
+    /**
+     * A barista station
+     *
+     * @param id the station number, starting at 1
+     * @param current the order being prepared, or null when idle
+     * @param queuedOrders how many orders wait in this station's queue
+     * @param queuedWorkMillis estimated preparation time of the queued orders
+     * @param utilization share of time the station has been busy, 0 to 1
+     * @param completedOrders how many orders the station has finished
+     * @param stolenOrders how many orders the station took from other stations' queues
+     */
+    public record Station(int id, Ticket current, int queuedOrders, long queuedWorkMillis,
+                          double utilization, long completedOrders, long stolenOrders) {
+    }
+
+    /**
+     * An order in the kitchen
+     *
+     * @param orderId the order ID
+     * @param type the order type
+     * @param station the station the order is assigned to
+     * @param estimateMillis estimated preparation time
+     * @param enqueuedAt when the order entered the kitchen
+     * @param dueAt when the order should be ready
+     * @param startedAt when a barista started on the order, or null while queued
+     * @param estimatedReadyAt when the order is expected to be READY, given the
+     *                         kitchen load when it entered the kitchen
+     */
+    public record Ticket(String orderId, OrderType type, int station, long estimateMillis,
+                         LocalDateTime enqueuedAt, LocalDateTime dueAt, LocalDateTime startedAt,
+                         LocalDateTime estimatedReadyAt) {
+    }
+}
@@ -56,6 +56,16 @@ public final class Money {
         return new Money(amount);
     }
     
+    /**
+     * Factory method to create Money from a whole number of cents
+     * 
+     * @param cents the monetary amount in cents
+     * @return new Money instance
+     */
+    public static Money ofCents(long cents) {
+        return new Money(BigDecimal.valueOf(cents, SCALE));
+    }
+    
     /**
      * Factory method to create zero Money
      * 
@@ -108,6 +118,15 @@ public final class Money {
         return amount;
     }
     
+    /**
+     * Get the amount in cents
+     * 
+     * @return the amount as a whole number of cents
+     */
+    public long toCents() {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
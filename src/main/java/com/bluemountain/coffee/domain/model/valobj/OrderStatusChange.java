@@ -0,0 +1,86 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value Object representing a single status transition of an order.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity. The ordered list of status
+ * changes is the event history of an Order; folding it from the first
+ * change (CREATED) reproduces the aggregate's status and timestamps.
+ *
+ * OOP Principles demonstrated:
+ * - Encapsulation: Internal representation hidden
+ * - Immutability: Once created, cannot be modified
+ * - Value equality: Based on value, not reference
+ */
+public final class OrderStatusChange {
+    private final OrderStatus status;
+    private final LocalDateTime occurredAt;
+
+    /**
+     * Private constructor to enforce use of factory method
+     *
+     * @param status the status the order entered
+     * @param occurredAt when the order entered the status
+     */
+    private OrderStatusChange(OrderStatus status, LocalDateTime occurredAt) {
+        this.status = Objects.requireNonNull(status, "Status cannot be null");
+        this.occurredAt = Objects.requireNonNull(occurredAt, "Occurred at cannot be null");
+    }
+
+    /**
+     * Factory method to create an OrderStatusChange
+     *
+     * @param status the status the order entered
+     * @param occurredAt when the order entered the status
+     * @return new OrderStatusChange instance
+     */
+    public static OrderStatusChange of(OrderStatus status, LocalDateTime occurredAt) {
+        return new OrderStatusChange(status, occurredAt);
+    }
+
+    /**
+     * Get the status the order entered
+     *
+     * @return status
+     */
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the time the order entered the status
+     *
+     * @return occurredAt
+     */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderStatusChange that = (OrderStatusChange) o;
+        return status == that.status &&
+               Objects.equals(occurredAt, that.occurredAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, occurredAt);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatusChange{" +
+                "status=" + status +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,293 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import com.bluemountain.coffee.domain.model.enums.PricingRuleType;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Value Object representing one configured pricing rule.
+ *
+ * Rules are written as colon separated text, which is also what toString
+ * returns:
+ * - fee:packaging:2.00 - add 2.00 to every order
+ * - discount:member:10 - take 10 % off the items
+ * - distance:3.00:1.50:2 - 3.00 plus 1.50 per started km beyond the first 2 km
+ * - happy-hour:1400-1600:20 - take 20 % off the items of orders placed from 14:00 to 16:00
+ * - bundle:拿铁:2:7.00 - every 2 lattes cost 7.00 together
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ */
+public final class PricingRule {
+
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HHmm");
+    private static final int MAX_BASIS_POINTS = 10_000;
+
+    private final PricingRuleType type;
+    private final String name;
+    private final long cents;
+    private final long perKmCents;
+    private final int freeMeters;
+    private final int basisPoints;
+    private final LocalTime from;
+    private final LocalTime until;
+    private final int quantity;
+
+    /**
+     * Private constructor to enforce use of factory methods
+     */
+    private PricingRule(PricingRuleType type, String name, long cents, long perKmCents, int freeMeters,
+                        int basisPoints, LocalTime from, LocalTime until, int quantity) {
+        this.type = Objects.requireNonNull(type, "Rule type cannot be null");
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Rule name cannot be null or empty");
+        }
+        if (basisPoints < 0 || basisPoints > MAX_BASIS_POINTS) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100");
+        }
+        if (freeMeters < 0) {
+            throw new IllegalArgumentException("Free distance cannot be negative");
+        }
+        this.name = name.trim();
+        this.cents = cents;
+        this.perKmCents = perKmCents;
+        this.freeMeters = freeMeters;
+        this.basisPoints = basisPoints;
+        this.from = from;
+        this.until = until;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Create a fixed fee added to every order
+     *
+     * @param name what the fee is for, such as packaging
+     * @param amount the fee
+     * @return new PricingRule instance
+     */
+    public static PricingRule fee(String name, Money amount) {
+        return new PricingRule(PricingRuleType.FEE, name, amount.toCents(), 0, 0, 0, null, null, 0);
+    }
+
+    /**
+     * Create a percentage discount on the items of every order
+     *
+     * @param name what the discount is for
+     * @param percent the percentage taken off, 0 to 100 with at most two decimals
+     * @return new PricingRule instance
+     */
+    public static PricingRule discount(String name, BigDecimal percent) {
+        return new PricingRule(PricingRuleType.DISCOUNT, name, 0, 0, 0, toBasisPoints(percent), null, null, 0);
+    }
+
+    /**
+     * Create a delivery fee growing with the distance from the shop
+     *
+     * Orders without a geocoded address pay the base fee only.
+     *
+     * @param base the fee for any distance
+     * @param perKm the fee for every started kilometre beyond the free distance
+     * @param freeKm the distance covered by the base fee
+     * @return new PricingRule instance
+     */
+    public static PricingRule distanceFee(Money base, Money perKm, double freeKm) {
+        if (!(freeKm >= 0)) {
+            throw new IllegalArgumentException("Free distance cannot be negative");
+        }
+        return new PricingRule(PricingRuleType.DISTANCE_FEE, "distance", base.toCents(), perKm.toCents(),
+                (int) Math.round(freeKm * 1000), 0, null, null, 0);
+    }
+
+    /**
+     * Create a percentage discount on orders placed in a daily time window
+     *
+     * A window ending before it starts runs over midnight.
+     *
+     * @param from the first minute of the window
+     * @param until the minute the window ends, exclusive
+     * @param percent the percentage taken off, 0 to 100 with at most two decimals
+     * @return new PricingRule instance
+     */
+    public static PricingRule happyHour(LocalTime from, LocalTime until, BigDecimal percent) {
+        Objects.requireNonNull(from, "Start time cannot be null");
+        Objects.requireNonNull(until, "End time cannot be null");
+        if (from.equals(until)) {
+            throw new IllegalArgumentException("Happy hour cannot start and end at the same time");
+        }
+        return new PricingRule(PricingRuleType.HAPPY_HOUR, "happy-hour", 0, 0, 0, toBasisPoints(percent),
+                from.withSecond(0).withNano(0), until.withSecond(0).withNano(0), 0);
+    }
+
+    /**
+     * Create a bundle price for a quantity of one product
+     *
+     * Items left over after the full bundles keep their unit price.
+     *
+     * @param productName the product
+     * @param quantity how many items make a bundle, at least two
+     * @param price the price of one bundle
+     * @return new PricingRule instance
+     */
+    public static PricingRule bundle(String productName, int quantity, Money price) {
+        if (quantity < 2) {
+            throw new IllegalArgumentException("A bundle needs at least two items");
+        }
+        return new PricingRule(PricingRuleType.BUNDLE, productName, price.toCents(), 0, 0, 0, null, null, quantity);
+    }
+
+    /**
+     * Parse a rule from its text form (see the class comment)
+     *
+     * @param text the rule text
+     * @return the rule
+     * @throws IllegalArgumentException if the text is not a valid rule
+     */
+    public static PricingRule parse(String text) {
+        Objects.requireNonNull(text, "Rule text cannot be null");
+        String[] parts = text.trim().split(":");
+        try {
+            switch (parts[0]) {
+                case "fee":
+                    requireParts(text, parts, 3);
+                    return fee(parts[1], money(parts[2]));
+                case "discount":
+                    requireParts(text, parts, 3);
+                    return discount(parts[1], new BigDecimal(parts[2]));
+                case "distance":
+                    requireParts(text, parts, 4);
+                    return distanceFee(money(parts[1]), money(parts[2]), Double.parseDouble(parts[3]));
+                case "happy-hour":
+                    requireParts(text, parts, 3);
+                    String[] window = parts[1].split("-");
+                    if (window.length != 2) {
+                        throw new IllegalArgumentException("Invalid happy hour window: " + parts[1]);
+                    }
+                    return happyHour(LocalTime.parse(window[0], CLOCK), LocalTime.parse(window[1], CLOCK),
+                            new BigDecimal(parts[2]));
+                case "bundle":
+                    requireParts(text, parts, 4);
+                    return bundle(parts[1], Integer.parseInt(parts[2]), money(parts[3]));
+                default:
+                    throw new IllegalArgumentException("Unknown pricing rule: " + text);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid pricing rule: " + text, e);
+        }
+    }
+
+    private static void requireParts(String text, String[] parts, int count) {
+        if (parts.length != count) {
+            throw new IllegalArgumentException("Invalid pricing rule: " + text);
+        }
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount));
+    }
+
+    private static int toBasisPoints(BigDecimal percent) {
+        Objects.requireNonNull(percent, "Percentage cannot be null");
+        try {
+            return percent.movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Percentage can have at most two decimals: " + percent);
+        }
+    }
+
+    public PricingRuleType getType() {
+        return type;
+    }
+
+    /**
+     * Get the fee name, or the product name of a bundle
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the fee, the base distance fee or the bundle price in cents
+     *
+     * @return cents
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    public long getPerKmCents() {
+        return perKmCents;
+    }
+
+    public int getFreeMeters() {
+        return freeMeters;
+    }
+
+    /**
+     * Get the discount in hundredths of a percent
+     *
+     * @return basisPoints
+     */
+    public int getBasisPoints() {
+        return basisPoints;
+    }
+
+    public LocalTime getFrom() {
+        return from;
+    }
+
+    public LocalTime getUntil() {
+        return until;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PricingRule that = (PricingRule) o;
+        return cents == that.cents &&
+               perKmCents == that.perKmCents &&
+               freeMeters == that.freeMeters &&
+               basisPoints == that.basisPoints &&
+               quantity == that.quantity &&
+               type == that.type &&
+               name.equals(that.name) &&
+               Objects.equals(from, that.from) &&
+               Objects.equals(until, that.until);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, name, cents, perKmCents, freeMeters, basisPoints, from, until, quantity);
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case FEE:
+                return "fee:" + name + ":" + Money.ofCents(cents).getAmount();
+            case DISCOUNT:
+                return "discount:" + name + ":" + percent();
+            case DISTANCE_FEE:
+                return "distance:" + Money.ofCents(cents).getAmount() + ":" + Money.ofCents(perKmCents).getAmount()
+                        + ":" + BigDecimal.valueOf(freeMeters, 3).stripTrailingZeros().toPlainString();
+            case HAPPY_HOUR:
+                return "happy-hour:" + CLOCK.format(from) + "-" + CLOCK.format(until) + ":" + percent();
+            default:
+                return "bundle:" + name + ":" + quantity + ":" + Money.ofCents(cents).getAmount();
+        }
+    }
+
+    private String percent() {
+        return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString();
+    }
+}
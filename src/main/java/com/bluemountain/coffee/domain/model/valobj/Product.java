@@ -0,0 +1,86 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.util.Objects;
+
+/**
+ * Value Object representing a product on the menu.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * The catalog creates one Product per menu entry; order items refer to it
+ * and so share its name and price instances instead of each holding copies.
+ */
+public final class Product {
+
+    private final int id;
+    private final String name;
+    private final Money price;
+
+    /**
+     * Private constructor to enforce use of factory method
+     *
+     * @param id the product ID, positive
+     * @param name the product name
+     * @param price the price of one unit
+     */
+    private Product(int id, String name, Money price) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Product ID must be positive");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product name cannot be null or empty");
+        }
+        this.id = id;
+        this.name = name.trim();
+        this.price = Objects.requireNonNull(price, "Price cannot be null");
+    }
+
+    /**
+     * Static factory method to create a Product
+     *
+     * @param id the product ID, positive
+     * @param name the product name
+     * @param price the price of one unit
+     * @return new Product instance
+     */
+    public static Product of(int id, String name, Money price) {
+        return new Product(id, name, price);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Product product = (Product) o;
+        return id == product.id &&
+               name.equals(product.name) &&
+               price.equals(product.price);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, price);
+    }
+
+    @Override
+    public String toString() {
+        return "Product{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", price=" + price +
+                '}';
+    }
+}
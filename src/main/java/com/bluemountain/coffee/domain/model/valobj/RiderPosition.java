@@ -0,0 +1,27 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import com.bluemountain.coffee.domain.model.enums.RiderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value Object describing where a rider is and whether they can take a delivery.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * @param rider the rider
+ * @param location the last reported location
+ * @param status the rider's availability
+ * @param updatedAt when the location or status last changed
+ */
+public record RiderPosition(RiderInfo rider, GeoPoint location, RiderStatus status, LocalDateTime updatedAt) {
+
+    public RiderPosition {
+        Objects.requireNonNull(rider, "Rider cannot be null");
+        Objects.requireNonNull(location, "Location cannot be null");
+        Objects.requireNonNull(status, "Status cannot be null");
+        Objects.requireNonNull(updatedAt, "Updated at cannot be null");
+    }
+}
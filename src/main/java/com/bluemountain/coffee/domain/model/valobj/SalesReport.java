@@ -0,0 +1,57 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value Object describing sales over the recent minute, hour and day.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * @param windows the sales windows: tumbling and sliding minute, hour and day
+ * @param takenAt when the report was taken
+ */
+public record SalesReport(List<Window> windows, LocalDateTime takenAt) {
+
+    public SalesReport {
+        windows = List.copyOf(windows);
+    }
+
+    /**
+     * Sales in one time window
+     *
+     * A tumbling window runs from the start of the current minute, hour or
+     * day; a sliding window covers the last minute, hour or day.
+     *
+     * @param name minute, hour or day
+     * @param kind tumbling or sliding
+     * @param from the start of the window
+     * @param to the end of the window
+     * @param byOrderType the sales of each order type
+     * @param total the sales of all order types
+     */
+    public record Window(String name, String kind, LocalDateTime from, LocalDateTime to,
+                         Map<String, Figures> byOrderType, Figures total) {
+
+        public Window {
+            byOrderType = Map.copyOf(byOrderType);
+        }
+    }
+
+    /**
+     * Sales figures
+     *
+     * @param orders orders settled
+     * @param cancellations orders cancelled
+     * @param revenue amount settled
+     * @param refunds amount refunded for cancelled orders
+     * @param netRevenue revenue less refunds
+     * @param averageTicket revenue per settled order, zero without orders
+     */
+    public record Figures(long orders, long cancellations, BigDecimal revenue, BigDecimal refunds,
+                          BigDecimal netRevenue, BigDecimal averageTicket) {
+    }
+}
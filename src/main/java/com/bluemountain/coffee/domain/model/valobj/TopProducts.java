@@ -0,0 +1,39 @@
+package com.bluemountain.coffee.domain.model.valobj;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Value Object listing the best selling products of a time window.
+ *
+ * DDD Concept: Value Objects are immutable objects that are defined
+ * by their attributes rather than identity.
+ *
+ * Quantities are estimates from a sketch: each is at least the true
+ * quantity and at most maxError above it, and no product left out of the
+ * full ranking sold more than maxError units.
+ *
+ * @param window hour (the last 60 minutes) or day (since midnight)
+ * @param from the start of the window
+ * @param to the end of the window
+ * @param quantity units sold in the window
+ * @param maxError the most any estimate exceeds the true quantity
+ * @param products the best sellers, best first
+ */
+public record TopProducts(String window, LocalDateTime from, LocalDateTime to, long quantity, long maxError,
+                          List<Product> products) {
+
+    public TopProducts {
+        products = List.copyOf(products);
+    }
+
+    /**
+     * Estimated sales of a product
+     *
+     * @param productName the product name
+     * @param quantity estimated units sold, an upper bound
+     * @param guaranteedQuantity units certainly sold, a lower bound
+     */
+    public record Product(String productName, long quantity, long guaranteedQuantity) {
+    }
+}
@@ -8,6 +8,7 @@ import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Delivery aggregates.
@@ -76,6 +77,19 @@ public interface DeliveryRepository {
      */
     List<Delivery> findDeliveriesBetween(LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Pass the deliveries in a status that were last updated within a time
+     * range to an action one at a time, without collecting them into a list
+     * first
+     * 
+     * @param status the delivery status
+     * @param start the start of the range (inclusive)
+     * @param end the end of the range (exclusive)
+     * @param action called with each matching delivery
+     */
+    void forEachByStatusUpdatedBetween(DeliveryStatus status, LocalDateTime start, LocalDateTime end,
+                                       Consumer<Delivery> action);
+    
     /**
      * Find all deliveries
      * 
@@ -8,6 +8,7 @@ import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Order aggregates.
@@ -43,6 +44,14 @@ public interface OrderRepository {
      */
     Order save(Order order);
     
+    /**
+     * Save several orders in one call
+     * 
+     * @param orders the orders to save
+     * @return the saved orders
+     */
+    List<Order> saveAll(List<Order> orders);
+    
     /**
      * Find an order by its ID
      * 
@@ -83,6 +92,19 @@ public interface OrderRepository {
      */
     List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * Pass the orders whose last status change, to the given status, happened
+     * within a time range to an action one at a time, without collecting them
+     * into a list first
+     * 
+     * @param status the order status
+     * @param start the start of the range (inclusive)
+     * @param end the end of the range (exclusive)
+     * @param action called with each matching order
+     */
+    void forEachByStatusUpdatedBetween(OrderStatus status, LocalDateTime start, LocalDateTime end,
+                                       Consumer<Order> action);
+    
     /**
      * Delete an order by its ID
      * 
@@ -0,0 +1,49 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.event.DeliveryDeliveredEvent;
+import com.bluemountain.coffee.domain.event.DeliveryPickedUpEvent;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryLatencyReport;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain Service summarizing how long deliveries take.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * Two stages are tracked, each per rider, per zone and overall:
+ * - Wait for pickup: from the delivery's creation to its pickup
+ * - Pickup to delivered: from pickup to delivery at the last stop
+ *
+ * Latencies are kept as quantile summaries per time bucket rather than as
+ * raw samples, so any window of whole buckets can be reported.
+ */
+public interface DeliveryLatencyTracker {
+
+    /**
+     * Record the wait for pickup of a delivery
+     *
+     * @param event the delivery picked up event
+     */
+    void record(DeliveryPickedUpEvent event);
+
+    /**
+     * Record the time from pickup to delivery of a delivery
+     *
+     * @param event the delivery delivered event
+     */
+    void record(DeliveryDeliveredEvent event);
+
+    /**
+     * Report the latency percentiles of the deliveries picked up or
+     * delivered in a time window
+     *
+     * @param from the start of the window
+     * @param to the end of the window
+     * @param groupBy all, rider or zone
+     * @return the latency report
+     * @throws IllegalArgumentException if the window is empty or groupBy is unknown
+     */
+    DeliveryLatencyReport report(LocalDateTime from, LocalDateTime to, String groupBy);
+}
@@ -0,0 +1,45 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+
+/**
+ * Domain Service watching the deadlines of delivery orders and deliveries.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * Deadlines:
+ * - Batch window: a READY delivery order should be in a delivery by the
+ *   end of the batching window after it was placed
+ * - Pickup SLA: an ASSIGNED delivery should be picked up in time
+ * - Delivery SLA: a picked up delivery should be delivered in time
+ *
+ * Each deadline that passes publishes a domain event. Tracking an order or
+ * delivery again after it was saved sets or cancels its deadline to match
+ * its new status.
+ */
+public interface DeliveryTimeoutScheduler {
+
+    /**
+     * Start or cancel the batch window of an order after it was saved
+     *
+     * @param order the saved order
+     */
+    void track(Order order);
+
+    /**
+     * Start or cancel the SLA of a delivery after it was saved, and close
+     * the batch windows of its orders
+     *
+     * @param delivery the saved delivery
+     */
+    void track(Delivery delivery);
+
+    /**
+     * Get the number of deadlines still pending
+     *
+     * @return the pending deadlines
+     */
+    int pendingCount();
+}
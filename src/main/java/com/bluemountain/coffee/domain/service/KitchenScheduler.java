@@ -0,0 +1,55 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.valobj.KitchenSnapshot;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+
+import java.util.Optional;
+
+/**
+ * Domain Service scheduling PREPARING orders onto barista stations.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * An order enters the kitchen when it starts preparing and leaves it when
+ * it is no longer PREPARING (ready, cancelled). Each station works on one
+ * order at a time; the rest wait in a queue ordered by urgency.
+ */
+public interface KitchenScheduler {
+
+    /**
+     * Put a PREPARING order into the kitchen queue
+     *
+     * Enqueueing an order that is already in the kitchen has no effect.
+     *
+     * @param order the order to prepare
+     */
+    void enqueue(Order order);
+
+    /**
+     * Take an order out of the kitchen, freeing its station if it was being made
+     *
+     * An order released as READY is handed to the PreparationTimeEstimator
+     * to learn from. Releasing an order that is not in the kitchen has no effect.
+     *
+     * @param order the order leaving the kitchen
+     */
+    void release(Order order);
+
+    /**
+     * Find an order in the kitchen
+     *
+     * @param orderId the order ID
+     * @return the order's ticket, with its estimated ready time, or empty if
+     *         the order is not in the kitchen
+     */
+    Optional<KitchenSnapshot.Ticket> find(OrderId orderId);
+
+    /**
+     * Get the current state of the stations and the queue
+     *
+     * @return a snapshot of the kitchen
+     */
+    KitchenSnapshot snapshot();
+}
@@ -0,0 +1,49 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+
+import java.time.Duration;
+
+/**
+ * Domain Service estimating how long the bar needs to prepare an order.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * Design Patterns:
+ * - Strategy Pattern: Estimates can come from a fixed menu table or be
+ *   learned from observed preparation times
+ *
+ * The kitchen load is the number of other orders in the kitchen when an
+ * order starts preparing; a busy bar takes longer from PREPARING to READY.
+ */
+public interface PreparationTimeEstimator {
+
+    /**
+     * Estimate the preparation time of all items in an order at an idle bar
+     *
+     * @param order the order to prepare
+     * @return the estimated preparation time
+     */
+    Duration estimate(Order order);
+
+    /**
+     * Estimate the time from PREPARING to READY at the given kitchen load
+     *
+     * @param order the order to prepare
+     * @param kitchenLoad the number of other orders in the kitchen
+     * @return the estimated preparation time
+     */
+    default Duration estimate(Order order, int kitchenLoad) {
+        return estimate(order);
+    }
+
+    /**
+     * Learn from an order that went from PREPARING to READY
+     *
+     * @param order the ready order
+     * @param kitchenLoad the number of other orders in the kitchen when it started preparing
+     */
+    default void observe(Order order, int kitchenLoad) {
+    }
+}
@@ -3,6 +3,8 @@ package com.bluemountain.coffee.domain.service;
 import com.bluemountain.coffee.domain.model.aggregate.Order;
 import com.bluemountain.coffee.domain.model.valobj.Money;
 
+import java.util.List;
+
 /**
  * Strategy interface for calculating order prices.
  * 
@@ -30,4 +32,21 @@ public interface PricingStrategy {
      * @return the total price including any applicable fees
      */
     Money calculate(Order order);
+    
+    /**
+     * Calculate the total prices of many orders at once
+     * 
+     * Strategies may price the whole batch in one pass; the results must
+     * equal calculating each order on its own.
+     * 
+     * @param orders the orders to calculate prices for
+     * @return the total price of each order, in the same order
+     */
+    default Money[] calculateAll(List<Order> orders) {
+        Money[] totals = new Money[orders.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = calculate(orders.get(i));
+        }
+        return totals;
+    }
 }
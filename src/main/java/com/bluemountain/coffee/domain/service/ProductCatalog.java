@@ -0,0 +1,42 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.valobj.Product;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain Service listing the products the shop sells.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * Orders are priced from the catalog, never from prices sent by clients.
+ * Every product is a single shared instance, so items of the same product
+ * share its name and price.
+ */
+public interface ProductCatalog {
+
+    /**
+     * Find a product by its ID
+     *
+     * @param productId the product ID
+     * @return the product, or empty if there is none with this ID
+     */
+    Optional<Product> findById(int productId);
+
+    /**
+     * Find a product by its name
+     *
+     * @param name the product name
+     * @return the product, or empty if there is none with this name
+     */
+    Optional<Product> findByName(String name);
+
+    /**
+     * Get all products
+     *
+     * @return the products, by ID
+     */
+    List<Product> getProducts();
+}
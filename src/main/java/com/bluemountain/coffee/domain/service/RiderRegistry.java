@@ -0,0 +1,102 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain Service tracking riders' availability and location.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * A rider is AVAILABLE after registering and after finishing a delivery,
+ * BUSY from being given a delivery until it ends, and OFFLINE when off shift.
+ * Only AVAILABLE riders are offered to the dispatcher.
+ */
+public interface RiderRegistry {
+
+    /**
+     * Register a rider, or update a registered rider's details, as AVAILABLE
+     *
+     * @param rider the rider
+     * @param location the rider's location
+     * @return the rider's position
+     */
+    RiderPosition register(RiderInfo rider, GeoPoint location);
+
+    /**
+     * Record a rider's new location
+     *
+     * @param riderId the rider ID
+     * @param location the rider's location
+     * @return the rider's position
+     * @throws IllegalArgumentException if the rider is not registered
+     */
+    RiderPosition updateLocation(String riderId, GeoPoint location);
+
+    /**
+     * Make a BUSY rider AVAILABLE again, e.g. after a delivery ends
+     *
+     * Has no effect on riders that are not registered or not BUSY; an
+     * OFFLINE rider comes back on shift by registering again.
+     *
+     * @param riderId the rider ID
+     */
+    void markAvailable(String riderId);
+
+    /**
+     * Mark a rider BUSY, e.g. when they are assigned a delivery by hand
+     *
+     * Has no effect on riders that are not registered.
+     *
+     * @param riderId the rider ID
+     */
+    void markBusy(String riderId);
+
+    /**
+     * Take a rider off shift
+     *
+     * @param riderId the rider ID
+     * @throws IllegalArgumentException if the rider is not registered
+     */
+    void markOffline(String riderId);
+
+    /**
+     * Claim the available riders nearest to a point
+     *
+     * The returned riders are marked BUSY in the same step, so two callers
+     * never claim the same rider. Riders that end up without a delivery
+     * must be handed back with markAvailable.
+     *
+     * @param point the point to search around
+     * @param count the maximum number of riders to claim
+     * @return the claimed riders, nearest first
+     */
+    List<RiderPosition> claimNearest(GeoPoint point, int count);
+
+    /**
+     * Find a rider
+     *
+     * @param riderId the rider ID
+     * @return the rider's position, or empty if not registered
+     */
+    Optional<RiderPosition> find(String riderId);
+
+    /**
+     * Get all registered riders
+     *
+     * @return the riders' positions
+     */
+    List<RiderPosition> findAll();
+
+    /**
+     * Get the number of AVAILABLE riders
+     *
+     * @return the count
+     */
+    int availableCount();
+}
@@ -0,0 +1,28 @@
+package com.bluemountain.coffee.domain.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryRoute;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+
+import java.util.List;
+
+/**
+ * Domain Service deciding the order in which a rider visits the stops of a delivery.
+ *
+ * DDD Concept: Domain Service contains business logic that doesn't naturally
+ * fit within an aggregate or value object.
+ *
+ * The route starts at the origin (the shop, where the rider picks up) and
+ * ends at the last stop; the rider does not return.
+ */
+public interface RouteOptimizer {
+
+    /**
+     * Plan a short route from the origin through the delivery addresses of the orders
+     *
+     * @param origin where the rider starts
+     * @param orders the orders to deliver, in batching order
+     * @return the route visiting every order exactly once
+     */
+    DeliveryRoute plan(GeoPoint origin, List<Order> orders);
+}
@@ -0,0 +1,35 @@
+package com.bluemountain.coffee.domain.strategy;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+
+import java.util.List;
+
+/**
+ * Prices a batch of orders as item totals plus a fixed fee, in cents.
+ *
+ * Each order's item total is summed over its packed OrderItems arrays, so
+ * no line is copied or turned into an object. Money always has two
+ * decimals, so cents are exact and the totals equal those of
+ * PricingPlan.price for a plan that only adds fees.
+ */
+final class BulkPricing {
+
+    private BulkPricing() {
+    }
+
+    /**
+     * Calculate the item totals of every order plus a fee
+     *
+     * @param orders the orders
+     * @param feeCents the fee added to every order
+     * @return the total price of each order, in the same order
+     */
+    static Money[] calculate(List<Order> orders, long feeCents) {
+        Money[] totals = new Money[orders.size()];
+        for (int o = 0; o < totals.length; o++) {
+            totals[o] = Money.ofCents(feeCents + orders.get(o).getItems().totalCents());
+        }
+        return totals;
+    }
+}
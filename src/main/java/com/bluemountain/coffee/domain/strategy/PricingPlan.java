@@ -0,0 +1,194 @@
+package com.bluemountain.coffee.domain.strategy;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItems;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.PricingRule;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A list of pricing rules compiled into a flat evaluation plan.
+ *
+ * Compiling folds the rules so that pricing an order costs the same however
+ * many rules there are:
+ * - all fees are summed into one amount
+ * - all discounts are summed into one percentage, capped at 100 %
+ * - happy hours are unrolled into the discount of each minute of the day
+ * - bundles are looked up by product name
+ * - at most one distance fee is allowed
+ *
+ * An order is priced in cents as its items, with bundles applied, less the
+ * discount (rounded half up), plus the fees.
+ *
+ * Plans are immutable, so a strategy can swap its plan for a new one while
+ * orders are being priced.
+ */
+public final class PricingPlan {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_BASIS_POINTS = 10_000;
+
+    private final List<PricingRule> rules;
+    private final long feeCents;
+    private final int discountBasisPoints;
+    private final int[] happyHourBasisPoints;
+    private final Map<String, PricingRule> bundles;
+    private final PricingRule distanceFee;
+    private final GeoPoint origin;
+
+    private PricingPlan(List<PricingRule> rules, long feeCents, int discountBasisPoints, int[] happyHourBasisPoints,
+                        Map<String, PricingRule> bundles, PricingRule distanceFee, GeoPoint origin) {
+        this.rules = rules;
+        this.feeCents = feeCents;
+        this.discountBasisPoints = discountBasisPoints;
+        this.happyHourBasisPoints = happyHourBasisPoints;
+        this.bundles = bundles;
+        this.distanceFee = distanceFee;
+        this.origin = origin;
+    }
+
+    /**
+     * Compile pricing rules into a plan
+     *
+     * @param rules the rules, in any order
+     * @param origin where distance fees are measured from (may be null without a distance fee)
+     * @return the plan
+     * @throws IllegalArgumentException if two rules conflict
+     */
+    public static PricingPlan compile(List<PricingRule> rules, GeoPoint origin) {
+        List<PricingRule> copy = List.copyOf(Objects.requireNonNull(rules, "Rules cannot be null"));
+
+        long feeCents = 0;
+        int discountBasisPoints = 0;
+        int[] happyHourBasisPoints = null;
+        Map<String, PricingRule> bundles = new HashMap<>();
+        PricingRule distanceFee = null;
+
+        for (PricingRule rule : copy) {
+            switch (rule.getType()) {
+                case FEE:
+                    feeCents += rule.getCents();
+                    break;
+                case DISCOUNT:
+                    discountBasisPoints += rule.getBasisPoints();
+                    break;
+                case HAPPY_HOUR:
+                    if (happyHourBasisPoints == null) {
+                        happyHourBasisPoints = new int[MINUTES_PER_DAY];
+                    }
+                    int from = rule.getFrom().toSecondOfDay() / 60;
+                    int until = rule.getUntil().toSecondOfDay() / 60;
+                    for (int minute = from; minute != until; minute = (minute + 1) % MINUTES_PER_DAY) {
+                        happyHourBasisPoints[minute] += rule.getBasisPoints();
+                    }
+                    break;
+                case BUNDLE:
+                    if (bundles.putIfAbsent(rule.getName(), rule) != null) {
+                        throw new IllegalArgumentException("More than one bundle for product: " + rule.getName());
+                    }
+                    break;
+                case DISTANCE_FEE:
+                    if (distanceFee != null) {
+                        throw new IllegalArgumentException("Only one distance fee is allowed");
+                    }
+                    if (origin == null) {
+                        throw new IllegalArgumentException("A distance fee needs the shop location");
+                    }
+                    distanceFee = rule;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported pricing rule: " + rule);
+            }
+        }
+
+        return new PricingPlan(copy, feeCents, Math.min(discountBasisPoints, MAX_BASIS_POINTS),
+                happyHourBasisPoints, Map.copyOf(bundles), distanceFee, origin);
+    }
+
+    /**
+     * Calculate the total price of an order
+     *
+     * @param order the order
+     * @return the total price
+     */
+    public Money price(Order order) {
+        OrderItems items = order.getItems();
+        long itemsCents;
+        if (bundles.isEmpty()) {
+            itemsCents = items.totalCents();
+        } else {
+            itemsCents = 0;
+            for (int i = 0; i < items.size(); i++) {
+                itemsCents += lineCents(items.productName(i), items.quantity(i), items.unitCents(i));
+            }
+        }
+        return Money.ofCents(discounted(order, itemsCents) + feeCents + distanceFeeCents(order.getAddress()));
+    }
+
+    /**
+     * Whether the plan only adds fees, so totals are the item totals plus
+     * getFeeCents() and can be computed by the bulk pricing pass
+     *
+     * @return true if the plan has no discounts, happy hours, bundles or distance fee
+     */
+    public boolean isFlat() {
+        return discountBasisPoints == 0 && happyHourBasisPoints == null && bundles.isEmpty() && distanceFee == null;
+    }
+
+    /**
+     * Get the sum of all fixed fees
+     *
+     * @return the fees in cents
+     */
+    public long getFeeCents() {
+        return feeCents;
+    }
+
+    /**
+     * Get the rules the plan was compiled from
+     *
+     * @return the rules, in configuration order
+     */
+    public List<PricingRule> getRules() {
+        return rules;
+    }
+
+    private long lineCents(String productName, int quantity, long unitCents) {
+        PricingRule bundle = bundles.get(productName);
+        if (bundle == null) {
+            return unitCents * quantity;
+        }
+        int sets = quantity / bundle.getQuantity();
+        return sets * bundle.getCents() + (quantity - sets * bundle.getQuantity()) * unitCents;
+    }
+
+    private long discounted(Order order, long itemsCents) {
+        int basisPoints = discountBasisPoints;
+        if (happyHourBasisPoints != null) {
+            int minute = order.getCreatedAt().toLocalTime().toSecondOfDay() / 60;
+            basisPoints = Math.min(basisPoints + happyHourBasisPoints[minute], MAX_BASIS_POINTS);
+        }
+        if (basisPoints == 0) {
+            return itemsCents;
+        }
+        return itemsCents - (itemsCents * basisPoints + MAX_BASIS_POINTS / 2) / MAX_BASIS_POINTS;
+    }
+
+    private long distanceFeeCents(Address address) {
+        if (distanceFee == null) {
+            return 0;
+        }
+        if (address == null || !address.hasLocation()) {
+            return distanceFee.getCents();
+        }
+        double chargedMeters = origin.distanceTo(address.getLocation()) - distanceFee.getFreeMeters();
+        long startedKm = chargedMeters > 0 ? (long) Math.ceil(chargedMeters / 1000) : 0;
+        return distanceFee.getCents() + startedKm * distanceFee.getPerKmCents();
+    }
+}
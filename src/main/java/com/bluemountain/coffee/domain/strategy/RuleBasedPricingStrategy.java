@@ -0,0 +1,81 @@
+package com.bluemountain.coffee.domain.strategy;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.service.PricingStrategy;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class for pricing strategies driven by a compiled PricingPlan.
+ *
+ * Design Pattern: Strategy Pattern (Abstract Strategy)
+ * Each order type has its own strategy and so its own plan. The plan is
+ * kept in a volatile field: install() replaces it in one write, and every
+ * calculation reads it once, so an order or batch is always priced by
+ * either the old or the new plan, never a mix.
+ */
+public abstract class RuleBasedPricingStrategy implements PricingStrategy {
+
+    private volatile PricingPlan plan;
+
+    /**
+     * Constructor with the plan used until another one is installed
+     *
+     * @param defaultPlan the initial plan
+     */
+    protected RuleBasedPricingStrategy(PricingPlan defaultPlan) {
+        this.plan = Objects.requireNonNull(defaultPlan, "Pricing plan cannot be null");
+    }
+
+    /**
+     * Replace the pricing plan
+     *
+     * @param plan the new plan
+     */
+    public void install(PricingPlan plan) {
+        this.plan = Objects.requireNonNull(plan, "Pricing plan cannot be null");
+    }
+
+    /**
+     * Get the pricing plan in use
+     *
+     * @return the plan
+     */
+    public PricingPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Calculate the total price of an order with the current plan
+     *
+     * @param order the order to calculate price for
+     * @return the total price including any applicable fees
+     */
+    @Override
+    public Money calculate(Order order) {
+        return plan.price(order);
+    }
+
+    /**
+     * Calculate the total prices of many orders with the current plan.
+     * A plan that only adds fees is priced by the bulk pass over primitive
+     * arrays; other plans price each order on its own.
+     *
+     * @param orders the orders to calculate prices for
+     * @return the total price of each order, in the same order
+     */
+    @Override
+    public Money[] calculateAll(List<Order> orders) {
+        PricingPlan current = plan;
+        if (current.isFlat()) {
+            return BulkPricing.calculate(orders, current.getFeeCents());
+        }
+        Money[] totals = new Money[orders.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = current.price(orders.get(i));
+        }
+        return totals;
+    }
+}
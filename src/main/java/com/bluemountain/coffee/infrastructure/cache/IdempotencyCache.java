@@ -0,0 +1,198 @@
+package com.bluemountain.coffee.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring cache that deduplicates retried requests.
+ *
+ * The first request with a given idempotency key runs the action and stores
+ * its result. Retries with the same key within the time-to-live receive the
+ * stored result without running the action again. A retry that arrives while
+ * the first request is still running waits for it instead of starting a
+ * second one. Failed actions are not remembered, so they can be retried.
+ *
+ * Each key is bound to a SHA-256 digest of the request it was first used
+ * with. A request that reuses a key with a different body is rejected with
+ * IdempotencyKeyReusedException rather than answered with another request's
+ * result.
+ *
+ * Every entry lives for the same time-to-live, so insertion order is expiry
+ * order. Entries are kept in an insertion-ordered LinkedHashMap under a lock:
+ * expired entries are dropped from its head, and when the cache is full the
+ * head is the entry closest to expiry, so eviction is O(1) amortized. Actions
+ * run and results are awaited outside the lock.
+ *
+ * An entry whose action is still running is never evicted or replaced, even
+ * when the cache is full or the entry has expired: a retry arriving then
+ * would run the action a second time. The cache can therefore exceed its
+ * bound by the number of requests in flight, and eviction skips past them.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Duration timeToLive;
+    private final int maxEntries;
+    private final Clock clock;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param timeToLive how long a result is remembered
+     * @param maxEntries the maximum number of remembered keys
+     */
+    @Autowired
+    public IdempotencyCache(@Value("${coffee.idempotency.ttl:PT24H}") Duration timeToLive,
+                            @Value("${coffee.idempotency.max-entries:100000}") int maxEntries) {
+        this(timeToLive, maxEntries, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor with an explicit clock (useful for testing)
+     *
+     * @param timeToLive how long a result is remembered
+     * @param maxEntries the maximum number of remembered keys
+     * @param clock the clock used for expiry
+     */
+    public IdempotencyCache(Duration timeToLive, int maxEntries, Clock clock) {
+        this.timeToLive = Objects.requireNonNull(timeToLive, "Time to live cannot be null");
+        this.maxEntries = maxEntries;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+    }
+
+    /**
+     * Run the action once per key and return its (possibly remembered) result
+     *
+     * @param key the idempotency key
+     * @param request the serialized request, which retries must repeat exactly
+     * @param action the action to run for the first request with this key
+     * @param <T> the result type
+     * @return the result of the first successful run for this key
+     * @throws IdempotencyKeyReusedException if the key was first used with a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, byte[] request, Supplier<T> action) {
+        Objects.requireNonNull(key, "Idempotency key cannot be null");
+        byte[] digest = digest(Objects.requireNonNull(request, "Request cannot be null"));
+        long now = clock.millis();
+
+        Entry created = new Entry(now + timeToLive.toMillis(), digest);
+        Entry entry;
+        synchronized (entries) {
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry == null || (entry.expiresAt <= now && entry.result.isDone())) {
+                // Removed first so that the new entry goes to the tail
+                entries.remove(key);
+                entry = created;
+                entries.put(key, created);
+                evictIfFull();
+            }
+        }
+
+        if (entry != created) {
+            if (!MessageDigest.isEqual(entry.requestDigest, digest)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            try {
+                return (T) entry.result.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        try {
+            T result = action.get();
+            created.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too, or retries waiting on this entry would block forever
+            synchronized (entries) {
+                entries.remove(key, created);
+            }
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of remembered keys
+     *
+     * @return the count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Drop expired entries from the head, skipping those still running;
+     * called with the lock held
+     */
+    private void evictExpired(long now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.expiresAt > now) {
+                return;
+            }
+            if (entry.result.isDone()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop the completed entries closest to expiry; called with the lock held
+     */
+    private void evictIfFull() {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (entries.size() > maxEntries && oldest.hasNext()) {
+            if (oldest.next().result.isDone()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private static byte[] digest(byte[] request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(request);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+
+    /**
+     * Result (or pending result) for one key, with its expiry time and the
+     * digest of the request that created it
+     */
+    private static final class Entry {
+        private final long expiresAt;
+        private final byte[] requestDigest;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(long expiresAt, byte[] requestDigest) {
+            this.expiresAt = expiresAt;
+            this.requestDigest = requestDigest;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bluemountain.coffee.infrastructure.cache;
+
+/**
+ * Exception thrown when an idempotency key is sent again with a request that
+ * differs from the one it was first used with.
+ *
+ * Such a request is not a retry, so it must neither run nor receive the
+ * result of the original request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Constructor with the reused key
+     *
+     * @param key the idempotency key
+     */
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key " + key + " was already used with a different request");
+    }
+}
@@ -0,0 +1,112 @@
+package com.bluemountain.coffee.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of DTOs that have already been serialized to JSON.
+ *
+ * Every entry is stamped with the version of the aggregate it was built from
+ * (for example the length of an order's status history). A lookup with a
+ * different version is a miss, so a stale entry is never served even if an
+ * invalidation was missed. Callers still invalidate on save to free the memory
+ * early.
+ *
+ * Eviction is least-recently-used, using an access-ordered LinkedHashMap.
+ * Serialization of a miss happens outside the lock.
+ *
+ * Design Patterns:
+ * - Cache-Aside: Callers supply the DTO to serialize on a miss
+ */
+public class SerializedDtoCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Constructor
+     *
+     * @param objectMapper the object mapper used to serialize DTOs
+     * @param maxEntries the maximum number of cached entries
+     */
+    public SerializedDtoCache(ObjectMapper objectMapper, int maxEntries) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "Object mapper cannot be null");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the JSON bytes for an aggregate version, serializing the DTO on a miss
+     *
+     * @param key the aggregate ID
+     * @param version the current version of the aggregate
+     * @param dtoSupplier supplies the DTO to serialize on a miss
+     * @return the JSON bytes
+     */
+    public byte[] get(String key, Object version, Supplier<?> dtoSupplier) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version.equals(version)) {
+                return entry.json;
+            }
+        }
+
+        byte[] json = serialize(dtoSupplier.get());
+        synchronized (entries) {
+            entries.put(key, new Entry(version, json));
+        }
+        return json;
+    }
+
+    /**
+     * Drop the cached bytes of an aggregate
+     *
+     * @param key the aggregate ID
+     */
+    public void invalidate(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Get the number of cached entries
+     *
+     * @return the count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private byte[] serialize(Object dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + dto.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Serialized JSON together with the aggregate version it was built from
+     */
+    private static final class Entry {
+        private final Object version;
+        private final byte[] json;
+
+        private Entry(Object version, byte[] json) {
+            this.version = Objects.requireNonNull(version, "Version cannot be null");
+            this.json = json;
+        }
+    }
+}
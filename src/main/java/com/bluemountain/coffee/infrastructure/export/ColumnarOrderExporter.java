@@ -0,0 +1,280 @@
+package com.bluemountain.coffee.infrastructure.export;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItems;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.repository.DeliveryRepository;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background exporter writing the orders and deliveries that ended on a day
+ * to columnar files for offline analytics.
+ *
+ * Every night (coffee.export.cron) the previous day is exported to
+ * coffee.export.directory/date=YYYY-MM-DD/:
+ * - orders.ccol: one row per COMPLETED or CANCELLED order
+ * - order_items.ccol: one row per item of those orders
+ * - deliveries.ccol: one row per COMPLETED or CANCELLED delivery
+ *
+ * An order or delivery belongs to the day of its last update, when it
+ * reached its terminal status. Amounts are in cents, distances in meters
+ * and timestamps in local time. The repositories pass the matching orders
+ * and deliveries one at a time (forEachByStatusUpdatedBetween) and each is
+ * written as soon as it is read, so besides the open row group of every
+ * file the exporter only holds the aggregate being written. How much the
+ * store itself holds for the scan depends on the store: the in-memory ones
+ * already keep every aggregate, the off-heap one collects the addresses of
+ * the matching records and decodes them one by one. Files are written
+ * beside their target and moved into place, so exporting a day again
+ * replaces its partition.
+ */
+@Component
+public class ColumnarOrderExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarOrderExporter.class);
+
+    static final List<ColumnarWriter.Column> ORDER_COLUMNS = List.of(
+            new ColumnarWriter.Column("order_id", ColumnarWriter.Type.STRING),
+            new ColumnarWriter.Column("customer_name", ColumnarWriter.Type.STRING),
+            new ColumnarWriter.Column("order_type", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("status", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("total_cents", ColumnarWriter.Type.LONG),
+            new ColumnarWriter.Column("item_count", ColumnarWriter.Type.LONG),
+            new ColumnarWriter.Column("city", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("postal_code", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("created_at", ColumnarWriter.Type.TIMESTAMP),
+            new ColumnarWriter.Column("updated_at", ColumnarWriter.Type.TIMESTAMP));
+
+    static final List<ColumnarWriter.Column> ORDER_ITEM_COLUMNS = List.of(
+            new ColumnarWriter.Column("order_id", ColumnarWriter.Type.STRING),
+            new ColumnarWriter.Column("product_name", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("quantity", ColumnarWriter.Type.LONG),
+            new ColumnarWriter.Column("unit_price_cents", ColumnarWriter.Type.LONG));
+
+    static final List<ColumnarWriter.Column> DELIVERY_COLUMNS = List.of(
+            new ColumnarWriter.Column("delivery_id", ColumnarWriter.Type.STRING),
+            new ColumnarWriter.Column("status", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("rider_id", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("zone", ColumnarWriter.Type.DICTIONARY),
+            new ColumnarWriter.Column("order_count", ColumnarWriter.Type.LONG),
+            new ColumnarWriter.Column("route_distance_meters", ColumnarWriter.Type.LONG),
+            new ColumnarWriter.Column("created_at", ColumnarWriter.Type.TIMESTAMP),
+            new ColumnarWriter.Column("pickup_time", ColumnarWriter.Type.TIMESTAMP),
+            new ColumnarWriter.Column("delivery_time", ColumnarWriter.Type.TIMESTAMP),
+            new ColumnarWriter.Column("updated_at", ColumnarWriter.Type.TIMESTAMP));
+
+    private final OrderRepository orderRepository;
+    private final DeliveryRepository deliveryRepository;
+    private final Path directory;
+    private final int rowGroupSize;
+    private final Clock clock;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param orderRepository the order repository
+     * @param deliveryRepository the delivery repository
+     * @param directory the directory holding the daily partitions
+     * @param rowGroupSize rows per row group
+     */
+    @Autowired
+    public ColumnarOrderExporter(OrderRepository orderRepository,
+                                 DeliveryRepository deliveryRepository,
+                                 @Value("${coffee.export.directory:data/exports}") String directory,
+                                 @Value("${coffee.export.row-group-size:8192}") int rowGroupSize) {
+        this(orderRepository, deliveryRepository, Paths.get(directory), rowGroupSize, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param orderRepository the order repository
+     * @param deliveryRepository the delivery repository
+     * @param directory the directory holding the daily partitions
+     * @param rowGroupSize rows per row group
+     * @param clock the clock deciding which day is yesterday
+     */
+    public ColumnarOrderExporter(OrderRepository orderRepository, DeliveryRepository deliveryRepository,
+                                 Path directory, int rowGroupSize, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.directory = directory;
+        this.rowGroupSize = rowGroupSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Export the previous day
+     */
+    @Scheduled(cron = "${coffee.export.cron:0 10 0 * * *}")
+    public void exportYesterday() {
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        try {
+            Export export = export(yesterday);
+            logger.info("Exported {}: {} orders, {} items, {} deliveries to {}", yesterday,
+                    export.orders(), export.orderItems(), export.deliveries(), export.partition());
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Export of {} failed", yesterday, e);
+        }
+    }
+
+    /**
+     * Export the orders and deliveries that ended on a day, replacing its
+     * partition
+     *
+     * @param day the day
+     * @return where the partition was written and how many rows it holds
+     * @throws IOException if a file cannot be written
+     */
+    public Export export(LocalDate day) throws IOException {
+        Path partition = directory.resolve("date=" + day);
+        Files.createDirectories(partition);
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+
+        long orders;
+        long items;
+        long deliveries;
+        try {
+            try (Output orderFile = new Output(partition.resolve("orders.ccol"), ORDER_COLUMNS);
+                 Output itemFile = new Output(partition.resolve("order_items.ccol"), ORDER_ITEM_COLUMNS)) {
+                for (OrderStatus status : List.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED)) {
+                    orderRepository.forEachByStatusUpdatedBetween(status, start, end,
+                            order -> writeOrder(order, orderFile.writer, itemFile.writer));
+                }
+                orders = orderFile.commit();
+                items = itemFile.commit();
+            }
+
+            try (Output deliveryFile = new Output(partition.resolve("deliveries.ccol"), DELIVERY_COLUMNS)) {
+                for (DeliveryStatus status : List.of(DeliveryStatus.COMPLETED, DeliveryStatus.CANCELLED)) {
+                    deliveryRepository.forEachByStatusUpdatedBetween(status, start, end,
+                            delivery -> writeDelivery(delivery, deliveryFile.writer));
+                }
+                deliveries = deliveryFile.commit();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Export(day, partition, orders, items, deliveries);
+    }
+
+    private static void writeOrder(Order order, ColumnarWriter orders, ColumnarWriter items) {
+        try {
+            writeOrderRows(order, orders, items);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeOrderRows(Order order, ColumnarWriter orders, ColumnarWriter items) throws IOException {
+        String orderId = order.getId().toString();
+        orders.write(
+                orderId,
+                order.getCustomerName(),
+                order.getType().name(),
+                order.getStatus().name(),
+                cents(order.getTotalPrice()),
+                (long) order.getItems().size(),
+                order.getAddress() != null ? order.getAddress().getCity() : null,
+                order.getAddress() != null ? order.getAddress().getPostalCode() : null,
+                order.getCreatedAt(),
+                order.getUpdatedAt());
+        OrderItems lines = order.getItems();
+        for (int i = 0; i < lines.size(); i++) {
+            items.write(orderId, lines.productName(i), (long) lines.quantity(i), lines.unitCents(i));
+        }
+    }
+
+    private static void writeDelivery(Delivery delivery, ColumnarWriter deliveries) {
+        try {
+            writeDeliveryRow(delivery, deliveries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeDeliveryRow(Delivery delivery, ColumnarWriter deliveries) throws IOException {
+        deliveries.write(
+                delivery.getDeliveryId().toString(),
+                delivery.getStatus().name(),
+                delivery.getRiderInfo() != null ? delivery.getRiderInfo().getRiderId() : null,
+                delivery.getZone(),
+                (long) delivery.getItems().size(),
+                delivery.getRoute() != null ? Math.round(delivery.getRoute().distanceMeters()) : null,
+                delivery.getCreatedAt(),
+                delivery.getPickupTime(),
+                delivery.getDeliveryTime(),
+                delivery.getUpdatedAt());
+    }
+
+    private static Long cents(Money money) {
+        return money == null ? null
+                : money.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Rows written to one day's partition
+     *
+     * @param day the exported day
+     * @param partition the partition directory
+     * @param orders rows of orders.ccol
+     * @param orderItems rows of order_items.ccol
+     * @param deliveries rows of deliveries.ccol
+     */
+    public record Export(LocalDate day, Path partition, long orders, long orderItems, long deliveries) {
+    }
+
+    /**
+     * A file written under a temporary name and moved into place on commit;
+     * closing without committing deletes it
+     */
+    private final class Output implements AutoCloseable {
+        private final Path target;
+        private final Path temporary;
+        private final ColumnarWriter writer;
+        private boolean committed;
+
+        Output(Path target, List<ColumnarWriter.Column> columns) throws IOException {
+            this.target = target;
+            this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            this.writer = new ColumnarWriter(temporary, columns, rowGroupSize);
+        }
+
+        long commit() throws IOException {
+            writer.close();
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return writer.getRowsWritten();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                writer.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
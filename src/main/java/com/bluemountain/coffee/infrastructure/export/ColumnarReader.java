@@ -0,0 +1,300 @@
+package com.bluemountain.coffee.infrastructure.export;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reader of the columnar files written by ColumnarWriter.
+ *
+ * Reads one row group at a time and decodes only the selected columns;
+ * the chunks of the other columns are skipped without inflating them.
+ * Values of LONG and TIMESTAMP columns come back as long arrays with
+ * NULL_LONG for null, timestamps as milliseconds since the epoch on the
+ * local time line.
+ */
+public class ColumnarReader implements Closeable {
+
+    /**
+     * Marker of a null LONG or TIMESTAMP value
+     */
+    public static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final InputStream in;
+    private final List<ColumnarWriter.Column> columns = new ArrayList<>();
+    private final boolean[] selected;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Object[] decoded;
+    private final Inflater inflater = new Inflater();
+    private byte[] chunk = new byte[0];
+    private byte[] inflated = new byte[1 << 16];
+    private int rows;
+
+    /**
+     * Open a file and read its schema
+     *
+     * @param file the file
+     * @param selectedColumns the names of the columns to decode
+     * @throws IOException if the file cannot be read or is not a columnar file
+     */
+    public ColumnarReader(Path file, Collection<String> selectedColumns) throws IOException {
+        this.in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        try {
+            byte[] magic = in.readNBytes(ColumnarWriter.MAGIC.length);
+            if (!Arrays.equals(magic, ColumnarWriter.MAGIC) || in.read() != ColumnarWriter.VERSION) {
+                throw new IOException("Not a columnar file: " + file);
+            }
+            int count = (int) readVarint(in);
+            for (int i = 0; i < count; i++) {
+                String name = new String(in.readNBytes((int) readVarint(in)), StandardCharsets.UTF_8);
+                ColumnarWriter.Type type = ColumnarWriter.Type.values()[in.read()];
+                columns.add(new ColumnarWriter.Column(name, type));
+                positions.put(name, i);
+            }
+            this.selected = new boolean[count];
+            for (String name : selectedColumns) {
+                selected[position(name)] = true;
+            }
+            this.decoded = new Object[count];
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the columns of the file
+     *
+     * @return the schema
+     */
+    public List<ColumnarWriter.Column> getColumns() {
+        return List.copyOf(columns);
+    }
+
+    /**
+     * Read the next row group
+     *
+     * @return false at the end of the file
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public boolean nextRowGroup() throws IOException {
+        rows = (int) readVarint(in);
+        if (rows == 0) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            int length = (int) readVarint(in);
+            if (!selected[i]) {
+                in.skipNBytes(length);
+                continue;
+            }
+            if (chunk.length < length) {
+                chunk = new byte[length];
+            }
+            if (in.readNBytes(chunk, 0, length) != length) {
+                throw new EOFException("Truncated column chunk");
+            }
+            decoded[i] = decode(columns.get(i).type(), inflate(length));
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of rows of the current row group
+     *
+     * @return the rows
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Get the values of a selected STRING or DICTIONARY column in the current
+     * row group; dictionary values are shared between rows
+     *
+     * @param column the column name
+     * @return one value per row, null for null
+     */
+    public String[] strings(String column) {
+        return (String[]) values(column, String[].class);
+    }
+
+    /**
+     * Get the values of a selected LONG or TIMESTAMP column in the current
+     * row group
+     *
+     * @param column the column name
+     * @return one value per row, NULL_LONG for null
+     */
+    public long[] longs(String column) {
+        return (long[]) values(column, long[].class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private Object values(String column, Class<?> kind) {
+        int position = position(column);
+        if (!selected[position]) {
+            throw new IllegalArgumentException("Column not selected: " + column);
+        }
+        if (!kind.isInstance(decoded[position])) {
+            throw new IllegalArgumentException("Column " + column + " is " + columns.get(position).type());
+        }
+        return decoded[position];
+    }
+
+    private int position(String column) {
+        Integer position = positions.get(column);
+        if (position == null) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+        return position;
+    }
+
+    private int inflate(int length) throws IOException {
+        inflater.reset();
+        inflater.setInput(chunk, 0, length);
+        int size = 0;
+        try {
+            while (!inflater.finished()) {
+                if (size == inflated.length) {
+                    inflated = Arrays.copyOf(inflated, inflated.length * 2);
+                }
+                int n = inflater.inflate(inflated, size, inflated.length - size);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EOFException("Truncated column chunk");
+                }
+                size += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk", e);
+        }
+        return size;
+    }
+
+    private Object decode(ColumnarWriter.Type type, int size) {
+        Cursor cursor = new Cursor(inflated, size);
+        switch (type) {
+            case STRING -> {
+                String[] values = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = cursor.readString();
+                }
+                return values;
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[(int) cursor.readVarint()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = cursor.readString();
+                }
+                String[] values = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    int code = (int) cursor.readVarint();
+                    values[row] = code == 0 ? null : dictionary[code - 1];
+                }
+                return values;
+            }
+            case LONG -> {
+                long[] values = new long[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = cursor.readNullableLong();
+                }
+                return values;
+            }
+            default -> {
+                long[] values = new long[rows];
+                long previous = 0;
+                for (int row = 0; row < rows; row++) {
+                    long delta = cursor.readNullableLong();
+                    if (delta == NULL_LONG) {
+                        values[row] = NULL_LONG;
+                    } else {
+                        previous += delta;
+                        values[row] = previous;
+                    }
+                }
+                return values;
+            }
+        }
+    }
+
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated columnar file");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Position in an inflated column chunk
+     */
+    private static final class Cursor {
+        private final byte[] bytes;
+        private final int size;
+        private int offset;
+
+        Cursor(byte[] bytes, int size) {
+            this.bytes = bytes;
+            this.size = size;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (offset >= size) {
+                    throw new IllegalStateException("Truncated column chunk");
+                }
+                int b = bytes[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        long readNullableLong() {
+            long encoded = readVarint();
+            if (encoded == 0) {
+                return NULL_LONG;
+            }
+            long zigzag = encoded - 1;
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(bytes, offset, length - 1, StandardCharsets.UTF_8);
+            offset += length - 1;
+            return value;
+        }
+    }
+}
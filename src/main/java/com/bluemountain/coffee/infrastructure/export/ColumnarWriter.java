@@ -0,0 +1,273 @@
+package com.bluemountain.coffee.infrastructure.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writer of columnar files, one row group at a time.
+ *
+ * File layout, all integers as unsigned varints:
+ * - Magic "CCOL" and a version byte
+ * - Schema: the column count, then each column's name and type ordinal
+ * - Row groups: the row count, then each column's chunk as its length and
+ *   its deflated bytes
+ * - A row count of zero
+ *
+ * Column chunks, before deflating:
+ * - STRING: length + 1 and the UTF-8 bytes per row, 0 for null
+ * - DICTIONARY: the distinct values of the row group as STRING, then the
+ *   index + 1 of each row's value, 0 for null
+ * - LONG: zigzag(value) + 1 per row, 0 for null
+ * - TIMESTAMP: as LONG, the milliseconds since the previous non-null
+ *   timestamp of the chunk (the first one since the epoch, on the local
+ *   time line)
+ *
+ * Rows are buffered until a row group is full, so memory is bounded by the
+ * row group size whatever the number of rows written.
+ */
+public class ColumnarWriter implements Closeable {
+
+    static final byte[] MAGIC = {'C', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+
+    /**
+     * Column encodings
+     */
+    public enum Type {
+        STRING, DICTIONARY, LONG, TIMESTAMP
+    }
+
+    /**
+     * Column of a columnar file
+     *
+     * @param name the column name
+     * @param type the column encoding
+     */
+    public record Column(String name, Type type) {
+    }
+
+    private final List<Column> columns;
+    private final int rowGroupSize;
+    private final OutputStream out;
+    private final ColumnBuffer[] buffers;
+    private int rows;
+    private long rowsWritten;
+
+    /**
+     * Create a file and write its schema
+     *
+     * @param file the file to create
+     * @param columns the columns of every row
+     * @param rowGroupSize the rows buffered before a row group is written
+     * @throws IOException if the file cannot be written
+     */
+    public ColumnarWriter(Path file, List<Column> columns, int rowGroupSize) throws IOException {
+        if (columns.isEmpty() || rowGroupSize <= 0) {
+            throw new IllegalArgumentException("A columnar file needs columns and a positive row group size");
+        }
+        this.columns = List.copyOf(columns);
+        this.rowGroupSize = rowGroupSize;
+        this.out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+        this.buffers = new ColumnBuffer[columns.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ColumnBuffer(columns.get(i).type());
+        }
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, columns.size());
+        for (Column column : columns) {
+            byte[] name = column.name().getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, name.length);
+            out.write(name);
+            out.write(column.type().ordinal());
+        }
+    }
+
+    /**
+     * Write a row
+     *
+     * @param values one value per column: a String for STRING and DICTIONARY,
+     *               a Long for LONG, a LocalDateTime for TIMESTAMP; any may be null
+     * @throws IOException if a full row group cannot be written
+     */
+    public void write(Object... values) throws IOException {
+        if (values.length != buffers.length) {
+            throw new IllegalArgumentException("Expected " + buffers.length + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            buffers[i].append(values[i], columns.get(i));
+        }
+        rows++;
+        rowsWritten++;
+        if (rows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    /**
+     * Get the number of rows written so far
+     *
+     * @return the rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Write the last row group and the end marker, and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+            writeVarint(out, 0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        writeVarint(out, rows);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (ColumnBuffer buffer : buffers) {
+                compressed.reset();
+                deflater.reset();
+                try (DeflaterOutputStream deflating = new DeflaterOutputStream(compressed, deflater, 1 << 14)) {
+                    buffer.writeTo(deflating);
+                }
+                writeVarint(out, compressed.size());
+                compressed.writeTo(out);
+                buffer.clear();
+            }
+        } finally {
+            deflater.end();
+        }
+        rows = 0;
+    }
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * The encoded values of one column of the current row group
+     */
+    private static final class ColumnBuffer {
+        private final Type type;
+        private final Bytes values = new Bytes();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final Bytes dictionaryValues = new Bytes();
+        private long previousTimestamp;
+
+        ColumnBuffer(Type type) {
+            this.type = type;
+        }
+
+        void append(Object value, Column column) {
+            try {
+                switch (type) {
+                    case STRING -> values.writeString((String) value);
+                    case DICTIONARY -> {
+                        if (value == null) {
+                            values.writeVarint(0);
+                        } else {
+                            Integer code = dictionary.get((String) value);
+                            if (code == null) {
+                                code = dictionary.size();
+                                dictionary.put((String) value, code);
+                                dictionaryValues.writeString((String) value);
+                            }
+                            values.writeVarint(code + 1L);
+                        }
+                    }
+                    case LONG -> values.writeNullableLong((Long) value);
+                    case TIMESTAMP -> {
+                        if (value == null) {
+                            values.writeVarint(0);
+                        } else {
+                            long millis = ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+                            values.writeNullableLong(millis - previousTimestamp);
+                            previousTimestamp = millis;
+                        }
+                    }
+                }
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException("Wrong value for " + type + " column " + column.name()
+                        + ": " + value.getClass().getSimpleName(), e);
+            }
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            if (type == Type.DICTIONARY) {
+                writeVarint(out, dictionary.size());
+                dictionaryValues.writeTo(out);
+            }
+            values.writeTo(out);
+        }
+
+        void clear() {
+            values.clear();
+            dictionary.clear();
+            dictionaryValues.clear();
+            previousTimestamp = 0;
+        }
+    }
+
+    /**
+     * Growable byte buffer with varint writers
+     */
+    private static final class Bytes extends ByteArrayOutputStream {
+
+        Bytes() {
+            super(1 << 12);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeNullableLong(Long value) {
+            writeVarint(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        void clear() {
+            reset();
+        }
+    }
+}
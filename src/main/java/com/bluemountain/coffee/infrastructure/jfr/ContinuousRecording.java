@@ -0,0 +1,106 @@
+package com.bluemountain.coffee.infrastructure.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Continuous Java Flight Recorder recording with a rolling on-disk buffer.
+ *
+ * Active with the "jfr" Spring profile (--spring.profiles.active=jfr). The
+ * recording starts with the application and keeps the last max-age / max-size
+ * of data in the JFR repository, so when p99 latency spikes the recent past
+ * can be dumped without restarting or attaching an agent:
+ *
+ *   jcmd <pid> JFR.dump name=coffee-shop filename=spike.jfr
+ *
+ * The buffer is written to coffee.jfr.dump-file when the application context
+ * closes, or by the JVM if it exits without closing the context. The custom
+ * events (order placement phases, delivery batching and listener dispatch)
+ * are enabled on top of the chosen JFC settings.
+ */
+@Component
+@Profile("jfr")
+public class ContinuousRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private static final String RECORDING_NAME = "coffee-shop";
+
+    private final Recording recording;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param settings name of the JFC settings to start from ("default" or "profile")
+     * @param maxAge how long recorded data is kept
+     * @param maxSize how much recorded data is kept on disk
+     * @param eventThreshold minimum duration of the custom events to record
+     * @param dumpFile where the buffer is written on shutdown
+     * @throws IOException if the settings cannot be read
+     * @throws ParseException if the settings are invalid
+     */
+    public ContinuousRecording(@Value("${coffee.jfr.settings:default}") String settings,
+                               @Value("${coffee.jfr.max-age:PT30M}") Duration maxAge,
+                               @Value("${coffee.jfr.max-size:256MB}") DataSize maxSize,
+                               @Value("${coffee.jfr.event-threshold:0ms}") Duration eventThreshold,
+                               @Value("${coffee.jfr.dump-file:coffee-shop.jfr}") Path dumpFile)
+            throws IOException, ParseException {
+        this.recording = new Recording(Configuration.getConfiguration(settings));
+        this.recording.setName(RECORDING_NAME);
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(maxAge);
+        this.recording.setMaxSize(maxSize.toBytes());
+        this.recording.enable(OrderPlacementPhaseEvent.class).withThreshold(eventThreshold);
+        this.recording.enable(DeliveryBatchingEvent.class).withThreshold(eventThreshold);
+        this.recording.enable(EventListenerDispatchEvent.class).withThreshold(eventThreshold);
+
+        // Written by stop() on shutdown; dump-on-exit covers a JVM that exits
+        // without closing the context, through Flight Recorder's own shutdown
+        // hook, which runs before the disk repository is cleaned up
+        Path parent = dumpFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.recording.setDestination(dumpFile);
+        this.recording.setDumpOnExit(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        recording.start();
+        logger.info("Started continuous JFR recording '{}' (max age {}, max size {} bytes)",
+                RECORDING_NAME, recording.getMaxAge(), recording.getMaxSize());
+    }
+
+    /**
+     * Stop the recording, which writes the final chunk to the dump file, and
+     * release its disk space
+     */
+    @PreDestroy
+    public void stop() {
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                logger.info("Stopped continuous JFR recording '{}', written to {}",
+                        RECORDING_NAME, recording.getDestination());
+            }
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bluemountain.coffee.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one run of DeliveryBatchServiceImpl.autoBatchOrders.
+ *
+ * Records how many batchable orders were scanned and how many deliveries were
+ * created; the event duration is the time the run took.
+ */
+@Name("com.bluemountain.coffee.DeliveryBatching")
+@Label("Delivery Batching")
+@Description("One run of automatic delivery batching")
+@Category({"Coffee Shop", "Deliveries"})
+@StackTrace(false)
+public class DeliveryBatchingEvent extends Event {
+
+    @Label("Orders Scanned")
+    int ordersScanned;
+
+    @Label("Batches Created")
+    int batchesCreated;
+
+    /**
+     * Start timing a batching run
+     *
+     * @return the started event
+     */
+    public static DeliveryBatchingEvent start() {
+        DeliveryBatchingEvent event = new DeliveryBatchingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit the event if it is enabled and above its threshold
+     *
+     * @param ordersScanned the number of batchable orders found
+     * @param batchesCreated the number of deliveries created
+     */
+    public void finish(int ordersScanned, int batchesCreated) {
+        end();
+        if (shouldCommit()) {
+            this.ordersScanned = ordersScanned;
+            this.batchesCreated = batchesCreated;
+            commit();
+        }
+    }
+}
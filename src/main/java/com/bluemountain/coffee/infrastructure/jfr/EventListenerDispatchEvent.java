@@ -0,0 +1,67 @@
+package com.bluemountain.coffee.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+
+/**
+ * Flight Recorder event for the delivery of one application event to one listener.
+ *
+ * Emitted by JfrApplicationEventMulticaster, so every listener is covered,
+ * including @EventListener methods such as OrderEventListener and the
+ * OrderReadModel projection.
+ */
+@Name("com.bluemountain.coffee.EventListenerDispatch")
+@Label("Event Listener Dispatch")
+@Description("Delivery of an application event to one listener")
+@Category({"Coffee Shop", "Events"})
+@StackTrace(false)
+public class EventListenerDispatchEvent extends Event {
+
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Listener")
+    String listener;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Start timing a listener invocation
+     *
+     * @return the started event
+     */
+    public static EventListenerDispatchEvent start() {
+        EventListenerDispatchEvent event = new EventListenerDispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit the event if it is enabled and above its threshold.
+     * Names are only resolved when the event is actually committed.
+     *
+     * @param applicationEvent the dispatched application event
+     * @param applicationListener the listener it was delivered to
+     * @param failed whether the listener threw
+     */
+    public void finish(ApplicationEvent applicationEvent, ApplicationListener<?> applicationListener,
+                       boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.eventType = applicationEvent.getClass().getSimpleName();
+            this.listener = applicationListener instanceof ApplicationListenerMethodAdapter
+                    ? applicationListener.toString()
+                    : applicationListener.getClass().getName();
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bluemountain.coffee.infrastructure.jfr;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application event multicaster that emits an EventListenerDispatchEvent per listener call.
+ *
+ * Registered under the bean name Spring looks up for the context's
+ * multicaster, so it replaces the default SimpleApplicationEventMulticaster
+ * and behaves the same apart from the Flight Recorder events.
+ */
+@Component(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+public class JfrApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        EventListenerDispatchEvent dispatch = EventListenerDispatchEvent.start();
+        boolean failed = true;
+        try {
+            super.invokeListener(listener, event);
+            failed = false;
+        } finally {
+            dispatch.finish(event, listener, failed);
+        }
+    }
+}
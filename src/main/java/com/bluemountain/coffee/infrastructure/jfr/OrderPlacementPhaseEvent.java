@@ -0,0 +1,63 @@
+package com.bluemountain.coffee.infrastructure.jfr;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one phase of placing an order.
+ *
+ * OrderAppService.placeOrder emits one event per phase: assemble, settle,
+ * pay, save and toDTO. The phases of one order share the same order ID, so a
+ * slow placement can be broken down in JDK Mission Control without attaching
+ * an agent.
+ *
+ * When no recording is running, begin/commit cost a flag check.
+ */
+@Name("com.bluemountain.coffee.OrderPlacementPhase")
+@Label("Order Placement Phase")
+@Description("One phase of OrderAppService.placeOrder")
+@Category({"Coffee Shop", "Orders"})
+@StackTrace(false)
+public class OrderPlacementPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Order Type")
+    String orderType;
+
+    /**
+     * Start timing a phase
+     *
+     * @param phase the phase name
+     * @return the started event
+     */
+    public static OrderPlacementPhaseEvent start(String phase) {
+        OrderPlacementPhaseEvent event = new OrderPlacementPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit the event if it is enabled and above its threshold
+     *
+     * @param order the order being placed
+     */
+    public void finish(Order order) {
+        end();
+        if (shouldCommit()) {
+            orderId = order.getId().toString();
+            orderType = order.getType().name();
+            commit();
+        }
+    }
+}
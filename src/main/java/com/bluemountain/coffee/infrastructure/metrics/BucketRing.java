@@ -0,0 +1,120 @@
+package com.bluemountain.coffee.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring of time buckets, each holding a few LongAdder counters.
+ *
+ * A value is added to the bucket of the current time. Writers never lock:
+ * each counter is a LongAdder, and a bucket that has fallen out of the ring
+ * is replaced by a fresh one with a compare-and-set, so the first writer of
+ * a new period starts it at zero. Reading sums the buckets of a time range
+ * and touches at most every bucket of the ring, however many values were
+ * added. A value added just as its bucket is being replaced by one a whole
+ * ring later can be lost; with second-wide or wider buckets that is
+ * practically never.
+ *
+ * Times are in milliseconds of any clock, as long as writers and readers
+ * use the same one.
+ */
+public class BucketRing {
+
+    private final long bucketMillis;
+    private final int fields;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * Create a bucket ring
+     *
+     * @param bucketMillis the width of a bucket
+     * @param size the number of buckets kept
+     * @param fields the number of counters per bucket
+     */
+    public BucketRing(long bucketMillis, int size, int fields) {
+        if (bucketMillis <= 0 || size <= 0 || fields <= 0) {
+            throw new IllegalArgumentException("Bucket width, size and fields must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.fields = fields;
+        this.buckets = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Add a value to a counter of the bucket holding the given time
+     *
+     * @param timeMillis the time of the value
+     * @param field the counter
+     * @param value the value to add
+     */
+    public void add(long timeMillis, int field, long value) {
+        long index = Math.floorDiv(timeMillis, bucketMillis);
+        int slot = (int) Math.floorMod(index, (long) buckets.length());
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.index < index) {
+            Bucket fresh = new Bucket(index, fields);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(slot);
+            }
+        }
+        if (bucket.index == index) {
+            bucket.counters[field].add(value);
+        }
+    }
+
+    /**
+     * Sum every counter over the buckets from the one holding fromMillis to
+     * the one holding toMillis, both included
+     *
+     * @param fromMillis the start of the range
+     * @param toMillis the end of the range
+     * @return the sums, one per counter
+     */
+    public long[] sum(long fromMillis, long toMillis) {
+        long first = Math.floorDiv(fromMillis, bucketMillis);
+        long last = Math.floorDiv(toMillis, bucketMillis);
+        long[] sums = new long[fields];
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.index >= first && bucket.index <= last) {
+                for (int field = 0; field < fields; field++) {
+                    sums[field] += bucket.counters[field].sum();
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Get the width of a bucket
+     *
+     * @return the bucket width in milliseconds
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Get the time covered by the whole ring
+     *
+     * @return the ring span in milliseconds
+     */
+    public long getSpanMillis() {
+        return bucketMillis * buckets.length();
+    }
+
+    private static final class Bucket {
+        private final long index;
+        private final LongAdder[] counters;
+
+        Bucket(long index, int fields) {
+            this.index = index;
+            this.counters = new LongAdder[fields];
+            for (int field = 0; field < fields; field++) {
+                counters[field] = new LongAdder();
+            }
+        }
+    }
+}
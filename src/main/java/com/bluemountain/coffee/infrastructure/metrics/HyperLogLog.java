@@ -0,0 +1,130 @@
+package com.bluemountain.coffee.infrastructure.metrics;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct strings of a stream.
+ *
+ * Uses 2^precision one-byte registers whatever the number of strings; the
+ * relative standard error of the estimate is 1.04 / sqrt(2^precision), so
+ * precision 12 takes 4 KB for about 1.6 %. Small counts fall back to linear
+ * counting, which is close to exact. Sketches of the same precision merge
+ * losslessly into the sketch of the combined streams. Methods are
+ * synchronized.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Create a sketch
+     *
+     * @param precision the number of hash bits choosing a register, 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Count a string
+     *
+     * @param value the string
+     */
+    public void offer(String value) {
+        long hash = hash(value);
+        int register = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining bits, plus one; the guard bit caps it
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        synchronized (this) {
+            if (registers[register] < rank) {
+                registers[register] = rank;
+            }
+        }
+    }
+
+    /**
+     * Add the strings counted by another sketch of the same precision
+     *
+     * @param other the other sketch
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        byte[] theirs;
+        synchronized (other) {
+            theirs = other.registers.clone();
+        }
+        synchronized (this) {
+            for (int register = 0; register < registers.length; register++) {
+                if (registers[register] < theirs[register]) {
+                    registers[register] = theirs[register];
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimate the number of distinct strings counted
+     *
+     * @return the estimate
+     */
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : registers) {
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Get the relative standard error of the estimate
+     *
+     * @return the relative standard error
+     */
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer
+     * so that every input bit reaches the register index
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
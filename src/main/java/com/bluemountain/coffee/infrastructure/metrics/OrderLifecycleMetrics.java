@@ -0,0 +1,149 @@
+package com.bluemountain.coffee.infrastructure.metrics;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.DeliveryItem;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Micrometer metrics for the order and delivery lifecycle.
+ *
+ * Meters:
+ * - coffee.order.transitions{status}: orders that entered each OrderStatus
+ * - coffee.delivery.transitions{status}: deliveries that entered each DeliveryStatus
+ * - coffee.order.stage{from,to}: time an order spent between two steps, e.g.
+ *   SETTLED to PREPARING, PREPARING to READY, READY to PICKED_UP and
+ *   PICKED_UP to DELIVERED (the last two come from the delivery)
+ *
+ * Every meter is registered up front and kept in enum-indexed tables, so the
+ * recording path on a transition is an array lookup plus an atomic update,
+ * without building tags or looking meters up in the registry.
+ *
+ * Stage durations are taken from the order's status history and the
+ * delivery's pickup and delivery times, so they measure domain time rather
+ * than the time spent in a request.
+ */
+@Component
+public class OrderLifecycleMetrics {
+
+    private static final String STAGE = "coffee.order.stage";
+
+    private final Map<OrderStatus, Counter> orderTransitions = new EnumMap<>(OrderStatus.class);
+    private final Map<DeliveryStatus, Counter> deliveryTransitions = new EnumMap<>(DeliveryStatus.class);
+
+    /**
+     * Stage timers indexed by [from.ordinal()][to.ordinal()]; null for impossible transitions
+     */
+    private final Timer[][] orderStages;
+    private final Timer readyToPickedUp;
+    private final Timer pickedUpToDelivered;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param registry the meter registry
+     */
+    public OrderLifecycleMetrics(MeterRegistry registry) {
+        for (OrderStatus status : OrderStatus.values()) {
+            orderTransitions.put(status, Counter.builder("coffee.order.transitions")
+                    .description("Orders that entered a status")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        for (DeliveryStatus status : DeliveryStatus.values()) {
+            deliveryTransitions.put(status, Counter.builder("coffee.delivery.transitions")
+                    .description("Deliveries that entered a status")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+
+        OrderStatus[] statuses = OrderStatus.values();
+        this.orderStages = new Timer[statuses.length][statuses.length];
+        for (OrderStatus from : statuses) {
+            for (OrderStatus to : statuses) {
+                if (from != to && from.canTransitionTo(to)) {
+                    orderStages[from.ordinal()][to.ordinal()] = stageTimer(registry, from.name(), to.name());
+                }
+            }
+        }
+        this.readyToPickedUp = stageTimer(registry, OrderStatus.READY.name(), DeliveryStatus.PICKED_UP.name());
+        this.pickedUpToDelivered = stageTimer(registry, DeliveryStatus.PICKED_UP.name(), DeliveryStatus.DELIVERED.name());
+    }
+
+    /**
+     * Record the most recent status changes of an order
+     *
+     * @param order the order
+     * @param newChanges how many entries at the end of the status history are new
+     */
+    public void recordOrderTransitions(Order order, int newChanges) {
+        List<OrderStatusChange> history = order.getStatusHistory();
+        for (int i = Math.max(history.size() - newChanges, 0); i < history.size(); i++) {
+            OrderStatusChange change = history.get(i);
+            orderTransitions.get(change.getStatus()).increment();
+            if (i > 0) {
+                OrderStatusChange previous = history.get(i - 1);
+                Timer stage = orderStages[previous.getStatus().ordinal()][change.getStatus().ordinal()];
+                if (stage != null) {
+                    record(stage, previous.getOccurredAt(), change.getOccurredAt());
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the current status of a delivery, together with the stage it completes
+     *
+     * @param delivery the delivery that has just changed status
+     */
+    public void recordDeliveryTransition(Delivery delivery) {
+        deliveryTransitions.get(delivery.getStatus()).increment();
+
+        if (delivery.getStatus() == DeliveryStatus.PICKED_UP) {
+            for (DeliveryItem item : delivery.getItems()) {
+                readyAt(item.getOrder()).ifPresent(readyAt ->
+                        record(readyToPickedUp, readyAt, delivery.getPickupTime()));
+            }
+        } else if (delivery.getStatus() == DeliveryStatus.DELIVERED && delivery.getPickupTime() != null) {
+            for (int i = 0; i < delivery.getItems().size(); i++) {
+                record(pickedUpToDelivered, delivery.getPickupTime(), delivery.getDeliveryTime());
+            }
+        }
+    }
+
+    private static Optional<LocalDateTime> readyAt(Order order) {
+        List<OrderStatusChange> history = order.getStatusHistory();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).getStatus() == OrderStatus.READY) {
+                return Optional.of(history.get(i).getOccurredAt());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void record(Timer timer, LocalDateTime start, LocalDateTime end) {
+        timer.record(Duration.between(start, end));
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String from, String to) {
+        return Timer.builder(STAGE)
+                .description("Time an order spent between two lifecycle steps")
+                .tag("from", from)
+                .tag("to", to)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
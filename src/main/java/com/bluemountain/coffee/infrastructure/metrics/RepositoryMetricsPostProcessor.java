@@ -0,0 +1,85 @@
+package com.bluemountain.coffee.infrastructure.metrics;
+
+import com.bluemountain.coffee.domain.repository.DeliveryRepository;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the repository beans so every repository operation is timed.
+ *
+ * Design Pattern: Decorator (as a JDK dynamic proxy)
+ * The OrderRepository and DeliveryRepository beans are replaced by proxies
+ * implementing the same interface. Each call is forwarded to the real
+ * repository and its duration recorded in
+ * coffee.repository.operation{repository, operation}.
+ *
+ * The timers are created once per interface method when the bean is wrapped,
+ * so a call only pays for a map lookup and the timer update. Repositories are
+ * injected by interface everywhere, so the proxies are transparent to callers.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param meterRegistry the meter registry, resolved lazily so this post-processor
+     *                      does not force early creation of the registry
+     */
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof OrderRepository) {
+            return wrap(bean, OrderRepository.class, "order");
+        }
+        if (bean instanceof DeliveryRepository) {
+            return wrap(bean, DeliveryRepository.class, "delivery");
+        }
+        return bean;
+    }
+
+    private Object wrap(Object repository, Class<?> repositoryInterface, String repositoryName) {
+        MeterRegistry registry = meterRegistry.getObject();
+        Map<Method, Timer> timers = new HashMap<>();
+        for (Method method : repositoryInterface.getMethods()) {
+            timers.put(method, Timer.builder("coffee.repository.operation")
+                    .description("Time spent in a repository operation")
+                    .tag("repository", repositoryName)
+                    .tag("operation", method.getName())
+                    .register(registry));
+        }
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            Timer timer = timers.get(method);
+            long start = System.nanoTime();
+            try {
+                return method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (timer != null) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+        return Proxy.newProxyInstance(repositoryInterface.getClassLoader(),
+                new Class<?>[] {repositoryInterface}, handler);
+    }
+}
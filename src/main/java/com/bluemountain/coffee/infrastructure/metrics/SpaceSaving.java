@@ -0,0 +1,167 @@
+package com.bluemountain.coffee.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch of the most frequent items of a stream.
+ *
+ * Keeps at most capacity counters. An item without a counter takes over
+ * the smallest one when the sketch is full, starting from its count and
+ * remembering that count as its error. Every count is therefore an upper
+ * bound of the true count, and at most error above it. Errors never exceed
+ * total / capacity, and every item seen more often than that has a counter.
+ *
+ * Evicting scans the counters for the smallest one, which is cheap for the
+ * few dozen counters a sketch is meant to have. Methods are synchronized.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    /**
+     * Create a sketch
+     *
+     * @param capacity the maximum number of counters
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Count an item
+     *
+     * @param item the item
+     * @param weight how many times it was seen
+     */
+    public synchronized void offer(String item, long weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        total += weight;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+        } else if (counters.size() < capacity) {
+            counters.put(item, new Counter(weight, 0));
+        } else {
+            Map.Entry<String, Counter> smallest = smallest();
+            counters.remove(smallest.getKey());
+            long count = smallest.getValue().count;
+            counters.put(item, new Counter(count + weight, count));
+        }
+    }
+
+    /**
+     * Get the total weight offered
+     *
+     * @return the total weight
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    /**
+     * Get the most any item without a counter can have been seen
+     *
+     * @return the smallest count when the sketch is full, else zero
+     */
+    public synchronized long unseenBound() {
+        return counters.size() < capacity ? 0 : smallest().getValue().count;
+    }
+
+    /**
+     * Get the estimates of all counted items, most frequent first
+     *
+     * @return the estimates
+     */
+    public List<Estimate> estimates() {
+        return merge(List.of(this));
+    }
+
+    /**
+     * Combine sketches of disjoint parts of a stream
+     *
+     * An item missing from a sketch may still have been seen up to that
+     * sketch's unseen bound, which is added to both its count and its error.
+     * The error of every estimate stays within the sum of the unseen bounds.
+     *
+     * @param sketches the sketches
+     * @return the combined estimates, most frequent first
+     */
+    public static List<Estimate> merge(Collection<SpaceSaving> sketches) {
+        // Per item: summed count, summed error and summed unseen bound of the sketches holding it
+        Map<String, long[]> combined = new HashMap<>();
+        long unseen = 0;
+        for (SpaceSaving sketch : sketches) {
+            synchronized (sketch) {
+                long bound = sketch.unseenBound();
+                for (Map.Entry<String, Counter> entry : sketch.counters.entrySet()) {
+                    long[] sums = combined.computeIfAbsent(entry.getKey(), item -> new long[3]);
+                    sums[0] += entry.getValue().count;
+                    sums[1] += entry.getValue().error;
+                    sums[2] += bound;
+                }
+                unseen += bound;
+            }
+        }
+        List<Estimate> estimates = new ArrayList<>(combined.size());
+        for (Map.Entry<String, long[]> entry : combined.entrySet()) {
+            long[] sums = entry.getValue();
+            long missing = unseen - sums[2];
+            estimates.add(new Estimate(entry.getKey(), sums[0] + missing, sums[1] + missing));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate::count).reversed()
+                .thenComparing(Estimate::item));
+        return estimates;
+    }
+
+    private Map.Entry<String, Counter> smallest() {
+        Map.Entry<String, Counter> smallest = null;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue().count < smallest.getValue().count) {
+                smallest = entry;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Estimated count of an item
+     *
+     * @param item the item
+     * @param count upper bound of the true count
+     * @param error how far count may exceed the true count
+     */
+    public record Estimate(String item, long count, long error) {
+
+        /**
+         * Get the lower bound of the true count
+         *
+         * @return count less error
+         */
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+
+    private static final class Counter {
+        private long count;
+        private final long error;
+
+        Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.bluemountain.coffee.infrastructure.persistence;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Event-sourced implementation of OrderRepository.
+ *
+ * Design Pattern: Repository Pattern (Concrete Implementation)
+ * Instead of storing the current state of each order, this repository keeps
+ * an append-only stream of status changes per order. Aggregates are rebuilt
+ * with Order.replay(), which folds the stream from CREATED onwards.
+ *
+ * DDD Concept: Event Sourcing. The current state is derived from the events,
+ * so the time spent in each status can always be reconstructed.
+ *
+ * Hot orders are served from a bounded LRU snapshot cache. A snapshot is only
+ * reused while it was built from the same number of events as the stream holds,
+ * so appending an event invalidates it implicitly.
+ *
+ * Enable with: coffee.order.store=event-sourced
+ *
+ * Limitations:
+ * - Streams are kept in memory, like InMemoryOrderRepository
+ * - Queries (findAll, findByStatus, ...) replay every stream that is not cached;
+ *   forEachByStatusUpdatedBetween only replays the streams whose last event matches
+ */
+@Repository
+@ConditionalOnProperty(name = "coffee.order.store", havingValue = "event-sourced")
+public class EventSourcedOrderRepository implements OrderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSourcedOrderRepository.class);
+
+    /**
+     * Event streams by order ID
+     */
+    private final ConcurrentHashMap<OrderId, EventStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot cache of recently replayed orders (access-ordered LRU)
+     */
+    private final Map<OrderId, Snapshot> snapshots;
+
+    /**
+     * Constructor
+     *
+     * @param snapshotCacheSize maximum number of cached snapshots
+     */
+    public EventSourcedOrderRepository(
+            @Value("${coffee.order.store.snapshot-cache-size:1024}") int snapshotCacheSize) {
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<OrderId, Snapshot> eldest) {
+                return size() > snapshotCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Save an order by appending the status changes the stream does not have yet
+     *
+     * @param order the order to save
+     * @return the saved order
+     */
+    @Override
+    public Order save(Order order) {
+        logger.info("Saving order with ID: {}", order.getId());
+
+        EventStream stream = streams.computeIfAbsent(order.getId(), id -> new EventStream(order));
+        List<OrderStatusChange> history = order.getStatusHistory();
+        synchronized (stream) {
+            if (history.size() < stream.events.size()) {
+                throw new IllegalStateException("Order " + order.getId() + " is older than its stored history");
+            }
+            stream.events.addAll(history.subList(stream.events.size(), history.size()));
+            stream.totalPrice = order.getTotalPrice();
+        }
+
+        synchronized (snapshots) {
+            snapshots.put(order.getId(), new Snapshot(order, history.size()));
+        }
+        return order;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        logger.info("Saving {} orders", orders.size());
+        orders.forEach(this::save);
+        return orders;
+    }
+
+    /**
+     * Find an order by its ID, replaying its stream unless a current snapshot is cached
+     *
+     * @param orderId the order ID
+     * @return Optional containing the order if found, empty otherwise
+     */
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        logger.debug("Finding order by ID: {}", orderId);
+        EventStream stream = streams.get(orderId);
+        return stream == null ? Optional.empty() : Optional.of(load(stream));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        logger.debug("Finding all orders");
+        return streams.values().stream()
+                .map(this::load)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        logger.debug("Finding orders by status: {}", status);
+        return streams.values().stream()
+                .map(this::load)
+                .filter(order -> order.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Order> findByType(OrderType type) {
+        logger.debug("Finding orders by type: {}", type);
+        return streams.values().stream()
+                .filter(stream -> stream.type == type)
+                .map(this::load)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Finding orders created between {} and {}", startDate, endDate);
+        return streams.values().stream()
+                .map(this::load)
+                .filter(order -> {
+                    LocalDateTime createdAt = order.getCreatedAt();
+                    return !createdAt.isBefore(startDate) && !createdAt.isAfter(endDate);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEachByStatusUpdatedBetween(OrderStatus status, LocalDateTime start, LocalDateTime end,
+                                              Consumer<Order> action) {
+        logger.debug("Visiting {} orders updated between {} and {}", status, start, end);
+        for (EventStream stream : streams.values()) {
+            if (lastChangeMatches(stream, status, start, end)) {
+                action.accept(load(stream));
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteById(OrderId orderId) {
+        logger.info("Deleting order with ID: {}", orderId);
+        synchronized (snapshots) {
+            snapshots.remove(orderId);
+        }
+        return streams.remove(orderId) != null;
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return streams.containsKey(orderId);
+    }
+
+    /**
+     * Get the recorded status changes of an order
+     *
+     * @param orderId the order ID
+     * @return copy of the event stream, empty if the order is unknown
+     */
+    public List<OrderStatusChange> getEvents(OrderId orderId) {
+        EventStream stream = streams.get(orderId);
+        if (stream == null) {
+            return List.of();
+        }
+        synchronized (stream) {
+            return List.copyOf(stream.events);
+        }
+    }
+
+    /**
+     * Check the last status change of a stream without replaying it
+     *
+     * @param stream the event stream
+     * @param status the status the order must be in
+     * @param start the start of the range (inclusive)
+     * @param end the end of the range (exclusive)
+     * @return true if the last change is to the status and within the range
+     */
+    private static boolean lastChangeMatches(EventStream stream, OrderStatus status,
+                                             LocalDateTime start, LocalDateTime end) {
+        synchronized (stream) {
+            if (stream.events.isEmpty()) {
+                return false;
+            }
+            OrderStatusChange last = stream.events.get(stream.events.size() - 1);
+            return last.getStatus() == status
+                    && !last.getOccurredAt().isBefore(start) && last.getOccurredAt().isBefore(end);
+        }
+    }
+
+    /**
+     * Return the cached snapshot if it is current, otherwise replay the stream
+     *
+     * @param stream the event stream
+     * @return the order aggregate
+     */
+    private Order load(EventStream stream) {
+        List<OrderStatusChange> events;
+        Money totalPrice;
+        synchronized (stream) {
+            events = List.copyOf(stream.events);
+            totalPrice = stream.totalPrice;
+        }
+
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.get(stream.id);
+            if (snapshot != null && snapshot.eventCount == events.size()) {
+                return snapshot.order;
+            }
+        }
+
+        Order order = Order.replay(stream.id, stream.customerName, stream.type,
+                stream.items, stream.address, events, totalPrice);
+        synchronized (snapshots) {
+            snapshots.put(stream.id, new Snapshot(order, events.size()));
+        }
+        return order;
+    }
+
+    /**
+     * Creation data and appended status changes of one order
+     */
+    private static final class EventStream {
+        private final OrderId id;
+        private final String customerName;
+        private final OrderType type;
+        private final List<OrderItem> items;
+        private final Address address;
+        private final List<OrderStatusChange> events = new ArrayList<>();
+        private Money totalPrice;
+
+        private EventStream(Order order) {
+            this.id = order.getId();
+            this.customerName = order.getCustomerName();
+            this.type = order.getType();
+            this.items = order.getItems();
+            this.address = order.getAddress();
+        }
+    }
+
+    /**
+     * Replayed order together with the number of events it was built from
+     */
+    private static final class Snapshot {
+        private final Order order;
+        private final int eventCount;
+
+        private Snapshot(Order order, int eventCount) {
+            this.order = order;
+            this.eventCount = eventCount;
+        }
+    }
+}
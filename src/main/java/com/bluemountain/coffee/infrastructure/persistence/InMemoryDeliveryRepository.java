@@ -5,10 +5,12 @@ import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
 import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import com.bluemountain.coffee.domain.repository.DeliveryRepository;
+import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -17,18 +19,28 @@ import java.util.stream.Collectors;
  * DDD Concept: Infrastructure implementation of repository interface.
  * Provides persistence using in-memory storage for development/testing.
  * 
+ * Deliveries are also indexed by the IDs of their orders, which never change
+ * after a delivery is created, so findByOrderId is a lookup instead of a
+ * scan over every delivery.
+ * 
  * Design Patterns:
  * - Repository Pattern: Implements the repository interface
  * - Singleton Pattern: Single instance manages all deliveries
  */
+@Repository
 public class InMemoryDeliveryRepository implements DeliveryRepository {
     
     private final Map<DeliveryId, Delivery> storage = new ConcurrentHashMap<>();
     
+    private final UuidIndex<Delivery> byOrderId = new UuidIndex<>();
+    
     @Override
     public Delivery save(Delivery delivery) {
         Objects.requireNonNull(delivery, "Delivery cannot be null");
         storage.put(delivery.getDeliveryId(), delivery);
+        for (OrderId orderId : delivery.getOrderIds()) {
+            byOrderId.put(orderId.getValue(), delivery);
+        }
         return delivery;
     }
     
@@ -58,9 +70,7 @@ public class InMemoryDeliveryRepository implements DeliveryRepository {
     @Override
     public Optional<Delivery> findByOrderId(OrderId orderId) {
         Objects.requireNonNull(orderId, "Order ID cannot be null");
-        return storage.values().stream()
-            .filter(delivery -> delivery.getOrderIds().contains(orderId))
-            .findFirst();
+        return Optional.ofNullable(byOrderId.get(orderId.getValue()));
     }
     
     @Override
@@ -80,6 +90,16 @@ public class InMemoryDeliveryRepository implements DeliveryRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public void forEachByStatusUpdatedBetween(DeliveryStatus status, LocalDateTime start, LocalDateTime end,
+                                              Consumer<Delivery> action) {
+        Objects.requireNonNull(status, "Status cannot be null");
+        storage.values().stream()
+            .filter(delivery -> delivery.getStatus() == status
+                    && !delivery.getUpdatedAt().isBefore(start) && delivery.getUpdatedAt().isBefore(end))
+            .forEach(action);
+    }
+    
     @Override
     public List<Delivery> findAll() {
         return new ArrayList<>(storage.values());
@@ -88,7 +108,12 @@ public class InMemoryDeliveryRepository implements DeliveryRepository {
     @Override
     public void deleteById(DeliveryId deliveryId) {
         Objects.requireNonNull(deliveryId, "Delivery ID cannot be null");
-        storage.remove(deliveryId);
+        Delivery removed = storage.remove(deliveryId);
+        if (removed != null) {
+            for (OrderId orderId : removed.getOrderIds()) {
+                byOrderId.remove(orderId.getValue(), removed);
+            }
+        }
     }
     
     @Override
@@ -102,6 +127,7 @@ public class InMemoryDeliveryRepository implements DeliveryRepository {
      */
     public void clear() {
         storage.clear();
+        byOrderId.clear();
     }
     
     /**
@@ -7,12 +7,13 @@ import com.bluemountain.coffee.domain.model.valobj.OrderId;
 import com.bluemountain.coffee.domain.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -21,13 +22,14 @@ import java.util.stream.Collectors;
  * Design Pattern: Repository Pattern (Concrete Implementation)
  * Implements the OrderRepository interface using an in-memory storage.
  * 
- * Uses ConcurrentHashMap for thread-safe operations without explicit synchronization.
+ * Orders are kept in a UuidIndex keyed by the two longs of the order UUID,
+ * which needs no node or key object per entry and never locks readers.
  * 
  * DDD Concept: Infrastructure layer implementation of domain repository interface.
  * 
  * OOP Principles demonstrated:
  * - Implementation: Provides concrete implementation of OrderRepository
- * - Thread Safety: Uses ConcurrentHashMap for concurrent access
+ * - Thread Safety: Uses a striped UuidIndex for concurrent access
  * 
  * SOLID Principles:
  * - Single Responsibility: Only handles in-memory storage
@@ -43,14 +45,15 @@ import java.util.stream.Collectors;
  * - Not suitable for production
  */
 @Repository
+@ConditionalOnProperty(name = "coffee.order.store", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryOrderRepository implements OrderRepository {
     
     private static final Logger logger = LoggerFactory.getLogger(InMemoryOrderRepository.class);
     
     /**
-     * Thread-safe map to store orders by their ID
+     * Thread-safe index of orders by their ID
      */
-    private final ConcurrentHashMap<OrderId, Order> orders = new ConcurrentHashMap<>();
+    private final UuidIndex<Order> orders = new UuidIndex<>();
     
     /**
      * Save an order (create or update)
@@ -61,10 +64,25 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public Order save(Order order) {
         logger.info("Saving order with ID: {}", order.getId());
-        orders.put(order.getId(), order);
+        orders.put(order.getId().getValue(), order);
         return order;
     }
     
+    /**
+     * Save several orders
+     * 
+     * @param orders the orders to save
+     * @return the saved orders
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        logger.info("Saving {} orders", orders.size());
+        for (Order order : orders) {
+            this.orders.put(order.getId().getValue(), order);
+        }
+        return orders;
+    }
+    
     /**
      * Find an order by its ID
      * 
@@ -74,7 +92,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public Optional<Order> findById(OrderId orderId) {
         logger.debug("Finding order by ID: {}", orderId);
-        return Optional.ofNullable(orders.get(orderId));
+        return Optional.ofNullable(orders.get(orderId.getValue()));
     }
     
     /**
@@ -85,7 +103,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public List<Order> findAll() {
         logger.debug("Finding all orders");
-        return List.copyOf(orders.values());
+        return orders.values();
     }
     
     /**
@@ -97,7 +115,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public List<Order> findByStatus(OrderStatus status) {
         logger.debug("Finding orders by status: {}", status);
-        return orders.values().stream()
+        return orders.stream()
                 .filter(order -> order.getStatus() == status)
                 .collect(Collectors.toList());
     }
@@ -111,7 +129,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public List<Order> findByType(OrderType type) {
         logger.debug("Finding orders by type: {}", type);
-        return orders.values().stream()
+        return orders.stream()
                 .filter(order -> order.getType() == type)
                 .collect(Collectors.toList());
     }
@@ -126,7 +144,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
         logger.debug("Finding orders created between {} and {}", startDate, endDate);
-        return orders.values().stream()
+        return orders.stream()
                 .filter(order -> {
                     LocalDateTime createdAt = order.getCreatedAt();
                     return !createdAt.isBefore(startDate) && !createdAt.isAfter(endDate);
@@ -134,6 +152,24 @@ public class InMemoryOrderRepository implements OrderRepository {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Pass the orders that reached a status within a time range to an action
+     * 
+     * @param status the order status
+     * @param start the start of the range (inclusive)
+     * @param end the end of the range (exclusive)
+     * @param action called with each matching order
+     */
+    @Override
+    public void forEachByStatusUpdatedBetween(OrderStatus status, LocalDateTime start, LocalDateTime end,
+                                              Consumer<Order> action) {
+        logger.debug("Visiting {} orders updated between {} and {}", status, start, end);
+        orders.stream()
+                .filter(order -> order.getStatus() == status
+                        && !order.getUpdatedAt().isBefore(start) && order.getUpdatedAt().isBefore(end))
+                .forEach(action);
+    }
+    
     /**
      * Delete an order by its ID
      * 
@@ -143,7 +179,7 @@ public class InMemoryOrderRepository implements OrderRepository {
     @Override
     public boolean deleteById(OrderId orderId) {
         logger.info("Deleting order with ID: {}", orderId);
-        return orders.remove(orderId) != null;
+        return orders.remove(orderId.getValue()) != null;
     }
     
     /**
@@ -154,6 +190,6 @@ public class InMemoryOrderRepository implements OrderRepository {
      */
     @Override
     public boolean existsById(OrderId orderId) {
-        return orders.containsKey(orderId);
+        return orders.containsKey(orderId.getValue());
     }
 }
@@ -0,0 +1,653 @@
+package com.bluemountain.coffee.infrastructure.persistence;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItems;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import com.bluemountain.coffee.domain.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Off-heap implementation of OrderRepository.
+ *
+ * Design Pattern: Repository Pattern (Concrete Implementation)
+ * Orders are serialized into direct ByteBuffer segments outside the Java
+ * heap, so millions of stored orders add almost nothing for the garbage
+ * collector to trace. Order objects only exist while a caller holds them:
+ * every read decodes a fresh aggregate with Order.replay().
+ *
+ * Record layout (offsets in bytes):
+ * - 0  id, most and least significant bits (2 longs)
+ * - 16 record length (int)
+ * - 20 order type, flags (address, location), history size (bytes)
+ * - 24 settled total in cents, or UNSETTLED (long)
+ * - 32 status of each history entry (MAX_HISTORY bytes, padded to 8)
+ * - 40 time of each history entry, in epoch nanoseconds (MAX_HISTORY longs)
+ * - 80 customer name, items (product ID, quantity, unit cents, name) and
+ *      address; strings are UTF-8 with an unsigned 16-bit length
+ *
+ * Only the first 80 bytes change after an order is created, and they have
+ * a fixed size, so saving a known order overwrites them in place. Queries
+ * filter on those header fields and decode only the matching records;
+ * forEachByStatusUpdatedBetween keeps only their addresses and decodes one
+ * record at a time, so a large result is never held as Order objects.
+ *
+ * Records are found through an open-addressing index of primitive longs
+ * keyed by the two halves of the order UUID. A read-write lock guards the
+ * index and the headers.
+ *
+ * Enable with: coffee.order.store=off-heap
+ *
+ * Limitations:
+ * - Every read returns a new Order; changes must be saved to be seen
+ * - Space of deleted orders is not reclaimed
+ * - Segments count against -XX:MaxDirectMemorySize (defaults to -Xmx)
+ */
+@Repository
+@ConditionalOnProperty(name = "coffee.order.store", havingValue = "off-heap")
+public class OffHeapOrderRepository implements OrderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapOrderRepository.class);
+
+    /**
+     * Longest possible history: CREATED, SETTLED, PREPARING, READY and then
+     * either COMPLETED or CANCELLED. Both are terminal: Order.cancel() and
+     * OrderStatus.canTransitionTo reject leaving them, so no status repeats.
+     */
+    private static final int MAX_HISTORY = OrderStatus.values().length - 1;
+
+    private static final int ID_MOST = 0;
+    private static final int ID_LEAST = 8;
+    private static final int LENGTH = 16;
+    private static final int TYPE = 20;
+    private static final int FLAGS = 21;
+    private static final int HISTORY_SIZE = 22;
+    private static final int TOTAL_CENTS = 24;
+    private static final int HISTORY_STATUS = 32;
+    private static final int HISTORY_TIME = 40;
+    private static final int BODY = HISTORY_TIME + MAX_HISTORY * Long.BYTES;
+
+    private static final int HAS_ADDRESS = 1;
+    private static final int HAS_LOCATION = 2;
+    private static final long UNSETTLED = Long.MIN_VALUE;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderType[] TYPES = OrderType.values();
+
+    /**
+     * Index slot states; any other address is (segment + 1) << 32 | offset
+     */
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+
+    /**
+     * Longs per index slot: id most, id least, record address
+     */
+    private static final int SLOT = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int writeOffset;
+
+    private long[] index = new long[1024 * SLOT];
+    private int size;
+    private int deleted;
+
+    /**
+     * Constructor
+     *
+     * @param segmentSize bytes per direct buffer segment
+     */
+    public OffHeapOrderRepository(
+            @Value("${coffee.order.store.segment-size:67108864}") int segmentSize) {
+        if (segmentSize < BODY) {
+            throw new IllegalArgumentException("Segment size must be at least " + BODY + " bytes");
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Save an order: append a record for a new order, or overwrite the
+     * status, history and total of a known one. The order is encoded before
+     * the lock is taken, so an order that does not fit its header is
+     * rejected before anything is written.
+     *
+     * @param order the order to save
+     * @return the saved order
+     * @throws IllegalArgumentException if the order has more than MAX_HISTORY
+     *         status changes
+     */
+    @Override
+    public Order save(Order order) {
+        logger.info("Saving order with ID: {}", order.getId());
+        byte[] record = encode(order);
+        lock.writeLock().lock();
+        try {
+            store(order, record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return order;
+    }
+
+    /**
+     * Save several orders, encoding them before taking the lock once
+     *
+     * @param orders the orders to save
+     * @return the saved orders
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        logger.info("Saving {} orders", orders.size());
+        byte[][] records = new byte[orders.size()][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = encode(orders.get(i));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < records.length; i++) {
+                store(orders.get(i), records[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return orders;
+    }
+
+    /**
+     * Find an order by its ID, decoding it from its record
+     *
+     * @param orderId the order ID
+     * @return Optional containing the order if found, empty otherwise
+     */
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        logger.debug("Finding order by ID: {}", orderId);
+        UUID uuid = orderId.getValue();
+        lock.readLock().lock();
+        try {
+            int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(decode(index[slot + 2]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        logger.debug("Finding all orders");
+        return scan(address -> true);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        logger.debug("Finding orders by status: {}", status);
+        return scan(address -> {
+            ByteBuffer segment = segment(address);
+            int offset = offset(address);
+            int last = segment.get(offset + HISTORY_SIZE) - 1;
+            return segment.get(offset + HISTORY_STATUS + last) == status.ordinal();
+        });
+    }
+
+    @Override
+    public List<Order> findByType(OrderType type) {
+        logger.debug("Finding orders by type: {}", type);
+        return scan(address -> segment(address).get(offset(address) + TYPE) == type.ordinal());
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Finding orders created between {} and {}", startDate, endDate);
+        return scan(address -> {
+            LocalDateTime createdAt = toDateTime(segment(address).getLong(offset(address) + HISTORY_TIME));
+            return !createdAt.isBefore(startDate) && !createdAt.isAfter(endDate);
+        });
+    }
+
+    @Override
+    public void forEachByStatusUpdatedBetween(OrderStatus status, LocalDateTime start, LocalDateTime end,
+                                              Consumer<Order> action) {
+        logger.debug("Visiting {} orders updated between {} and {}", status, start, end);
+        long from = toNanos(start);
+        long to = toNanos(end);
+        long[] addresses = match(address -> {
+            ByteBuffer segment = segment(address);
+            int offset = offset(address);
+            int last = segment.get(offset + HISTORY_SIZE) - 1;
+            long updatedAt = segment.getLong(offset + HISTORY_TIME + last * Long.BYTES);
+            return segment.get(offset + HISTORY_STATUS + last) == status.ordinal()
+                    && updatedAt >= from && updatedAt < to;
+        });
+        for (long address : addresses) {
+            Order order;
+            lock.readLock().lock();
+            try {
+                order = decode(address);
+            } finally {
+                lock.readLock().unlock();
+            }
+            action.accept(order);
+        }
+    }
+
+    @Override
+    public boolean deleteById(OrderId orderId) {
+        logger.info("Deleting order with ID: {}", orderId);
+        UUID uuid = orderId.getValue();
+        lock.writeLock().lock();
+        try {
+            int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (slot < 0) {
+                return false;
+            }
+            index[slot + 2] = DELETED;
+            size--;
+            deleted++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        UUID uuid = orderId.getValue();
+        lock.readLock().lock();
+        try {
+            return find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of stored orders
+     *
+     * @return the order count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the direct memory allocated for records
+     *
+     * @return the allocated bytes
+     */
+    public long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) segments.size() * segmentSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Overwrite the header of a known order or append a new record.
+     * Must hold the write lock.
+     *
+     * @param order the order
+     * @param record the encoded order
+     */
+    private void store(Order order, byte[] record) {
+        long most = order.getId().getValue().getMostSignificantBits();
+        long least = order.getId().getValue().getLeastSignificantBits();
+        int slot = find(most, least);
+        if (slot >= 0) {
+            long address = index[slot + 2];
+            writeState(segment(address), offset(address), order);
+            return;
+        }
+        insert(most, least, append(record));
+    }
+
+    /**
+     * Copy a record to the end of the current segment, starting a new
+     * segment if it does not fit. Must hold the write lock.
+     *
+     * @param record the encoded order
+     * @return the record address
+     */
+    private long append(byte[] record) {
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("Order record of " + record.length
+                    + " bytes does not fit in a segment of " + segmentSize + " bytes");
+        }
+        if (segments.isEmpty() || writeOffset + record.length > segmentSize) {
+            segments.add(ByteBuffer.allocateDirect(segmentSize));
+            writeOffset = 0;
+        }
+        int offset = writeOffset;
+        segments.get(segments.size() - 1).put(offset, record);
+        writeOffset += record.length;
+        return ((long) segments.size() << 32) | offset;
+    }
+
+    /**
+     * Decode the records accepted by a filter on their header
+     *
+     * @param filter test on the record address
+     * @return the decoded orders
+     */
+    private List<Order> scan(LongPredicate filter) {
+        List<Order> orders = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < index.length; slot += SLOT) {
+                long address = index[slot + 2];
+                if (address != EMPTY && address != DELETED && filter.test(address)) {
+                    orders.add(decode(address));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return orders;
+    }
+
+    /**
+     * Collect the addresses of the records accepted by a filter on their
+     * header. Records never move, so the addresses stay valid after the
+     * lock is released and the records can be decoded one at a time.
+     *
+     * @param filter test on the record address
+     * @return the matching addresses
+     */
+    private long[] match(LongPredicate filter) {
+        long[] addresses = new long[16];
+        int count = 0;
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < index.length; slot += SLOT) {
+                long address = index[slot + 2];
+                if (address != EMPTY && address != DELETED && filter.test(address)) {
+                    if (count == addresses.length) {
+                        addresses = Arrays.copyOf(addresses, count * 2);
+                    }
+                    addresses[count++] = address;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.copyOf(addresses, count);
+    }
+
+    /**
+     * Find the index slot of an ID. Must hold a lock.
+     *
+     * @param most most significant bits of the ID
+     * @param least least significant bits of the ID
+     * @return the slot, or -1 if the ID is not stored
+     */
+    private int find(long most, long least) {
+        int mask = index.length / SLOT - 1;
+        for (int i = hash(most, least) & mask; ; i = (i + 1) & mask) {
+            int slot = i * SLOT;
+            long address = index[slot + 2];
+            if (address == EMPTY) {
+                return -1;
+            }
+            if (address != DELETED && index[slot] == most && index[slot + 1] == least) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Add an ID that is not stored yet, growing the index to keep it at
+     * most half full. Must hold the write lock.
+     *
+     * @param most most significant bits of the ID
+     * @param least least significant bits of the ID
+     * @param address the record address
+     */
+    private void insert(long most, long least, long address) {
+        if ((size + deleted + 1) * 2 > index.length / SLOT) {
+            rehash(size + 1 > index.length / SLOT / 4 ? index.length * 2 : index.length);
+        }
+        int mask = index.length / SLOT - 1;
+        int i = hash(most, least) & mask;
+        while (index[i * SLOT + 2] != EMPTY && index[i * SLOT + 2] != DELETED) {
+            i = (i + 1) & mask;
+        }
+        int slot = i * SLOT;
+        if (index[slot + 2] == DELETED) {
+            deleted--;
+        }
+        index[slot] = most;
+        index[slot + 1] = least;
+        index[slot + 2] = address;
+        size++;
+    }
+
+    /**
+     * Rebuild the index without deleted slots. Must hold the write lock.
+     *
+     * @param length the new index length
+     */
+    private void rehash(int length) {
+        long[] old = index;
+        index = new long[length];
+        int mask = length / SLOT - 1;
+        for (int slot = 0; slot < old.length; slot += SLOT) {
+            long address = old[slot + 2];
+            if (address == EMPTY || address == DELETED) {
+                continue;
+            }
+            int i = hash(old[slot], old[slot + 1]) & mask;
+            while (index[i * SLOT + 2] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            System.arraycopy(old, slot, index, i * SLOT, SLOT);
+        }
+        deleted = 0;
+    }
+
+    private static int hash(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private ByteBuffer segment(long address) {
+        return segments.get((int) (address >>> 32) - 1);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Serialize an order into the record layout
+     *
+     * @param order the order
+     * @return the record
+     */
+    private static byte[] encode(Order order) {
+        byte[] customerName = utf8(order.getCustomerName());
+        OrderItems items = order.getItems();
+        byte[][] productNames = new byte[items.size()][];
+        int length = BODY + Short.BYTES + customerName.length + Short.BYTES;
+        for (int i = 0; i < productNames.length; i++) {
+            productNames[i] = utf8(items.productName(i));
+            length += Integer.BYTES * 2 + Long.BYTES + Short.BYTES + productNames[i].length;
+        }
+        Address address = order.getAddress();
+        byte[][] addressFields = new byte[0][];
+        if (address != null) {
+            addressFields = new byte[][] {
+                    utf8(address.getStreet()), utf8(address.getCity()),
+                    utf8(address.getPostalCode()), utf8(address.getCountry())
+            };
+            for (byte[] field : addressFields) {
+                length += Short.BYTES + field.length;
+            }
+            if (address.hasLocation()) {
+                length += Double.BYTES * 2;
+            }
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        UUID uuid = order.getId().getValue();
+        record.putLong(ID_MOST, uuid.getMostSignificantBits());
+        record.putLong(ID_LEAST, uuid.getLeastSignificantBits());
+        record.putInt(LENGTH, length);
+        record.put(TYPE, (byte) order.getType().ordinal());
+        int flags = address == null ? 0 : address.hasLocation() ? HAS_ADDRESS | HAS_LOCATION : HAS_ADDRESS;
+        record.put(FLAGS, (byte) flags);
+        writeState(record, 0, order);
+
+        record.position(BODY);
+        putString(record, customerName);
+        record.putShort((short) productNames.length);
+        for (int i = 0; i < productNames.length; i++) {
+            record.putInt(items.productId(i));
+            record.putInt(items.quantity(i));
+            record.putLong(items.unitCents(i));
+            putString(record, productNames[i]);
+        }
+        for (byte[] field : addressFields) {
+            putString(record, field);
+        }
+        if (address != null && address.hasLocation()) {
+            record.putDouble(address.getLocation().getLatitude());
+            record.putDouble(address.getLocation().getLongitude());
+        }
+        return record.array();
+    }
+
+    /**
+     * Write the parts of an order that change after creation
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the record offset
+     * @param order the order
+     */
+    private static void writeState(ByteBuffer buffer, int offset, Order order) {
+        List<OrderStatusChange> history = order.getStatusHistory();
+        if (history.size() > MAX_HISTORY) {
+            throw new IllegalArgumentException("Order " + order.getId() + " has more than "
+                    + MAX_HISTORY + " status changes");
+        }
+        Money totalPrice = order.getTotalPrice();
+        buffer.putLong(offset + TOTAL_CENTS, totalPrice == null ? UNSETTLED : totalPrice.toCents());
+        buffer.put(offset + HISTORY_SIZE, (byte) history.size());
+        for (int i = 0; i < history.size(); i++) {
+            OrderStatusChange change = history.get(i);
+            buffer.put(offset + HISTORY_STATUS + i, (byte) change.getStatus().ordinal());
+            buffer.putLong(offset + HISTORY_TIME + i * Long.BYTES, toNanos(change.getOccurredAt()));
+        }
+    }
+
+    /**
+     * Rebuild an order from its record. Must hold a lock.
+     *
+     * @param address the record address
+     * @return the order
+     */
+    private Order decode(long address) {
+        ByteBuffer segment = segment(address);
+        int offset = offset(address);
+        ByteBuffer record = segment.slice(offset, segment.getInt(offset + LENGTH));
+
+        OrderId id = OrderId.of(new UUID(record.getLong(ID_MOST), record.getLong(ID_LEAST)));
+        OrderType type = TYPES[record.get(TYPE)];
+        int flags = record.get(FLAGS);
+        long totalCents = record.getLong(TOTAL_CENTS);
+        int historySize = record.get(HISTORY_SIZE);
+        List<OrderStatusChange> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add(OrderStatusChange.of(STATUSES[record.get(HISTORY_STATUS + i)],
+                    toDateTime(record.getLong(HISTORY_TIME + i * Long.BYTES))));
+        }
+
+        record.position(BODY);
+        String customerName = getString(record);
+        int itemCount = Short.toUnsignedInt(record.getShort());
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            int productId = record.getInt();
+            int quantity = record.getInt();
+            Money unitPrice = Money.ofCents(record.getLong());
+            String productName = getString(record);
+            items.add(productId == OrderItem.NO_PRODUCT_ID
+                    ? OrderItem.of(productName, quantity, unitPrice)
+                    : OrderItem.of(Product.of(productId, productName, unitPrice), quantity));
+        }
+        Address deliveryAddress = null;
+        if ((flags & HAS_ADDRESS) != 0) {
+            String street = getString(record);
+            String city = getString(record);
+            String postalCode = getString(record);
+            String country = getString(record);
+            GeoPoint location = (flags & HAS_LOCATION) != 0
+                    ? GeoPoint.of(record.getDouble(), record.getDouble())
+                    : null;
+            deliveryAddress = Address.of(street, city, postalCode, country, location);
+        }
+
+        return Order.replay(id, customerName, type, items, deliveryAddress, history,
+                totalCents == UNSETTLED ? null : Money.ofCents(totalCents));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Text longer than 65535 bytes: " + value.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L), time.getNano());
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
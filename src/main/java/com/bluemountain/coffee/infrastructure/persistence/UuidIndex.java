@@ -0,0 +1,347 @@
+package com.bluemountain.coffee.infrastructure.persistence;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Concurrent hash map keyed by the two longs of a UUID.
+ *
+ * A ConcurrentHashMap keyed by OrderId needs a node per entry and keeps the
+ * OrderId and UUID objects of every key alive. Here keys are stored as
+ * primitive longs in open-addressing tables with linear probing, so an entry
+ * costs two longs and a value reference.
+ *
+ * The map is split into stripes by the high bits of the hash. Writers lock
+ * their stripe only; readers never lock. Once a slot has been given a key it
+ * keeps that key for the life of its table: a removed entry leaves a
+ * tombstone, which only the same key can revive. A reader that sees a value
+ * in a slot (with acquire semantics) therefore also sees the key it belongs
+ * to. Tombstones are dropped when a stripe is rebuilt into a new table, which
+ * is published through a volatile field.
+ *
+ * Like ConcurrentHashMap, size() and iteration are weakly consistent while
+ * writers are active. Null values are not allowed.
+ *
+ * @param <V> the value type
+ */
+public class UuidIndex<V> {
+
+    private static final Object TOMBSTONE = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Create an index with 256 stripes, enough for 64 writers to rarely
+     * wait on each other
+     */
+    public UuidIndex() {
+        this(256);
+    }
+
+    /**
+     * Create an index
+     *
+     * @param concurrency the expected number of concurrent writers, rounded
+     *                    up to a power of two stripes
+     */
+    public UuidIndex(int concurrency) {
+        if (concurrency <= 0 || concurrency > 1 << 16) {
+            throw new IllegalArgumentException("Concurrency must be between 1 and 65536");
+        }
+        int stripeCount = 1;
+        while (stripeCount < concurrency) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Get the value of a key
+     *
+     * @param most most significant bits of the key
+     * @param least least significant bits of the key
+     * @return the value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long most, long least) {
+        int hash = hash(most, least);
+        Table table = stripe(hash).table;
+        int slot = table.find(hash, most, least);
+        if (slot < 0) {
+            return null;
+        }
+        Object value = table.values.getAcquire(slot);
+        return value == TOMBSTONE ? null : (V) value;
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Check if a key is present
+     *
+     * @param most most significant bits of the key
+     * @param least least significant bits of the key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(long most, long least) {
+        return get(most, least) != null;
+    }
+
+    public boolean containsKey(UUID key) {
+        return containsKey(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Set the value of a key
+     *
+     * @param most most significant bits of the key
+     * @param least least significant bits of the key
+     * @param value the value
+     * @return the previous value, or null if the key was absent
+     */
+    public V put(long most, long least, V value) {
+        if (value == null) {
+            throw new NullPointerException("Value cannot be null");
+        }
+        int hash = hash(most, least);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.put(hash, most, least, value);
+        }
+    }
+
+    public V put(UUID key, V value) {
+        return put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * Remove a key
+     *
+     * @param most most significant bits of the key
+     * @param least least significant bits of the key
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long most, long least) {
+        int hash = hash(most, least);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            Table table = stripe.table;
+            int slot = table.find(hash, most, least);
+            Object value = slot < 0 ? TOMBSTONE : table.values.get(slot);
+            if (value == TOMBSTONE) {
+                return null;
+            }
+            table.values.setRelease(slot, TOMBSTONE);
+            stripe.size--;
+            return (V) value;
+        }
+    }
+
+    public V remove(UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Remove a key only if it has the given value
+     *
+     * @param key the key
+     * @param value the expected value, compared with equals()
+     * @return true if the key was removed
+     */
+    public boolean remove(UUID key, V value) {
+        long most = key.getMostSignificantBits();
+        long least = key.getLeastSignificantBits();
+        int hash = hash(most, least);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            Table table = stripe.table;
+            int slot = table.find(hash, most, least);
+            if (slot < 0 || !table.values.get(slot).equals(value)) {
+                return false;
+            }
+            table.values.setRelease(slot, TOMBSTONE);
+            stripe.size--;
+            return true;
+        }
+    }
+
+    /**
+     * Get the number of keys
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Stream the values, in no particular order
+     *
+     * @return the values
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<V> stream() {
+        return Arrays.stream(stripes)
+                .flatMap(stripe -> {
+                    AtomicReferenceArray<Object> values = stripe.table.values;
+                    return IntStream.range(0, values.length()).mapToObj(values::getAcquire);
+                })
+                .filter(value -> value != null && value != TOMBSTONE)
+                .map(value -> (V) value);
+    }
+
+    /**
+     * Copy the values
+     *
+     * @return a new list of the values
+     */
+    public List<V> values() {
+        return stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Remove all keys
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.table = new Table(INITIAL_CAPACITY);
+                stripe.size = 0;
+                stripe.used = 0;
+            }
+        }
+    }
+
+    /**
+     * Pick a stripe by the high bits of the hash; tables use the low bits
+     */
+    private Stripe stripe(int hash) {
+        return stripes[(int) (Integer.toUnsignedLong(hash) >>> stripeShift)];
+    }
+
+    private static int hash(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * One lock and table. Fields other than the table are guarded by the
+     * stripe's monitor.
+     */
+    private static final class Stripe {
+        private volatile Table table = new Table(INITIAL_CAPACITY);
+        private int size;
+        private int used;
+
+        @SuppressWarnings("unchecked")
+        private <V> V put(int hash, long most, long least, V value) {
+            Table current = table;
+            int slot = current.find(hash, most, least);
+            if (slot >= 0) {
+                Object previous = current.values.get(slot);
+                current.values.setRelease(slot, value);
+                if (previous == TOMBSTONE) {
+                    size++;
+                    return null;
+                }
+                return (V) previous;
+            }
+            if ((used + 1) * 4 > current.capacity() * 3) {
+                current = rebuild(size + 1 > current.capacity() / 2 ? current.capacity() * 2 : current.capacity());
+            }
+            current.insert(hash, most, least, value);
+            size++;
+            used++;
+            return null;
+        }
+
+        /**
+         * Copy the live entries into a new table and publish it
+         */
+        private Table rebuild(int capacity) {
+            Table current = table;
+            Table fresh = new Table(capacity);
+            for (int slot = 0; slot < current.capacity(); slot++) {
+                Object value = current.values.get(slot);
+                if (value != null && value != TOMBSTONE) {
+                    long most = current.keys[slot * 2];
+                    long least = current.keys[slot * 2 + 1];
+                    fresh.insert(hash(most, least), most, least, value);
+                }
+            }
+            used = size;
+            table = fresh;
+            return fresh;
+        }
+    }
+
+    /**
+     * Open-addressing table: keys[2 * slot] and keys[2 * slot + 1] hold the
+     * key of values[slot]. An empty slot has a null value.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity * 2];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        /**
+         * Find the slot of a key, including a tombstoned one
+         *
+         * @return the slot, or -1 if the key was never in this table
+         */
+        private int find(int hash, long most, long least) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                if (values.getAcquire(slot) == null) {
+                    return -1;
+                }
+                if (keys[slot * 2] == most && keys[slot * 2 + 1] == least) {
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * Put a key that is not in the table into the first empty slot. The
+         * key is written before the value is released.
+         */
+        private void insert(int hash, long most, long least, Object value) {
+            int slot = hash & mask;
+            while (values.get(slot) != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot * 2] = most;
+            keys[slot * 2 + 1] = least;
+            values.setRelease(slot, value);
+        }
+    }
+}
@@ -4,9 +4,14 @@ import com.bluemountain.coffee.domain.model.aggregate.Delivery;
 import com.bluemountain.coffee.domain.model.aggregate.Order;
 import com.bluemountain.coffee.domain.model.enums.OrderStatus;
 import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
 import com.bluemountain.coffee.domain.repository.DeliveryRepository;
 import com.bluemountain.coffee.domain.repository.OrderRepository;
 import com.bluemountain.coffee.domain.service.DeliveryBatchService;
+import com.bluemountain.coffee.domain.service.RouteOptimizer;
+import com.bluemountain.coffee.infrastructure.jfr.DeliveryBatchingEvent;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
@@ -22,24 +27,40 @@ import java.util.stream.Collectors;
  * 2. Time Window: Group orders within a specific time window (e.g., 15 minutes)
  * 3. Capacity Limit: Maximum orders per delivery (e.g., 5 orders)
  * 4. Same Address Priority: Orders to same address should be in same delivery
+ * 
+ * Every new delivery gets a route from the shop through its stops.
+ *
+ * The batch window scheduler and the auto-batch endpoint can batch at the
+ * same time. Auto-batching runs, and the check that an order is not yet in a
+ * delivery together with saving the delivery that claims it, happen under
+ * one lock, so no order ends up in two deliveries.
  */
+@Observed(name = "coffee.delivery.batching")
 @Service
 public class DeliveryBatchServiceImpl implements DeliveryBatchService {
     
     private final OrderRepository orderRepository;
     private final DeliveryRepository deliveryRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final RouteOptimizer routeOptimizer;
+    private final GeoPoint shopLocation;
+    private final Object batchingLock = new Object();
     
     // Batching configuration
     private static final int MAX_ORDERS_PER_DELIVERY = 5;
-    private static final int BATCHING_TIME_WINDOW_MINUTES = 15;
+    static final int BATCHING_TIME_WINDOW_MINUTES = 15;
     
     public DeliveryBatchServiceImpl(OrderRepository orderRepository,
                                      DeliveryRepository deliveryRepository,
-                                     ApplicationEventPublisher eventPublisher) {
+                                     ApplicationEventPublisher eventPublisher,
+                                     RouteOptimizer routeOptimizer,
+                                     @Value("${coffee.shop.latitude:31.2304}") double shopLatitude,
+                                     @Value("${coffee.shop.longitude:121.4737}") double shopLongitude) {
         this.orderRepository = orderRepository;
         this.deliveryRepository = deliveryRepository;
         this.eventPublisher = eventPublisher;
+        this.routeOptimizer = routeOptimizer;
+        this.shopLocation = GeoPoint.of(shopLatitude, shopLongitude);
     }
     
     @Override
@@ -68,20 +89,23 @@ public class DeliveryBatchServiceImpl implements DeliveryBatchService {
             }
         }
         
-        // Check if any order is already in a delivery
-        for (Order order : orders) {
-            if (deliveryRepository.findByOrderId(order.getId()).isPresent()) {
-                throw new IllegalArgumentException(
-                    "Order " + order.getId() + " is already in a delivery"
-                );
+        synchronized (batchingLock) {
+            // Check if any order is already in a delivery
+            for (Order order : orders) {
+                if (deliveryRepository.findByOrderId(order.getId()).isPresent()) {
+                    throw new IllegalArgumentException(
+                        "Order " + order.getId() + " is already in a delivery"
+                    );
+                }
             }
+            
+            // Create and save the delivery
+            Delivery delivery = Delivery.create(orders, eventPublisher);
+            delivery.planRoute(routeOptimizer.plan(shopLocation, orders));
+            deliveryRepository.save(delivery);
+            
+            return delivery;
         }
-        
-        // Create and save the delivery
-        Delivery delivery = Delivery.create(orders, eventPublisher);
-        deliveryRepository.save(delivery);
-        
-        return delivery;
     }
     
     @Override
@@ -101,10 +125,24 @@ public class DeliveryBatchServiceImpl implements DeliveryBatchService {
     
     @Override
     public List<Delivery> autoBatchOrders() {
+        synchronized (batchingLock) {
+            return batchReadyOrders();
+        }
+    }
+    
+    /**
+     * Batch every batchable order; called with the batching lock held, so
+     * the orders found are still unclaimed when their deliveries are saved
+     * 
+     * @return the created deliveries
+     */
+    private List<Delivery> batchReadyOrders() {
+        DeliveryBatchingEvent batchingEvent = DeliveryBatchingEvent.start();
         List<Delivery> createdDeliveries = new ArrayList<>();
         List<Order> batchableOrders = findBatchableOrders();
         
         if (batchableOrders.isEmpty()) {
+            batchingEvent.finish(0, 0);
             return createdDeliveries;
         }
         
@@ -166,6 +204,7 @@ public class DeliveryBatchServiceImpl implements DeliveryBatchService {
             }
         }
         
+        batchingEvent.finish(batchableOrders.size(), createdDeliveries.size());
         return createdDeliveries;
     }
     
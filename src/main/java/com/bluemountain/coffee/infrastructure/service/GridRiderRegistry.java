@@ -0,0 +1,279 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.enums.RiderStatus;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
+import com.bluemountain.coffee.domain.service.RiderRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Rider registry with a uniform grid index over the available riders.
+ *
+ * The map is cut into square cells (coffee.dispatch.cell-size-meters) and
+ * every AVAILABLE rider is kept in the cell of its last location, so a
+ * location update moves the rider between two hash buckets in O(1).
+ *
+ * claimNearest() searches outwards ring by ring around the cell of the
+ * query point and stops as soon as the closest possible rider in the next
+ * ring is further away than the k-th best found so far, or the ring lies
+ * beyond coffee.dispatch.max-radius-meters. The work therefore depends on
+ * how many riders are near the point, not on how many are registered.
+ *
+ * Cells are measured at the shop's latitude, where the dispatcher searches.
+ * All operations run under the registry's lock; each is short and bounded.
+ */
+@Service
+public class GridRiderRegistry implements RiderRegistry {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private final double cellSizeMeters;
+    private final double maxRadiusMeters;
+    private final double metersPerDegreeLongitude;
+    private final Clock clock;
+
+    private final Map<String, Rider> riders = new HashMap<>();
+    private final Map<Long, Set<Rider>> cells = new HashMap<>();
+    private int available;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param cellSizeMeters the grid cell size
+     * @param maxRadiusMeters the furthest a rider may be from the search point
+     * @param referenceLatitude the latitude at which cells are square (the shop's)
+     */
+    @Autowired
+    public GridRiderRegistry(@Value("${coffee.dispatch.cell-size-meters:500}") double cellSizeMeters,
+                             @Value("${coffee.dispatch.max-radius-meters:10000}") double maxRadiusMeters,
+                             @Value("${coffee.shop.latitude:31.2304}") double referenceLatitude) {
+        this(cellSizeMeters, maxRadiusMeters, referenceLatitude, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param cellSizeMeters the grid cell size
+     * @param maxRadiusMeters the furthest a rider may be from the search point
+     * @param referenceLatitude the latitude at which cells are square
+     * @param clock the clock
+     */
+    public GridRiderRegistry(double cellSizeMeters, double maxRadiusMeters, double referenceLatitude, Clock clock) {
+        if (cellSizeMeters <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSizeMeters = cellSizeMeters;
+        this.maxRadiusMeters = maxRadiusMeters;
+        this.metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(referenceLatitude));
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized RiderPosition register(RiderInfo rider, GeoPoint location) {
+        Rider entry = riders.get(rider.getRiderId());
+        if (entry == null) {
+            entry = new Rider(rider, location);
+            riders.put(rider.getRiderId(), entry);
+        } else {
+            leaveIndex(entry);
+            entry.info = rider;
+            entry.location = location;
+        }
+        entry.status = RiderStatus.AVAILABLE;
+        entry.updatedAt = LocalDateTime.now(clock);
+        joinIndex(entry);
+        return entry.position();
+    }
+
+    @Override
+    public synchronized RiderPosition updateLocation(String riderId, GeoPoint location) {
+        Rider entry = require(riderId);
+        if (entry.status == RiderStatus.AVAILABLE) {
+            leaveIndex(entry);
+            entry.location = location;
+            joinIndex(entry);
+        } else {
+            entry.location = location;
+        }
+        entry.updatedAt = LocalDateTime.now(clock);
+        return entry.position();
+    }
+
+    @Override
+    public synchronized void markAvailable(String riderId) {
+        Rider entry = riders.get(riderId);
+        if (entry != null && entry.status == RiderStatus.BUSY) {
+            entry.status = RiderStatus.AVAILABLE;
+            entry.updatedAt = LocalDateTime.now(clock);
+            joinIndex(entry);
+        }
+    }
+
+    @Override
+    public synchronized void markBusy(String riderId) {
+        Rider entry = riders.get(riderId);
+        if (entry != null) {
+            setUnavailable(entry, RiderStatus.BUSY);
+        }
+    }
+
+    @Override
+    public synchronized void markOffline(String riderId) {
+        setUnavailable(require(riderId), RiderStatus.OFFLINE);
+    }
+
+    @Override
+    public synchronized List<RiderPosition> claimNearest(GeoPoint point, int count) {
+        if (count <= 0 || available == 0) {
+            return List.of();
+        }
+
+        // Max-heap on distance holding the best candidates found so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidate candidate) -> candidate.distance).reversed());
+        long centerX = cellX(point);
+        long centerY = cellY(point);
+        int seen = 0;
+        for (int ring = 0; seen < available; ring++) {
+            double nearestPossible = Math.max(0, ring - 1) * cellSizeMeters;
+            if (nearestPossible > maxRadiusMeters
+                    || (best.size() == count && nearestPossible > best.peek().distance)) {
+                break;
+            }
+            for (long x = centerX - ring; x <= centerX + ring; x++) {
+                boolean edgeColumn = x == centerX - ring || x == centerX + ring;
+                long step = edgeColumn ? 1 : 2L * ring;
+                for (long y = centerY - ring; y <= centerY + ring; y += Math.max(1, step)) {
+                    Set<Rider> cell = cells.get(key(x, y));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Rider rider : cell) {
+                        seen++;
+                        double distance = point.distanceTo(rider.location);
+                        if (distance > maxRadiusMeters) {
+                            continue;
+                        }
+                        if (best.size() < count) {
+                            best.add(new Candidate(rider, distance));
+                        } else if (distance < best.peek().distance) {
+                            best.poll();
+                            best.add(new Candidate(rider, distance));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> nearest = new ArrayList<>(best);
+        nearest.sort(Comparator.comparingDouble(candidate -> candidate.distance));
+        List<RiderPosition> claimed = new ArrayList<>(nearest.size());
+        for (Candidate candidate : nearest) {
+            setUnavailable(candidate.rider, RiderStatus.BUSY);
+            claimed.add(candidate.rider.position());
+        }
+        return claimed;
+    }
+
+    @Override
+    public synchronized Optional<RiderPosition> find(String riderId) {
+        Rider entry = riders.get(riderId);
+        return entry == null ? Optional.empty() : Optional.of(entry.position());
+    }
+
+    @Override
+    public synchronized List<RiderPosition> findAll() {
+        List<RiderPosition> positions = new ArrayList<>(riders.size());
+        for (Rider entry : riders.values()) {
+            positions.add(entry.position());
+        }
+        return positions;
+    }
+
+    @Override
+    public synchronized int availableCount() {
+        return available;
+    }
+
+    private Rider require(String riderId) {
+        Rider entry = riders.get(riderId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Rider not found: " + riderId);
+        }
+        return entry;
+    }
+
+    private void setUnavailable(Rider entry, RiderStatus status) {
+        if (entry.status == RiderStatus.AVAILABLE) {
+            leaveIndex(entry);
+        }
+        entry.status = status;
+        entry.updatedAt = LocalDateTime.now(clock);
+    }
+
+    private void joinIndex(Rider entry) {
+        entry.cell = key(cellX(entry.location), cellY(entry.location));
+        cells.computeIfAbsent(entry.cell, cell -> new HashSet<>()).add(entry);
+        available++;
+    }
+
+    private void leaveIndex(Rider entry) {
+        Set<Rider> cell = cells.get(entry.cell);
+        if (cell != null && cell.remove(entry)) {
+            available--;
+            if (cell.isEmpty()) {
+                cells.remove(entry.cell);
+            }
+        }
+    }
+
+    private long cellX(GeoPoint point) {
+        return (long) Math.floor(point.getLongitude() * metersPerDegreeLongitude / cellSizeMeters);
+    }
+
+    private long cellY(GeoPoint point) {
+        return (long) Math.floor(point.getLatitude() * METERS_PER_DEGREE / cellSizeMeters);
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A registered rider; mutable, guarded by the registry's lock
+     */
+    private static final class Rider {
+        private RiderInfo info;
+        private GeoPoint location;
+        private RiderStatus status;
+        private LocalDateTime updatedAt;
+        private long cell;
+
+        private Rider(RiderInfo info, GeoPoint location) {
+            this.info = info;
+            this.location = location;
+        }
+
+        private RiderPosition position() {
+            return new RiderPosition(info, location, status, updatedAt);
+        }
+    }
+
+    private record Candidate(Rider rider, double distance) {
+    }
+}
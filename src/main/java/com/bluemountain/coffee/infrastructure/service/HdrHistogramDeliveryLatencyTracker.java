@@ -0,0 +1,168 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.event.DeliveryDeliveredEvent;
+import com.bluemountain.coffee.domain.event.DeliveryPickedUpEvent;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryLatencyReport;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.service.DeliveryLatencyTracker;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedConcurrentHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Delivery latency tracker keeping an HdrHistogram per stage for every rider,
+ * zone and time bucket.
+ *
+ * Latencies are recorded in milliseconds with two significant digits, so
+ * percentiles are accurate to 1 %. Histograms are packed: their size follows
+ * the number of distinct latencies recorded, not the range, and one exists
+ * only for a rider or zone that had a delivery in its bucket. Histograms of
+ * a bucket are merged losslessly into the report, so any window of whole
+ * buckets within the retention can be queried. Buckets older than the
+ * retention are dropped as new samples arrive.
+ *
+ * Recording is lock-free. A report taken while samples are recorded may miss
+ * the newest of them.
+ */
+@Service
+public class HdrHistogramDeliveryLatencyTracker implements DeliveryLatencyTracker {
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = Duration.ofDays(1).toMillis();
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int WAIT_FOR_PICKUP = 0;
+    private static final int PICKUP_TO_DELIVERED = 1;
+    private static final String ALL = "all";
+    private static final String UNKNOWN = "unknown";
+
+    private final long bucketMillis;
+    private final long retainedBuckets;
+    private final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param bucket the width of a time bucket, the resolution of report windows
+     * @param retention how long buckets are kept
+     */
+    public HdrHistogramDeliveryLatencyTracker(@Value("${coffee.delivery.latency.bucket:PT15M}") Duration bucket,
+                                              @Value("${coffee.delivery.latency.retention:P7D}") Duration retention) {
+        if (bucket.isNegative() || bucket.isZero() || retention.compareTo(bucket) < 0) {
+            throw new IllegalArgumentException("Latency bucket must be positive and no longer than the retention");
+        }
+        this.bucketMillis = bucket.toMillis();
+        this.retainedBuckets = retention.toMillis() / bucketMillis;
+    }
+
+    @Override
+    public void record(DeliveryPickedUpEvent event) {
+        record(WAIT_FOR_PICKUP, event.getRiderInfo(), event.getZone(), event.getWaitForPickup(), event.getPickedUpAt());
+    }
+
+    @Override
+    public void record(DeliveryDeliveredEvent event) {
+        record(PICKUP_TO_DELIVERED, event.getRiderInfo(), event.getZone(), event.getPickupToDelivered(),
+                event.getDeliveredAt());
+    }
+
+    @Override
+    public DeliveryLatencyReport report(LocalDateTime from, LocalDateTime to, String groupBy) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Window must end after it starts");
+        }
+        if (!ALL.equals(groupBy) && !"rider".equals(groupBy) && !"zone".equals(groupBy)) {
+            throw new IllegalArgumentException("Unknown groupBy: " + groupBy + ", expected all, rider or zone");
+        }
+        long first = Math.floorDiv(millis(from), bucketMillis);
+        long last = Math.floorDiv(millis(to) - 1, bucketMillis);
+
+        Map<String, Histogram[]> merged = new HashMap<>();
+        for (Bucket bucket : buckets.subMap(first, true, last, true).values()) {
+            Map<String, PackedConcurrentHistogram[]> groups = switch (groupBy) {
+                case "rider" -> bucket.riders;
+                case "zone" -> bucket.zones;
+                default -> Map.of(ALL, bucket.all);
+            };
+            groups.forEach((key, histograms) -> {
+                Histogram[] sums = merged.computeIfAbsent(key, k -> new Histogram[] {histogram(), histogram()});
+                sums[WAIT_FOR_PICKUP].add(histograms[WAIT_FOR_PICKUP]);
+                sums[PICKUP_TO_DELIVERED].add(histograms[PICKUP_TO_DELIVERED]);
+            });
+        }
+        if (ALL.equals(groupBy)) {
+            merged.computeIfAbsent(ALL, k -> new Histogram[] {histogram(), histogram()});
+        }
+
+        Map<String, DeliveryLatencyReport.Latency> latencies = new HashMap<>();
+        merged.forEach((key, sums) -> latencies.put(key, new DeliveryLatencyReport.Latency(
+                percentiles(sums[WAIT_FOR_PICKUP]), percentiles(sums[PICKUP_TO_DELIVERED]))));
+        return new DeliveryLatencyReport(localDateTime(first * bucketMillis), localDateTime((last + 1) * bucketMillis),
+                groupBy, latencies);
+    }
+
+    private void record(int stage, RiderInfo rider, String zone, Duration latency, LocalDateTime at) {
+        long index = Math.floorDiv(millis(at), bucketMillis);
+        Bucket bucket = buckets.computeIfAbsent(index, i -> new Bucket());
+        long value = Math.min(Math.max(latency.toMillis(), 0), HIGHEST_TRACKABLE_MILLIS);
+        bucket.all[stage].recordValue(value);
+        bucket.riders.computeIfAbsent(rider != null ? rider.getRiderId() : UNKNOWN, k -> histograms())[stage]
+                .recordValue(value);
+        bucket.zones.computeIfAbsent(zone != null ? zone : UNKNOWN, k -> histograms())[stage].recordValue(value);
+
+        Long newest = buckets.lastKey();
+        buckets.headMap(newest - retainedBuckets).clear();
+    }
+
+    private static DeliveryLatencyReport.Percentiles percentiles(AbstractHistogram histogram) {
+        return new DeliveryLatencyReport.Percentiles(
+                histogram.getTotalCount(),
+                seconds(histogram.getValueAtPercentile(50)),
+                seconds(histogram.getValueAtPercentile(95)),
+                seconds(histogram.getValueAtPercentile(99)),
+                seconds(histogram.getMaxValue()));
+    }
+
+    private static double seconds(long millis) {
+        return millis / 1000.0;
+    }
+
+    /**
+     * Milliseconds on the local time line, matching the LocalDateTime
+     * timestamps of the events and the report window
+     */
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime localDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+
+    private static Histogram histogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MILLIS, SIGNIFICANT_DIGITS);
+    }
+
+    private static PackedConcurrentHistogram[] histograms() {
+        return new PackedConcurrentHistogram[] {
+                new PackedConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, SIGNIFICANT_DIGITS),
+                new PackedConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, SIGNIFICANT_DIGITS)
+        };
+    }
+
+    private static final class Bucket {
+        private final PackedConcurrentHistogram[] all = histograms();
+        private final Map<String, PackedConcurrentHistogram[]> riders = new ConcurrentHashMap<>();
+        private final Map<String, PackedConcurrentHistogram[]> zones = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,351 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.KitchenSnapshot;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.service.KitchenScheduler;
+import com.bluemountain.coffee.domain.service.PreparationTimeEstimator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kitchen scheduler with one priority queue per barista station and work stealing.
+ *
+ * Business Rules:
+ * 1. Every order gets a due time: delivery orders are due when the rider is
+ *    expected to arrive, dine-in orders after the dine-in target
+ * 2. Urgency is the latest start time (due time minus the preparation
+ *    estimate); the order with the least slack is made first, and delivery
+ *    orders win ties
+ * 3. A new order goes to the station with the least estimated work left
+ * 4. A station that finishes an order takes the most urgent order of its
+ *    own queue; with an empty queue it steals the most urgent order of the
+ *    busiest station, so no station idles while orders are waiting
+ *
+ * Orders stay PREPARING until the barista marks them ready; release() then
+ * frees the station, starts its next order and lets the estimator learn
+ * from the order's PREPARING to READY time at the load it entered with.
+ *
+ * Meters:
+ * - coffee.kitchen.queue.size: orders waiting for a station
+ * - coffee.kitchen.station.utilization{station}: share of time a station was busy
+ * - coffee.kitchen.queue.wait{type}: time from entering the kitchen to a barista starting
+ * - coffee.kitchen.preparation{type}: time from a barista starting to the order being ready
+ */
+@Service
+public class KitchenSchedulerImpl implements KitchenScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenSchedulerImpl.class);
+
+    private static final Comparator<Ticket> BY_URGENCY = Comparator
+            .comparingLong((Ticket ticket) -> ticket.latestStartMillis)
+            .thenComparing(ticket -> ticket.type != OrderType.DELIVERY)
+            .thenComparingLong(ticket -> ticket.enqueuedAtMillis);
+
+    private final PreparationTimeEstimator estimator;
+    private final Duration deliveryTarget;
+    private final Duration dineInTarget;
+    private final Clock clock;
+    private final long openedAtMillis;
+
+    private final Station[] stations;
+    private final Map<OrderId, Ticket> tickets = new HashMap<>();
+    private int queued;
+
+    private final Map<OrderType, Timer> queueWait = new EnumMap<>(OrderType.class);
+    private final Map<OrderType, Timer> preparation = new EnumMap<>(OrderType.class);
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param estimator the preparation time estimator
+     * @param registry the meter registry
+     * @param stationCount the number of barista stations
+     * @param deliveryTarget time after entering the kitchen at which the rider is expected
+     * @param dineInTarget time after entering the kitchen at which a dine-in order should be ready
+     */
+    @Autowired
+    public KitchenSchedulerImpl(PreparationTimeEstimator estimator,
+                                MeterRegistry registry,
+                                @Value("${coffee.kitchen.stations:3}") int stationCount,
+                                @Value("${coffee.kitchen.delivery-target:PT6M}") Duration deliveryTarget,
+                                @Value("${coffee.kitchen.dine-in-target:PT10M}") Duration dineInTarget) {
+        this(estimator, registry, stationCount, deliveryTarget, dineInTarget, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param estimator the preparation time estimator
+     * @param registry the meter registry
+     * @param stationCount the number of barista stations
+     * @param deliveryTarget time after entering the kitchen at which the rider is expected
+     * @param dineInTarget time after entering the kitchen at which a dine-in order should be ready
+     * @param clock the clock
+     */
+    public KitchenSchedulerImpl(PreparationTimeEstimator estimator, MeterRegistry registry, int stationCount,
+                                Duration deliveryTarget, Duration dineInTarget, Clock clock) {
+        if (stationCount <= 0) {
+            throw new IllegalArgumentException("Station count must be positive");
+        }
+        this.estimator = estimator;
+        this.deliveryTarget = deliveryTarget;
+        this.dineInTarget = dineInTarget;
+        this.clock = clock;
+        this.openedAtMillis = clock.millis();
+
+        this.stations = new Station[stationCount];
+        for (int i = 0; i < stationCount; i++) {
+            Station station = new Station(i + 1);
+            stations[i] = station;
+            Gauge.builder("coffee.kitchen.station.utilization", this, scheduler -> scheduler.utilization(station))
+                    .description("Share of time a barista station was busy")
+                    .tag("station", String.valueOf(station.id))
+                    .register(registry);
+        }
+        Gauge.builder("coffee.kitchen.queue.size", this, KitchenSchedulerImpl::queueSize)
+                .description("Orders waiting for a barista station")
+                .register(registry);
+        for (OrderType type : OrderType.values()) {
+            queueWait.put(type, Timer.builder("coffee.kitchen.queue.wait")
+                    .description("Time from entering the kitchen to a barista starting on the order")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .register(registry));
+            preparation.put(type, Timer.builder("coffee.kitchen.preparation")
+                    .description("Time from a barista starting on the order to the order being ready")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public synchronized void enqueue(Order order) {
+        if (tickets.containsKey(order.getId())) {
+            return;
+        }
+        long now = clock.millis();
+        Duration target = order.getType() == OrderType.DELIVERY ? deliveryTarget : dineInTarget;
+        Ticket ticket = new Ticket(order, estimator.estimate(order).toMillis(), tickets.size(),
+                now, now + target.toMillis());
+        tickets.put(order.getId(), ticket);
+
+        Station station = leastLoaded(now);
+        if (station.current == null) {
+            start(station, ticket, now);
+        } else {
+            station.add(ticket);
+            queued++;
+        }
+        logger.debug("Order {} queued at station {} (estimate {} ms)", order.getId(), station.id,
+                ticket.estimateMillis);
+    }
+
+    @Override
+    public synchronized void release(Order order) {
+        Ticket ticket = tickets.remove(order.getId());
+        if (ticket == null) {
+            return;
+        }
+        if (order.getStatus() == OrderStatus.READY) {
+            estimator.observe(order, ticket.loadAtEnqueue);
+        }
+        long now = clock.millis();
+        Station station = stations[ticket.station - 1];
+        if (station.current == ticket) {
+            station.busyMillis += now - ticket.startedAtMillis;
+            station.completed++;
+            station.current = null;
+            preparation.get(ticket.type).record(now - ticket.startedAtMillis, TimeUnit.MILLISECONDS);
+            startNext(station, now);
+        } else {
+            station.remove(ticket);
+            queued--;
+        }
+    }
+
+    @Override
+    public synchronized Optional<KitchenSnapshot.Ticket> find(OrderId orderId) {
+        Ticket ticket = tickets.get(orderId);
+        return ticket == null ? Optional.empty() : Optional.of(view(ticket));
+    }
+
+    @Override
+    public synchronized KitchenSnapshot snapshot() {
+        long now = clock.millis();
+        List<KitchenSnapshot.Station> stationViews = new ArrayList<>(stations.length);
+        List<Ticket> waiting = new ArrayList<>(queued);
+        for (Station station : stations) {
+            stationViews.add(new KitchenSnapshot.Station(station.id,
+                    station.current == null ? null : view(station.current),
+                    station.queue.size(), station.queuedWorkMillis, utilization(station, now),
+                    station.completed, station.stolen));
+            waiting.addAll(station.queue);
+        }
+        waiting.sort(BY_URGENCY);
+        return new KitchenSnapshot(stationViews, waiting.stream().map(this::view).toList(), toDateTime(now));
+    }
+
+    /**
+     * Pick the station with the least estimated work left
+     */
+    private Station leastLoaded(long now) {
+        Station best = stations[0];
+        for (Station station : stations) {
+            if (station.backlogMillis(now) < best.backlogMillis(now)) {
+                best = station;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Start the next order on a station that just became free, stealing one
+     * from the busiest station when its own queue is empty
+     */
+    private void startNext(Station station, long now) {
+        Ticket next = station.queue.poll();
+        if (next != null) {
+            station.queuedWorkMillis -= next.estimateMillis;
+        } else {
+            Station victim = null;
+            for (Station other : stations) {
+                if (!other.queue.isEmpty() && (victim == null || other.queuedWorkMillis > victim.queuedWorkMillis)) {
+                    victim = other;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            next = victim.queue.poll();
+            victim.queuedWorkMillis -= next.estimateMillis;
+            station.stolen++;
+        }
+        queued--;
+        start(station, next, now);
+    }
+
+    private void start(Station station, Ticket ticket, long now) {
+        ticket.station = station.id;
+        ticket.startedAtMillis = now;
+        station.current = ticket;
+        queueWait.get(ticket.type).record(now - ticket.enqueuedAtMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized int queueSize() {
+        return queued;
+    }
+
+    private synchronized double utilization(Station station) {
+        return utilization(station, clock.millis());
+    }
+
+    private double utilization(Station station, long now) {
+        long open = now - openedAtMillis;
+        if (open <= 0) {
+            return 0.0;
+        }
+        long busy = station.busyMillis + (station.current == null ? 0 : now - station.current.startedAtMillis);
+        return Math.min(1.0, (double) busy / open);
+    }
+
+    private KitchenSnapshot.Ticket view(Ticket ticket) {
+        long readyAtMillis = ticket.enqueuedAtMillis
+                + estimator.estimate(ticket.order, ticket.loadAtEnqueue).toMillis();
+        return new KitchenSnapshot.Ticket(ticket.order.getId().toString(), ticket.type, ticket.station,
+                ticket.estimateMillis, toDateTime(ticket.enqueuedAtMillis), toDateTime(ticket.dueAtMillis),
+                ticket.startedAtMillis < 0 ? null : toDateTime(ticket.startedAtMillis),
+                toDateTime(readyAtMillis));
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    /**
+     * An order in the kitchen; mutable, guarded by the scheduler's lock
+     */
+    private static final class Ticket {
+        private final Order order;
+        private final OrderType type;
+        private final long estimateMillis;
+        private final int loadAtEnqueue;
+        private final long enqueuedAtMillis;
+        private final long dueAtMillis;
+        private final long latestStartMillis;
+        private int station;
+        private long startedAtMillis = -1;
+
+        private Ticket(Order order, long estimateMillis, int loadAtEnqueue, long enqueuedAtMillis,
+                       long dueAtMillis) {
+            this.order = order;
+            this.type = order.getType();
+            this.estimateMillis = estimateMillis;
+            this.loadAtEnqueue = loadAtEnqueue;
+            this.enqueuedAtMillis = enqueuedAtMillis;
+            this.dueAtMillis = dueAtMillis;
+            this.latestStartMillis = dueAtMillis - estimateMillis;
+        }
+    }
+
+    /**
+     * A barista station; mutable, guarded by the scheduler's lock
+     */
+    private static final class Station {
+        private final int id;
+        private final PriorityQueue<Ticket> queue = new PriorityQueue<>(BY_URGENCY);
+        private Ticket current;
+        private long queuedWorkMillis;
+        private long busyMillis;
+        private long completed;
+        private long stolen;
+
+        private Station(int id) {
+            this.id = id;
+        }
+
+        private void add(Ticket ticket) {
+            ticket.station = id;
+            queue.add(ticket);
+            queuedWorkMillis += ticket.estimateMillis;
+        }
+
+        private void remove(Ticket ticket) {
+            if (queue.remove(ticket)) {
+                queuedWorkMillis -= ticket.estimateMillis;
+            }
+        }
+
+        /**
+         * Estimated work left: the rest of the current order plus the queue
+         */
+        private long backlogMillis(long now) {
+            long remaining = current == null ? 0
+                    : Math.max(0, current.estimateMillis - (now - current.startedAtMillis));
+            return remaining + queuedWorkMillis;
+        }
+    }
+}
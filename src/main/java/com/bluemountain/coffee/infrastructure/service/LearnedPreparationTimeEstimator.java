@@ -0,0 +1,174 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.domain.service.PreparationTimeEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Preparation time estimates learned online from PREPARING to READY transitions.
+ *
+ * The model has two parts, both exponentially weighted moving averages:
+ * - per product: the time of one cup at an idle bar, starting from the menu time
+ * - per load level: how much longer orders take when other orders are in the
+ *   kitchen, as a factor on the idle-bar time (orders that start at an idle
+ *   bar define the scale, so that level stays at 1)
+ *
+ * Load levels are powers of two: 0, 1, 2-3, 4-7, 8-15 and 16 or more other
+ * orders. Learning from a ready order updates one load level and the
+ * products of the order, so each observation costs O(items) regardless of
+ * how many orders have been seen.
+ *
+ * An observed time is first divided by its load factor, then split over the
+ * items in proportion to their current estimates; every product of the
+ * order moves towards the same relative error.
+ */
+@Primary
+@Service
+public class LearnedPreparationTimeEstimator implements PreparationTimeEstimator {
+
+    private static final int LOAD_LEVELS = 6;
+
+    private final MenuPreparationTimeEstimator menu;
+    private final double alpha;
+    private final Map<String, Ewma> perCupMillis = new ConcurrentHashMap<>();
+    private final Ewma[] loadFactors = new Ewma[LOAD_LEVELS];
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param menu the menu times the per-product estimates start from
+     * @param alpha weight of a new observation, between 0 and 1
+     */
+    public LearnedPreparationTimeEstimator(MenuPreparationTimeEstimator menu,
+                                           @Value("${coffee.kitchen.estimator.alpha:0.2}") double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        this.menu = menu;
+        this.alpha = alpha;
+        for (int level = 0; level < LOAD_LEVELS; level++) {
+            loadFactors[level] = new Ewma(1.0);
+        }
+    }
+
+    @Override
+    public Duration estimate(Order order) {
+        return Duration.ofMillis(Math.round(idleMillis(order.getItems())));
+    }
+
+    @Override
+    public Duration estimate(Order order, int kitchenLoad) {
+        return Duration.ofMillis(Math.round(idleMillis(order.getItems()) * loadFactor(kitchenLoad)));
+    }
+
+    @Override
+    public void observe(Order order, int kitchenLoad) {
+        Optional<Duration> preparation = readyTime(order);
+        if (preparation.isEmpty()) {
+            return;
+        }
+        double observed = preparation.get().toMillis();
+        double idle = idleMillis(order.getItems());
+        if (idle <= 0) {
+            return;
+        }
+
+        int level = loadLevel(kitchenLoad);
+        if (level > 0) {
+            loadFactors[level].update(observed / idle, alpha);
+        }
+
+        double ratio = observed / loadFactors[level].get() / idle;
+        for (OrderItem item : order.getItems()) {
+            Ewma product = product(item.getProductName());
+            product.update(product.get() * ratio, alpha);
+        }
+    }
+
+    /**
+     * Get the learned time of one cup of a product at an idle bar
+     *
+     * @param productName the product name
+     * @return the estimated time
+     */
+    public Duration perCup(String productName) {
+        return Duration.ofMillis(Math.round(product(productName).get()));
+    }
+
+    /**
+     * Get the learned slowdown at a kitchen load
+     *
+     * @param kitchenLoad the number of other orders in the kitchen
+     * @return the factor on the idle-bar time
+     */
+    public double loadFactor(int kitchenLoad) {
+        return loadFactors[loadLevel(kitchenLoad)].get();
+    }
+
+    /**
+     * Get the time an order took from PREPARING to READY
+     *
+     * @param order the order
+     * @return the time, or empty if the order did not go straight from PREPARING to READY
+     */
+    static Optional<Duration> readyTime(Order order) {
+        List<OrderStatusChange> history = order.getStatusHistory();
+        for (int i = 0; i < history.size() - 1; i++) {
+            if (history.get(i).getStatus() == OrderStatus.PREPARING
+                    && history.get(i + 1).getStatus() == OrderStatus.READY) {
+                return Optional.of(Duration.between(history.get(i).getOccurredAt(),
+                        history.get(i + 1).getOccurredAt()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private double idleMillis(List<OrderItem> items) {
+        double total = 0;
+        for (OrderItem item : items) {
+            total += product(item.getProductName()).get() * item.getQuantity();
+        }
+        return total;
+    }
+
+    private Ewma product(String productName) {
+        return perCupMillis.computeIfAbsent(productName, name -> new Ewma(menu.perCup(name).toMillis()));
+    }
+
+    private static int loadLevel(int kitchenLoad) {
+        if (kitchenLoad <= 0) {
+            return 0;
+        }
+        return Math.min(LOAD_LEVELS - 1, 1 + (31 - Integer.numberOfLeadingZeros(kitchenLoad)));
+    }
+
+    /**
+     * Exponentially weighted moving average, starting from a prior value
+     */
+    private static final class Ewma {
+        private double value;
+
+        private Ewma(double prior) {
+            this.value = prior;
+        }
+
+        synchronized double get() {
+            return value;
+        }
+
+        synchronized void update(double observation, double alpha) {
+            value += alpha * (observation - value);
+        }
+    }
+}
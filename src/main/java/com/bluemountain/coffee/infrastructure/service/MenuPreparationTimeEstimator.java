@@ -0,0 +1,63 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.service.PreparationTimeEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Preparation time estimates from a fixed per-product table.
+ *
+ * Each cup of a product takes the product's bar time; products that are
+ * not on the menu take the configured default. A barista makes the cups of
+ * one order one after the other, so the estimate of an order is the sum
+ * over its items.
+ */
+@Service
+public class MenuPreparationTimeEstimator implements PreparationTimeEstimator {
+
+    private static final Map<String, Duration> PREPARATION_TIMES = Map.of(
+            "浓缩咖啡", Duration.ofSeconds(40),
+            "美式咖啡", Duration.ofSeconds(60),
+            "卡布奇诺", Duration.ofSeconds(120),
+            "拿铁", Duration.ofSeconds(110),
+            "摩卡", Duration.ofSeconds(150),
+            "玛奇朵", Duration.ofSeconds(90),
+            "平白咖啡", Duration.ofSeconds(110),
+            "爱尔兰咖啡", Duration.ofSeconds(180));
+
+    private final Duration defaultPreparationTime;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param defaultPreparationTime time per cup of a product not on the menu
+     */
+    public MenuPreparationTimeEstimator(
+            @Value("${coffee.kitchen.default-preparation-time:PT90S}") Duration defaultPreparationTime) {
+        this.defaultPreparationTime = defaultPreparationTime;
+    }
+
+    @Override
+    public Duration estimate(Order order) {
+        Duration total = Duration.ZERO;
+        for (OrderItem item : order.getItems()) {
+            total = total.plus(perCup(item.getProductName()).multipliedBy(item.getQuantity()));
+        }
+        return total;
+    }
+
+    /**
+     * Get the bar time of one cup of a product
+     *
+     * @param productName the product name
+     * @return the menu time, or the default for products not on the menu
+     */
+    public Duration perCup(String productName) {
+        return PREPARATION_TIMES.getOrDefault(productName, defaultPreparationTime);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import com.bluemountain.coffee.domain.service.ProductCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product catalog built once from the configured menu.
+ *
+ * Menu entries (coffee.menu.products) are id:name:price triples. IDs are
+ * part of the configuration rather than menu positions, because they are
+ * stored on order items: reordering the menu or taking a product off it
+ * must not move another product onto an existing ID. The catalog never
+ * changes after construction: products are kept in immutable maps by ID and
+ * by name, so lookups need no locking.
+ */
+@Service
+public class MenuProductCatalog implements ProductCatalog {
+
+    private final Map<Integer, Product> byId;
+    private final Map<String, Product> byName;
+    private final List<Product> products;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param menu the menu entries, as id:name:price
+     * @throws IllegalArgumentException if an entry is invalid or an ID or name is listed twice
+     */
+    public MenuProductCatalog(@Value("${coffee.menu.products:1:浓缩咖啡:3.50,2:美式咖啡:4.00,3:卡布奇诺:4.50,"
+            + "4:拿铁:4.00,5:摩卡:5.00,6:玛奇朵:4.50,7:平白咖啡:4.50,8:爱尔兰咖啡:6.00}") List<String> menu) {
+        Map<Integer, Product> ids = new HashMap<>();
+        Map<String, Product> names = new HashMap<>();
+        List<Product> listed = new ArrayList<>();
+        for (String item : menu) {
+            String entry = item.trim();
+            int idEnd = entry.indexOf(':');
+            int priceStart = entry.lastIndexOf(':');
+            if (idEnd <= 0 || priceStart <= idEnd + 1) {
+                throw new IllegalArgumentException("Invalid menu entry: " + entry);
+            }
+            int id;
+            try {
+                id = Integer.parseInt(entry.substring(0, idEnd).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid menu product ID: " + entry, e);
+            }
+            Product product;
+            try {
+                product = Product.of(id, entry.substring(idEnd + 1, priceStart),
+                        Money.of(new BigDecimal(entry.substring(priceStart + 1).trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid menu price: " + entry, e);
+            }
+            if (ids.putIfAbsent(id, product) != null) {
+                throw new IllegalArgumentException("Product ID listed twice: " + id);
+            }
+            if (names.putIfAbsent(product.getName(), product) != null) {
+                throw new IllegalArgumentException("Product listed twice: " + product.getName());
+            }
+            listed.add(product);
+        }
+        this.byId = Map.copyOf(ids);
+        this.byName = Map.copyOf(names);
+        this.products = List.copyOf(listed);
+    }
+
+    @Override
+    public Optional<Product> findById(int productId) {
+        return Optional.ofNullable(byId.get(productId));
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byName.get(name.trim()));
+    }
+
+    @Override
+    public List<Product> getProducts() {
+        return products;
+    }
+}
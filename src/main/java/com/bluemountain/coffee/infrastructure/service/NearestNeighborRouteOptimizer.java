@@ -0,0 +1,177 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryRoute;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.service.RouteOptimizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route optimizer building a nearest-neighbour route and improving it with 2-opt.
+ *
+ * Distances are taken from a matrix computed once per call. Within a
+ * delivery's few kilometres the earth is flat enough to project every stop
+ * onto a local plane around the origin and use straight-line distances.
+ *
+ * The nearest-neighbour route is always built in full. 2-opt then reverses
+ * stretches of the route while that shortens it, and stops when no reversal
+ * helps or coffee.delivery.route.time-budget is spent, keeping the best
+ * route so far. The origin stays first and the route does not return to it.
+ */
+@Service
+public class NearestNeighborRouteOptimizer implements RouteOptimizer {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double EPSILON_METERS = 1e-6;
+
+    private final long timeBudgetNanos;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param timeBudget the longest time spent improving one route
+     */
+    public NearestNeighborRouteOptimizer(
+            @Value("${coffee.delivery.route.time-budget:PT0.002S}") Duration timeBudget) {
+        if (timeBudget.isNegative()) {
+            throw new IllegalArgumentException("Time budget cannot be negative");
+        }
+        this.timeBudgetNanos = timeBudget.toNanos();
+    }
+
+    @Override
+    public DeliveryRoute plan(GeoPoint origin, List<Order> orders) {
+        List<OrderId> located = new ArrayList<>(orders.size());
+        List<GeoPoint> stops = new ArrayList<>(orders.size());
+        List<OrderId> unlocated = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getAddress() != null && order.getAddress().hasLocation()) {
+                located.add(order.getId());
+                stops.add(order.getAddress().getLocation());
+            } else {
+                unlocated.add(order.getId());
+            }
+        }
+
+        double[] distance = distanceMatrix(origin, stops);
+        int[] route = sequence(distance, stops.size() + 1);
+
+        List<OrderId> sequence = new ArrayList<>(orders.size());
+        for (int i = 1; i < route.length; i++) {
+            sequence.add(located.get(route[i] - 1));
+        }
+        sequence.addAll(unlocated);
+        return new DeliveryRoute(sequence, length(distance, route, stops.size() + 1));
+    }
+
+    /**
+     * Order stops for a short route from the origin
+     *
+     * @param origin where the route starts
+     * @param stops the stops to visit
+     * @return the indexes of the stops in visiting order
+     */
+    public int[] sequence(GeoPoint origin, List<GeoPoint> stops) {
+        int[] route = sequence(distanceMatrix(origin, stops), stops.size() + 1);
+        int[] order = new int[stops.size()];
+        for (int i = 1; i < route.length; i++) {
+            order[i - 1] = route[i] - 1;
+        }
+        return order;
+    }
+
+    /**
+     * Nearest neighbour from node 0, then 2-opt within the time budget
+     */
+    private int[] sequence(double[] distance, int nodes) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        int[] route = new int[nodes];
+        boolean[] visited = new boolean[nodes];
+        visited[0] = true;
+        for (int position = 1; position < nodes; position++) {
+            int from = route[position - 1];
+            int nearest = -1;
+            for (int candidate = 1; candidate < nodes; candidate++) {
+                if (!visited[candidate]
+                        && (nearest < 0 || distance[from * nodes + candidate] < distance[from * nodes + nearest])) {
+                    nearest = candidate;
+                }
+            }
+            route[position] = nearest;
+            visited[nearest] = true;
+        }
+
+        boolean improved = nodes > 3;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < nodes - 1; i++) {
+                if (System.nanoTime() > deadline) {
+                    return route;
+                }
+                int before = route[i - 1];
+                int first = route[i];
+                for (int j = i + 1; j < nodes; j++) {
+                    int last = route[j];
+                    // Reversing route[i..j] replaces edges (before, first) and (last, after)
+                    // with (before, last) and (first, after); the last stop has no after
+                    double delta = distance[before * nodes + last] - distance[before * nodes + first];
+                    if (j + 1 < nodes) {
+                        int after = route[j + 1];
+                        delta += distance[first * nodes + after] - distance[last * nodes + after];
+                    }
+                    if (delta < -EPSILON_METERS) {
+                        reverse(route, i, j);
+                        first = route[i];
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return route;
+    }
+
+    private static double[] distanceMatrix(GeoPoint origin, List<GeoPoint> stops) {
+        int nodes = stops.size() + 1;
+        double metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(origin.getLatitude()));
+        double[] x = new double[nodes];
+        double[] y = new double[nodes];
+        for (int i = 1; i < nodes; i++) {
+            GeoPoint stop = stops.get(i - 1);
+            x[i] = (stop.getLongitude() - origin.getLongitude()) * metersPerDegreeLongitude;
+            y[i] = (stop.getLatitude() - origin.getLatitude()) * METERS_PER_DEGREE;
+        }
+
+        double[] distance = new double[nodes * nodes];
+        for (int i = 0; i < nodes; i++) {
+            for (int j = i + 1; j < nodes; j++) {
+                double d = Math.hypot(x[i] - x[j], y[i] - y[j]);
+                distance[i * nodes + j] = d;
+                distance[j * nodes + i] = d;
+            }
+        }
+        return distance;
+    }
+
+    private static double length(double[] distance, int[] route, int nodes) {
+        double length = 0;
+        for (int i = 1; i < route.length; i++) {
+            length += distance[route[i - 1] * nodes + route[i]];
+        }
+        return length;
+    }
+
+    private static void reverse(int[] route, int from, int to) {
+        while (from < to) {
+            int swap = route[from];
+            route[from++] = route[to];
+            route[to--] = swap;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bluemountain.coffee.infrastructure.service;
 
 import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Service;
  * - Single Responsibility: Only sends notifications
  * - Interface Segregation: Provides only notification-related methods
  */
+@Observed(name = "coffee.notification")
 @Service
 public class NotificationService {
     
@@ -6,6 +6,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Mock payment service for processing payments.
  * 
@@ -47,6 +50,27 @@ public class PaymentService {
         return true;
     }
     
+    /**
+     * Process payments for several orders in one gateway call
+     * 
+     * @param charges the amount to charge per order
+     * @return whether each payment was successful, by order ID
+     */
+    public Map<OrderId, Boolean> processPayments(Map<OrderId, Money> charges) {
+        logger.info("Processing batch of {} payments", charges.size());
+        
+        // In a real application, this would submit all charges to the
+        // payment gateway's batch API and map the per-charge responses
+        
+        Map<OrderId, Boolean> results = new LinkedHashMap<>();
+        for (OrderId orderId : charges.keySet()) {
+            results.put(orderId, true);
+        }
+        
+        logger.info("Batch of {} payments processed", charges.size());
+        return results;
+    }
+    
     /**
      * Refund payment for an order
      * 
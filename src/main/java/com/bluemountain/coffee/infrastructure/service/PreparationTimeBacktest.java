@@ -0,0 +1,198 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Back-test of the learned preparation time estimator over archived orders.
+ *
+ * The orders' status histories are replayed in time order against a fresh
+ * LearnedPreparationTimeEstimator: when an order starts PREPARING its ready
+ * time is predicted from what the model has learned so far, and when it
+ * becomes READY the model learns from it. Every prediction is therefore
+ * made without knowing its own outcome, as it would have been live.
+ *
+ * The kitchen load of an order is rebuilt from the histories as the number
+ * of other orders that were PREPARING when it started. The menu table is
+ * scored on the same orders as a baseline.
+ */
+@Service
+public class PreparationTimeBacktest {
+
+    private final MenuPreparationTimeEstimator menu;
+    private final double alpha;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param menu the menu times, used as the prior and as the baseline
+     * @param alpha weight of a new observation in the learned estimator
+     */
+    public PreparationTimeBacktest(MenuPreparationTimeEstimator menu,
+                                   @Value("${coffee.kitchen.estimator.alpha:0.2}") double alpha) {
+        this.menu = menu;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Replay the orders and score the predictions
+     *
+     * @param orders the archived orders, in any order
+     * @return the estimation error of the learned model and the menu baseline
+     */
+    public Report run(List<Order> orders) {
+        List<Sample> samples = new ArrayList<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (Order order : orders) {
+            List<OrderStatusChange> history = order.getStatusHistory();
+            for (int i = 0; i < history.size(); i++) {
+                if (history.get(i).getStatus() != OrderStatus.PREPARING) {
+                    continue;
+                }
+                long start = epochMillis(history.get(i));
+                long end = i + 1 < history.size() ? epochMillis(history.get(i + 1)) : Long.MAX_VALUE;
+                intervals.add(new long[]{start, end});
+                if (i + 1 < history.size() && history.get(i + 1).getStatus() == OrderStatus.READY) {
+                    samples.add(new Sample(order, start, end));
+                }
+                break;
+            }
+        }
+
+        // Orders in the kitchen at time t: started before t and not finished by t
+        long[] starts = intervals.stream().mapToLong(interval -> interval[0]).sorted().toArray();
+        long[] ends = intervals.stream().mapToLong(interval -> interval[1]).sorted().toArray();
+        for (Sample sample : samples) {
+            sample.load = countBefore(starts, sample.start) - countAtOrBefore(ends, sample.start);
+        }
+
+        // Replay: predictions at PREPARING, learning at READY; READY first on ties
+        List<long[]> events = new ArrayList<>(samples.size() * 2);
+        for (int k = 0; k < samples.size(); k++) {
+            events.add(new long[]{samples.get(k).start, 1, k});
+            events.add(new long[]{samples.get(k).ready, 0, k});
+        }
+        events.sort(Comparator.<long[]>comparingLong(event -> event[0]).thenComparingLong(event -> event[1]));
+
+        LearnedPreparationTimeEstimator learned = new LearnedPreparationTimeEstimator(menu, alpha);
+        double[] learnedErrors = new double[samples.size()];
+        double[] menuErrors = new double[samples.size()];
+        double[] actuals = new double[samples.size()];
+        for (long[] event : events) {
+            Sample sample = samples.get((int) event[2]);
+            if (event[1] == 1) {
+                int k = (int) event[2];
+                actuals[k] = sample.ready - sample.start;
+                learnedErrors[k] = learned.estimate(sample.order, sample.load).toMillis() - actuals[k];
+                menuErrors[k] = menu.estimate(sample.order).toMillis() - actuals[k];
+            } else {
+                learned.observe(sample.order, sample.load);
+            }
+        }
+
+        return new Report(samples.size(), score(learnedErrors, actuals), score(menuErrors, actuals));
+    }
+
+    private static ErrorStats score(double[] errors, double[] actuals) {
+        int n = errors.length;
+        if (n == 0) {
+            return new ErrorStats(0, 0, 0, 0, 0, 0);
+        }
+        double sumAbs = 0;
+        double sumSquares = 0;
+        double sum = 0;
+        double sumPercent = 0;
+        int percentCount = 0;
+        double[] absolute = new double[n];
+        for (int k = 0; k < n; k++) {
+            absolute[k] = Math.abs(errors[k]);
+            sumAbs += absolute[k];
+            sumSquares += errors[k] * errors[k];
+            sum += errors[k];
+            if (actuals[k] > 0) {
+                sumPercent += absolute[k] / actuals[k];
+                percentCount++;
+            }
+        }
+        Arrays.sort(absolute);
+        return new ErrorStats(
+                Math.round(sumAbs / n),
+                Math.round(Math.sqrt(sumSquares / n)),
+                Math.round(sum / n),
+                percentCount == 0 ? 0 : 100.0 * sumPercent / percentCount,
+                Math.round(absolute[(int) Math.ceil(0.5 * n) - 1]),
+                Math.round(absolute[(int) Math.ceil(0.9 * n) - 1]));
+    }
+
+    private static int countBefore(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int countAtOrBefore(long[] sorted, long value) {
+        return value == Long.MAX_VALUE ? sorted.length : countBefore(sorted, value + 1);
+    }
+
+    private static long epochMillis(OrderStatusChange change) {
+        return change.getOccurredAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * An order that went from PREPARING to READY
+     */
+    private static final class Sample {
+        private final Order order;
+        private final long start;
+        private final long ready;
+        private int load;
+
+        private Sample(Order order, long start, long ready) {
+            this.order = order;
+            this.start = start;
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * Back-test result
+     *
+     * @param orders the number of orders that went from PREPARING to READY
+     * @param learned the error of the learned estimator
+     * @param menu the error of the fixed menu table
+     */
+    public record Report(int orders, ErrorStats learned, ErrorStats menu) {
+    }
+
+    /**
+     * Estimation error; positive errors are overestimates
+     *
+     * @param meanAbsoluteErrorMillis mean absolute error
+     * @param rootMeanSquareErrorMillis root mean square error
+     * @param meanErrorMillis mean signed error (bias)
+     * @param meanAbsolutePercentError mean absolute error relative to the actual time, in percent
+     * @param medianAbsoluteErrorMillis median absolute error
+     * @param p90AbsoluteErrorMillis 90th percentile of the absolute error
+     */
+    public record ErrorStats(long meanAbsoluteErrorMillis, long rootMeanSquareErrorMillis, long meanErrorMillis,
+                             double meanAbsolutePercentError, long medianAbsoluteErrorMillis,
+                             long p90AbsoluteErrorMillis) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.bluemountain.coffee.infrastructure.service;
+
+import com.bluemountain.coffee.domain.event.BatchWindowExpiredEvent;
+import com.bluemountain.coffee.domain.event.DeliverySlaBreachedEvent;
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.service.DeliveryTimeoutScheduler;
+import com.bluemountain.coffee.infrastructure.timer.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivery timeout scheduler keeping every deadline in a hierarchical timing wheel.
+ *
+ * Scheduling and cancelling a deadline are O(1), so tracking every status
+ * change stays cheap with hundreds of thousands of deadlines pending. The
+ * wheel is advanced every coffee.timers.tick, which is also the precision
+ * of the deadlines; expired deadlines publish their domain events on the
+ * scheduling thread.
+ *
+ * The batch window runs BATCHING_TIME_WINDOW_MINUTES from when the order
+ * was placed, the same window DeliveryBatchServiceImpl batches within. The
+ * pickup SLA starts when a rider is assigned and the delivery SLA when the
+ * delivery is picked up; IN_TRANSIT does not restart it.
+ *
+ * Meters:
+ * - coffee.timers.pending: deadlines waiting in the wheel
+ * - coffee.delivery.deadline.expired{deadline}: expired batch-window, pickup and delivery deadlines
+ */
+@Service
+public class TimingWheelDeliveryTimeoutScheduler implements DeliveryTimeoutScheduler {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration batchWindow = Duration.ofMinutes(DeliveryBatchServiceImpl.BATCHING_TIME_WINDOW_MINUTES);
+    private final Duration pickupSla;
+    private final Duration deliverySla;
+    private final Clock clock;
+    private final HierarchicalTimingWheel wheel;
+
+    private final Map<OrderId, HierarchicalTimingWheel.Timeout> batchWindows = new ConcurrentHashMap<>();
+    private final Map<DeliveryId, Sla> slas = new ConcurrentHashMap<>();
+
+    private final Counter batchWindowsExpired;
+    private final Counter pickupSlasBreached;
+    private final Counter deliverySlasBreached;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param eventPublisher the event publisher
+     * @param registry the meter registry
+     * @param tick how often the wheel advances, the precision of the deadlines
+     * @param wheelSize the number of buckets per level of the wheel
+     * @param pickupSla the longest an ASSIGNED delivery may wait for pickup
+     * @param deliverySla the longest from pickup to delivery
+     */
+    @Autowired
+    public TimingWheelDeliveryTimeoutScheduler(ApplicationEventPublisher eventPublisher,
+                                               MeterRegistry registry,
+                                               @Value("${coffee.timers.tick:PT0.1S}") Duration tick,
+                                               @Value("${coffee.timers.wheel-size:512}") int wheelSize,
+                                               @Value("${coffee.delivery.pickup-sla:PT10M}") Duration pickupSla,
+                                               @Value("${coffee.delivery.delivery-sla:PT30M}") Duration deliverySla) {
+        this(eventPublisher, registry, tick, wheelSize, pickupSla, deliverySla, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor with an explicit clock
+     *
+     * @param eventPublisher the event publisher
+     * @param registry the meter registry
+     * @param tick the precision of the deadlines
+     * @param wheelSize the number of buckets per level of the wheel
+     * @param pickupSla the longest an ASSIGNED delivery may wait for pickup
+     * @param deliverySla the longest from pickup to delivery
+     * @param clock the clock
+     */
+    public TimingWheelDeliveryTimeoutScheduler(ApplicationEventPublisher eventPublisher, MeterRegistry registry,
+                                               Duration tick, int wheelSize, Duration pickupSla,
+                                               Duration deliverySla, Clock clock) {
+        this.eventPublisher = eventPublisher;
+        this.pickupSla = pickupSla;
+        this.deliverySla = deliverySla;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel(tick.toMillis(), wheelSize, clock.millis());
+
+        Gauge.builder("coffee.timers.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Deadlines waiting in the timing wheel")
+                .register(registry);
+        this.batchWindowsExpired = expired(registry, "batch-window");
+        this.pickupSlasBreached = expired(registry, "pickup");
+        this.deliverySlasBreached = expired(registry, "delivery");
+    }
+
+    @Override
+    public void track(Order order) {
+        if (order.getType() == OrderType.DELIVERY && order.getStatus() == OrderStatus.READY) {
+            long deadline = order.getCreatedAt().plus(batchWindow)
+                    .atZone(clock.getZone()).toInstant().toEpochMilli();
+            OrderId orderId = order.getId();
+            batchWindows.computeIfAbsent(orderId, id -> wheel.schedule(deadline, () -> expireBatchWindow(id)));
+        } else {
+            cancel(batchWindows.remove(order.getId()));
+        }
+    }
+
+    @Override
+    public void track(Delivery delivery) {
+        for (OrderId orderId : delivery.getOrderIds()) {
+            cancel(batchWindows.remove(orderId));
+        }
+
+        DeliveryStatus stage = stage(delivery.getStatus());
+        if (stage == null) {
+            Sla sla = slas.remove(delivery.getDeliveryId());
+            if (sla != null) {
+                cancel(sla.timeout());
+            }
+            return;
+        }
+
+        Duration limit = stage == DeliveryStatus.ASSIGNED ? pickupSla : deliverySla;
+        RiderInfo rider = delivery.getRiderInfo();
+        slas.compute(delivery.getDeliveryId(), (id, current) -> {
+            if (current != null && current.stage() == stage) {
+                return current;
+            }
+            if (current != null) {
+                cancel(current.timeout());
+            }
+            long deadline = clock.millis() + limit.toMillis();
+            return new Sla(stage, wheel.schedule(deadline, () -> breach(id, rider, stage, limit)));
+        });
+    }
+
+    @Override
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Fire every deadline that has passed
+     */
+    @Scheduled(fixedRateString = "${coffee.timers.tick:PT0.1S}")
+    public void tick() {
+        wheel.advanceTo(clock.millis());
+    }
+
+    private void expireBatchWindow(OrderId orderId) {
+        batchWindows.remove(orderId);
+        batchWindowsExpired.increment();
+        eventPublisher.publishEvent(new BatchWindowExpiredEvent(this, orderId));
+    }
+
+    private void breach(DeliveryId deliveryId, RiderInfo rider, DeliveryStatus stage, Duration limit) {
+        // Leave an SLA the delivery has moved on to since this one fired
+        slas.computeIfPresent(deliveryId, (id, current) -> current.stage() == stage ? null : current);
+        (stage == DeliveryStatus.ASSIGNED ? pickupSlasBreached : deliverySlasBreached).increment();
+        eventPublisher.publishEvent(new DeliverySlaBreachedEvent(this, deliveryId, rider, stage, limit));
+    }
+
+    /**
+     * The SLA a status runs under: ASSIGNED for pickup, PICKED_UP for delivery, or none
+     */
+    private static DeliveryStatus stage(DeliveryStatus status) {
+        switch (status) {
+            case ASSIGNED:
+                return DeliveryStatus.ASSIGNED;
+            case PICKED_UP:
+            case IN_TRANSIT:
+                return DeliveryStatus.PICKED_UP;
+            default:
+                return null;
+        }
+    }
+
+    private static void cancel(HierarchicalTimingWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static Counter expired(MeterRegistry registry, String deadline) {
+        return Counter.builder("coffee.delivery.deadline.expired")
+                .description("Delivery deadlines that passed before they were met")
+                .tag("deadline", deadline)
+                .register(registry);
+    }
+
+    private record Sla(DeliveryStatus stage, HierarchicalTimingWheel.Timeout timeout) {
+    }
+}
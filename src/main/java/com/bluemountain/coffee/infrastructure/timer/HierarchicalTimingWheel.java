@@ -0,0 +1,250 @@
+package com.bluemountain.coffee.infrastructure.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding many pending timers cheaply.
+ *
+ * Level 0 is a ring of wheelSize buckets, one per tick. Each level above
+ * has buckets as wide as the whole level below, so a few levels span
+ * months: with 100 ms ticks and 512 buckets, level 0 covers 51 seconds,
+ * level 1 seven hours and level 2 five months. A timer goes into the
+ * lowest level whose span reaches its deadline. A bucket is a doubly
+ * linked list, so both scheduling and cancelling are O(1) however many
+ * timers are pending.
+ *
+ * advanceTo() moves time forward tick by tick. It fires the timers of each
+ * level-0 bucket once its whole tick has passed, so a timer never fires
+ * early and at most one tick late. Whenever time reaches the start of a
+ * higher-level bucket, that bucket is cascaded: its timers are spread over
+ * the levels below.
+ *
+ * Time is in milliseconds of any clock, as long as the caller uses the same
+ * clock for deadlines and advanceTo(). All operations are thread-safe; tasks
+ * run on the thread calling advanceTo(), outside the wheel's lock.
+ */
+public class HierarchicalTimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private long currentTime;
+    private int pending;
+
+    /**
+     * Create a timing wheel
+     *
+     * @param tickMillis the width of a level-0 bucket, the precision of the timers
+     * @param wheelSize the number of buckets per level
+     * @param startMillis the current time
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("Wheel size must be at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = Math.floorDiv(startMillis, tickMillis) * tickMillis;
+        levels.add(new Level(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedule a task to run once the deadline has passed
+     *
+     * @param deadlineMillis when the task is due
+     * @param task the task to run
+     * @return a handle to cancel the timer
+     */
+    public synchronized Timeout schedule(long deadlineMillis, Runnable task) {
+        Timeout timeout = new Timeout(this, deadlineMillis, task);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    /**
+     * Fire every timer whose tick has fully passed by the given time
+     *
+     * @param nowMillis the current time
+     * @return the number of tasks run
+     */
+    public int advanceTo(long nowMillis) {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            while (nowMillis >= currentTime + tickMillis) {
+                // Every timer in the current level-0 bucket is due before the end of this tick
+                Bucket bucket = levels.get(0).bucket(currentTime);
+                for (Timeout timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                    expired.add(timeout);
+                }
+                currentTime += tickMillis;
+
+                // Spread higher-level buckets starting now over the levels below, top down
+                for (int level = levels.size() - 1; level > 0; level--) {
+                    Level higher = levels.get(level);
+                    if (currentTime % higher.tick == 0) {
+                        Bucket cascading = higher.bucket(currentTime);
+                        for (Timeout timeout = cascading.poll(); timeout != null; timeout = cascading.poll()) {
+                            place(timeout);
+                        }
+                    }
+                }
+            }
+            pending -= expired.size();
+        }
+
+        for (Timeout timeout : expired) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                logger.error("Timer task due at {} failed", timeout.deadline, e);
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * Get the number of timers that have neither fired nor been cancelled
+     *
+     * @return the pending timers
+     */
+    public synchronized int size() {
+        return pending;
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        pending--;
+        return true;
+    }
+
+    /**
+     * Put a timer into the lowest level whose span reaches its deadline
+     */
+    private void place(Timeout timeout) {
+        long deadline = Math.max(timeout.deadline, currentTime);
+        for (int index = 0; ; index++) {
+            if (index == levels.size()) {
+                long tick = levels.get(index - 1).span();
+                if (tick > Long.MAX_VALUE / wheelSize) {
+                    throw new IllegalArgumentException("Deadline too far ahead: " + timeout.deadline);
+                }
+                levels.add(new Level(tick, wheelSize));
+            }
+            Level level = levels.get(index);
+            if (deadline - Math.floorDiv(currentTime, level.tick) * level.tick < level.span()) {
+                level.bucket(deadline).add(timeout);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled timer
+     */
+    public static final class Timeout {
+        private final HierarchicalTimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(HierarchicalTimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Get when the timer is due
+         *
+         * @return the deadline in milliseconds
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Cancel the timer
+         *
+         * @return true if the timer was pending, false if it had fired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    /**
+     * One ring of buckets, each tick milliseconds wide
+     */
+    private static final class Level {
+        private final long tick;
+        private final Bucket[] buckets;
+
+        Level(long tick, int wheelSize) {
+            this.tick = tick;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        long span() {
+            return tick * buckets.length;
+        }
+
+        Bucket bucket(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tick), (long) buckets.length)];
+        }
+    }
+
+    /**
+     * Doubly linked list of the timers in one bucket, with a sentinel head
+     */
+    private static final class Bucket {
+        private final Timeout head = new Timeout(null, 0, null);
+
+        Bucket() {
+            head.previous = head;
+            head.next = head;
+        }
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = head.previous;
+            timeout.next = head;
+            head.previous.next = timeout;
+            head.previous = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            timeout.previous.next = timeout.next;
+            timeout.next.previous = timeout.previous;
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        Timeout poll() {
+            Timeout first = head.next;
+            if (first == head) {
+                return null;
+            }
+            remove(first);
+            return first;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bluemountain.coffee.infrastructure.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the most recently finished spans in memory.
+ *
+ * Registered as a Brave SpanHandler, so every finished span is handed to
+ * this collector instead of being sent to an external tracing system. The
+ * buffer is bounded: when it is full the oldest span is dropped. TracesEndpoint
+ * reads it to find slow requests offline.
+ */
+@Component
+public class InMemorySpanCollector extends SpanHandler {
+
+    private final Deque<CollectedSpan> spans = new ArrayDeque<>();
+    private final int maxSpans;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param maxSpans the maximum number of spans to keep
+     */
+    public InMemorySpanCollector(@Value("${coffee.tracing.collector.max-spans:10000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        CollectedSpan collected = new CollectedSpan(
+                context.traceIdString(),
+                context.spanIdString(),
+                context.parentIdString(),
+                span.name(),
+                span.startTimestamp(),
+                span.finishTimestamp() - span.startTimestamp(),
+                span.error() != null || span.tag("error") != null,
+                tags(span));
+        synchronized (spans) {
+            if (spans.size() >= maxSpans) {
+                spans.removeFirst();
+            }
+            spans.addLast(collected);
+        }
+        return true;
+    }
+
+    /**
+     * Get a copy of the collected spans, oldest first
+     *
+     * @return the spans
+     */
+    public List<CollectedSpan> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    private static Map<String, String> tags(MutableSpan span) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        return tags;
+    }
+
+    /**
+     * A finished span; timestamps and durations are in microseconds
+     */
+    public record CollectedSpan(String traceId, String spanId, String parentId, String name,
+                                long startMicros, long durationMicros, boolean error,
+                                Map<String, String> tags) {
+    }
+}
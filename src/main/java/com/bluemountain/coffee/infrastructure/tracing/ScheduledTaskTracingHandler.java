@@ -0,0 +1,63 @@
+package com.bluemountain.coffee.infrastructure.tracing;
+
+import brave.sampler.SamplerFunctions;
+import io.micrometer.observation.Observation;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveSpan;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+
+/**
+ * Keeps the runs of @Scheduled tasks out of the collected traces.
+ *
+ * Spring opens an observation for every scheduled run: the timing wheel
+ * ticks every 100 ms and the rider dispatcher runs every 0.5 s, so with
+ * every trace sampled these runs push the requests out of
+ * InMemorySpanCollector within minutes. Rejecting the observation is not
+ * enough, because the @Observed services a task calls would then start
+ * traces of their own.
+ *
+ * Instead the root span of a scheduled run is started unsampled. Every span
+ * below it inherits that decision, so none of them reaches a SpanHandler,
+ * while the trace context is still propagated as usual. The durations of
+ * scheduled work are recorded by their meters.
+ */
+public class ScheduledTaskTracingHandler implements TracingObservationHandler<ScheduledTaskObservationContext> {
+
+    private final Tracer tracer;
+    private final brave.Tracer braveTracer;
+
+    /**
+     * Create a handler
+     *
+     * @param tracer the tracer
+     * @param braveTracer the Brave tracer behind it
+     */
+    public ScheduledTaskTracingHandler(Tracer tracer, brave.Tracer braveTracer) {
+        this.tracer = tracer;
+        this.braveTracer = braveTracer;
+    }
+
+    @Override
+    public void onStart(ScheduledTaskObservationContext context) {
+        brave.Span root = braveTracer.nextSpanWithParent(SamplerFunctions.neverSample(), context, null);
+        Span span = BraveSpan.fromBrave(root).name(getSpanName(context)).start();
+        getTracingContext(context).setSpan(span);
+    }
+
+    @Override
+    public void onStop(ScheduledTaskObservationContext context) {
+        endSpan(context, getRequiredSpan(context));
+    }
+
+    @Override
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ScheduledTaskObservationContext;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bluemountain.coffee.infrastructure.tracing;
+
+import com.bluemountain.coffee.infrastructure.tracing.InMemorySpanCollector.CollectedSpan;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint over the spans kept by InMemorySpanCollector.
+ *
+ * - GET /actuator/traces?minDurationMs=50&limit=20 lists traces, slowest first
+ * - GET /actuator/traces/{traceId} returns all spans of one trace in start order
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final InMemorySpanCollector collector;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param collector the span collector
+     */
+    public TracesEndpoint(InMemorySpanCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * List collected traces, slowest first
+     *
+     * @param minDurationMs only traces at least this long (optional)
+     * @param limit maximum number of traces to return (optional, default 20)
+     * @return trace summaries
+     */
+    @ReadOperation
+    public List<TraceSummary> traces(@Nullable Long minDurationMs, @Nullable Integer limit) {
+        long minDurationMicros = minDurationMs == null ? 0 : TimeUnit.MILLISECONDS.toMicros(minDurationMs);
+
+        Map<String, List<CollectedSpan>> byTrace = collector.getSpans().stream()
+                .collect(Collectors.groupingBy(CollectedSpan::traceId, LinkedHashMap::new, Collectors.toList()));
+
+        return byTrace.entrySet().stream()
+                .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                .filter(summary -> summary.durationMicros() >= minDurationMicros)
+                .sorted(Comparator.comparingLong(TraceSummary::durationMicros).reversed())
+                .limit(limit == null ? DEFAULT_LIMIT : limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get all spans of one trace
+     *
+     * @param traceId the trace ID
+     * @return the spans, in start order
+     */
+    @ReadOperation
+    public List<CollectedSpan> trace(@Selector String traceId) {
+        return collector.getSpans().stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted(Comparator.comparingLong(CollectedSpan::startMicros))
+                .collect(Collectors.toList());
+    }
+
+    private static TraceSummary summarize(String traceId, List<CollectedSpan> spans) {
+        long start = spans.stream().mapToLong(CollectedSpan::startMicros).min().orElse(0);
+        long end = spans.stream().mapToLong(span -> span.startMicros() + span.durationMicros()).max().orElse(0);
+        String name = spans.stream()
+                .filter(span -> span.parentId() == null)
+                .map(CollectedSpan::name)
+                .findFirst()
+                .orElse(spans.get(0).name());
+        boolean error = spans.stream().anyMatch(CollectedSpan::error);
+        return new TraceSummary(traceId, name, start, end - start, spans.size(), error);
+    }
+
+    /**
+     * One trace: its root span name, total duration (microseconds) and span count
+     */
+    public record TraceSummary(String traceId, String name, long startMicros, long durationMicros,
+                               int spanCount, boolean error) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.bluemountain.coffee.infrastructure.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Wiring for request-level tracing.
+ *
+ * Spring Boot already opens a span for every HTTP request. This configuration
+ * adds child spans and keeps them in the same trace:
+ * - ObservedAspect turns every @Observed method (application services, event
+ *   listeners, delivery batching, notifications) into a span
+ * - The TaskDecorator copies the trace context (and MDC) into tasks submitted
+ *   to Spring's task executors, so work handed to another thread stays in the
+ *   trace of the request that started it
+ *
+ * Event listeners run in the publishing thread, so they join the trace
+ * without extra propagation. Runs of @Scheduled tasks are not collected, see
+ * ScheduledTaskTracingHandler.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Ordered before Spring Boot's tracing handler, which would otherwise
+     * claim the scheduled task observations
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ScheduledTaskTracingHandler scheduledTaskTracingHandler(Tracer tracer, brave.Tracer braveTracer) {
+        return new ScheduledTaskTracingHandler(tracer, braveTracer);
+    }
+}
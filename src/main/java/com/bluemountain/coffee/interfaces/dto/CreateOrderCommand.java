@@ -40,6 +40,8 @@ public class CreateOrderCommand {
     private String city;
     private String postalCode;
     private String country;
+    private Double latitude;
+    private Double longitude;
     
     /**
      * Default constructor for JSON deserialization
@@ -172,4 +174,40 @@ public class CreateOrderCommand {
     public void setCountry(String country) {
         this.country = country;
     }
+    
+    /**
+     * Get the latitude of the delivery address (optional, used to sequence delivery stops)
+     * 
+     * @return latitude, or null if not geocoded
+     */
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    /**
+     * Set the latitude of the delivery address
+     * 
+     * @param latitude the latitude in degrees
+     */
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    /**
+     * Get the longitude of the delivery address (optional, used to sequence delivery stops)
+     * 
+     * @return longitude, or null if not geocoded
+     */
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    /**
+     * Set the longitude of the delivery address
+     * 
+     * @param longitude the longitude in degrees
+     */
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
 }
@@ -9,6 +9,7 @@ import java.util.Objects;
 /**
  * Data Transfer Object for Delivery.
  * Used for transferring delivery data between layers.
+ * Items are listed in the order the rider visits them.
  */
 public class DeliveryDTO {
     private String deliveryId;
@@ -19,6 +20,7 @@ public class DeliveryDTO {
     private LocalDateTime deliveryTime;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Double routeDistanceMeters;
 
     public DeliveryDTO() {
     }
@@ -100,6 +102,17 @@ public class DeliveryDTO {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Get the length of the planned route, or null if no route was planned
+     */
+    public Double getRouteDistanceMeters() {
+        return routeDistanceMeters;
+    }
+
+    public void setRouteDistanceMeters(Double routeDistanceMeters) {
+        this.routeDistanceMeters = routeDistanceMeters;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
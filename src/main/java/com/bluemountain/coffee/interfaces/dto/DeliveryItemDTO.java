@@ -16,6 +16,7 @@ public class DeliveryItemDTO {
     private List<String> productNames;
     private int itemCount;
     private DeliveryItemStatus itemStatus;
+    private int stopNumber;
 
     public DeliveryItemDTO() {
     }
@@ -78,6 +79,17 @@ public class DeliveryItemDTO {
         this.itemStatus = itemStatus;
     }
 
+    /**
+     * Get the 1-based position of this order on the rider's route
+     */
+    public int getStopNumber() {
+        return stopNumber;
+    }
+
+    public void setStopNumber(int stopNumber) {
+        this.stopNumber = stopNumber;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -98,6 +110,7 @@ public class DeliveryItemDTO {
                 ", customerName='" + customerName + '\'' +
                 ", itemCount=" + itemCount +
                 ", itemStatus=" + itemStatus +
+                ", stopNumber=" + stopNumber +
                 '}';
     }
 }
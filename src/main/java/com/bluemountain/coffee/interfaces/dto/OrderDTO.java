@@ -30,6 +30,7 @@ public class OrderDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private AddressDTO address;
+    private List<StatusChangeDTO> statusHistory;
     
     /**
      * Default constructor for JSON deserialization
@@ -199,6 +200,24 @@ public class OrderDTO {
         this.address = address;
     }
     
+    /**
+     * Get the status history (every transition with its timestamp)
+     * 
+     * @return statusHistory
+     */
+    public List<StatusChangeDTO> getStatusHistory() {
+        return statusHistory;
+    }
+    
+    /**
+     * Set the status history
+     * 
+     * @param statusHistory the status history
+     */
+    public void setStatusHistory(List<StatusChangeDTO> statusHistory) {
+        this.statusHistory = statusHistory;
+    }
+    
     /**
      * Nested DTO for address information
      */
@@ -207,6 +226,8 @@ public class OrderDTO {
         private String city;
         private String postalCode;
         private String country;
+        private Double latitude;
+        private Double longitude;
         
         /**
          * Default constructor
@@ -224,6 +245,16 @@ public class OrderDTO {
             this.country = country;
         }
         
+        /**
+         * Constructor with all fields and a geocoded location
+         */
+        public AddressDTO(String street, String city, String postalCode, String country,
+                          Double latitude, Double longitude) {
+            this(street, city, postalCode, country);
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+        
         public String getStreet() {
             return street;
         }
@@ -255,5 +286,59 @@ public class OrderDTO {
         public void setCountry(String country) {
             this.country = country;
         }
+        
+        public Double getLatitude() {
+            return latitude;
+        }
+        
+        public void setLatitude(Double latitude) {
+            this.latitude = latitude;
+        }
+        
+        public Double getLongitude() {
+            return longitude;
+        }
+        
+        public void setLongitude(Double longitude) {
+            this.longitude = longitude;
+        }
+    }
+    
+    /**
+     * Nested DTO for a single status transition
+     */
+    public static class StatusChangeDTO {
+        private String status;
+        private LocalDateTime occurredAt;
+        
+        /**
+         * Default constructor
+         */
+        public StatusChangeDTO() {
+        }
+        
+        /**
+         * Constructor with all fields
+         */
+        public StatusChangeDTO(String status, LocalDateTime occurredAt) {
+            this.status = status;
+            this.occurredAt = occurredAt;
+        }
+        
+        public String getStatus() {
+            return status;
+        }
+        
+        public void setStatus(String status) {
+            this.status = status;
+        }
+        
+        public LocalDateTime getOccurredAt() {
+            return occurredAt;
+        }
+        
+        public void setOccurredAt(LocalDateTime occurredAt) {
+            this.occurredAt = occurredAt;
+        }
     }
 }
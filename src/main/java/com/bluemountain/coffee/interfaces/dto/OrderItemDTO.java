@@ -19,6 +19,7 @@ import java.math.BigDecimal;
  */
 public class OrderItemDTO {
     
+    private Integer productId;
     private String productName;
     private int quantity;
     private BigDecimal unitPrice;
@@ -33,18 +34,41 @@ public class OrderItemDTO {
     /**
      * Constructor with all fields
      * 
+     * @param productId the catalog product ID, or null for items not from the catalog
      * @param productName the name of the product
      * @param quantity the quantity ordered
      * @param unitPrice the price per unit
      * @param totalPrice the total price (quantity * unitPrice)
      */
-    public OrderItemDTO(String productName, int quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+    public OrderItemDTO(Integer productId, String productName, int quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.productId = productId;
         this.productName = productName;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
         this.totalPrice = totalPrice;
     }
     
+    /**
+     * Get the catalog product ID
+     * 
+     * When placing an order, the product is looked up by this ID if given,
+     * otherwise by name.
+     * 
+     * @return productId, or null
+     */
+    public Integer getProductId() {
+        return productId;
+    }
+    
+    /**
+     * Set the catalog product ID
+     * 
+     * @param productId the catalog product ID
+     */
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+    
     /**
      * Get the product name
      * 
@@ -84,6 +108,8 @@ public class OrderItemDTO {
     /**
      * Get the unit price
      * 
+     * Prices sent when placing an order are ignored; the catalog price is used.
+     * 
      * @return unitPrice
      */
     public BigDecimal getUnitPrice() {
@@ -0,0 +1,88 @@
+package com.bluemountain.coffee.interfaces.dto;
+
+/**
+ * Data Transfer Object for the outcome of one order in a bulk platform intake.
+ *
+ * Each command in a bulk request gets its own result, so a platform can see
+ * which orders were accepted and retry only the failed ones.
+ */
+public class PlatformOrderResult {
+    private int index;
+    private boolean success;
+    private OrderDTO order;
+    private String error;
+
+    public PlatformOrderResult() {
+    }
+
+    /**
+     * Create a result for an accepted order
+     *
+     * @param index position of the command in the request
+     * @param order the created order
+     * @return the result
+     */
+    public static PlatformOrderResult success(int index, OrderDTO order) {
+        PlatformOrderResult result = new PlatformOrderResult();
+        result.index = index;
+        result.success = true;
+        result.order = order;
+        return result;
+    }
+
+    /**
+     * Create a result for a rejected order
+     *
+     * @param index position of the command in the request
+     * @param error why the order was rejected
+     * @return the result
+     */
+    public static PlatformOrderResult failure(int index, String error) {
+        PlatformOrderResult result = new PlatformOrderResult();
+        result.index = index;
+        result.success = false;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderDTO order) {
+        this.order = order;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "PlatformOrderResult{" +
+                "index=" + index +
+                ", success=" + success +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.bluemountain.coffee.interfaces.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a product on the menu.
+ * Items of an order can refer to it by productId.
+ */
+public class ProductDTO {
+    private int productId;
+    private String productName;
+    private BigDecimal price;
+
+    public ProductDTO() {
+    }
+
+    public ProductDTO(int productId, String productName, BigDecimal price) {
+        this.productId = productId;
+        this.productName = productName;
+        this.price = price;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,122 @@
+package com.bluemountain.coffee.interfaces.dto;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for a rider's details, location and availability.
+ * Used to register riders and to report where they are.
+ */
+public class RiderDTO {
+    private String riderId;
+    private String riderName;
+    private String phoneNumber;
+    private String vehicleType;
+    private double latitude;
+    private double longitude;
+    private String status;
+    private LocalDateTime updatedAt;
+
+    public RiderDTO() {
+    }
+
+    public RiderDTO(String riderId, String riderName, String phoneNumber, String vehicleType,
+                    double latitude, double longitude, String status, LocalDateTime updatedAt) {
+        this.riderId = riderId;
+        this.riderName = riderName;
+        this.phoneNumber = phoneNumber;
+        this.vehicleType = vehicleType;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getRiderId() {
+        return riderId;
+    }
+
+    public void setRiderId(String riderId) {
+        this.riderId = riderId;
+    }
+
+    public String getRiderName() {
+        return riderName;
+    }
+
+    public void setRiderName(String riderName) {
+        this.riderName = riderName;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getVehicleType() {
+        return vehicleType;
+    }
+
+    public void setVehicleType(String vehicleType) {
+        this.vehicleType = vehicleType;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RiderDTO that = (RiderDTO) o;
+        return Objects.equals(riderId, that.riderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(riderId);
+    }
+
+    @Override
+    public String toString() {
+        return "RiderDTO{" +
+                "riderId='" + riderId + '\'' +
+                ", riderName='" + riderName + '\'' +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
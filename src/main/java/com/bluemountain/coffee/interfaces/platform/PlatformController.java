@@ -1,15 +1,20 @@
 package com.bluemountain.coffee.interfaces.platform;
 
 import com.bluemountain.coffee.application.OrderAppService;
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyKeyReusedException;
 import com.bluemountain.coffee.interfaces.dto.CreateOrderCommand;
 import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import com.bluemountain.coffee.interfaces.dto.PlatformOrderResult;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for external delivery platform callbacks.
  * 
@@ -27,6 +32,7 @@ import org.springframework.web.bind.annotation.*;
  * 
  * REST API Endpoints:
  * - POST /api/platform/orders - Create order from platform
+ * - POST /api/platform/orders/batch - Create many orders from platform in one call
  * - POST /api/platform/orders/{id}/ready - Notify platform that order is ready
  * - POST /api/platform/orders/{id}/complete - Notify platform that order is completed
  */
@@ -37,14 +43,18 @@ public class PlatformController {
     private static final Logger logger = LoggerFactory.getLogger(PlatformController.class);
     
     private final OrderAppService orderAppService;
+    private final int maxBatchSize;
     
     /**
      * Constructor with dependency injection
      * 
      * @param orderAppService the order application service
+     * @param maxBatchSize the maximum number of orders accepted in one bulk call
      */
-    public PlatformController(OrderAppService orderAppService) {
+    public PlatformController(OrderAppService orderAppService,
+                              @Value("${coffee.platform.batch.max-size:500}") int maxBatchSize) {
         this.orderAppService = orderAppService;
+        this.maxBatchSize = maxBatchSize;
     }
     
     /**
@@ -53,20 +63,59 @@ public class PlatformController {
      * POST /api/platform/orders
      * 
      * This endpoint is called by external delivery platforms when a customer
-     * places an order through their app.
+     * places an order through their app. Platforms retry on timeouts; when they
+     * send an Idempotency-Key header, a retry returns the original order instead
+     * of creating and charging a new one. A key sent again with a different
+     * order is rejected.
      * 
      * @param command the create order command from the platform
-     * @return the created order DTO with HTTP 201 status
+     * @param idempotencyKey optional key identifying retries of the same order
+     * @return the created order DTO with HTTP 201 status, or HTTP 422 if the key was used for another order
      */
     @PostMapping("/orders")
-    public ResponseEntity<OrderDTO> createPlatformOrder(@Valid @RequestBody CreateOrderCommand command) {
+    public ResponseEntity<OrderDTO> createPlatformOrder(
+            @Valid @RequestBody CreateOrderCommand command,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         logger.info("Received order from platform for customer: {}", command.getCustomerName());
         
-        OrderDTO order = orderAppService.placeOrder(command);
+        OrderDTO order;
+        try {
+            order = idempotencyKey == null || idempotencyKey.isBlank()
+                    ? orderAppService.placeOrder(command)
+                    : orderAppService.placeOrder(command, idempotencyKey);
+        } catch (IdempotencyKeyReusedException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.unprocessableEntity().build();
+        }
         
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
     
+    /**
+     * Create a batch of orders from external platform
+     * 
+     * POST /api/platform/orders/batch
+     * 
+     * Used by aggregator platforms at peak times to push many orders in a
+     * single call. Each order gets its own result, so one invalid order does
+     * not reject the whole batch.
+     * 
+     * @param commands the create order commands from the platform
+     * @return one result per command with HTTP 200 status, or HTTP 400 if the batch is too large
+     */
+    @PostMapping("/orders/batch")
+    public ResponseEntity<List<PlatformOrderResult>> createPlatformOrders(@RequestBody List<CreateOrderCommand> commands) {
+        logger.info("Received batch of {} orders from platform", commands.size());
+        
+        if (commands.isEmpty() || commands.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<PlatformOrderResult> results = orderAppService.placeOrders(commands);
+        
+        return ResponseEntity.ok(results);
+    }
+    
     /**
      * Notify platform that coffee is ready
      * 
@@ -0,0 +1,83 @@
+package com.bluemountain.coffee.interfaces.web;
+
+import com.bluemountain.coffee.application.SalesAggregator;
+import com.bluemountain.coffee.application.SalesSketches;
+import com.bluemountain.coffee.domain.model.valobj.DistinctCustomers;
+import com.bluemountain.coffee.domain.model.valobj.SalesReport;
+import com.bluemountain.coffee.domain.model.valobj.TopProducts;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for sales analytics.
+ *
+ * Design Pattern: Controller Pattern (MVC)
+ * Serves the streaming sales aggregates without reading the order store.
+ *
+ * REST API Endpoints:
+ * - GET /api/analytics/sales - Revenue, orders and average ticket per order type
+ *   over the tumbling and sliding minute, hour and day
+ * - GET /api/analytics/products/top - Estimated best sellers of the last hour or today
+ * - GET /api/analytics/customers/distinct - Estimated distinct customers of the last hour or today
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final SalesAggregator salesAggregator;
+    private final SalesSketches salesSketches;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param salesAggregator the sales aggregator
+     * @param salesSketches the product and customer sketches
+     */
+    public AnalyticsController(SalesAggregator salesAggregator, SalesSketches salesSketches) {
+        this.salesAggregator = salesAggregator;
+        this.salesSketches = salesSketches;
+    }
+
+    /**
+     * Get the sales of the recent minute, hour and day
+     *
+     * @return the sales report
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReport> getSales() {
+        return ResponseEntity.ok(salesAggregator.report());
+    }
+
+    /**
+     * Get the best selling products
+     *
+     * @param window hour for the last 60 minutes, day for today
+     * @param limit the most products to list
+     * @return the estimated best sellers, or 400 for an unknown window or a limit below one
+     */
+    @GetMapping("/products/top")
+    public ResponseEntity<TopProducts> getTopProducts(@RequestParam(defaultValue = "hour") String window,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(salesSketches.topProducts(window, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get the number of different customers who ordered
+     *
+     * @param window hour for the last 60 minutes, day for today
+     * @return the estimated distinct customers, or 400 for an unknown window
+     */
+    @GetMapping("/customers/distinct")
+    public ResponseEntity<DistinctCustomers> getDistinctCustomers(@RequestParam(defaultValue = "day") String window) {
+        try {
+            return ResponseEntity.ok(salesSketches.distinctCustomers(window));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.bluemountain.coffee.interfaces.web;
 
 import com.bluemountain.coffee.application.DeliveryAppService;
 import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryLatencyReport;
 import com.bluemountain.coffee.interfaces.dto.DeliveryDTO;
 import com.bluemountain.coffee.interfaces.dto.RiderInfoDTO;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -161,14 +163,16 @@ public class DeliveryController {
     /**
      * Find delivery by ID
      * 
+     * The delivery is written as pre-serialized JSON bytes, cached per delivery status.
+     * 
      * @param deliveryId delivery ID
      * @return delivery
      */
     @GetMapping("/{deliveryId}")
-    public ResponseEntity<DeliveryDTO> findById(@PathVariable String deliveryId) {
+    public ResponseEntity<byte[]> findById(@PathVariable String deliveryId) {
         try {
-            DeliveryDTO delivery = deliveryAppService.findById(deliveryId);
-            return ResponseEntity.ok(delivery);
+            byte[] delivery = deliveryAppService.findByIdJson(deliveryId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(delivery);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -237,6 +241,28 @@ public class DeliveryController {
         return ResponseEntity.ok(deliveries);
     }
     
+    /**
+     * Get delivery latency percentiles: wait for pickup and pickup to delivered
+     * 
+     * @param from start of the window, 24 hours before the end by default
+     * @param to end of the window, now by default
+     * @param groupBy all, rider or zone
+     * @return p50, p95 and p99 per group, or 400 for an empty window or unknown groupBy
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<DeliveryLatencyReport> getDeliveryLatency(
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to,
+            @RequestParam(defaultValue = "all") String groupBy) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        try {
+            return ResponseEntity.ok(deliveryAppService.getDeliveryLatency(start, end, groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Find all deliveries
      * 
@@ -0,0 +1,66 @@
+package com.bluemountain.coffee.interfaces.web;
+
+import com.bluemountain.coffee.application.OrderAppService;
+import com.bluemountain.coffee.domain.model.valobj.KitchenSnapshot;
+import com.bluemountain.coffee.infrastructure.service.PreparationTimeBacktest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the kitchen.
+ *
+ * Design Pattern: Controller Pattern (MVC)
+ * Shows the bar the way the baristas see it.
+ *
+ * REST API Endpoints:
+ * - GET /api/kitchen - Barista stations, their current orders and the waiting queue
+ * - GET /api/kitchen/orders/{orderId} - An order's kitchen ticket and estimated ready time
+ * - GET /api/kitchen/estimator/backtest - Estimation error of the preparation time model
+ */
+@RestController
+@RequestMapping("/api/kitchen")
+@CrossOrigin(origins = "*")
+public class KitchenController {
+
+    private final OrderAppService orderAppService;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param orderAppService the order application service
+     */
+    public KitchenController(OrderAppService orderAppService) {
+        this.orderAppService = orderAppService;
+    }
+
+    /**
+     * Get the barista stations and the orders waiting for them
+     *
+     * @return a snapshot of the kitchen
+     */
+    @GetMapping
+    public ResponseEntity<KitchenSnapshot> getKitchen() {
+        return ResponseEntity.ok(orderAppService.getKitchen());
+    }
+
+    /**
+     * Get an order's kitchen ticket, including its estimated ready time
+     *
+     * @param orderId the order ID
+     * @return the ticket, or 404 if the order is not being prepared
+     */
+    @GetMapping("/orders/{orderId}")
+    public ResponseEntity<KitchenSnapshot.Ticket> getKitchenTicket(@PathVariable String orderId) {
+        return ResponseEntity.of(orderAppService.getKitchenTicket(orderId));
+    }
+
+    /**
+     * Replay all stored orders through the preparation time estimator
+     *
+     * @return the estimation error of the learned model and the menu baseline
+     */
+    @GetMapping("/estimator/backtest")
+    public ResponseEntity<PreparationTimeBacktest.Report> backtestPreparationTimes() {
+        return ResponseEntity.ok(orderAppService.backtestPreparationTimes());
+    }
+}
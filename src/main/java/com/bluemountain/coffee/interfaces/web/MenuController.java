@@ -0,0 +1,47 @@
+package com.bluemountain.coffee.interfaces.web;
+
+import com.bluemountain.coffee.domain.service.ProductCatalog;
+import com.bluemountain.coffee.interfaces.dto.ProductDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for the menu.
+ *
+ * Design Pattern: Controller Pattern (MVC)
+ * Lists the products orders can contain, with the prices they are charged at.
+ *
+ * REST API Endpoints:
+ * - GET /api/menu - All products by ID
+ */
+@RestController
+@RequestMapping("/api/menu")
+@CrossOrigin(origins = "*")
+public class MenuController {
+
+    private final ProductCatalog productCatalog;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param productCatalog the product catalog
+     */
+    public MenuController(ProductCatalog productCatalog) {
+        this.productCatalog = productCatalog;
+    }
+
+    /**
+     * Get the menu
+     *
+     * @return all products
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductDTO>> getMenu() {
+        return ResponseEntity.ok(productCatalog.getProducts().stream()
+                .map(product -> new ProductDTO(product.getId(), product.getName(), product.getPrice().getAmount()))
+                .collect(Collectors.toList()));
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -76,16 +77,18 @@ public class OrderController {
      * 
      * GET /api/orders/{id}
      * 
+     * The order is written as pre-serialized JSON bytes, cached per order version.
+     * 
      * @param id the order ID
-     * @return the order DTO with HTTP 200 status
+     * @return the order JSON with HTTP 200 status
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDTO> getOrder(@PathVariable String id) {
+    public ResponseEntity<byte[]> getOrder(@PathVariable String id) {
         logger.debug("Getting order with ID: {}", id);
         
-        OrderDTO order = orderAppService.getOrder(id);
+        byte[] order = orderAppService.getOrderJson(id);
         
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(order);
     }
     
     /**
@@ -0,0 +1,66 @@
+package com.bluemountain.coffee.interfaces.web;
+
+import com.bluemountain.coffee.application.PricingRuleService;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for pricing rules.
+ *
+ * Design Pattern: Controller Pattern (MVC)
+ * Shows and replaces the rules each order type is priced by, without a restart.
+ *
+ * REST API Endpoints:
+ * - GET /api/pricing/rules/{orderType} - The rules of DINE_IN or DELIVERY orders
+ * - PUT /api/pricing/rules/{orderType} - Replace them, e.g. ["fee:packaging:2.00", "happy-hour:1400-1600:20"]
+ */
+@RestController
+@RequestMapping("/api/pricing/rules")
+@CrossOrigin(origins = "*")
+public class PricingController {
+
+    private final PricingRuleService pricingRuleService;
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param pricingRuleService the pricing rule service
+     */
+    public PricingController(PricingRuleService pricingRuleService) {
+        this.pricingRuleService = pricingRuleService;
+    }
+
+    /**
+     * Get the rules of an order type
+     *
+     * @param orderType DINE_IN or DELIVERY
+     * @return the rules, or 400 for an unknown order type
+     */
+    @GetMapping("/{orderType}")
+    public ResponseEntity<List<String>> getRules(@PathVariable String orderType) {
+        try {
+            return ResponseEntity.ok(pricingRuleService.getRules(OrderType.valueOf(orderType.toUpperCase())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Replace the rules of an order type
+     *
+     * @param orderType DINE_IN or DELIVERY
+     * @param rules the new rules
+     * @return the installed rules, or 400 for an unknown order type or invalid rules
+     */
+    @PutMapping("/{orderType}")
+    public ResponseEntity<List<String>> replaceRules(@PathVariable String orderType, @RequestBody List<String> rules) {
+        try {
+            return ResponseEntity.ok(pricingRuleService.replaceRules(OrderType.valueOf(orderType.toUpperCase()), rules));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
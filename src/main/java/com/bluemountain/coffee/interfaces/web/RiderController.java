@@ -0,0 +1,107 @@
+package com.bluemountain.coffee.interfaces.web;
+
+import com.bluemountain.coffee.application.RiderAppService;
+import com.bluemountain.coffee.interfaces.dto.RiderDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for riders.
+ *
+ * Design Patterns:
+ * - REST API: Exposes rider operations via HTTP endpoints
+ * - DTO Pattern: Uses DTOs for request/response
+ *
+ * REST API Endpoints:
+ * - POST /api/riders - Register a rider (or come back on shift) at a location
+ * - PUT /api/riders/{riderId}/location - Report a rider's location
+ * - POST /api/riders/{riderId}/offline - Take a rider off shift
+ * - GET /api/riders/{riderId} - Get a rider
+ * - GET /api/riders - Get all riders
+ */
+@RestController
+@RequestMapping("/api/riders")
+@CrossOrigin(origins = "*")
+public class RiderController {
+
+    private final RiderAppService riderAppService;
+
+    public RiderController(RiderAppService riderAppService) {
+        this.riderAppService = riderAppService;
+    }
+
+    /**
+     * Register a rider as available
+     *
+     * @param riderDTO rider details and location
+     * @return registered rider
+     */
+    @PostMapping
+    public ResponseEntity<RiderDTO> register(@RequestBody RiderDTO riderDTO) {
+        try {
+            return ResponseEntity.ok(riderAppService.register(riderDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Report a rider's location
+     *
+     * @param riderId rider ID
+     * @param location the new location (latitude and longitude)
+     * @return updated rider
+     */
+    @PutMapping("/{riderId}/location")
+    public ResponseEntity<RiderDTO> updateLocation(@PathVariable String riderId,
+                                                   @RequestBody RiderDTO location) {
+        try {
+            return ResponseEntity.ok(riderAppService.updateLocation(
+                    riderId, location.getLatitude(), location.getLongitude()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Take a rider off shift
+     *
+     * @param riderId rider ID
+     * @return updated rider
+     */
+    @PostMapping("/{riderId}/offline")
+    public ResponseEntity<RiderDTO> goOffline(@PathVariable String riderId) {
+        try {
+            return ResponseEntity.ok(riderAppService.goOffline(riderId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get a rider
+     *
+     * @param riderId rider ID
+     * @return rider
+     */
+    @GetMapping("/{riderId}")
+    public ResponseEntity<RiderDTO> getRider(@PathVariable String riderId) {
+        try {
+            return ResponseEntity.ok(riderAppService.findById(riderId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get all riders
+     *
+     * @return list of riders
+     */
+    @GetMapping
+    public ResponseEntity<List<RiderDTO>> getAllRiders() {
+        return ResponseEntity.ok(riderAppService.findAll());
+    }
+}
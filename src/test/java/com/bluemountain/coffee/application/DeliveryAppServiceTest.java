@@ -0,0 +1,144 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.enums.RiderStatus;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.infrastructure.metrics.OrderLifecycleMetrics;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.service.DeliveryBatchServiceImpl;
+import com.bluemountain.coffee.infrastructure.service.GridRiderRegistry;
+import com.bluemountain.coffee.infrastructure.service.HdrHistogramDeliveryLatencyTracker;
+import com.bluemountain.coffee.infrastructure.service.NearestNeighborRouteOptimizer;
+import com.bluemountain.coffee.infrastructure.service.TimingWheelDeliveryTimeoutScheduler;
+import com.bluemountain.coffee.interfaces.dto.RiderInfoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DeliveryAppService.
+ */
+public class DeliveryAppServiceTest {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+
+    private final InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+    private final InMemoryDeliveryRepository deliveryRepository = new InMemoryDeliveryRepository();
+    private final GridRiderRegistry riderRegistry = new GridRiderRegistry(500, 10_000, SHOP.getLatitude());
+
+    @Test
+    void testDispatchingRacingManualChangesLeavesNoRiderBusy() throws InterruptedException {
+        DeliveryAppService service = service();
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Delivery delivery = Delivery.create(List.of(readyOrder(i + " Main St")));
+            deliveryRepository.save(delivery);
+            deliveries.add(delivery);
+        }
+        for (int i = 0; i < 400; i++) {
+            riderRegistry.register(RiderInfo.of("rider-" + i, "Rider " + i, "555-" + i, "BICYCLE"),
+                    GeoPoint.of(SHOP.getLatitude() + i * 0.0001, SHOP.getLongitude()));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            try {
+                start.await();
+                while (!deliveryRepository.findByStatus(DeliveryStatus.CREATED).isEmpty()) {
+                    service.dispatchRiders(10);
+                }
+            } catch (Throwable e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        }));
+        for (int t = 0; t < 2; t++) {
+            int first = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = first; i < deliveries.size(); i += 2) {
+                        String deliveryId = deliveries.get(i).getDeliveryId().getValue();
+                        try {
+                            if (first == 0) {
+                                service.cancelDelivery(deliveryId);
+                            } else {
+                                // Riders from outside the registry, assigned by hand
+                                service.assignRider(deliveryId,
+                                        new RiderInfoDTO("hand-" + i, "Hand " + i, "556-" + i, "SCOOTER"));
+                            }
+                        } catch (IllegalStateException e) {
+                            // Assigned by the dispatcher first
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        Set<String> busy = riderRegistry.findAll().stream()
+                .filter(position -> position.status() == RiderStatus.BUSY)
+                .map(position -> position.rider().getRiderId())
+                .collect(Collectors.toSet());
+        Set<String> assigned = deliveryRepository.findByStatus(DeliveryStatus.ASSIGNED).stream()
+                .map(delivery -> delivery.getRiderInfo().getRiderId())
+                .filter(riderId -> riderId.startsWith("rider-"))
+                .collect(Collectors.toSet());
+        assertEquals(assigned, busy);
+        assertEquals(400 - busy.size(), riderRegistry.availableCount());
+    }
+
+    private DeliveryAppService service() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DeliveryBatchServiceImpl batchService = new DeliveryBatchServiceImpl(
+                orderRepository, deliveryRepository, event -> { },
+                new NearestNeighborRouteOptimizer(Duration.ZERO), SHOP.getLatitude(), SHOP.getLongitude());
+        return new DeliveryAppService(deliveryRepository, orderRepository, batchService, new ObjectMapper(), 100,
+                new OrderLifecycleMetrics(registry), riderRegistry, SHOP.getLatitude(), SHOP.getLongitude(),
+                new TimingWheelDeliveryTimeoutScheduler(event -> { }, registry, Duration.ofMillis(100), 512,
+                        Duration.ofMinutes(10), Duration.ofMinutes(30), Clock.systemUTC()),
+                new HdrHistogramDeliveryLatencyTracker(Duration.ofMinutes(15), Duration.ofDays(7)));
+    }
+
+    private Order readyOrder(String street) {
+        Order order = Order.create("John Doe", OrderType.DELIVERY,
+                List.of(OrderItem.of("Latte", 1, Money.of(5.50))),
+                Address.of(street, "Springfield", "62701", "USA"));
+        order.settle(new DeliveryPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        orderRepository.save(order);
+        return order;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderCancelledEvent;
+import com.bluemountain.coffee.domain.exception.InvalidOrderStateException;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyCache;
+import com.bluemountain.coffee.infrastructure.metrics.OrderLifecycleMetrics;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.service.KitchenSchedulerImpl;
+import com.bluemountain.coffee.infrastructure.service.MenuPreparationTimeEstimator;
+import com.bluemountain.coffee.infrastructure.service.MenuProductCatalog;
+import com.bluemountain.coffee.infrastructure.service.PaymentService;
+import com.bluemountain.coffee.infrastructure.service.PreparationTimeBacktest;
+import com.bluemountain.coffee.infrastructure.service.TimingWheelDeliveryTimeoutScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderAppService.
+ */
+public class OrderAppServiceTest {
+
+    private final MenuProductCatalog catalog = new MenuProductCatalog(List.of("4:拿铁:4.00"));
+    private final InMemoryOrderRepository repository = new InMemoryOrderRepository();
+    private final List<Object> events = new ArrayList<>();
+    private final List<OrderId> refunds = new ArrayList<>();
+
+    @Test
+    void testSecondCancelIsRejectedBeforeAnyRefund() {
+        OrderAppService service = service();
+        Order order = Order.create("Alice", OrderType.DINE_IN,
+                List.of(OrderItem.of(catalog.findById(4).orElseThrow(), 1)), null);
+        order.settle(new DineInPricingStrategy());
+        repository.save(order);
+        String orderId = order.getId().toString();
+
+        service.cancelOrder(orderId);
+        assertThrows(InvalidOrderStateException.class, () -> service.cancelOrder(orderId));
+
+        assertEquals(List.of(order.getId()), refunds);
+        assertEquals(1, events.stream().filter(OrderCancelledEvent.class::isInstance).count());
+        Order cancelled = repository.findById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(3, cancelled.getStatusHistory().size());
+    }
+
+    private OrderAppService service() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PaymentService payments = new PaymentService() {
+            @Override
+            public boolean refundPayment(OrderId orderId, Money amount) {
+                refunds.add(orderId);
+                return super.refundPayment(orderId, amount);
+            }
+        };
+        MenuPreparationTimeEstimator menu = new MenuPreparationTimeEstimator(Duration.ofSeconds(90));
+        // Cancelling never validates a command, so no validator is needed
+        return new OrderAppService(repository,
+                new PricingStrategyFactory(new DineInPricingStrategy(), new DeliveryPricingStrategy()),
+                new OrderAssembler(catalog), new OrderReadModel(repository, new OrderAssembler(catalog), true),
+                payments, events::add, null, new IdempotencyCache(Duration.ofHours(1), 100, Clock.systemUTC()),
+                new ObjectMapper(), 100, new OrderLifecycleMetrics(registry),
+                new KitchenSchedulerImpl(order -> Duration.ofMinutes(2), registry, 1,
+                        Duration.ofMinutes(6), Duration.ofMinutes(10), Clock.systemUTC()),
+                new PreparationTimeBacktest(menu, 0.2),
+                new TimingWheelDeliveryTimeoutScheduler(events::add, registry, Duration.ofMillis(100), 512,
+                        Duration.ofMinutes(10), Duration.ofMinutes(30), Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderStatusChangedEvent;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.service.MenuProductCatalog;
+import com.bluemountain.coffee.interfaces.dto.OrderDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderReadModel.
+ */
+public class OrderReadModelTest {
+
+    private final MenuProductCatalog catalog = new MenuProductCatalog(List.of("4:拿铁:4.00"));
+    private final InMemoryOrderRepository repository = new InMemoryOrderRepository();
+
+    @Test
+    void testFinishedOrdersAreServedFromTheProjection() {
+        OrderReadModel readModel = new OrderReadModel(repository, new OrderAssembler(catalog), true);
+        Order preparing = preparing(readModel);
+        Order completed = completed(readModel);
+        Order cancelled = cancelled(readModel);
+
+        // Removing the orders from the store shows that no query reads through it
+        for (Order order : List.of(preparing, completed, cancelled)) {
+            repository.deleteById(order.getId());
+        }
+
+        assertEquals(List.of(preparing.getId().toString()), ids(readModel.findByStatus(OrderStatus.PREPARING)));
+        assertEquals(List.of(completed.getId().toString()), ids(readModel.findByStatus(OrderStatus.COMPLETED)));
+        assertEquals(List.of(cancelled.getId().toString()), ids(readModel.findByStatus(OrderStatus.CANCELLED)));
+        assertTrue(readModel.findByStatus(OrderStatus.SETTLED).isEmpty());
+        assertEquals(3, readModel.findAll().size());
+    }
+
+    @Test
+    void testFinishedOrdersCanBeReadThroughTheRepository() {
+        OrderReadModel readModel = new OrderReadModel(repository, new OrderAssembler(catalog), false);
+        Order preparing = preparing(readModel);
+        Order completed = completed(readModel);
+        Order cancelled = cancelled(readModel);
+
+        assertEquals(List.of(preparing.getId().toString()), ids(readModel.findByStatus(OrderStatus.PREPARING)));
+        assertEquals(List.of(completed.getId().toString()), ids(readModel.findByStatus(OrderStatus.COMPLETED)));
+        assertEquals(List.of(cancelled.getId().toString()), ids(readModel.findByStatus(OrderStatus.CANCELLED)));
+        assertEquals(3, readModel.findAll().size());
+
+        repository.deleteById(completed.getId());
+        assertTrue(readModel.findByStatus(OrderStatus.COMPLETED).isEmpty());
+        assertEquals(2, readModel.findAll().size());
+    }
+
+    private Order preparing(OrderReadModel readModel) {
+        Order order = order("Alice");
+        order.startPreparing();
+        save(readModel, order);
+        return order;
+    }
+
+    private Order completed(OrderReadModel readModel) {
+        Order order = order("Bob");
+        save(readModel, order);
+        order.startPreparing();
+        order.markAsReady();
+        order.complete();
+        save(readModel, order);
+        return order;
+    }
+
+    private Order cancelled(OrderReadModel readModel) {
+        Order order = order("Carol");
+        order.cancel();
+        save(readModel, order);
+        return order;
+    }
+
+    private Order order(String customerName) {
+        Order order = Order.create(customerName, OrderType.DINE_IN,
+                List.of(OrderItem.of(catalog.findById(4).orElseThrow(), 1)), null);
+        order.settle(new DineInPricingStrategy());
+        return order;
+    }
+
+    private void save(OrderReadModel readModel, Order order) {
+        repository.save(order);
+        readModel.handleOrderStatusChanged(new OrderStatusChangedEvent(this, order.getId(), order.getStatus()));
+    }
+
+    private static List<String> ids(List<OrderDTO> orders) {
+        return orders.stream().map(OrderDTO::getId).toList();
+    }
+}
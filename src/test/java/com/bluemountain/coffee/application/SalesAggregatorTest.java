@@ -0,0 +1,127 @@
+package com.bluemountain.coffee.application;
+
+import com.bluemountain.coffee.domain.event.OrderCancelledEvent;
+import com.bluemountain.coffee.domain.event.OrderSettledEvent;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.SalesReport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesAggregator.
+ */
+public class SalesAggregatorTest {
+
+    @Test
+    void testFiguresPerOrderType() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T12:00:30Z"), ZoneOffset.UTC);
+        SalesAggregator aggregator = new SalesAggregator(clock);
+        settle(aggregator, OrderType.DINE_IN, 4.00);
+        settle(aggregator, OrderType.DINE_IN, 5.50);
+        settle(aggregator, OrderType.DELIVERY, 3.50);
+        aggregator.onOrderCancelled(new OrderCancelledEvent(this, OrderId.generate(), OrderType.DINE_IN, Money.of(5.50)));
+
+        SalesReport.Window minute = window(aggregator.report(), "minute", "tumbling");
+        SalesReport.Figures dineIn = minute.byOrderType().get("DINE_IN");
+        assertEquals(2, dineIn.orders());
+        assertEquals(1, dineIn.cancellations());
+        assertEquals(new BigDecimal("9.50"), dineIn.revenue());
+        assertEquals(new BigDecimal("4.00"), dineIn.netRevenue());
+        assertEquals(new BigDecimal("4.75"), dineIn.averageTicket());
+        assertEquals(3, minute.total().orders());
+        assertEquals(new BigDecimal("13.00"), minute.total().revenue());
+    }
+
+    @Test
+    void testTumblingAndSlidingWindows() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T12:00:50Z"), ZoneOffset.UTC);
+        SalesAggregator aggregator = new SalesAggregator(clock);
+        settle(aggregator, OrderType.DELIVERY, 4.00);
+
+        // 20 seconds later a new minute has started, but the last 60 seconds still hold the sale
+        clock.advance(Duration.ofSeconds(20));
+        settle(aggregator, OrderType.DELIVERY, 6.00);
+        SalesReport report = aggregator.report();
+        assertEquals(1, window(report, "minute", "tumbling").total().orders());
+        assertEquals(2, window(report, "minute", "sliding").total().orders());
+        assertEquals(2, window(report, "hour", "tumbling").total().orders());
+
+        clock.advance(Duration.ofSeconds(61));
+        report = aggregator.report();
+        assertEquals(0, window(report, "minute", "sliding").total().orders());
+        assertEquals(2, window(report, "day", "sliding").total().orders());
+
+        clock.advance(Duration.ofDays(1));
+        report = aggregator.report();
+        assertEquals(0, window(report, "day", "tumbling").total().orders());
+        assertEquals(0, window(report, "day", "sliding").total().orders());
+        assertEquals(new BigDecimal("0.00"), window(report, "day", "sliding").total().averageTicket());
+    }
+
+    @Test
+    void testDaysStartAtLocalMidnight() {
+        // 23:30 in Shanghai is 15:30 UTC
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T15:30:00Z"), ZoneId.of("Asia/Shanghai"));
+        SalesAggregator aggregator = new SalesAggregator(clock);
+        settle(aggregator, OrderType.DINE_IN, 4.00);
+
+        clock.advance(Duration.ofHours(1));
+        SalesReport report = aggregator.report();
+        SalesReport.Window day = window(report, "day", "tumbling");
+        assertEquals("2026-01-02T00:00", day.from().toString());
+        assertEquals(0, day.total().orders());
+        assertEquals(1, window(report, "day", "sliding").total().orders());
+    }
+
+    private static void settle(SalesAggregator aggregator, OrderType type, double amount) {
+        aggregator.onOrderSettled(new OrderSettledEvent(aggregator, OrderId.generate(), type,
+                "Customer", List.of(), Money.of(amount)));
+    }
+
+    private static SalesReport.Window window(SalesReport report, String name, String kind) {
+        return report.windows().stream()
+                .filter(window -> window.name().equals(name) && window.kind().equals(kind))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+        private final ZoneId zone;
+
+        MutableClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bluemountain.coffee.domain;
+
+import com.bluemountain.coffee.domain.exception.InvalidOrderStateException;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.service.PricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for pricing and settling orders in bulk.
+ */
+public class BulkPricingTest {
+
+    @Test
+    void testBulkPricesMatchSingleOrderPrices() {
+        Random random = new Random(42);
+        for (OrderType type : OrderType.values()) {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                List<OrderItem> items = new ArrayList<>();
+                for (int j = 0; j <= random.nextInt(6); j++) {
+                    items.add(OrderItem.of("Product " + j, 1 + random.nextInt(20),
+                            Money.of(random.nextInt(100_000) / 100.0)));
+                }
+                orders.add(order(type, items));
+            }
+
+            PricingStrategy strategy = type == OrderType.DELIVERY
+                    ? new DeliveryPricingStrategy() : new DineInPricingStrategy();
+            Money[] totals = strategy.calculateAll(orders);
+            assertEquals(orders.size(), totals.length);
+            for (int i = 0; i < totals.length; i++) {
+                assertEquals(strategy.calculate(orders.get(i)), totals[i]);
+            }
+        }
+    }
+
+    @Test
+    void testSettleAllSettlesEveryOrderOrNone() {
+        DeliveryPricingStrategy strategy = new DeliveryPricingStrategy();
+        Order first = order(OrderType.DELIVERY, List.of(OrderItem.of("Latte", 2, Money.of(4.00))));
+        Order second = order(OrderType.DELIVERY, List.of(OrderItem.of("Mocha", 1, Money.of(5.00))));
+
+        Order.settleAll(List.of(first, second), strategy);
+
+        assertEquals(OrderStatus.SETTLED, first.getStatus());
+        assertEquals(Money.of(15.00), first.getTotalPrice());
+        assertEquals(Money.of(12.00), second.getTotalPrice());
+
+        Order fresh = order(OrderType.DELIVERY, List.of(OrderItem.of("Latte", 1, Money.of(4.00))));
+        assertThrows(InvalidOrderStateException.class, () -> Order.settleAll(List.of(fresh, first), strategy));
+        assertEquals(OrderStatus.CREATED, fresh.getStatus());
+    }
+
+    private static Order order(OrderType type, List<OrderItem> items) {
+        Address address = type == OrderType.DELIVERY ? Address.of("1 Main St", "Springfield", "12345", "US") : null;
+        return Order.create("Customer", type, items, address);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bluemountain.coffee.domain;
+
+import com.bluemountain.coffee.domain.exception.InvalidOrderStateException;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.persistence.EventSourcedOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Order status history and replay.
+ */
+public class OrderHistoryTest {
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.create(
+            "John Doe",
+            OrderType.DINE_IN,
+            List.of(OrderItem.of("Latte", 2, Money.of(5.50))),
+            null
+        );
+    }
+
+    @Test
+    void testTransitionsAreRecorded() {
+        order.settle(new DineInPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+
+        List<OrderStatusChange> history = order.getStatusHistory();
+        assertEquals(4, history.size());
+        assertEquals(OrderStatus.CREATED, history.get(0).getStatus());
+        assertEquals(OrderStatus.READY, history.get(3).getStatus());
+        assertEquals(order.getCreatedAt(), history.get(0).getOccurredAt());
+        assertEquals(order.getUpdatedAt(), history.get(3).getOccurredAt());
+        assertTrue(order.getStageDuration(OrderStatus.PREPARING).isPresent());
+        assertFalse(order.getStageDuration(OrderStatus.READY).isPresent());
+    }
+
+    @Test
+    void testReplayRebuildsState() {
+        order.settle(new DineInPricingStrategy());
+        order.startPreparing();
+
+        Order replayed = Order.replay(order.getId(), order.getCustomerName(), order.getType(),
+            order.getItems(), order.getAddress(), order.getStatusHistory(), order.getTotalPrice());
+
+        assertEquals(order, replayed);
+        assertEquals(OrderStatus.PREPARING, replayed.getStatus());
+        assertEquals(order.getCreatedAt(), replayed.getCreatedAt());
+        assertEquals(order.getUpdatedAt(), replayed.getUpdatedAt());
+        assertEquals(order.getTotalPrice(), replayed.getTotalPrice());
+        assertEquals(order.getStatusHistory(), replayed.getStatusHistory());
+
+        // The replayed aggregate continues its lifecycle normally
+        replayed.markAsReady();
+        assertEquals(OrderStatus.READY, replayed.getStatus());
+    }
+
+    @Test
+    void testReplayMeasuresStageDurations() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<OrderStatusChange> history = List.of(
+            OrderStatusChange.of(OrderStatus.CREATED, start),
+            OrderStatusChange.of(OrderStatus.SETTLED, start.plusSeconds(5)),
+            OrderStatusChange.of(OrderStatus.PREPARING, start.plusSeconds(10)),
+            OrderStatusChange.of(OrderStatus.READY, start.plusMinutes(4))
+        );
+
+        Order replayed = Order.replay(order.getId(), "John Doe", OrderType.DINE_IN,
+            order.getItems(), null, history, Money.of(11.00));
+
+        assertEquals(Duration.ofSeconds(230), replayed.getStageDuration(OrderStatus.PREPARING).orElseThrow());
+    }
+
+    @Test
+    void testReplayRejectsInvalidHistory() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<OrderStatusChange> skipsSettlement = List.of(
+            OrderStatusChange.of(OrderStatus.CREATED, start),
+            OrderStatusChange.of(OrderStatus.READY, start.plusMinutes(1))
+        );
+
+        assertThrows(InvalidOrderStateException.class, () -> Order.replay(order.getId(), "John Doe",
+            OrderType.DINE_IN, order.getItems(), null, skipsSettlement, null));
+        assertThrows(IllegalArgumentException.class, () -> Order.replay(order.getId(), "John Doe",
+            OrderType.DINE_IN, order.getItems(), null, List.of(), null));
+
+        List<OrderStatusChange> cancelledTwice = List.of(
+            OrderStatusChange.of(OrderStatus.CREATED, start),
+            OrderStatusChange.of(OrderStatus.CANCELLED, start.plusMinutes(1)),
+            OrderStatusChange.of(OrderStatus.CANCELLED, start.plusMinutes(2))
+        );
+        assertThrows(InvalidOrderStateException.class, () -> Order.replay(order.getId(), "John Doe",
+            OrderType.DINE_IN, order.getItems(), null, cancelledTwice, null));
+    }
+
+    @Test
+    void testCancelledOrderCannotBeCancelledAgain() {
+        order.cancel();
+
+        assertThrows(InvalidOrderStateException.class, order::cancel);
+        assertEquals(2, order.getStatusHistory().size());
+    }
+
+    @Test
+    void testEventSourcedRepositoryAppendsAndReplays() {
+        EventSourcedOrderRepository repository = new EventSourcedOrderRepository(0);
+
+        order.settle(new DineInPricingStrategy());
+        repository.save(order);
+        order.startPreparing();
+        repository.save(order);
+
+        assertEquals(3, repository.getEvents(order.getId()).size());
+
+        Order loaded = repository.findById(order.getId()).orElseThrow();
+        assertNotSame(order, loaded);
+        assertEquals(OrderStatus.PREPARING, loaded.getStatus());
+        assertEquals(order.getTotalPrice(), loaded.getTotalPrice());
+        assertEquals(1, repository.findByStatus(OrderStatus.PREPARING).size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bluemountain.coffee.domain;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItems;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the packed item layout of orders.
+ */
+public class OrderItemsTest {
+
+    @Test
+    void testPackedItemsReadBackAsTheOriginalItems() {
+        List<OrderItem> original = List.of(
+                OrderItem.of(Product.of(4, "拿铁", Money.of(4.00)), 2),
+                OrderItem.of("Special", 3, Money.of(12.34)));
+
+        Order order = Order.create("Customer", OrderType.DINE_IN, original, null);
+        OrderItems items = order.getItems();
+
+        assertEquals(original, items);
+        assertEquals(original, List.copyOf(items));
+        assertEquals(4, items.productId(0));
+        assertEquals(OrderItem.NO_PRODUCT_ID, items.productId(1));
+        assertEquals("Special", items.productName(1));
+        assertEquals(3, items.quantity(1));
+        assertEquals(1234, items.unitCents(1));
+        assertEquals(800 + 3702, items.totalCents());
+        assertEquals(Money.of(37.02), items.get(1).getTotalPrice());
+    }
+
+    @Test
+    void testPackedItemsCannotBeModified() {
+        Order order = Order.create("Customer", OrderType.DINE_IN,
+                List.of(OrderItem.of("Latte", 1, Money.of(4.00))), null);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> order.getItems().add(OrderItem.of("Mocha", 1, Money.of(5.00))));
+        assertThrows(UnsupportedOperationException.class, () -> order.getItems().remove(0));
+    }
+}
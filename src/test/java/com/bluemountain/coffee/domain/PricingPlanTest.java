@@ -0,0 +1,118 @@
+package com.bluemountain.coffee.domain;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.domain.model.valobj.PricingRule;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.PricingPlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for parsing pricing rules and pricing orders with compiled plans.
+ */
+public class PricingPlanTest {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+    private static final List<OrderItem> ITEMS = List.of(
+            OrderItem.of("拿铁", 5, Money.of(4.00)), OrderItem.of("摩卡", 1, Money.of(5.00)));
+
+    @Test
+    void testRulesParseAndPrintTheSameText() {
+        List<String> texts = List.of("fee:packaging:2.00", "discount:member:12.5", "distance:3.00:1.50:2",
+                "happy-hour:2200-0100:20", "bundle:拿铁:2:7.00");
+
+        List<String> printed = texts.stream().map(PricingRule::parse).map(PricingRule::toString)
+                .collect(Collectors.toList());
+
+        assertEquals(texts, printed);
+        assertThrows(IllegalArgumentException.class, () -> PricingRule.parse("fee:packaging"));
+        assertThrows(IllegalArgumentException.class, () -> PricingRule.parse("discount:member:120"));
+        assertThrows(IllegalArgumentException.class, () -> PricingRule.parse("happy-hour:25-26:10"));
+        assertThrows(IllegalArgumentException.class, () -> PricingRule.parse("coupon:x:1"));
+    }
+
+    @Test
+    void testFeesDiscountsAndBundlesAreCombined() {
+        PricingPlan plan = compile("fee:packaging:2.00", "fee:delivery:5.00", "discount:member:10",
+                "bundle:拿铁:2:7.00");
+
+        // Lattes: 2 bundles of 7.00 + 1 at 4.00, mocha 5.00 = 23.00, less 10 % = 20.70, plus 7.00 fees
+        assertEquals(Money.of(27.70), plan.price(order(LocalDateTime.now(), null)));
+        assertFalse(plan.isFlat());
+        assertTrue(compile("fee:packaging:2.00", "fee:delivery:5.00").isFlat());
+    }
+
+    @Test
+    void testHappyHourAppliesInsideTheWindowOnly() {
+        PricingPlan plan = compile("happy-hour:2230-0030:50");
+
+        assertEquals(Money.of(12.50), plan.price(order(LocalDateTime.of(2026, 1, 1, 23, 59), null)));
+        assertEquals(Money.of(12.50), plan.price(order(LocalDateTime.of(2026, 1, 1, 0, 29), null)));
+        assertEquals(Money.of(25.00), plan.price(order(LocalDateTime.of(2026, 1, 1, 0, 30), null)));
+        assertEquals(Money.of(25.00), plan.price(order(LocalDateTime.of(2026, 1, 1, 12, 0), null)));
+    }
+
+    @Test
+    void testDistanceFeeChargesStartedKilometresBeyondTheFreeDistance() {
+        PricingPlan plan = compile("distance:3.00:1.50:2");
+        // About 3.3 km north of the shop: 2 started km beyond the free 2 km
+        GeoPoint location = GeoPoint.of(31.2604, 121.4737);
+
+        assertEquals(Money.of(31.00), plan.price(order(LocalDateTime.now(), location)));
+        assertEquals(Money.of(28.00), plan.price(order(LocalDateTime.now(), null)));
+    }
+
+    @Test
+    void testConflictingRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> compile("bundle:拿铁:2:7.00", "bundle:拿铁:3:10.00"));
+        assertThrows(IllegalArgumentException.class, () -> compile("distance:3.00:1.50:2", "distance:1.00:1.00:0"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingPlan.compile(List.of(PricingRule.parse("distance:3.00:1.50:2")), null));
+    }
+
+    @Test
+    void testInstalledPlanIsUsedForSingleAndBulkPricing() {
+        DeliveryPricingStrategy strategy = new DeliveryPricingStrategy();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(order(LocalDateTime.now(), null));
+        }
+        assertEquals(Money.of(32.00), strategy.calculate(orders.get(0)));
+
+        strategy.install(compile("fee:delivery:5.00", "bundle:拿铁:5:15.00"));
+
+        Money[] totals = strategy.calculateAll(orders);
+        for (int i = 0; i < totals.length; i++) {
+            assertEquals(Money.of(25.00), totals[i]);
+            assertEquals(strategy.calculate(orders.get(i)), totals[i]);
+        }
+    }
+
+    private static PricingPlan compile(String... rules) {
+        List<PricingRule> parsed = new ArrayList<>();
+        for (String rule : rules) {
+            parsed.add(PricingRule.parse(rule));
+        }
+        return PricingPlan.compile(parsed, SHOP);
+    }
+
+    private static Order order(LocalDateTime createdAt, GeoPoint location) {
+        Address address = Address.of("1 Main Street", "Shanghai", "200000", "China", location);
+        return Order.replay(OrderId.generate(), "Customer", OrderType.DELIVERY, ITEMS, address,
+                List.of(OrderStatusChange.of(OrderStatus.CREATED, createdAt)), null);
+    }
+}
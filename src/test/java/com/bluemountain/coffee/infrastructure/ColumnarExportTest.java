@@ -0,0 +1,146 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.export.ColumnarOrderExporter;
+import com.bluemountain.coffee.infrastructure.export.ColumnarReader;
+import com.bluemountain.coffee.infrastructure.export.ColumnarWriter;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar writer, reader and order exporter.
+ */
+public class ColumnarExportTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripAcrossRowGroups() throws Exception {
+        Path file = directory.resolve("test.ccol");
+        List<ColumnarWriter.Column> columns = List.of(
+                new ColumnarWriter.Column("name", ColumnarWriter.Type.STRING),
+                new ColumnarWriter.Column("kind", ColumnarWriter.Type.DICTIONARY),
+                new ColumnarWriter.Column("amount", ColumnarWriter.Type.LONG),
+                new ColumnarWriter.Column("at", ColumnarWriter.Type.TIMESTAMP));
+        LocalDateTime noon = LocalDateTime.of(2026, 1, 1, 12, 0);
+        try (ColumnarWriter writer = new ColumnarWriter(file, columns, 3)) {
+            for (int i = 0; i < 10; i++) {
+                writer.write(i == 4 ? null : "name-" + i,
+                        i % 3 == 0 ? "拿铁" : i % 3 == 1 ? "摩卡" : null,
+                        i == 5 ? null : (long) (i - 5) * 1_000,
+                        i == 7 ? null : noon.plusSeconds(i % 2 == 0 ? i : -i));
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> kinds = new ArrayList<>();
+        List<Long> amounts = new ArrayList<>();
+        List<Long> times = new ArrayList<>();
+        try (ColumnarReader reader = new ColumnarReader(file, Set.of("name", "kind", "amount", "at"))) {
+            assertEquals(columns, reader.getColumns());
+            while (reader.nextRowGroup()) {
+                for (int row = 0; row < reader.getRowCount(); row++) {
+                    names.add(reader.strings("name")[row]);
+                    kinds.add(reader.strings("kind")[row]);
+                    amounts.add(reader.longs("amount")[row]);
+                    times.add(reader.longs("at")[row]);
+                }
+            }
+        }
+        assertEquals(10, names.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i == 4 ? null : "name-" + i, names.get(i));
+            assertEquals(i % 3 == 0 ? "拿铁" : i % 3 == 1 ? "摩卡" : null, kinds.get(i));
+            assertEquals(i == 5 ? ColumnarReader.NULL_LONG : (i - 5) * 1_000L, amounts.get(i));
+            long expected = i == 7 ? ColumnarReader.NULL_LONG
+                    : noon.plusSeconds(i % 2 == 0 ? i : -i).toInstant(ZoneOffset.UTC).toEpochMilli();
+            assertEquals(expected, times.get(i));
+        }
+    }
+
+    @Test
+    void testExportWritesTerminalOrdersAndDeliveriesOfTheDay() throws Exception {
+        InMemoryOrderRepository orders = new InMemoryOrderRepository();
+        InMemoryDeliveryRepository deliveries = new InMemoryDeliveryRepository();
+        Order dineIn = Order.create("Ann", OrderType.DINE_IN, List.of(
+                OrderItem.of("拿铁", 2, Money.of(4.00)), OrderItem.of("摩卡", 1, Money.of(5.00))), null);
+        dineIn.settle(new DineInPricingStrategy());
+        dineIn.startPreparing();
+        dineIn.markAsReady();
+        dineIn.complete();
+        Order cancelled = Order.create("Bob", OrderType.DINE_IN, List.of(OrderItem.of("拿铁", 1, Money.of(4.00))), null);
+        cancelled.cancel();
+        Order open = Order.create("Cat", OrderType.DINE_IN, List.of(OrderItem.of("拿铁", 1, Money.of(4.00))), null);
+        Order delivered = Order.create("Dan", OrderType.DELIVERY, List.of(OrderItem.of("美式咖啡", 3, Money.of(4.00))),
+                Address.of("1 Main Street", "Shanghai", "200001", "China"));
+        delivered.settle(new DeliveryPricingStrategy());
+        delivered.startPreparing();
+        delivered.markAsReady();
+        orders.saveAll(List.of(dineIn, cancelled, open, delivered));
+        Delivery delivery = Delivery.create(List.of(delivered));
+        delivery.assignRider(RiderInfo.of("rider-1", "Rider", "555-0100"));
+        delivery.markAsPickedUp();
+        delivery.markAsInTransit();
+        delivery.markAsDelivered();
+        delivery.complete();
+        deliveries.save(delivery);
+
+        ColumnarOrderExporter exporter = new ColumnarOrderExporter(orders, deliveries, directory, 2,
+                Clock.systemDefaultZone());
+        ColumnarOrderExporter.Export export = exporter.export(LocalDate.now());
+
+        assertEquals(directory.resolve("date=" + LocalDate.now()), export.partition());
+        assertEquals(2, export.orders());
+        assertEquals(3, export.orderItems());
+        assertEquals(1, export.deliveries());
+        long revenue = 0;
+        try (ColumnarReader reader = new ColumnarReader(export.partition().resolve("orders.ccol"),
+                Set.of("status", "total_cents"))) {
+            while (reader.nextRowGroup()) {
+                String[] statuses = reader.strings("status");
+                long[] totals = reader.longs("total_cents");
+                for (int row = 0; row < reader.getRowCount(); row++) {
+                    if (statuses[row].equals("COMPLETED")) {
+                        revenue += totals[row];
+                    }
+                }
+                assertThrows(IllegalArgumentException.class, () -> reader.strings("customer_name"));
+            }
+        }
+        assertEquals(Math.round(dineIn.getTotalPrice().getAmount().doubleValue() * 100), revenue);
+        try (ColumnarReader reader = new ColumnarReader(export.partition().resolve("deliveries.ccol"),
+                Set.of("rider_id", "zone"))) {
+            assertTrue(reader.nextRowGroup());
+            assertEquals("rider-1", reader.strings("rider_id")[0]);
+            assertEquals("200001", reader.strings("zone")[0]);
+            assertFalse(reader.nextRowGroup());
+        }
+        try (var files = Files.list(export.partition())) {
+            assertEquals(3, files.count());
+        }
+        assertEquals(0, exporter.export(LocalDate.now().minusDays(1)).orders());
+    }
+}
@@ -0,0 +1,96 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryOrderRepository;
+import com.bluemountain.coffee.infrastructure.service.DeliveryBatchServiceImpl;
+import com.bluemountain.coffee.infrastructure.service.NearestNeighborRouteOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DeliveryBatchServiceImpl.
+ */
+public class DeliveryBatchServiceTest {
+
+    @Test
+    void testConcurrentBatchingPutsEveryOrderInOneDelivery() throws InterruptedException {
+        InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+        InMemoryDeliveryRepository deliveryRepository = new InMemoryDeliveryRepository();
+        DeliveryBatchServiceImpl service = new DeliveryBatchServiceImpl(
+                orderRepository, deliveryRepository, event -> { },
+                new NearestNeighborRouteOptimizer(Duration.ZERO), 31.2304, 121.4737);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            orders.add(readyOrder((i % 40) + " Main St"));
+        }
+        orderRepository.saveAll(orders);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int first = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    if (first % 2 == 0) {
+                        service.autoBatchOrders();
+                    } else {
+                        for (int i = first; i < orders.size(); i += 8) {
+                            try {
+                                service.createDeliveryBatch(List.of(orders.get(i)));
+                            } catch (IllegalArgumentException e) {
+                                // Already claimed by another batch
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        Set<OrderId> batched = new HashSet<>();
+        for (Delivery delivery : deliveryRepository.findAll()) {
+            for (OrderId orderId : delivery.getOrderIds()) {
+                assertTrue(batched.add(orderId), orderId + " is in two deliveries");
+            }
+        }
+        assertEquals(orders.size(), batched.size());
+        assertTrue(service.findBatchableOrders().isEmpty());
+    }
+
+    private static Order readyOrder(String street) {
+        Order order = Order.create("John Doe", OrderType.DELIVERY,
+                List.of(OrderItem.of("Latte", 1, Money.of(5.50))),
+                Address.of(street, "Springfield", "62701", "USA"));
+        order.settle(new DeliveryPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        return order;
+    }
+}
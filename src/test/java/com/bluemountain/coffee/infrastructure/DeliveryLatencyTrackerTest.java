@@ -0,0 +1,81 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.event.DeliveryDeliveredEvent;
+import com.bluemountain.coffee.domain.event.DeliveryPickedUpEvent;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryId;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryLatencyReport;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.infrastructure.service.HdrHistogramDeliveryLatencyTracker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HdrHistogramDeliveryLatencyTracker.
+ */
+public class DeliveryLatencyTrackerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final RiderInfo FAST = RiderInfo.of("rider-1", "Fast", "555-0100");
+    private static final RiderInfo SLOW = RiderInfo.of("rider-2", "Slow", "555-0101");
+
+    @Test
+    void testPercentilesPerRiderAndZone() {
+        HdrHistogramDeliveryLatencyTracker tracker = new HdrHistogramDeliveryLatencyTracker(
+                Duration.ofMinutes(15), Duration.ofDays(7));
+        // Rider 1 delivers 1..100 minutes after pickup in zone 200000, rider 2 takes twice as long in 200001
+        for (int i = 1; i <= 100; i++) {
+            LocalDateTime pickedUp = NOON.plusSeconds(i);
+            tracker.record(new DeliveryPickedUpEvent(this, DeliveryId.generate(), FAST, "200000",
+                    pickedUp.minusMinutes(2), pickedUp));
+            tracker.record(new DeliveryDeliveredEvent(this, DeliveryId.generate(), FAST, "200000",
+                    pickedUp, pickedUp.plusMinutes(i)));
+            tracker.record(new DeliveryDeliveredEvent(this, DeliveryId.generate(), SLOW, "200001",
+                    pickedUp, pickedUp.plusMinutes(2L * i)));
+        }
+
+        DeliveryLatencyReport byRider = tracker.report(NOON, NOON.plusDays(1), "rider");
+        DeliveryLatencyReport.Percentiles fast = byRider.groups().get("rider-1").pickupToDelivered();
+        assertEquals(100, fast.count());
+        assertEquals(50 * 60, fast.p50Seconds(), 50 * 60 * 0.01);
+        assertEquals(95 * 60, fast.p95Seconds(), 95 * 60 * 0.01);
+        assertEquals(99 * 60, fast.p99Seconds(), 99 * 60 * 0.01);
+        assertEquals(120, byRider.groups().get("rider-1").waitForPickup().p50Seconds(), 120 * 0.01);
+        assertEquals(0, byRider.groups().get("rider-2").waitForPickup().count());
+
+        DeliveryLatencyReport byZone = tracker.report(NOON, NOON.plusDays(1), "zone");
+        assertEquals(2 * 99 * 60, byZone.groups().get("200001").pickupToDelivered().p99Seconds(), 2 * 99 * 60 * 0.01);
+
+        DeliveryLatencyReport all = tracker.report(NOON, NOON.plusDays(1), "all");
+        assertEquals(200, all.groups().get("all").pickupToDelivered().count());
+    }
+
+    @Test
+    void testWindowsCoverWholeBuckets() {
+        HdrHistogramDeliveryLatencyTracker tracker = new HdrHistogramDeliveryLatencyTracker(
+                Duration.ofMinutes(15), Duration.ofHours(2));
+        for (int minute = 0; minute < 60; minute += 10) {
+            LocalDateTime deliveredAt = NOON.plusMinutes(minute);
+            tracker.record(new DeliveryDeliveredEvent(this, DeliveryId.generate(), FAST, "200000",
+                    deliveredAt.minusMinutes(20), deliveredAt));
+        }
+
+        DeliveryLatencyReport report = tracker.report(NOON.plusMinutes(20), NOON.plusMinutes(40), "all");
+        assertEquals(NOON.plusMinutes(15), report.from());
+        assertEquals(NOON.plusMinutes(45), report.to());
+        // Deliveries at 12:20, 12:30 and 12:40
+        assertEquals(3, report.groups().get("all").pickupToDelivered().count());
+
+        // A sample three hours later drops the buckets older than the retention
+        LocalDateTime later = NOON.plusHours(3);
+        tracker.record(new DeliveryDeliveredEvent(this, DeliveryId.generate(), FAST, "200000",
+                later.minusMinutes(20), later));
+        assertEquals(0, tracker.report(NOON, NOON.plusHours(1), "all").groups().get("all").pickupToDelivered().count());
+
+        assertThrows(IllegalArgumentException.class, () -> tracker.report(NOON, NOON.plusHours(1), "city"));
+        assertThrows(IllegalArgumentException.class, () -> tracker.report(NOON, NOON, "all"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.event.DeliverySlaBreachedEvent;
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.DeliveryStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.infrastructure.service.TimingWheelDeliveryTimeoutScheduler;
+import com.bluemountain.coffee.infrastructure.timer.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HierarchicalTimingWheel and TimingWheelDeliveryTimeoutScheduler.
+ */
+public class DeliveryTimeoutSchedulerTest {
+
+    @Test
+    void testTimersFireWithinOneTickAcrossLevels() {
+        // 10 ms ticks and 8 buckets: level 0 spans 80 ms, level 3 over 40 s
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 1_000);
+        Random random = new Random(3);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Map<Integer, Long> firedAt = new HashMap<>();
+        long[] now = {1_000};
+        for (int i = 0; i < 5_000; i++) {
+            int id = i;
+            long deadline = 1_000 + random.nextInt(60_000);
+            deadlines.put(id, deadline);
+            wheel.schedule(deadline, () -> firedAt.put(id, now[0]));
+        }
+
+        while (now[0] < 62_000) {
+            now[0] += 10;
+            wheel.advanceTo(now[0]);
+        }
+
+        assertEquals(deadlines.keySet(), firedAt.keySet());
+        for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+            long lateness = firedAt.get(entry.getKey()) - entry.getValue();
+            assertTrue(lateness > 0 && lateness <= 10, "fired " + lateness + " ms after its deadline");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelledTimersNeverFire() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 0);
+        List<Integer> fired = new ArrayList<>();
+        List<HierarchicalTimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int id = i;
+            timeouts.add(wheel.schedule(50L * i, () -> fired.add(id)));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+        }
+        assertFalse(timeouts.get(0).cancel());
+        assertEquals(50, wheel.size());
+
+        wheel.advanceTo(10_000);
+
+        assertEquals(50, fired.size());
+        assertTrue(fired.stream().allMatch(id -> id % 2 == 1));
+        assertFalse(timeouts.get(1).cancel());
+    }
+
+    @Test
+    void testSlaFollowsDeliveryStatus() {
+        MutableClock clock = new MutableClock();
+        List<Object> events = new ArrayList<>();
+        TimingWheelDeliveryTimeoutScheduler scheduler = new TimingWheelDeliveryTimeoutScheduler(
+                events::add, new SimpleMeterRegistry(), Duration.ofMillis(100), 512,
+                Duration.ofMinutes(10), Duration.ofMinutes(30), clock);
+        Delivery onTime = assignedDelivery();
+        Delivery late = assignedDelivery();
+        scheduler.track(onTime);
+        scheduler.track(late);
+        assertEquals(2, scheduler.pendingCount());
+
+        clock.advance(Duration.ofMinutes(5));
+        onTime.markAsPickedUp();
+        scheduler.track(onTime);
+        onTime.markAsInTransit();
+        scheduler.track(onTime);
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        scheduler.tick();
+
+        assertEquals(1, events.size());
+        DeliverySlaBreachedEvent breach = (DeliverySlaBreachedEvent) events.get(0);
+        assertEquals(late.getDeliveryId(), breach.getDeliveryId());
+        assertEquals(DeliveryStatus.ASSIGNED, breach.getStatus());
+
+        // The delivery SLA runs from pickup, not from going in transit
+        onTime.markAsDelivered();
+        scheduler.track(onTime);
+        clock.advance(Duration.ofHours(1));
+        scheduler.tick();
+        assertEquals(1, events.size());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    private static Delivery assignedDelivery() {
+        Order order = Order.create("Customer", OrderType.DELIVERY,
+                List.of(OrderItem.of("拿铁", 1, Money.of(4.00))),
+                Address.of("1 Main Street", "Shanghai", "200000", "China"));
+        order.settle(new DeliveryPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        Delivery delivery = Delivery.create(List.of(order));
+        delivery.assignRider(RiderInfo.of("rider-1", "Rider", "555-0100", "BICYCLE"));
+        return delivery;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
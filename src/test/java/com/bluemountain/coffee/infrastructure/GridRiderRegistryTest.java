@@ -0,0 +1,92 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.enums.RiderStatus;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.RiderInfo;
+import com.bluemountain.coffee.domain.model.valobj.RiderPosition;
+import com.bluemountain.coffee.infrastructure.service.GridRiderRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GridRiderRegistry.
+ */
+public class GridRiderRegistryTest {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+
+    private final GridRiderRegistry registry = new GridRiderRegistry(500, 10_000, SHOP.getLatitude());
+
+    @Test
+    void testClaimNearestMatchesBruteForce() {
+        Random random = new Random(7);
+        List<GeoPoint> locations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            GeoPoint location = GeoPoint.of(SHOP.getLatitude() + (random.nextDouble() - 0.5) * 0.1,
+                    SHOP.getLongitude() + (random.nextDouble() - 0.5) * 0.1);
+            locations.add(location);
+            registry.register(rider(i), location);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < locations.size(); i++) {
+            expected.add("rider-" + i);
+        }
+        expected.sort(Comparator.comparingDouble(id -> SHOP.distanceTo(locations.get(index(id)))));
+
+        List<RiderPosition> claimed = registry.claimNearest(SHOP, 25);
+
+        assertEquals(expected.subList(0, 25), ids(claimed));
+        assertTrue(claimed.stream().allMatch(position -> position.status() == RiderStatus.BUSY));
+        assertEquals(1975, registry.availableCount());
+        // Claimed riders are not offered again
+        assertEquals(expected.subList(25, 30), ids(registry.claimNearest(SHOP, 5)));
+    }
+
+    @Test
+    void testRidersBeyondMaxRadiusAreNotClaimed() {
+        registry.register(rider(1), GeoPoint.of(31.2404, 121.4737));
+        registry.register(rider(2), GeoPoint.of(31.5304, 121.4737));
+
+        assertEquals(List.of("rider-1"), ids(registry.claimNearest(SHOP, 5)));
+        assertEquals(1, registry.availableCount());
+    }
+
+    @Test
+    void testAvailabilityFollowsRiderLifecycle() {
+        registry.register(rider(1), GeoPoint.of(31.2404, 121.4737));
+        registry.register(rider(2), GeoPoint.of(31.2504, 121.4737));
+
+        registry.markBusy("rider-1");
+        registry.markOffline("rider-2");
+        assertTrue(registry.claimNearest(SHOP, 5).isEmpty());
+
+        // A finished delivery frees a busy rider but does not bring one back on shift
+        registry.markAvailable("rider-1");
+        registry.markAvailable("rider-2");
+        assertEquals(RiderStatus.OFFLINE, registry.find("rider-2").orElseThrow().status());
+
+        registry.updateLocation("rider-1", GeoPoint.of(31.2305, 121.4737));
+        assertEquals(List.of("rider-1"), ids(registry.claimNearest(SHOP, 5)));
+        assertEquals(0, registry.availableCount());
+    }
+
+    private static RiderInfo rider(int i) {
+        return RiderInfo.of("rider-" + i, "Rider " + i, "555-" + i, "BICYCLE");
+    }
+
+    private static int index(String riderId) {
+        return Integer.parseInt(riderId.substring("rider-".length()));
+    }
+
+    private static List<String> ids(List<RiderPosition> positions) {
+        return positions.stream().map(position -> position.rider().getRiderId()).collect(Collectors.toList());
+    }
+}
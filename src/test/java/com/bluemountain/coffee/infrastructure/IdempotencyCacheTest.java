@@ -0,0 +1,167 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyCache;
+import com.bluemountain.coffee.infrastructure.cache.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyCache.
+ */
+public class IdempotencyCacheTest {
+
+    private static final byte[] REQUEST = "{\"customerName\":\"Alice\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final MutableClock clock = new MutableClock();
+    private final IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(10), 2, clock);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void testRetryReturnsOriginalResult() {
+        String first = cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet());
+        String retry = cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet());
+
+        assertEquals("order-1", first);
+        assertEquals("order-1", retry);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testExpiredKeyRunsAgain() {
+        cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet());
+        clock.advance(Duration.ofMinutes(11));
+
+        assertEquals("order-2", cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void testFailureIsNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("key-1", REQUEST, () -> {
+            throw new IllegalStateException("Payment processing failed");
+        }));
+
+        assertEquals("order-1", cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void testErrorIsNotRemembered() {
+        assertThrows(StackOverflowError.class, () -> cache.execute("key-1", REQUEST, () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals("order-1", cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void testRunningEntryIsNotEvicted() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("key-1", REQUEST, () -> {
+                    running.countDown();
+                    awaitQuietly(release);
+                    return "order-" + runs.incrementAndGet();
+                }));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+
+        // Fill the cache well past its bound while key-1 is still running
+        for (int i = 2; i <= 5; i++) {
+            cache.execute("key-" + i, REQUEST, () -> "other");
+        }
+        CompletableFuture<String> retry = CompletableFuture.supplyAsync(() ->
+                cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet()));
+        release.countDown();
+
+        assertEquals("order-1", first.get(10, TimeUnit.SECONDS));
+        assertEquals("order-1", retry.get(10, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        cache.execute("key-1", REQUEST, () -> "a");
+        clock.advance(Duration.ofSeconds(1));
+        cache.execute("key-2", REQUEST, () -> "b");
+        clock.advance(Duration.ofSeconds(1));
+        cache.execute("key-3", REQUEST, () -> "c");
+
+        assertEquals(2, cache.size());
+        // The oldest key was dropped, so it runs again
+        assertEquals("order-1", cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void testKeyIsBoundToItsRequest() {
+        cache.execute("key-1", REQUEST, () -> "order-" + runs.incrementAndGet());
+        byte[] other = "{\"customerName\":\"Bob\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> cache.execute("key-1", other, () -> "order-" + runs.incrementAndGet()));
+        assertEquals("order-1", cache.execute("key-1", REQUEST.clone(), () -> "order-" + runs.incrementAndGet()));
+        assertEquals(1, runs.get());
+
+        // Once the key has expired it can be used for another request
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("order-2", cache.execute("key-1", other, () -> "order-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void testEvictionKeepsTheNewestKeys() {
+        IdempotencyCache large = new IdempotencyCache(Duration.ofMinutes(10), 1_000, clock);
+        for (int i = 0; i < 100_000; i++) {
+            large.execute("key-" + i, REQUEST, () -> "order");
+            if (i % 1_000 == 0) {
+                clock.advance(Duration.ofSeconds(1));
+            }
+        }
+
+        assertEquals(1_000, large.size());
+        assertEquals("order", large.execute("key-99999", REQUEST, () -> "again"));
+        assertEquals("again", large.execute("key-98999", REQUEST, () -> "again"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Clock that only moves when told to
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
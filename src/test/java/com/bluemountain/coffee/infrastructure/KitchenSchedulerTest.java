@@ -0,0 +1,153 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.KitchenSnapshot;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.infrastructure.service.KitchenSchedulerImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KitchenSchedulerImpl.
+ */
+public class KitchenSchedulerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private KitchenSchedulerImpl scheduler(int stations) {
+        // Every order takes two minutes
+        return new KitchenSchedulerImpl(order -> Duration.ofMinutes(2), registry, stations,
+                Duration.ofMinutes(6), Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void testDeliveryOrderIsMadeBeforeEarlierDineInOrder() {
+        KitchenSchedulerImpl kitchen = scheduler(1);
+        Order first = dineIn();
+        Order dineIn = dineIn();
+        Order delivery = delivery();
+
+        kitchen.enqueue(first);
+        kitchen.enqueue(dineIn);
+        clock.advance(Duration.ofSeconds(30));
+        kitchen.enqueue(delivery);
+
+        List<KitchenSnapshot.Ticket> queue = kitchen.snapshot().queuedOrders();
+        assertEquals(delivery.getId().toString(), queue.get(0).orderId());
+        assertEquals(dineIn.getId().toString(), queue.get(1).orderId());
+
+        kitchen.release(first);
+        assertEquals(delivery.getId().toString(), kitchen.snapshot().stations().get(0).current().orderId());
+    }
+
+    @Test
+    void testIdleStationStealsFromBusiestStation() {
+        KitchenSchedulerImpl kitchen = scheduler(2);
+        Order a = dineIn();
+        Order b = dineIn();
+        Order c = dineIn();
+        Order d = dineIn();
+        kitchen.enqueue(a);
+        kitchen.enqueue(b);
+        kitchen.enqueue(c);
+        kitchen.enqueue(d);
+
+        // a and b are being made, c waits at station 1 and d at station 2
+        clock.advance(Duration.ofMinutes(1));
+        kitchen.release(a);
+        clock.advance(Duration.ofMinutes(1));
+        kitchen.release(c);
+
+        // Station 1 ran out of work and took d from station 2
+        KitchenSnapshot snapshot = kitchen.snapshot();
+        assertTrue(snapshot.queuedOrders().isEmpty());
+        assertEquals(d.getId().toString(), snapshot.stations().get(0).current().orderId());
+        assertEquals(b.getId().toString(), snapshot.stations().get(1).current().orderId());
+        assertEquals(1, snapshot.stations().get(0).stolenOrders());
+    }
+
+    @Test
+    void testReleaseOfQueuedOrderRemovesItFromQueue() {
+        KitchenSchedulerImpl kitchen = scheduler(1);
+        Order first = dineIn();
+        Order second = delivery();
+        kitchen.enqueue(first);
+        kitchen.enqueue(second);
+        kitchen.enqueue(second);
+
+        assertEquals(1, kitchen.snapshot().queuedOrders().size());
+
+        kitchen.release(second);
+        kitchen.release(second);
+
+        KitchenSnapshot snapshot = kitchen.snapshot();
+        assertTrue(snapshot.queuedOrders().isEmpty());
+        assertEquals(0, snapshot.stations().get(0).queuedWorkMillis());
+        assertEquals(first.getId().toString(), snapshot.stations().get(0).current().orderId());
+    }
+
+    @Test
+    void testQueueWaitAndUtilizationAreRecorded() {
+        KitchenSchedulerImpl kitchen = scheduler(1);
+        Order first = dineIn();
+        Order second = dineIn();
+        kitchen.enqueue(first);
+        kitchen.enqueue(second);
+        clock.advance(Duration.ofMinutes(2));
+        kitchen.release(first);
+        clock.advance(Duration.ofMinutes(2));
+
+        assertEquals(120_000, registry.get("coffee.kitchen.queue.wait").tag("type", "DINE_IN").timer()
+                .max(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1.0, kitchen.snapshot().stations().get(0).utilization(), 0.001);
+        assertEquals(0.0, registry.get("coffee.kitchen.queue.size").gauge().value(), 0.001);
+    }
+
+    private static Order dineIn() {
+        return Order.create("Alice", OrderType.DINE_IN, List.of(OrderItem.of("拿铁", 1, Money.of(4.00))), null);
+    }
+
+    private static Order delivery() {
+        return Order.create("Bob", OrderType.DELIVERY, List.of(OrderItem.of("拿铁", 1, Money.of(4.00))),
+                Address.of("123 Main St", "Springfield", "62701", "USA"));
+    }
+
+    /**
+     * Clock that only moves when told to
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
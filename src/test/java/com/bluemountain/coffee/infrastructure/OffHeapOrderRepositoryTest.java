@@ -0,0 +1,185 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.exception.InvalidOrderStateException;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.persistence.OffHeapOrderRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the off-heap order store.
+ */
+public class OffHeapOrderRepositoryTest {
+
+    private static final Product LATTE = Product.of(4, "拿铁", Money.of(4.00));
+
+    @Test
+    void testOrdersAreDecodedWithAllTheirData() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(1 << 16);
+        Order order = Order.create("张三", OrderType.DELIVERY,
+                List.of(OrderItem.of(LATTE, 2), OrderItem.of("Special", 1, Money.of(7.25))),
+                Address.of("人民路 1 号", "上海", "200000", "中国", GeoPoint.of(31.23, 121.47)));
+        order.settle(new DeliveryPricingStrategy());
+        repository.save(order);
+
+        Order loaded = repository.findById(order.getId()).orElseThrow();
+
+        assertNotSame(order, loaded);
+        assertEquals(order, loaded);
+        assertEquals("张三", loaded.getCustomerName());
+        assertEquals(OrderType.DELIVERY, loaded.getType());
+        assertEquals(order.getItems(), loaded.getItems());
+        assertEquals(LATTE.getId(), loaded.getItems().get(0).getProductId());
+        assertEquals(order.getAddress(), loaded.getAddress());
+        assertEquals(order.getAddress().getLocation(), loaded.getAddress().getLocation());
+        assertEquals(order.getStatusHistory(), loaded.getStatusHistory());
+        assertEquals(order.getCreatedAt(), loaded.getCreatedAt());
+        assertEquals(order.getTotalPrice(), loaded.getTotalPrice());
+        assertEquals(OrderStatus.SETTLED, loaded.getStatus());
+    }
+
+    @Test
+    void testSavingAKnownOrderUpdatesItsState() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(1 << 16);
+        Order order = dineIn("Alice");
+        repository.save(order);
+        assertNull(repository.findById(order.getId()).orElseThrow().getTotalPrice());
+
+        order.settle(new DineInPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        order.complete();
+        repository.save(order);
+        long allocated = repository.getOffHeapBytes();
+        repository.save(order);
+
+        Order loaded = repository.findById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.COMPLETED, loaded.getStatus());
+        assertEquals(5, loaded.getStatusHistory().size());
+        assertEquals(Money.of(8.00), loaded.getTotalPrice());
+        assertEquals(1, repository.size());
+        assertEquals(allocated, repository.getOffHeapBytes());
+    }
+
+    @Test
+    void testQueriesFilterOnStoredState() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(1 << 16);
+        Order created = dineIn("Alice");
+        Order preparing = dineIn("Bob");
+        preparing.settle(new DineInPricingStrategy());
+        preparing.startPreparing();
+        Order delivery = Order.create("Carol", OrderType.DELIVERY, List.of(OrderItem.of(LATTE, 1)),
+                Address.of("Main St 1", "Springfield", "12345", "USA"));
+        repository.saveAll(List.of(created, preparing, delivery));
+
+        assertEquals(3, repository.findAll().size());
+        assertEquals(List.of(preparing), repository.findByStatus(OrderStatus.PREPARING));
+        assertEquals(2, repository.findByStatus(OrderStatus.CREATED).size());
+        assertEquals(List.of(delivery), repository.findByType(OrderType.DELIVERY));
+        assertNull(repository.findByType(OrderType.DELIVERY).get(0).getAddress().getLocation());
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(3, repository.findByCreatedAtBetween(now.minusMinutes(1), now.plusMinutes(1)).size());
+        assertTrue(repository.findByCreatedAtBetween(now.plusMinutes(1), now.plusMinutes(2)).isEmpty());
+    }
+
+    @Test
+    void testOrdersAreVisitedByStatusAndLastUpdate() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(1 << 16);
+        Order completed = dineIn("Alice");
+        completed.settle(new DineInPricingStrategy());
+        completed.startPreparing();
+        completed.markAsReady();
+        completed.complete();
+        Order cancelled = dineIn("Bob");
+        cancelled.cancel();
+        Order open = dineIn("Carol");
+        repository.saveAll(List.of(completed, cancelled, open));
+        LocalDateTime start = completed.getUpdatedAt();
+
+        List<Order> visited = new ArrayList<>();
+        repository.forEachByStatusUpdatedBetween(OrderStatus.COMPLETED, start, start.plusSeconds(1), visited::add);
+        assertEquals(List.of(completed), visited);
+        assertEquals(OrderStatus.COMPLETED, visited.get(0).getStatus());
+
+        visited.clear();
+        repository.forEachByStatusUpdatedBetween(OrderStatus.COMPLETED, start.minusSeconds(1), start, visited::add);
+        repository.forEachByStatusUpdatedBetween(OrderStatus.CREATED, start.minusMinutes(1), start.plusMinutes(1),
+                visited::add);
+        assertEquals(List.of(open), visited);
+    }
+
+    @Test
+    void testLongestHistoryFitsAndCancelledOrdersStayCancelled() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(1 << 16);
+        Order order = dineIn("Alice");
+        order.settle(new DineInPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        order.cancel();
+        repository.save(order);
+
+        Order loaded = repository.findById(order.getId()).orElseThrow();
+        assertThrows(InvalidOrderStateException.class, loaded::cancel);
+        repository.save(loaded);
+
+        Order reloaded = repository.findById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, reloaded.getStatus());
+        assertEquals(5, reloaded.getStatusHistory().size());
+        assertEquals(order.getStatusHistory(), reloaded.getStatusHistory());
+    }
+
+    @Test
+    void testManyOrdersSpanSegmentsAndSurviveDeletes() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(4096);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            orders.add(dineIn("Customer " + i));
+        }
+        repository.saveAll(orders);
+        for (int i = 0; i < orders.size(); i += 2) {
+            assertTrue(repository.deleteById(orders.get(i).getId()));
+        }
+        for (int i = 0; i < 1000; i++) {
+            repository.save(dineIn("Late " + i));
+        }
+
+        assertEquals(3500, repository.size());
+        assertTrue(repository.getOffHeapBytes() > 4096);
+        for (int i = 0; i < orders.size(); i++) {
+            OrderId id = orders.get(i).getId();
+            assertEquals(i % 2 == 1, repository.existsById(id));
+            assertEquals(i % 2 == 1, repository.findById(id).isPresent());
+        }
+        assertEquals("Customer 4999", repository.findById(orders.get(4999).getId()).orElseThrow().getCustomerName());
+        assertFalse(repository.deleteById(orders.get(0).getId()));
+        assertEquals(3500, repository.findAll().size());
+    }
+
+    @Test
+    void testRecordsLargerThanASegmentAreRejected() {
+        OffHeapOrderRepository repository = new OffHeapOrderRepository(128);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(dineIn("x".repeat(100))));
+        assertEquals(0, repository.size());
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapOrderRepository(16));
+    }
+
+    private static Order dineIn(String customerName) {
+        return Order.create(customerName, OrderType.DINE_IN, List.of(OrderItem.of(LATTE, 2)), null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderStatus;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.model.valobj.OrderStatusChange;
+import com.bluemountain.coffee.infrastructure.service.LearnedPreparationTimeEstimator;
+import com.bluemountain.coffee.infrastructure.service.MenuPreparationTimeEstimator;
+import com.bluemountain.coffee.infrastructure.service.PreparationTimeBacktest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LearnedPreparationTimeEstimator and PreparationTimeBacktest.
+ */
+public class PreparationTimeEstimatorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private final MenuPreparationTimeEstimator menu = new MenuPreparationTimeEstimator(Duration.ofSeconds(90));
+
+    @Test
+    void testProductEstimateMovesTowardsObservedTime() {
+        LearnedPreparationTimeEstimator estimator = new LearnedPreparationTimeEstimator(menu, 0.5);
+        assertEquals(Duration.ofSeconds(110), estimator.perCup("拿铁"));
+
+        for (int i = 0; i < 20; i++) {
+            estimator.observe(readyOrder("拿铁", 2, T0, Duration.ofSeconds(300)), 0);
+        }
+
+        assertEquals(150, estimator.perCup("拿铁").toSeconds(), 1);
+        assertEquals(1.0, estimator.loadFactor(0), 0.0);
+    }
+
+    @Test
+    void testBusyKitchenLearnsLoadFactorNotProductTime() {
+        LearnedPreparationTimeEstimator estimator = new LearnedPreparationTimeEstimator(menu, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            estimator.observe(readyOrder("美式咖啡", 1, T0, Duration.ofSeconds(60)), 0);
+            estimator.observe(readyOrder("美式咖啡", 1, T0, Duration.ofSeconds(180)), 5);
+        }
+
+        assertEquals(3.0, estimator.loadFactor(5), 0.01);
+        assertEquals(60, estimator.perCup("美式咖啡").toSeconds(), 1);
+        assertEquals(180, estimator.estimate(readyOrder("美式咖啡", 1, T0, Duration.ZERO), 6).toSeconds(), 1);
+    }
+
+    @Test
+    void testOrderThatWasNotReadyIsIgnored() {
+        LearnedPreparationTimeEstimator estimator = new LearnedPreparationTimeEstimator(menu, 0.5);
+        Order cancelled = replay(List.of(OrderItem.of("摩卡", 1, Money.of(5.00))), List.of(
+                OrderStatusChange.of(OrderStatus.CREATED, T0),
+                OrderStatusChange.of(OrderStatus.SETTLED, T0),
+                OrderStatusChange.of(OrderStatus.PREPARING, T0),
+                OrderStatusChange.of(OrderStatus.CANCELLED, T0.plusMinutes(30))));
+
+        estimator.observe(cancelled, 0);
+
+        assertEquals(Duration.ofSeconds(150), estimator.perCup("摩卡"));
+    }
+
+    @Test
+    void testBacktestBeatsMenuWhenBarIsSlowerThanMenu() {
+        // Every latte takes 200 seconds instead of the menu's 110, one order every 10 minutes
+        List<Order> archive = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            archive.add(readyOrder("拿铁", 1, T0.plusMinutes(10L * i), Duration.ofSeconds(200)));
+        }
+
+        PreparationTimeBacktest.Report report = new PreparationTimeBacktest(menu, 0.2).run(archive);
+
+        assertEquals(50, report.orders());
+        assertEquals(90_000, report.menu().meanAbsoluteErrorMillis());
+        assertEquals(-90_000, report.menu().meanErrorMillis());
+        assertTrue(report.learned().meanAbsoluteErrorMillis() < 10_000);
+        assertTrue(report.learned().medianAbsoluteErrorMillis() < 1_000);
+    }
+
+    private static Order readyOrder(String product, int quantity, LocalDateTime preparingAt, Duration preparation) {
+        return replay(List.of(OrderItem.of(product, quantity, Money.of(4.00))), List.of(
+                OrderStatusChange.of(OrderStatus.CREATED, preparingAt),
+                OrderStatusChange.of(OrderStatus.SETTLED, preparingAt),
+                OrderStatusChange.of(OrderStatus.PREPARING, preparingAt),
+                OrderStatusChange.of(OrderStatus.READY, preparingAt.plus(preparation))));
+    }
+
+    private static Order replay(List<OrderItem> items, List<OrderStatusChange> history) {
+        return Order.replay(OrderId.generate(), "Alice", OrderType.DINE_IN, items, null, history, Money.of(4.00));
+    }
+}
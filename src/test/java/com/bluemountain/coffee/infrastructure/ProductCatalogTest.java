@@ -0,0 +1,90 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.application.OrderAssembler;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.Product;
+import com.bluemountain.coffee.domain.strategy.DineInPricingStrategy;
+import com.bluemountain.coffee.infrastructure.service.MenuProductCatalog;
+import com.bluemountain.coffee.interfaces.dto.CreateOrderCommand;
+import com.bluemountain.coffee.interfaces.dto.OrderItemDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the product catalog and resolving ordered items against it.
+ */
+public class ProductCatalogTest {
+
+    private final MenuProductCatalog catalog = new MenuProductCatalog(List.of("1:浓缩咖啡:3.50", "2:拿铁:4.00", " 5 : 摩卡 : 5.00 "));
+
+    @Test
+    void testProductsKeepTheirConfiguredIds() {
+        assertEquals(List.of(1, 2, 5), catalog.getProducts().stream().map(Product::getId).toList());
+        assertEquals(Money.of(5.00), catalog.findByName("摩卡").orElseThrow().getPrice());
+        assertEquals("拿铁", catalog.findById(2).orElseThrow().getName());
+        assertTrue(catalog.findById(0).isEmpty());
+        assertTrue(catalog.findById(3).isEmpty());
+        assertEquals("摩卡", catalog.findById(5).orElseThrow().getName());
+        assertTrue(catalog.findByName("茶").isEmpty());
+    }
+
+    @Test
+    void testInvalidMenusAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("1:拿铁:4.00", "2:拿铁:4.50")));
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("1:拿铁:4.00", "1:摩卡:5.00")));
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("拿铁:4.00")));
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("x:拿铁:4.00")));
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("0:拿铁:4.00")));
+        assertThrows(IllegalArgumentException.class, () -> new MenuProductCatalog(List.of("1:拿铁:free")));
+    }
+
+    @Test
+    void testOrderedItemsUseCatalogPricesAndSharedNames() {
+        OrderAssembler assembler = new OrderAssembler(catalog);
+        CreateOrderCommand command = command(item(null, "拿铁", 2, "0.01"), item(5, "anything", 1, null));
+
+        Order first = assembler.toDomain(command);
+        Order second = assembler.toDomain(command);
+
+        OrderItem latte = first.getItems().get(0);
+        assertEquals(2, latte.getProductId());
+        assertEquals(Money.of(4.00), latte.getUnitPrice());
+        assertEquals("摩卡", first.getItems().get(1).getProductName());
+        assertSame(latte.getProductName(), second.getItems().get(0).getProductName());
+        assertEquals(latte.getUnitPrice(), second.getItems().get(0).getUnitPrice());
+        first.settle(new DineInPricingStrategy());
+        assertEquals(Money.of(13.00), first.getTotalPrice());
+        assertEquals(Integer.valueOf(2), assembler.toDTO(first).getItems().get(0).getProductId());
+    }
+
+    @Test
+    void testUnknownProductsAreRejected() {
+        OrderAssembler assembler = new OrderAssembler(catalog);
+
+        assertThrows(IllegalArgumentException.class, () -> assembler.toDomain(command(item(null, "茶", 1, "1.00"))));
+        assertThrows(IllegalArgumentException.class, () -> assembler.toDomain(command(item(9, "拿铁", 1, "1.00"))));
+    }
+
+    private static CreateOrderCommand command(OrderItemDTO... items) {
+        CreateOrderCommand command = new CreateOrderCommand();
+        command.setCustomerName("Customer");
+        command.setOrderType("DINE_IN");
+        command.setItems(List.of(items));
+        return command;
+    }
+
+    private static OrderItemDTO item(Integer productId, String productName, int quantity, String unitPrice) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setProductId(productId);
+        item.setProductName(productName);
+        item.setQuantity(quantity);
+        item.setUnitPrice(unitPrice == null ? null : new BigDecimal(unitPrice));
+        return item;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.DeliveryRoute;
+import com.bluemountain.coffee.domain.model.valobj.GeoPoint;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.infrastructure.service.NearestNeighborRouteOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NearestNeighborRouteOptimizer.
+ */
+public class RouteOptimizerTest {
+
+    private static final GeoPoint SHOP = GeoPoint.of(31.2304, 121.4737);
+
+    private final NearestNeighborRouteOptimizer optimizer = new NearestNeighborRouteOptimizer(Duration.ofSeconds(1));
+
+    @Test
+    void testStopsAlongAStreetAreVisitedInOrder() {
+        Order far = delivery(GeoPoint.of(31.2604, 121.4737));
+        Order near = delivery(GeoPoint.of(31.2404, 121.4737));
+        Order middle = delivery(GeoPoint.of(31.2504, 121.4737));
+        Order unlocated = delivery(null);
+
+        DeliveryRoute route = optimizer.plan(SHOP, List.of(unlocated, far, near, middle));
+
+        assertEquals(List.of(near.getId(), middle.getId(), far.getId(), unlocated.getId()), route.stops());
+        assertEquals(SHOP.distanceTo(GeoPoint.of(31.2604, 121.4737)), route.distanceMeters(), 5.0);
+    }
+
+    @Test
+    void testNoSingleReversalShortensTheRoute() {
+        Random random = new Random(11);
+        List<GeoPoint> stops = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            stops.add(GeoPoint.of(SHOP.getLatitude() + (random.nextDouble() - 0.5) * 0.05,
+                    SHOP.getLongitude() + (random.nextDouble() - 0.5) * 0.05));
+        }
+
+        int[] order = optimizer.sequence(SHOP, stops);
+
+        assertEquals(IntStream.range(0, stops.size()).boxed().collect(Collectors.toSet()),
+                IntStream.of(order).boxed().collect(Collectors.toSet()));
+        // 2-opt ran to completion: reversing any stretch of the route makes it no shorter
+        double length = length(stops, order);
+        for (int i = 0; i < order.length; i++) {
+            for (int j = i + 1; j < order.length; j++) {
+                int[] reversed = order.clone();
+                for (int a = i, b = j; a < b; a++, b--) {
+                    int swap = reversed[a];
+                    reversed[a] = reversed[b];
+                    reversed[b] = swap;
+                }
+                assertTrue(length(stops, reversed) >= length - 1.0);
+            }
+        }
+    }
+
+    @Test
+    void testZeroBudgetStillVisitsEveryStop() {
+        NearestNeighborRouteOptimizer hurried = new NearestNeighborRouteOptimizer(Duration.ZERO);
+        List<Order> orders = IntStream.range(0, 5)
+                .mapToObj(i -> delivery(GeoPoint.of(31.2304 + 0.01 * i, 121.4737 - 0.01 * i)))
+                .collect(Collectors.toList());
+
+        DeliveryRoute route = hurried.plan(SHOP, orders);
+
+        assertEquals(new HashSet<>(orders.stream().map(Order::getId).collect(Collectors.toList())),
+                new HashSet<>(route.stops()));
+    }
+
+    private static double length(List<GeoPoint> stops, int[] order) {
+        double length = 0;
+        GeoPoint from = SHOP;
+        for (int index : order) {
+            length += from.distanceTo(stops.get(index));
+            from = stops.get(index);
+        }
+        return length;
+    }
+
+    private static Order delivery(GeoPoint location) {
+        return Order.create("Customer", OrderType.DELIVERY,
+                List.of(OrderItem.of("拿铁", 1, Money.of(4.00))),
+                Address.of("1 Main Street", "Shanghai", "200000", "China", location));
+    }
+}
@@ -0,0 +1,71 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.infrastructure.metrics.HyperLogLog;
+import com.bluemountain.coffee.infrastructure.metrics.SpaceSaving;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SpaceSaving and HyperLogLog sketches.
+ */
+public class SketchTest {
+
+    @Test
+    void testSpaceSavingBoundsTrueCounts() {
+        // Zipf-like demand over 500 products, spread over 6 sketches of 16 counters
+        Random random = new Random(7);
+        Map<String, Long> truth = new HashMap<>();
+        List<SpaceSaving> sketches = new ArrayList<>();
+        for (int s = 0; s < 6; s++) {
+            SpaceSaving sketch = new SpaceSaving(16);
+            for (int i = 0; i < 5_000; i++) {
+                String product = "product-" + (int) Math.floor(Math.pow(500, random.nextDouble()));
+                int quantity = 1 + random.nextInt(3);
+                sketch.offer(product, quantity);
+                truth.merge(product, (long) quantity, Long::sum);
+            }
+            sketches.add(sketch);
+        }
+        long maxError = sketches.stream().mapToLong(SpaceSaving::unseenBound).sum();
+
+        List<SpaceSaving.Estimate> estimates = SpaceSaving.merge(sketches);
+        for (SpaceSaving.Estimate estimate : estimates) {
+            long actual = truth.get(estimate.item());
+            assertTrue(estimate.count() >= actual && estimate.guaranteedCount() <= actual, estimate.toString());
+            assertTrue(estimate.error() <= maxError);
+        }
+        // Every product sold more than maxError units is estimated
+        truth.forEach((product, actual) -> {
+            if (actual > maxError) {
+                assertTrue(estimates.stream().anyMatch(estimate -> estimate.item().equals(product)), product);
+            }
+        });
+        assertEquals("product-1", estimates.get(0).item());
+    }
+
+    @Test
+    void testHyperLogLogEstimatesWithinItsError() {
+        HyperLogLog small = new HyperLogLog(12);
+        for (int i = 0; i < 100; i++) {
+            small.offer("customer-" + (i % 50));
+        }
+        assertEquals(50, small.estimate(), 1);
+
+        HyperLogLog morning = new HyperLogLog(12);
+        HyperLogLog afternoon = new HyperLogLog(12);
+        for (int i = 0; i < 60_000; i++) {
+            morning.offer("customer-" + i);
+            afternoon.offer("customer-" + (i + 40_000));
+        }
+        morning.merge(afternoon);
+        double relativeError = Math.abs(morning.estimate() - 100_000) / 100_000.0;
+        assertTrue(relativeError < 3 * morning.relativeStandardError(), "relative error " + relativeError);
+    }
+}
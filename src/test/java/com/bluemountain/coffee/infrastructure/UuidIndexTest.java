@@ -0,0 +1,137 @@
+package com.bluemountain.coffee.infrastructure;
+
+import com.bluemountain.coffee.domain.model.aggregate.Delivery;
+import com.bluemountain.coffee.domain.model.aggregate.Order;
+import com.bluemountain.coffee.domain.model.aggregate.OrderItem;
+import com.bluemountain.coffee.domain.model.enums.OrderType;
+import com.bluemountain.coffee.domain.model.valobj.Address;
+import com.bluemountain.coffee.domain.model.valobj.Money;
+import com.bluemountain.coffee.domain.model.valobj.OrderId;
+import com.bluemountain.coffee.domain.strategy.DeliveryPricingStrategy;
+import com.bluemountain.coffee.infrastructure.persistence.InMemoryDeliveryRepository;
+import com.bluemountain.coffee.infrastructure.persistence.UuidIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UUID-keyed index and the delivery lookup by order ID.
+ */
+public class UuidIndexTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        UuidIndex<String> index = new UuidIndex<>(4);
+        UUID key = UUID.randomUUID();
+
+        assertNull(index.put(key, "a"));
+        assertEquals("a", index.put(key, "b"));
+        assertEquals("b", index.get(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+        assertNull(index.get(UUID.randomUUID()));
+        assertFalse(index.remove(key, "a"));
+        assertEquals("b", index.remove(key));
+        assertNull(index.remove(key));
+        assertFalse(index.containsKey(key));
+        assertEquals(0, index.size());
+
+        assertNull(index.put(key, "c"));
+        assertEquals("c", index.get(key));
+        assertEquals(1, index.size());
+        assertThrows(NullPointerException.class, () -> index.put(key, null));
+    }
+
+    @Test
+    void testGrowsAndDropsTombstones() {
+        UuidIndex<Integer> index = new UuidIndex<>(1);
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            keys.add(UUID.randomUUID());
+            index.put(keys.get(i), i);
+        }
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertEquals(Integer.valueOf(i), index.remove(keys.get(i)));
+        }
+        // Churn that leaves many tombstones behind
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 2_000; i++) {
+                UUID key = UUID.randomUUID();
+                index.put(key, -1);
+                index.remove(key);
+            }
+        }
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i % 2 == 1 ? Integer.valueOf(i) : null, index.get(keys.get(i)));
+        }
+        assertEquals(10_000, new HashSet<>(index.values()).size());
+        assertTrue(index.stream().allMatch(value -> value % 2 == 1));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.get(keys.get(1)));
+    }
+
+    @Test
+    void testConcurrentWritersAndReaders() throws InterruptedException {
+        UuidIndex<UUID> index = new UuidIndex<>(8);
+        int perThread = 20_000;
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        UUID key = UUID.randomUUID();
+                        index.put(key, key);
+                        if (!key.equals(index.get(key))) {
+                            throw new AssertionError("Lost " + key);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(4 * perThread, index.size());
+        assertTrue(index.stream().allMatch(key -> key.equals(index.get(key))));
+    }
+
+    @Test
+    void testDeliveriesAreFoundByOrderId() {
+        InMemoryDeliveryRepository repository = new InMemoryDeliveryRepository();
+        Order first = readyOrder("123 Main St");
+        Order second = readyOrder("125 Main St");
+        Delivery delivery = Delivery.create(List.of(first, second));
+        repository.save(delivery);
+
+        assertEquals(delivery, repository.findByOrderId(second.getId()).orElseThrow());
+        assertTrue(repository.findByOrderId(OrderId.generate()).isEmpty());
+
+        repository.deleteById(delivery.getDeliveryId());
+        assertTrue(repository.findByOrderId(first.getId()).isEmpty());
+    }
+
+    private static Order readyOrder(String street) {
+        Order order = Order.create("John Doe", OrderType.DELIVERY,
+                List.of(OrderItem.of("Latte", 2, Money.of(5.50))),
+                Address.of(street, "Springfield", "62701", "USA"));
+        order.settle(new DeliveryPricingStrategy());
+        order.startPreparing();
+        order.markAsReady();
+        return order;
+    }
+}